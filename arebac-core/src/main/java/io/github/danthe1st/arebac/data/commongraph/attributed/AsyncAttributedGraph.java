@@ -0,0 +1,106 @@
+package io.github.danthe1st.arebac.data.commongraph.attributed;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Interface for attributed graphs where loading nodes and edges happens asynchronously.
+ *
+ * This is meant for graphs where lookups are I/O-bound (e.g. graphs stored in remote databases) so that multiple lookups can be in progress at the same time without blocking a thread for each of them.
+ * Graph patterns can be evaluated against such graphs using {@link io.github.danthe1st.arebac.gpeval.AsyncGPEval}.
+ *
+ * Methods not returning {@link CompletableFuture}s are expected to return immediately without loading any data.
+ * All methods may be called concurrently.
+ * @param <N> The type of the nodes
+ * @param <E> The type of the edges
+ * @see AttributedGraph
+ */
+public interface AsyncAttributedGraph<N extends AttributedNode, E extends AttributedEdge<N>> {
+	CompletableFuture<N> findNodeById(String id);
+
+	CompletableFuture<Collection<E>> findOutgoingEdges(N node, String edgeType);
+	CompletableFuture<Collection<E>> findIncomingEdges(N node, String edgeType);
+
+	/**
+	 * Finds the edges of a specific type of multiple nodes at once as specified by {@link AttributedGraph#findEdges(Collection, boolean, String)}.
+	 *
+	 * The default implementation starts the lookups of all nodes using {@link AsyncAttributedGraph#findOutgoingEdges(AttributedNode, String)} or {@link AsyncAttributedGraph#findIncomingEdges(AttributedNode, String)} at once
+	 * and completes when all of them are completed.
+	 * @param nodes the nodes to find the edges of
+	 * @param outgoing {@code true} if the edges starting at the nodes should be returned, {@code false} if the edges ending at the nodes should be returned
+	 * @param edgeType the type of the edges
+	 * @return a {@link CompletableFuture} completing with a {@link Map} containing the edges of every node
+	 */
+	default CompletableFuture<Map<N, Collection<E>>> findEdges(Collection<N> nodes, boolean outgoing, String edgeType) {
+		List<N> nodeList = List.copyOf(nodes);
+		List<CompletableFuture<Collection<E>>> lookups = new ArrayList<>(nodeList.size());
+		for(N node : nodeList){
+			lookups.add(outgoing ? findOutgoingEdges(node, edgeType) : findIncomingEdges(node, edgeType));
+		}
+		return CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+			Map<N, Collection<E>> edges = new HashMap<>();
+			for(int i = 0; i < nodeList.size(); i++){
+				Collection<E> edgesOfNode = lookups.get(i).join();
+				edges.put(nodeList.get(i), edgesOfNode == null ? List.of() : edgesOfNode);
+			}
+			return edges;
+		});
+	}
+
+	/**
+	 * Checks whether an attribute is unique for a specified node type.
+	 * @param key the key of the attribute to check
+	 * @param nodeType the node type
+	 * @return {@code true} if the attribute is unique, else {@code false}
+	 * @see AttributedGraph#isAttributeUniqueForNodeType(String, String)
+	 */
+	default boolean isAttributeUniqueForNodeType(String key, String nodeType) {
+		return false;
+	}
+
+	/**
+	 * Get a node by a unique attribute value as specified by {@link AsyncAttributedGraph#isAttributeUniqueForNodeType(String, String)}.
+	 * @param nodeType the node type where the attribute is unique
+	 * @param key the key of the unique attribute
+	 * @param value the value of the unique attribute
+	 * @return a {@link CompletableFuture} completing with the node associated with the unique attribute value
+	 * or completing exceptionally with an {@link UnsupportedOperationException} if the attribute is not actually unique
+	 * @see AttributedGraph#getNodeByUniqueAttribute(String, String, AttributeValue)
+	 */
+	default CompletableFuture<N> getNodeByUniqueAttribute(String nodeType, String key, AttributeValue<?> value) {
+		return CompletableFuture.failedFuture(new UnsupportedOperationException());
+	}
+
+	/**
+	 * Checks whether nodes can be identified by numeric IDs.
+	 * @return {@code true} if {@link AsyncAttributedGraph#getNumericNodeId(AttributedNode)} is implemented, else {@code false}
+	 * @see AttributedGraph#hasNumericNodeIds()
+	 */
+	default boolean hasNumericNodeIds() {
+		return false;
+	}
+
+	/**
+	 * Gets a numeric ID of a node as specified by {@link AttributedGraph#getNumericNodeId(AttributedNode)}.
+	 * @param node the node
+	 * @return the numeric ID of the node
+	 * @throws UnsupportedOperationException if the graph doesn't provide numeric IDs
+	 * @see AttributedGraph#getNumericNodeId(AttributedNode)
+	 */
+	default long getNumericNodeId(N node) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Gets statistics about the graph that can be used for planning the evaluation of graph patterns.
+	 * @return the {@link GraphStatistics} of this graph or {@code null} if no statistics are available
+	 * @see AttributedGraph#getStatistics()
+	 */
+	default GraphStatistics getStatistics() {
+		return null;
+	}
+}
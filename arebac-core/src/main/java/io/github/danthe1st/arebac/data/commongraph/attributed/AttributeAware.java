@@ -1,9 +1,29 @@
 package io.github.danthe1st.arebac.data.commongraph.attributed;
 
+import io.github.danthe1st.arebac.TypeMissmatchException;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator;
+
 /**
  * A graph object (node or edge) with attributes.
  */
 public interface AttributeAware {
 	String id();
 	AttributeValue<?> getAttribute(String key);
+
+	/**
+	 * Compares an attribute with a value.
+	 *
+	 * The default implementation uses {@link #getAttribute(String)}.
+	 * Implementations can override this method to compare their attributes without creating {@link AttributeValue} objects,
+	 * e.g. using {@link AttributeRequirementOperator#test(int, AttributeValue)}.
+	 * @param key the key of the attribute
+	 * @param operator specifies how the attribute is compared to the value
+	 * @param value the value the attribute is compared to
+	 * @return {@code true} if the attribute exists and satisfies the comparison, else {@code false}
+	 * @throws TypeMissmatchException if the operator requires numbers but the attribute or the value is not numeric
+	 */
+	default boolean matches(String key, AttributeRequirementOperator operator, AttributeValue<?> value) {
+		AttributeValue<?> attributeValue = getAttribute(key);
+		return attributeValue != null && operator.test(attributeValue, value);
+	}
 }
@@ -9,6 +9,7 @@ import io.github.danthe1st.arebac.TypeMissmatchException;
  * @see StringAttribute
  * @see BooleanAttribute
  * @see IntAttribute
+ * @see ParameterAttribute
  * @param <T> The type of the value
  */
 public sealed interface AttributeValue<T> {
@@ -44,6 +45,7 @@ public sealed interface AttributeValue<T> {
 			case StringAttribute attr -> throw new TypeMissmatchException(NumericalAttributeValue.class, attr);
 			case BooleanAttribute attr -> throw new TypeMissmatchException(NumericalAttributeValue.class, attr);
 			case IntAttribute(int o) -> value() < o;
+			case ParameterAttribute(String name) -> throw new IllegalStateException("parameter has not been bound: " + name);
 			};
 		}
 
@@ -53,6 +55,26 @@ public sealed interface AttributeValue<T> {
 		}
 	}
 
+	/**
+	 * A placeholder for a value that is provided when evaluating a graph pattern.
+	 *
+	 * Placeholders can be used as values of {@link io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement attribute requirements}
+	 * and must be bound to an actual value before the requirement can be evaluated.
+	 * Attributes in an attributed graph never contain placeholders.
+	 * @param name the name of the parameter
+	 * @see io.github.danthe1st.arebac.gpeval.PreparedGraphPattern
+	 */
+	public record ParameterAttribute(String name) implements AttributeValue<String> {
+		public ParameterAttribute {
+			Objects.requireNonNull(name);
+		}
+
+		@Override
+		public String value() {
+			return name;
+		}
+	}
+
 	static IntAttribute attribute(int value) {
 		return new IntAttribute(value);
 	}
@@ -64,4 +86,8 @@ public sealed interface AttributeValue<T> {
 	static BooleanAttribute attribute(boolean value) {
 		return new BooleanAttribute(value);
 	}
+
+	static ParameterAttribute parameter(String name) {
+		return new ParameterAttribute(name);
+	}
 }
@@ -1,6 +1,12 @@
 package io.github.danthe1st.arebac.data.commongraph.attributed;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
 
 /**
  * Interface for attributed graphs.
@@ -14,6 +20,87 @@ public interface AttributedGraph<N extends AttributedNode, E extends AttributedE
 
 	Collection<E> findOutgoingEdges(N node, String edgeType);
 	Collection<E> findIncomingEdges(N node, String edgeType);
+
+	/**
+	 * Finds the neighbors of a node connected using edges of a specific type where both the edge and the neighbor satisfy the specified requirements.
+	 *
+	 * This is used by GP-Eval for finding candidates of nodes in the graph pattern.
+	 * The default implementation loads all edges using {@link AttributedGraph#findOutgoingEdges(AttributedNode, String)} or {@link AttributedGraph#findIncomingEdges(AttributedNode, String)}
+	 * and checks the requirements on each edge and neighbor. Implementations can override this method to apply these checks in the underlying storage.
+	 *
+	 * The result may contain the same neighbor multiple times if it is connected using multiple edges.
+	 * @param node the node to find the neighbors of
+	 * @param outgoing {@code true} if the neighbors are targets of edges starting at the node, {@code false} if they are sources of edges ending at the node
+	 * @param edgeType the type of the edges
+	 * @param neighborNodeType the type the neighbors must have
+	 * @param edgeRequirements the requirements all edges must satisfy, ordered by the order they should be checked in
+	 * @param neighborRequirements the requirements all neighbors must satisfy, ordered by the order they should be checked in
+	 * @return the neighbors satisfying the requirements
+	 * @see AttributeRequirement#evaluate(AttributeAware)
+	 */
+	default Collection<N> findNeighbors(N node, boolean outgoing, String edgeType, String neighborNodeType, List<AttributeRequirement> edgeRequirements, List<AttributeRequirement> neighborRequirements) {
+		Collection<E> edges = outgoing ? findOutgoingEdges(node, edgeType) : findIncomingEdges(node, edgeType);
+		return filterNeighbors(edges, outgoing, edgeType, neighborNodeType, edgeRequirements, neighborRequirements);
+	}
+
+	/**
+	 * Finds the edges of a specific type of multiple nodes at once.
+	 *
+	 * The default implementation calls {@link AttributedGraph#findOutgoingEdges(AttributedNode, String)} or {@link AttributedGraph#findIncomingEdges(AttributedNode, String)} for every node.
+	 * Implementations with a high overhead per request (e.g. remote databases) can override this method to load the edges of all nodes using a single request.
+	 * @param nodes the nodes to find the edges of
+	 * @param outgoing {@code true} if the edges starting at the nodes should be returned, {@code false} if the edges ending at the nodes should be returned
+	 * @param edgeType the type of the edges
+	 * @return a {@link Map} containing the edges of every node
+	 */
+	default Map<N, Collection<E>> findEdges(Collection<N> nodes, boolean outgoing, String edgeType) {
+		Map<N, Collection<E>> edges = new HashMap<>();
+		for(N node : nodes){
+			Collection<E> edgesOfNode = outgoing ? findOutgoingEdges(node, edgeType) : findIncomingEdges(node, edgeType);
+			edges.put(node, edgesOfNode == null ? List.of() : edgesOfNode);
+		}
+		return edges;
+	}
+
+	/**
+	 * Finds the neighbors of multiple nodes at once as specified by {@link AttributedGraph#findNeighbors(AttributedNode, boolean, String, String, List, List)}.
+	 *
+	 * This is used by GP-Eval if {@link io.github.danthe1st.arebac.gpeval.GPEvalOptions#neighborBatchSize() batched neighbor lookups} are enabled.
+	 * The default implementation loads the edges using {@link AttributedGraph#findEdges(Collection, boolean, String)} and checks the requirements on each edge and neighbor.
+	 * Implementations overriding {@link AttributedGraph#findNeighbors(AttributedNode, boolean, String, String, List, List)} should override this method as well.
+	 * @param nodes the nodes to find the neighbors of
+	 * @param outgoing {@code true} if the neighbors are targets of edges starting at the nodes, {@code false} if they are sources of edges ending at the nodes
+	 * @param edgeType the type of the edges
+	 * @param neighborNodeType the type the neighbors must have
+	 * @param edgeRequirements the requirements all edges must satisfy, ordered by the order they should be checked in
+	 * @param neighborRequirements the requirements all neighbors must satisfy, ordered by the order they should be checked in
+	 * @return a {@link Map} containing the neighbors satisfying the requirements for every node
+	 */
+	default Map<N, Collection<N>> findNeighbors(Collection<N> nodes, boolean outgoing, String edgeType, String neighborNodeType, List<AttributeRequirement> edgeRequirements, List<AttributeRequirement> neighborRequirements) {
+		Map<N, Collection<E>> edges = findEdges(nodes, outgoing, edgeType);
+		Map<N, Collection<N>> neighbors = new HashMap<>();
+		for(N node : nodes){
+			neighbors.put(node, filterNeighbors(edges.get(node), outgoing, edgeType, neighborNodeType, edgeRequirements, neighborRequirements));
+		}
+		return neighbors;
+	}
+
+	private static <N extends AttributedNode, E extends AttributedEdge<N>> List<N> filterNeighbors(Collection<E> edges, boolean outgoing, String edgeType, String neighborNodeType, List<AttributeRequirement> edgeRequirements, List<AttributeRequirement> neighborRequirements) {
+		if(edges == null){
+			return List.of();
+		}
+		List<N> neighbors = new ArrayList<>();
+		for(E edge : edges){
+			N neighbor = outgoing ? edge.target() : edge.source();
+			if(edge.hasEdgeType(edgeType) &&
+					neighbor.hasNodeType(neighborNodeType) &&
+					AttributeRequirement.evaluateAll(edgeRequirements, edge) &&
+					AttributeRequirement.evaluateAll(neighborRequirements, neighbor)){
+				neighbors.add(neighbor);
+			}
+		}
+		return neighbors;
+	}
 	
 	/**
 	 * Checks whether an attribute is unique for a specified node type.
@@ -40,4 +127,36 @@ public interface AttributedGraph<N extends AttributedNode, E extends AttributedE
 	default N getNodeByUniqueAttribute(String nodeType, String key, AttributeValue<?> value) {
 		throw new UnsupportedOperationException();
 	}
+
+	/**
+	 * Checks whether nodes can be identified by numeric IDs using {@link AttributedGraph#getNumericNodeId(AttributedNode)}.
+	 *
+	 * If this is the case, GP-Eval stores candidates sorted by their numeric IDs allowing it to intersect these more efficiently.
+	 * @return {@code true} if {@link AttributedGraph#getNumericNodeId(AttributedNode)} is implemented, else {@code false}
+	 * @see AttributedGraph#getNumericNodeId(AttributedNode)
+	 */
+	default boolean hasNumericNodeIds() {
+		return false;
+	}
+
+	/**
+	 * Gets a numeric ID of a node as specified by {@link AttributedGraph#hasNumericNodeIds()}.
+	 *
+	 * Two nodes must have the same numeric ID if and only if they are {@link Object#equals(Object) equal}.
+	 * @param node the node
+	 * @return the numeric ID of the node
+	 * @throws UnsupportedOperationException if the graph doesn't provide numeric IDs
+	 * @see AttributedGraph#hasNumericNodeIds()
+	 */
+	default long getNumericNodeId(N node) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Gets statistics about the graph that can be used for planning the evaluation of graph patterns.
+	 * @return the {@link GraphStatistics} of this graph or {@code null} if no statistics are available
+	 */
+	default GraphStatistics getStatistics() {
+		return null;
+	}
 }
@@ -0,0 +1,107 @@
+package io.github.danthe1st.arebac.data.commongraph.attributed;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Statistics about the contents of an {@link AttributedGraph} that can be used for estimating how expensive evaluating a graph pattern is.
+ *
+ * Implementations may compute statistics lazily and cache them. Statistics are allowed to be approximations and may be outdated if the graph is modified.
+ * @see AttributedGraph#getStatistics()
+ */
+public interface GraphStatistics {
+
+	/**
+	 * Gets the number of nodes with a given node type.
+	 * @param nodeType the node type
+	 * @return the number of nodes having that type
+	 */
+	long getNodeCount(String nodeType);
+
+	/**
+	 * Gets the number of edges with a given edge type.
+	 * @param edgeType the edge type
+	 * @return the number of edges having that type
+	 */
+	long getEdgeCount(String edgeType);
+
+	/**
+	 * Gets statistics about the number of edges with a given type connected to nodes with a given node type.
+	 * @param nodeType the type of the nodes the edges are connected to
+	 * @param edgeType the type of the edges
+	 * @param outgoing {@code true} if edges starting at the nodes should be considered, {@code false} for edges ending at the nodes
+	 * @return the {@link Degree} of nodes with the given type with respect to the given edges
+	 */
+	Degree getDegree(String nodeType, String edgeType, boolean outgoing);
+
+	/**
+	 * Gets the maximum number of edges with a given type connected to a single node with a given node type.
+	 *
+	 * Unlike {@link #getDegree(String, String, boolean)}, this may require checking every node with the node type.
+	 * @param nodeType the type of the nodes the edges are connected to
+	 * @param edgeType the type of the edges
+	 * @param outgoing {@code true} if edges starting at the nodes should be considered, {@code false} for edges ending at the nodes
+	 * @return the maximum degree of nodes with the given type with respect to the given edges or {@code 0} if there are no such nodes
+	 */
+	long getMaxDegree(String nodeType, String edgeType, boolean outgoing);
+
+	/**
+	 * Gets the distribution of the values of an attribute among nodes with a given node type.
+	 * @param nodeType the type of the nodes
+	 * @param key the key of the attribute
+	 * @return an {@link AttributeHistogram} of the attribute values
+	 */
+	AttributeHistogram getAttributeHistogram(String nodeType, String key);
+
+	/**
+	 * The degree of nodes with a specific type with respect to edges of a specific type and direction.
+	 * @param nodeCount the number of nodes with the node type
+	 * @param edgeCount the number of edges with the edge type connected to these nodes in the given direction
+	 * @see GraphStatistics#getMaxDegree(String, String, boolean)
+	 */
+	public record Degree(long nodeCount, long edgeCount) {
+		/**
+		 * Gets the average number of edges connected to a node.
+		 * @return the average degree or {@code 0} if there are no nodes
+		 */
+		public double averageDegree() {
+			if(nodeCount == 0){
+				return 0;
+			}
+			return (double) edgeCount / nodeCount;
+		}
+	}
+
+	/**
+	 * The distribution of the values of an attribute among nodes of a specific type.
+	 * @param nodeCount the number of nodes with the node type (including nodes without the attribute)
+	 * @param valueCounts the number of nodes for each attribute value
+	 */
+	public record AttributeHistogram(long nodeCount, Map<AttributeValue<?>, Long> valueCounts) {
+		public AttributeHistogram {
+			Objects.requireNonNull(valueCounts);
+			valueCounts = Map.copyOf(valueCounts);
+		}
+
+		/**
+		 * Gets the number of nodes with a given attribute value.
+		 * @param value the attribute value
+		 * @return the number of nodes where the attribute has the given value
+		 */
+		public long count(AttributeValue<?> value) {
+			return valueCounts.getOrDefault(value, 0L);
+		}
+
+		/**
+		 * Gets the fraction of nodes with a given attribute value.
+		 * @param value the attribute value
+		 * @return a number between {@code 0} and {@code 1} specifying how many nodes have the given attribute value, {@code 0} if there are no nodes
+		 */
+		public double selectivity(AttributeValue<?> value) {
+			if(nodeCount == 0){
+				return 0;
+			}
+			return (double) count(value) / nodeCount;
+		}
+	}
+}
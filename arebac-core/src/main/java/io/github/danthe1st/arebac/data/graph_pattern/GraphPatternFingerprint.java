@@ -0,0 +1,362 @@
+package io.github.danthe1st.arebac.data.graph_pattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.BooleanAttribute;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.IntAttribute;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.ParameterAttribute;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.StringAttribute;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.MutualExclusionConstraint;
+
+/**
+ * A canonical representation of a {@link GraphPattern} that doesn't depend on the IDs of its nodes and edges.
+ *
+ * Two graph patterns have equal fingerprints if they only differ in the IDs of nodes and edges (e.g. when the same graph patterns are {@link io.github.danthe1st.arebac.weaving.Weaving woven} multiple times),
+ * the order of attribute requirements or duplicate attribute requirements.
+ * Graph patterns with equal fingerprints always have the same results so fingerprints can be used as keys for caching information about graph patterns.
+ *
+ * Everything else, including node and edge types, returned nodes (in order), actors, mutual exclusion constraints and all attribute requirements is part of the fingerprint.
+ * {@link ParameterAttribute Placeholders} are identified by their names so graph patterns using placeholders for values that change between evaluations have the same fingerprint.
+ *
+ * Nodes are ordered canonically by iteratively refining their labels based on their neighbors and trying all orders of nodes that cannot be distinguished that way.
+ * If a graph pattern contains too many such nodes, the fingerprint falls back to using node IDs.
+ * In that case, graph patterns with different node IDs have different fingerprints even if they are otherwise equal.
+ *
+ * The {@link #canonicalNodes() canonical order} of the nodes can be used for finding corresponding nodes of graph patterns with equal fingerprints.
+ */
+public final class GraphPatternFingerprint {
+
+	// maximum number of node orders compared before falling back to node IDs
+	private static final int MAX_CANONICAL_ORDERS = 256;
+
+	private final String canonicalForm;
+	private final int hashCode;
+	private final List<GPNode> canonicalNodes;
+
+	/**
+	 * Computes the fingerprint of a graph pattern.
+	 * @param pattern the graph pattern
+	 * @return the fingerprint of the graph pattern
+	 */
+	public static GraphPatternFingerprint of(GraphPattern pattern) {
+		Objects.requireNonNull(pattern);
+		Canonicalizer canonicalizer = new Canonicalizer(pattern);
+		String canonicalForm = canonicalizer.computeCanonicalForm();
+		return new GraphPatternFingerprint(canonicalForm, canonicalizer.canonicalNodes());
+	}
+
+	private GraphPatternFingerprint(String canonicalForm, List<GPNode> canonicalNodes) {
+		this.canonicalForm = canonicalForm;
+		this.hashCode = canonicalForm.hashCode();
+		this.canonicalNodes = canonicalNodes;
+	}
+
+	/**
+	 * Gets the nodes of the graph pattern this fingerprint has been computed from in canonical order.
+	 *
+	 * If two graph patterns have equal fingerprints, the nodes at the same position correspond to each other
+	 * i.e. the mapping between them preserves node types, edges, attribute requirements, mutual exclusion constraints, actors and returned nodes.
+	 * The nodes are not considered by {@link #equals(Object)}.
+	 * @return the nodes of the graph pattern in canonical order
+	 */
+	public List<GPNode> canonicalNodes() {
+		return canonicalNodes;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof GraphPatternFingerprint other && hashCode == other.hashCode && canonicalForm.equals(other.canonicalForm);
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		return "GraphPatternFingerprint [" + canonicalForm + "]";
+	}
+
+	private static final class Canonicalizer {
+		private final GPNode[] nodes;
+		// node index -> label not depending on IDs
+		private final String[] nodeLabels;
+		// edges between different nodes as {source, target} and their labels
+		private final List<int[]> edges = new ArrayList<>();
+		private final List<String> edgeLabels = new ArrayList<>();
+		private final List<int[]> mutualExclusionConstraints = new ArrayList<>();
+		private final GraphPattern pattern;
+		private int remainingOrders = MAX_CANONICAL_ORDERS;
+		private boolean tooManyOrders = false;
+		private String best;
+		// node index -> position of the node in the best serialization
+		private int[] bestPositions;
+
+		Canonicalizer(GraphPattern pattern) {
+			this.pattern = pattern;
+			List<GPNode> sortedNodes = new ArrayList<>(pattern.graph().nodes().values());
+			sortedNodes.sort((a, b) -> a.id().compareTo(b.id()));
+			nodes = sortedNodes.toArray(new GPNode[0]);
+			Map<GPNode, Integer> nodeIndices = new HashMap<>();
+			for(int i = 0; i < nodes.length; i++){
+				nodeIndices.put(nodes[i], i);
+			}
+
+			List<List<String>> selfEdgeLabels = new ArrayList<>();
+			for(int i = 0; i < nodes.length; i++){
+				selfEdgeLabels.add(new ArrayList<>());
+			}
+			for(Collection<GPEdge> outgoingEdges : pattern.graph().outgoingEdges().values()){
+				for(GPEdge edge : outgoingEdges){
+					String label = quote(edge.edgeType()) + requirementsLabel(pattern.edgeRequirements().get(edge));
+					int source = nodeIndices.get(edge.source());
+					int target = nodeIndices.get(edge.target());
+					if(source == target){
+						selfEdgeLabels.get(source).add(label);
+					}else{
+						edges.add(new int[] { source, target });
+						edgeLabels.add(label);
+					}
+				}
+			}
+			for(MutualExclusionConstraint constraint : pattern.mutualExclusionConstraints()){
+				mutualExclusionConstraints.add(new int[] { nodeIndices.get(constraint.first()), nodeIndices.get(constraint.second()) });
+			}
+
+			nodeLabels = new String[nodes.length];
+			for(int i = 0; i < nodes.length; i++){
+				GPNode node = nodes[i];
+				StringBuilder label = new StringBuilder(quote(node.nodeType()));
+				label.append(requirementsLabel(pattern.nodeRequirements().get(node)));
+				selfEdgeLabels.get(i).sort(null);
+				label.append("self").append(selfEdgeLabels.get(i));
+				List<Integer> returnedPositions = new ArrayList<>();
+				for(int position = 0; position < pattern.returnedNodes().size(); position++){
+					if(pattern.returnedNodes().get(position).equals(node)){
+						returnedPositions.add(position);
+					}
+				}
+				label.append("returned").append(returnedPositions);
+				List<String> actors = new ArrayList<>();
+				for(Map.Entry<String, GPNode> actor : pattern.actorsToNodes().entrySet()){
+					if(actor.getValue().equals(node)){
+						actors.add(quote(actor.getKey()));
+					}
+				}
+				actors.sort(null);
+				label.append("actors").append(actors);
+				nodeLabels[i] = label.toString();
+			}
+		}
+
+		String computeCanonicalForm() {
+			int[] colors = rank(nodeLabels);
+			search(colors);
+			if(tooManyOrders){
+				// too many symmetric nodes, node IDs are used for ordering the nodes instead
+				int[] order = new int[nodes.length];
+				for(int i = 0; i < order.length; i++){
+					order[i] = i;
+				}
+				bestPositions = order;
+				StringBuilder sb = new StringBuilder("ids");
+				for(GPNode node : nodes){
+					sb.append(quote(node.id()));
+				}
+				return sb.append(serialize(order)).toString();
+			}
+			return best;
+		}
+
+		/**
+		 * Gets the nodes ordered by their positions in the canonical form.
+		 * This requires the canonical form to be computed first.
+		 * @return the nodes in canonical order
+		 */
+		List<GPNode> canonicalNodes() {
+			GPNode[] ordered = new GPNode[nodes.length];
+			for(int i = 0; i < nodes.length; i++){
+				ordered[bestPositions[i]] = nodes[i];
+			}
+			return List.of(ordered);
+		}
+
+		/**
+		 * Finds the lexicographically smallest serialization among all node orders consistent with the refined colors.
+		 * @param initialColors the current colors of all nodes
+		 */
+		private void search(int[] initialColors) {
+			int[] colors = refine(initialColors);
+			int ambiguousColor = findAmbiguousColor(colors);
+			if(ambiguousColor == -1){
+				if(remainingOrders-- <= 0){
+					tooManyOrders = true;
+					return;
+				}
+				String serialized = serialize(colors);
+				if(best == null || serialized.compareTo(best) < 0){
+					best = serialized;
+					bestPositions = colors;
+				}
+				return;
+			}
+			for(int node = 0; node < colors.length; node++){
+				if(colors[node] == ambiguousColor){
+					// distinguish the node from all other nodes with the same color
+					int[] individualized = new int[colors.length];
+					for(int i = 0; i < colors.length; i++){
+						individualized[i] = 2 * colors[i] + 1;
+					}
+					individualized[node] = 2 * colors[node];
+					search(individualized);
+					if(tooManyOrders){
+						return;
+					}
+				}
+			}
+		}
+
+		private int findAmbiguousColor(int[] colors) {
+			boolean[] seen = new boolean[colors.length];
+			int ambiguousColor = -1;
+			for(int color : colors){
+				if(seen[color] && (ambiguousColor == -1 || color < ambiguousColor)){
+					ambiguousColor = color;
+				}
+				seen[color] = true;
+			}
+			return ambiguousColor;
+		}
+
+		/**
+		 * Refines colors of nodes based on the colors of their neighbors until no more nodes can be distinguished.
+		 * @param colors the current colors of all nodes
+		 * @return colors from {@code 0} (inclusive) to the number of nodes (exclusive) distinguishing at least the same nodes
+		 */
+		private int[] refine(int[] colors) {
+			int[] current = rank(colors);
+			int colorCount = countColors(current);
+			while(true){
+				List<List<String>> neighborhoods = new ArrayList<>();
+				for(int i = 0; i < nodes.length; i++){
+					neighborhoods.add(new ArrayList<>());
+				}
+				for(int i = 0; i < edges.size(); i++){
+					int[] edge = edges.get(i);
+					neighborhoods.get(edge[0]).add("out" + edgeLabels.get(i) + current[edge[1]]);
+					neighborhoods.get(edge[1]).add("in" + edgeLabels.get(i) + current[edge[0]]);
+				}
+				for(int[] constraint : mutualExclusionConstraints){
+					neighborhoods.get(constraint[0]).add("excludes" + current[constraint[1]]);
+					neighborhoods.get(constraint[1]).add("excludes" + current[constraint[0]]);
+				}
+				String[] signatures = new String[nodes.length];
+				for(int i = 0; i < nodes.length; i++){
+					neighborhoods.get(i).sort(null);
+					signatures[i] = current[i] + ":" + neighborhoods.get(i);
+				}
+				int[] refined = rank(signatures);
+				int refinedColorCount = countColors(refined);
+				if(refinedColorCount == colorCount){
+					return refined;
+				}
+				current = refined;
+				colorCount = refinedColorCount;
+			}
+		}
+
+		private int countColors(int[] colors) {
+			return (int) Arrays.stream(colors).distinct().count();
+		}
+
+		private static <T extends Comparable<T>> int[] rank(T[] keys) {
+			TreeMap<T, Integer> ranks = new TreeMap<>();
+			for(T key : keys){
+				ranks.put(key, 0);
+			}
+			int rank = 0;
+			for(Map.Entry<T, Integer> entry : ranks.entrySet()){
+				entry.setValue(rank++);
+			}
+			int[] result = new int[keys.length];
+			for(int i = 0; i < keys.length; i++){
+				result[i] = ranks.get(keys[i]);
+			}
+			return result;
+		}
+
+		private static int[] rank(int[] keys) {
+			Integer[] boxed = new Integer[keys.length];
+			for(int i = 0; i < keys.length; i++){
+				boxed[i] = keys[i];
+			}
+			return rank(boxed);
+		}
+
+		/**
+		 * Serializes the graph pattern with nodes identified by their positions.
+		 * @param positions the position of each node, all positions must be different
+		 * @return the serialized graph pattern
+		 */
+		private String serialize(int[] positions) {
+			String[] orderedLabels = new String[nodes.length];
+			for(int i = 0; i < nodes.length; i++){
+				orderedLabels[positions[i]] = nodeLabels[i];
+			}
+			List<String> serializedEdges = new ArrayList<>();
+			for(int i = 0; i < edges.size(); i++){
+				int[] edge = edges.get(i);
+				serializedEdges.add(positions[edge[0]] + "->" + positions[edge[1]] + edgeLabels.get(i));
+			}
+			serializedEdges.sort(null);
+			TreeSet<String> serializedConstraints = new TreeSet<>();
+			for(int[] constraint : mutualExclusionConstraints){
+				int first = positions[constraint[0]];
+				int second = positions[constraint[1]];
+				serializedConstraints.add(Math.min(first, second) + "!=" + Math.max(first, second));
+			}
+			List<Integer> returnedNodes = new ArrayList<>();
+			for(GPNode returnedNode : pattern.returnedNodes()){
+				returnedNodes.add(positions[Arrays.asList(nodes).indexOf(returnedNode)]);
+			}
+			return "nodes" + Arrays.toString(orderedLabels) +
+					"edges" + serializedEdges +
+					"exclusions" + serializedConstraints +
+					"returned" + returnedNodes;
+		}
+
+		private static String requirementsLabel(List<AttributeRequirement> requirements) {
+			TreeSet<String> labels = new TreeSet<>();
+			if(requirements != null){
+				for(AttributeRequirement requirement : requirements){
+					labels.add(quote(requirement.key()) + requirement.operator() + valueLabel(requirement.value()));
+				}
+			}
+			return labels.toString();
+		}
+
+		private static String valueLabel(AttributeValue<?> value) {
+			return switch(value) {
+			case StringAttribute(String s) -> "string" + quote(s);
+			case IntAttribute(int i) -> "int" + i;
+			case BooleanAttribute(boolean b) -> "boolean" + b;
+			case ParameterAttribute(String name) -> "parameter" + quote(name);
+			};
+		}
+
+		private static String quote(String value) {
+			return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+		}
+	}
+}
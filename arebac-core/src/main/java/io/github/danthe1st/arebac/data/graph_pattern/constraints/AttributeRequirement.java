@@ -1,5 +1,6 @@
 package io.github.danthe1st.arebac.data.graph_pattern.constraints;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Predicate;
 
@@ -7,12 +8,15 @@ import io.github.danthe1st.arebac.TypeMissmatchException;
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeAware;
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.NumericalAttributeValue;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.ParameterAttribute;
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.StringAttribute;
 
 /**
  * A constraint on nodes or edges containing a requirement on a specific attribute.
  *
  * The attribute is identified by a {@link AttributeRequirement#key} and compared to a {@link AttributeRequirement#value} using an {@link AttributeRequirement#operator}, e.g. <code>someAttribute.someKey <= someValue</code>.
+ *
+ * The value may be a {@link ParameterAttribute placeholder} that needs to be bound before the requirement can be evaluated.
  */
 public record AttributeRequirement(
 		/**
@@ -29,39 +33,64 @@ public record AttributeRequirement(
 		
 		boolean boolToEnsureExhaustivenessChecking = switch(operator) {
 		case GREATER_THAN, GREATER_THAN_OR_EQUAL, LESS_THAN, LESS_THAN_OR_EQUAL ->
-			checkNumeric(value, val -> true);
+			value instanceof ParameterAttribute || checkNumeric(value, val -> true);
 		case EQUAL, NOT_EQUAL -> true;
 		};
 		assert boolToEnsureExhaustivenessChecking;
 		
-		if(ID_KEY.equals(key) && !(value instanceof StringAttribute)){
+		if(ID_KEY.equals(key) && !(value instanceof StringAttribute || value instanceof ParameterAttribute)){
 			throw new IllegalArgumentException("ID requirements must be Strings");
 		}
 	}
 
+	/**
+	 * Checks whether this requirement is a placeholder that needs to be bound before evaluation.
+	 * @return {@code true} if the value is a {@link ParameterAttribute}, else {@code false}
+	 */
+	public boolean isParameterized() {
+		return value instanceof ParameterAttribute;
+	}
+
+	/**
+	 * Replaces the {@link ParameterAttribute placeholder} of this requirement with an actual value.
+	 * @param parameterValue the value of the parameter
+	 * @return a requirement with the same key and operator that compares against the given value
+	 * @throws IllegalStateException if this requirement is not parameterized
+	 */
+	public AttributeRequirement bind(AttributeValue<?> parameterValue) {
+		if(!isParameterized()){
+			throw new IllegalStateException("requirement is not parameterized: " + this);
+		}
+		if(parameterValue instanceof ParameterAttribute){
+			throw new IllegalArgumentException("parameters cannot be bound to other parameters");
+		}
+		return new AttributeRequirement(key, operator, parameterValue);
+	}
+
 	public boolean evaluate(AttributeAware aware) {
+		if(value instanceof ParameterAttribute(String name)){
+			throw new IllegalStateException("parameter has not been bound: " + name);
+		}
 		if(ID_KEY.equals(key)){
 			return value.value().equals(aware.id());
 		}
-		AttributeValue<?> attributeValue = aware.getAttribute(key);
-		if(attributeValue == null){
-			return false;
-		}
-
-		return switch(operator) {
-		case EQUAL ->
-			attributeValue.equals(value);
-		case NOT_EQUAL -> !attributeValue.equals(value);
-		case LESS_THAN ->
-			checkNumeric(attributeValue, val -> val.lessThan(value));
-		case LESS_THAN_OR_EQUAL ->
-			checkNumeric(attributeValue, val -> val.equals(value) || val.lessThan(value));
-		case GREATER_THAN ->
-			checkNumeric(value, val -> val.lessThan(attributeValue));
-		case GREATER_THAN_OR_EQUAL ->
-			checkNumeric(value, val -> val.equals(attributeValue) || val.lessThan(attributeValue));
-		};
+		return aware.matches(key, operator, value);
+	}
 
+	/**
+	 * Checks whether a node or edge satisfies all requirements of a list.
+	 * @param requirements the requirements to check in the order they are checked
+	 * @param aware the node or edge to check
+	 * @return {@code true} if all requirements are satisfied, else {@code false}
+	 * @see AttributeRequirement#evaluate(AttributeAware)
+	 */
+	public static boolean evaluateAll(List<AttributeRequirement> requirements, AttributeAware aware) {
+		for(AttributeRequirement requirement : requirements){
+			if(!requirement.evaluate(aware)){
+				return false;
+			}
+		}
+		return true;
 	}
 
 	private static boolean checkNumeric(AttributeValue<?> toCheck, Predicate<NumericalAttributeValue<?>> evaluator) {
@@ -1,14 +1,114 @@
 package io.github.danthe1st.arebac.data.graph_pattern.constraints;
 
+import io.github.danthe1st.arebac.TypeMissmatchException;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.BooleanAttribute;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.IntAttribute;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.NumericalAttributeValue;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.ParameterAttribute;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.StringAttribute;
+
 /**
  * An operator specifying how attributes can be compared.
+ *
+ * Apart from comparing {@link AttributeValue}s, attributes can be compared as {@code String}s, {@code int}s or {@code boolean}s
+ * so that implementations of {@link io.github.danthe1st.arebac.data.commongraph.attributed.AttributeAware#matches(String, AttributeRequirementOperator, AttributeValue) AttributeAware#matches}
+ * don't need to create {@link AttributeValue} objects for their attributes.
  */
 public enum AttributeRequirementOperator {
 	EQUAL,
 	NOT_EQUAL,
-	
+
 	LESS_THAN,
 	LESS_THAN_OR_EQUAL,
 	GREATER_THAN,
-	GREATER_THAN_OR_EQUAL
+	GREATER_THAN_OR_EQUAL;
+
+	/**
+	 * Compares the value of an attribute with a required value.
+	 * @param attributeValue the value of the attribute
+	 * @param requiredValue the value the attribute is compared to
+	 * @return {@code true} if the attribute satisfies the comparison, else {@code false}
+	 * @throws TypeMissmatchException if the operator requires numbers but one of the values is not numeric
+	 */
+	public boolean test(AttributeValue<?> attributeValue, AttributeValue<?> requiredValue) {
+		return switch(this) {
+		case EQUAL -> attributeValue.equals(requiredValue);
+		case NOT_EQUAL -> !attributeValue.equals(requiredValue);
+		case LESS_THAN -> requireNumeric(attributeValue).lessThan(requiredValue);
+		case LESS_THAN_OR_EQUAL -> lessThanOrEqual(requireNumeric(attributeValue), requiredValue);
+		case GREATER_THAN -> requireNumeric(requiredValue).lessThan(attributeValue);
+		case GREATER_THAN_OR_EQUAL -> lessThanOrEqual(requireNumeric(requiredValue), attributeValue);
+		};
+	}
+
+	/**
+	 * Compares the value of an {@code int} attribute with a required value.
+	 * @param attributeValue the value of the attribute
+	 * @param requiredValue the value the attribute is compared to
+	 * @return the same result as {@link #test(AttributeValue, AttributeValue)} with an {@link IntAttribute}
+	 * @throws TypeMissmatchException if the operator requires numbers but the required value is not numeric
+	 */
+	public boolean test(int attributeValue, AttributeValue<?> requiredValue) {
+		return switch(this) {
+		case EQUAL -> requiredValue instanceof IntAttribute(int value) && attributeValue == value;
+		case NOT_EQUAL -> !(requiredValue instanceof IntAttribute(int value) && attributeValue == value);
+		case LESS_THAN -> attributeValue < requireInt(requiredValue);
+		case LESS_THAN_OR_EQUAL -> attributeValue <= requireInt(requiredValue);
+		case GREATER_THAN -> attributeValue > requireInt(requiredValue);
+		case GREATER_THAN_OR_EQUAL -> attributeValue >= requireInt(requiredValue);
+		};
+	}
+
+	/**
+	 * Compares the value of a {@code String} attribute with a required value.
+	 * @param attributeValue the value of the attribute
+	 * @param requiredValue the value the attribute is compared to
+	 * @return the same result as {@link #test(AttributeValue, AttributeValue)} with a {@link StringAttribute}
+	 * @throws TypeMissmatchException if the operator requires numbers
+	 */
+	public boolean test(String attributeValue, AttributeValue<?> requiredValue) {
+		return switch(this) {
+		case EQUAL -> requiredValue instanceof StringAttribute(String value) && attributeValue.equals(value);
+		case NOT_EQUAL -> !(requiredValue instanceof StringAttribute(String value) && attributeValue.equals(value));
+		case LESS_THAN, LESS_THAN_OR_EQUAL, GREATER_THAN, GREATER_THAN_OR_EQUAL ->
+			throw new TypeMissmatchException(NumericalAttributeValue.class, new StringAttribute(attributeValue));
+		};
+	}
+
+	/**
+	 * Compares the value of a {@code boolean} attribute with a required value.
+	 * @param attributeValue the value of the attribute
+	 * @param requiredValue the value the attribute is compared to
+	 * @return the same result as {@link #test(AttributeValue, AttributeValue)} with a {@link BooleanAttribute}
+	 * @throws TypeMissmatchException if the operator requires numbers
+	 */
+	public boolean test(boolean attributeValue, AttributeValue<?> requiredValue) {
+		return switch(this) {
+		case EQUAL -> requiredValue instanceof BooleanAttribute(boolean value) && attributeValue == value;
+		case NOT_EQUAL -> !(requiredValue instanceof BooleanAttribute(boolean value) && attributeValue == value);
+		case LESS_THAN, LESS_THAN_OR_EQUAL, GREATER_THAN, GREATER_THAN_OR_EQUAL ->
+			throw new TypeMissmatchException(NumericalAttributeValue.class, new BooleanAttribute(attributeValue));
+		};
+	}
+
+	private static NumericalAttributeValue<?> requireNumeric(AttributeValue<?> value) {
+		if(!(value instanceof NumericalAttributeValue<?> numeric)){
+			throw new TypeMissmatchException(NumericalAttributeValue.class, value);
+		}
+		return numeric;
+	}
+
+	private static boolean lessThanOrEqual(NumericalAttributeValue<?> value, AttributeValue<?> other) {
+		return value.equals(other) || value.lessThan(other);
+	}
+
+	private static int requireInt(AttributeValue<?> value) {
+		return switch(value) {
+		case IntAttribute(int intValue) -> intValue;
+		case ParameterAttribute(String name) -> throw new IllegalStateException("parameter has not been bound: " + name);
+		case StringAttribute attr -> throw new TypeMissmatchException(NumericalAttributeValue.class, attr);
+		case BooleanAttribute attr -> throw new TypeMissmatchException(NumericalAttributeValue.class, attr);
+		};
+	}
 }
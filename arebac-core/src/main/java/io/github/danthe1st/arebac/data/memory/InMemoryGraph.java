@@ -10,6 +10,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph;
+import io.github.danthe1st.arebac.data.commongraph.attributed.GraphStatistics;
 import io.github.danthe1st.arebac.data.commongraph.memory.CommonInMemoryGraph;
 
 /**
@@ -76,4 +77,15 @@ public record InMemoryGraph(Map<String, InMemoryGraphNode> nodes,
 		Collection<InMemoryGraphEdge> incomingEdges = Objects.requireNonNullElse(incomingEdges().get(node), Set.of());
 		return filterEdgesByType(edgeType, incomingEdges);
 	}
+
+	/**
+	 * Creates {@link GraphStatistics} for this graph.
+	 *
+	 * Statistics are computed lazily and cached in the returned object, so it should be reused when evaluating multiple graph patterns.
+	 * @return statistics about this graph
+	 */
+	@Override
+	public GraphStatistics getStatistics() {
+		return new InMemoryGraphStatistics(this);
+	}
 }
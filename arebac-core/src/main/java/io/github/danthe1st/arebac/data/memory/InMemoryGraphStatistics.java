@@ -0,0 +1,130 @@
+package io.github.danthe1st.arebac.data.memory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
+import io.github.danthe1st.arebac.data.commongraph.attributed.GraphStatistics;
+
+/**
+ * {@link GraphStatistics} of an {@link InMemoryGraph}.
+ *
+ * Statistics are computed when they are requested for the first time and cached afterwards.
+ * Instances can be used concurrently.
+ */
+final class InMemoryGraphStatistics implements GraphStatistics {
+
+	private final InMemoryGraph graph;
+
+	private final Map<String, Long> nodeCounts = new ConcurrentHashMap<>();
+	private final Map<String, Long> edgeCounts = new ConcurrentHashMap<>();
+	private final Map<DegreeKey, Degree> degrees = new ConcurrentHashMap<>();
+	private final Map<DegreeKey, Long> maxDegrees = new ConcurrentHashMap<>();
+	private final Map<HistogramKey, AttributeHistogram> histograms = new ConcurrentHashMap<>();
+
+	InMemoryGraphStatistics(InMemoryGraph graph) {
+		this.graph = graph;
+	}
+
+	@Override
+	public long getNodeCount(String nodeType) {
+		return nodeCounts.computeIfAbsent(nodeType, type -> {
+			long count = 0;
+			for(InMemoryGraphNode node : graph.nodes().values()){
+				if(node.hasNodeType(type)){
+					count++;
+				}
+			}
+			return count;
+		});
+	}
+
+	@Override
+	public long getEdgeCount(String edgeType) {
+		return edgeCounts.computeIfAbsent(edgeType, type -> {
+			long count = 0;
+			for(List<InMemoryGraphEdge> edges : graph.outgoingEdges().values()){
+				for(InMemoryGraphEdge edge : edges){
+					if(edge.hasEdgeType(type)){
+						count++;
+					}
+				}
+			}
+			return count;
+		});
+	}
+
+	@Override
+	public Degree getDegree(String nodeType, String edgeType, boolean outgoing) {
+		return degrees.computeIfAbsent(new DegreeKey(nodeType, edgeType, outgoing), this::computeDegree);
+	}
+
+	private Degree computeDegree(DegreeKey key) {
+		Map<InMemoryGraphNode, List<InMemoryGraphEdge>> edgesByNode = key.outgoing() ? graph.outgoingEdges() : graph.incomingEdges();
+		long nodeCount = 0;
+		long edgeCount = 0;
+		for(InMemoryGraphNode node : graph.nodes().values()){
+			if(node.hasNodeType(key.nodeType())){
+				nodeCount++;
+				edgeCount += countEdgesWithType(edgesByNode.getOrDefault(node, List.of()), key.edgeType());
+			}
+		}
+		return new Degree(nodeCount, edgeCount);
+	}
+
+	@Override
+	public long getMaxDegree(String nodeType, String edgeType, boolean outgoing) {
+		return maxDegrees.computeIfAbsent(new DegreeKey(nodeType, edgeType, outgoing), this::computeMaxDegree);
+	}
+
+	private long computeMaxDegree(DegreeKey key) {
+		Map<InMemoryGraphNode, List<InMemoryGraphEdge>> edgesByNode = key.outgoing() ? graph.outgoingEdges() : graph.incomingEdges();
+		long maxDegree = 0;
+		for(InMemoryGraphNode node : graph.nodes().values()){
+			if(node.hasNodeType(key.nodeType())){
+				maxDegree = Math.max(maxDegree, countEdgesWithType(edgesByNode.getOrDefault(node, List.of()), key.edgeType()));
+			}
+		}
+		return maxDegree;
+	}
+
+	private long countEdgesWithType(Collection<InMemoryGraphEdge> edges, String edgeType) {
+		long count = 0;
+		for(InMemoryGraphEdge edge : edges){
+			if(edge.hasEdgeType(edgeType)){
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public AttributeHistogram getAttributeHistogram(String nodeType, String key) {
+		return histograms.computeIfAbsent(new HistogramKey(nodeType, key), this::computeHistogram);
+	}
+
+	private AttributeHistogram computeHistogram(HistogramKey key) {
+		long nodeCount = 0;
+		Map<AttributeValue<?>, Long> valueCounts = new HashMap<>();
+		for(InMemoryGraphNode node : graph.nodes().values()){
+			if(!node.hasNodeType(key.nodeType())){
+				continue;
+			}
+			nodeCount++;
+			AttributeValue<?> value = node.getAttribute(key.key());
+			if(value != null){
+				valueCounts.merge(value, 1L, Long::sum);
+			}
+		}
+		return new AttributeHistogram(nodeCount, valueCounts);
+	}
+
+	private record DegreeKey(String nodeType, String edgeType, boolean outgoing) {
+	}
+
+	private record HistogramKey(String nodeType, String key) {
+	}
+}
@@ -0,0 +1,73 @@
+package io.github.danthe1st.arebac.gpeval;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AsyncAttributedGraph;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedEdge;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+
+/**
+ * Evaluates graph patterns against {@link AsyncAttributedGraph}s.
+ *
+ * Every evaluation runs {@link GPEval} on a new virtual thread which waits for the lookups of the graph.
+ * Waiting on a virtual thread doesn't block a platform thread so the number of evaluations waiting for I/O is not limited by the number of threads.
+ *
+ * Within an evaluation, the neighbors of multiple candidates of a node are loaded concurrently using {@link AsyncAttributedGraph#findEdges(java.util.Collection, boolean, String)}
+ * as specified by {@link GPEvalOptions#neighborBatchSize()}.
+ * If no batch size is configured, the neighbors of up to {@value #DEFAULT_NEIGHBOR_BATCH_SIZE} candidates are loaded at once unless the neighbor cache is disabled.
+ */
+public final class AsyncGPEval {
+
+	private static final int DEFAULT_NEIGHBOR_BATCH_SIZE = 64;
+
+	private static final ThreadFactory VIRTUAL_THREAD_FACTORY = Thread.ofVirtual().name("gpeval-", 0).factory();
+	private static final Executor VIRTUAL_THREAD_EXECUTOR = runnable -> VIRTUAL_THREAD_FACTORY.newThread(runnable).start();
+
+	private AsyncGPEval() {
+		// prevent instantiation
+	}
+
+	/**
+	 * Evaluates a graph pattern against an {@link AsyncAttributedGraph}.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param pattern the graph pattern
+	 * @return a {@link CompletableFuture} completing with the nodes corresponding to the returned nodes in the graph pattern for each match
+	 * @see GPEval#evaluate(io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph, GraphPattern)
+	 */
+	public static <N extends AttributedNode, E extends AttributedEdge<N>> CompletableFuture<Set<List<N>>> evaluate(AsyncAttributedGraph<N, E> graph, GraphPattern pattern) {
+		return evaluate(graph, GPEvalPlan.compile(pattern), GPEvalOptions.sequential());
+	}
+
+	/**
+	 * Evaluates a precompiled graph pattern against an {@link AsyncAttributedGraph} using specific {@link GPEvalOptions options}.
+	 *
+	 * If parallel evaluation is enabled, the lookups are waited for in the threads of the configured {@link java.util.concurrent.ForkJoinPool}.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param plan the compiled graph pattern
+	 * @param options options for the evaluation
+	 * @return a {@link CompletableFuture} completing with the nodes corresponding to the returned nodes in the graph pattern for each match
+	 * or completing exceptionally if the evaluation or any lookup fails
+	 * @see GPEval#evaluate(io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph, GPEvalPlan, GPEvalOptions)
+	 */
+	public static <N extends AttributedNode, E extends AttributedEdge<N>> CompletableFuture<Set<List<N>>> evaluate(AsyncAttributedGraph<N, E> graph, GPEvalPlan plan, GPEvalOptions options) {
+		BlockingAttributedGraph<N, E> blockingGraph = new BlockingAttributedGraph<>(graph);
+		GPEvalOptions asyncOptions = withDefaultBatchSize(options);
+		return CompletableFuture.supplyAsync(() -> GPEval.evaluate(blockingGraph, plan, asyncOptions), VIRTUAL_THREAD_EXECUTOR);
+	}
+
+	private static GPEvalOptions withDefaultBatchSize(GPEvalOptions options) {
+		if(options.neighborBatchSize() == 0 && options.neighborCacheSize() > 0){
+			return options.withNeighborBatchSize(DEFAULT_NEIGHBOR_BATCH_SIZE);
+		}
+		return options;
+	}
+}
@@ -0,0 +1,74 @@
+package io.github.danthe1st.arebac.gpeval;
+
+import java.util.Collection;
+import java.util.Map;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AsyncAttributedGraph;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedEdge;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedNode;
+import io.github.danthe1st.arebac.data.commongraph.attributed.GraphStatistics;
+
+/**
+ * An {@link AttributedGraph} waiting for the lookups of an {@link AsyncAttributedGraph}.
+ *
+ * This is used for evaluating graph patterns against {@link AsyncAttributedGraph}s on virtual threads where waiting doesn't block a platform thread.
+ * Lookups of multiple nodes at once ({@link AttributedGraph#findEdges(Collection, boolean, String)}) are forwarded to {@link AsyncAttributedGraph#findEdges(Collection, boolean, String)}
+ * so that these are in progress concurrently.
+ * @param <N> The type of nodes in the graph
+ * @param <E> The type of edges in the graph
+ * @see AsyncGPEval
+ */
+final class BlockingAttributedGraph<N extends AttributedNode, E extends AttributedEdge<N>> implements AttributedGraph<N, E> {
+	private final AsyncAttributedGraph<N, E> delegate;
+
+	BlockingAttributedGraph(AsyncAttributedGraph<N, E> delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public N findNodeById(String id) {
+		return delegate.findNodeById(id).join();
+	}
+
+	@Override
+	public Collection<E> findOutgoingEdges(N node, String edgeType) {
+		return delegate.findOutgoingEdges(node, edgeType).join();
+	}
+
+	@Override
+	public Collection<E> findIncomingEdges(N node, String edgeType) {
+		return delegate.findIncomingEdges(node, edgeType).join();
+	}
+
+	@Override
+	public Map<N, Collection<E>> findEdges(Collection<N> nodes, boolean outgoing, String edgeType) {
+		return delegate.findEdges(nodes, outgoing, edgeType).join();
+	}
+
+	@Override
+	public boolean isAttributeUniqueForNodeType(String key, String nodeType) {
+		return delegate.isAttributeUniqueForNodeType(key, nodeType);
+	}
+
+	@Override
+	public N getNodeByUniqueAttribute(String nodeType, String key, AttributeValue<?> value) {
+		return delegate.getNodeByUniqueAttribute(nodeType, key, value).join();
+	}
+
+	@Override
+	public boolean hasNumericNodeIds() {
+		return delegate.hasNumericNodeIds();
+	}
+
+	@Override
+	public long getNumericNodeId(N node) {
+		return delegate.getNumericNodeId(node);
+	}
+
+	@Override
+	public GraphStatistics getStatistics() {
+		return delegate.getStatistics();
+	}
+}
@@ -0,0 +1,289 @@
+package io.github.danthe1st.arebac.gpeval;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph;
+
+/**
+ * An immutable set of candidates (nodes in the attributed graph) for a vertex in the graph pattern supporting fast intersections and subset checks.
+ *
+ * If the {@link AttributedGraph} provides {@link AttributedGraph#hasNumericNodeIds() numeric node IDs}, the candidates are stored sorted by these IDs
+ * and intersections as well as subset checks are computed by merging the sorted IDs (galloping through the larger set if the sizes differ a lot).
+ * Otherwise, candidates are kept in the order they have been found in and these operations use a hash-based index of the other set.
+ *
+ * Candidate sets never contain duplicates.
+ * @param <N> The type of the nodes in the attributed graph
+ */
+final class CandidateSet<N> extends AbstractList<N> implements RandomAccess {
+
+	/**
+	 * If one set is at least this many times larger than the other one, galloping is used instead of a linear merge.
+	 */
+	private static final int GALLOPING_RATIO = 8;
+
+	private final Object[] nodes;
+	// numeric IDs of the nodes (ascending) or null if no numeric IDs are available
+	private final long[] ids;
+	// lazily created index used when no numeric IDs are available
+	private Set<Object> index;
+
+	private CandidateSet(Object[] nodes, long[] ids) {
+		this.nodes = nodes;
+		this.ids = ids;
+	}
+
+	/**
+	 * Creates a candidate set from a collection of nodes. Duplicates are removed.
+	 * @param <N> The type of the nodes in the attributed graph
+	 * @param nodes the candidates
+	 * @param numericIds a function computing the numeric ID of a node or {@code null} if the graph doesn't provide numeric IDs
+	 * @return a {@link CandidateSet} containing the nodes
+	 */
+	static <N> CandidateSet<N> of(Collection<N> nodes, ToLongFunction<? super N> numericIds) {
+		if(nodes instanceof CandidateSet<N> candidateSet){
+			return candidateSet;
+		}
+		if(numericIds == null){
+			Set<Object> index = new HashSet<>();
+			Object[] distinctNodes = new Object[nodes.size()];
+			int size = 0;
+			for(N node : nodes){
+				if(index.add(node)){
+					distinctNodes[size++] = node;
+				}
+			}
+			CandidateSet<N> result = new CandidateSet<>(Arrays.copyOf(distinctNodes, size), null);
+			result.index = index;
+			return result;
+		}
+		return ofNumericIds(nodes, numericIds);
+	}
+
+	private static <N> CandidateSet<N> ofNumericIds(Collection<N> nodes, ToLongFunction<? super N> numericIds) {
+		NodeWithId[] entries = new NodeWithId[nodes.size()];
+		int i = 0;
+		boolean sorted = true;
+		for(N node : nodes){
+			entries[i] = new NodeWithId(node, numericIds.applyAsLong(node));
+			sorted &= i == 0 || entries[i - 1].id() < entries[i].id();
+			i++;
+		}
+		if(!sorted){
+			Arrays.sort(entries, Comparator.comparingLong(NodeWithId::id));
+		}
+		Object[] sortedNodes = new Object[entries.length];
+		long[] sortedIds = new long[entries.length];
+		int size = 0;
+		for(NodeWithId entry : entries){
+			if(size == 0 || sortedIds[size - 1] != entry.id()){
+				sortedNodes[size] = entry.node();
+				sortedIds[size] = entry.id();
+				size++;
+			}
+		}
+		if(size != entries.length){
+			sortedNodes = Arrays.copyOf(sortedNodes, size);
+			sortedIds = Arrays.copyOf(sortedIds, size);
+		}
+		return new CandidateSet<>(sortedNodes, sortedIds);
+	}
+
+	private record NodeWithId(Object node, long id) {
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public N get(int i) {
+		return (N) nodes[i];
+	}
+
+	@Override
+	public int size() {
+		return nodes.length;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		if(ids == null){
+			return getIndex().contains(o);
+		}
+		return super.contains(o);
+	}
+
+	/**
+	 * Checks whether this set contains a node without scanning all elements.
+	 *
+	 * If this set uses numeric IDs, the ID of the node is searched using binary search, otherwise the node is looked up in a hash-based index.
+	 * @param node the node to search for
+	 * @param numericIds the function used for computing the numeric IDs of this set or {@code null} if the set doesn't use numeric IDs
+	 * @return {@code true} if this set contains the node, else {@code false}
+	 */
+	boolean contains(N node, ToLongFunction<? super N> numericIds) {
+		if(ids == null){
+			return getIndex().contains(node);
+		}
+		return Arrays.binarySearch(ids, numericIds.applyAsLong(node)) >= 0;
+	}
+
+	/**
+	 * Creates a candidate set containing all elements of this set except for a single node.
+	 * @param node the node to remove
+	 * @param numericIds the function used for computing the numeric IDs of this set or {@code null} if the set doesn't use numeric IDs
+	 * @return a {@link CandidateSet} without the node or this set if it doesn't contain the node
+	 */
+	CandidateSet<N> without(N node, ToLongFunction<? super N> numericIds) {
+		int position;
+		if(ids == null){
+			position = getIndex().contains(node) ? indexOf(node) : -1;
+		}else{
+			position = Arrays.binarySearch(ids, numericIds.applyAsLong(node));
+		}
+		if(position < 0){
+			return this;
+		}
+		Object[] remainingNodes = new Object[nodes.length - 1];
+		System.arraycopy(nodes, 0, remainingNodes, 0, position);
+		System.arraycopy(nodes, position + 1, remainingNodes, position, remainingNodes.length - position);
+		long[] remainingIds = null;
+		if(ids != null){
+			remainingIds = new long[ids.length - 1];
+			System.arraycopy(ids, 0, remainingIds, 0, position);
+			System.arraycopy(ids, position + 1, remainingIds, position, remainingIds.length - position);
+		}
+		return new CandidateSet<>(remainingNodes, remainingIds);
+	}
+
+	/**
+	 * Checks whether all elements of this set are contained in another set.
+	 * @param other the other candidate set, it must use the same kind of IDs as this set
+	 * @return {@code true} if this set is a subset of {@code other}, else {@code false}
+	 */
+	boolean isSubsetOf(CandidateSet<N> other) {
+		if(size() > other.size()){
+			return false;
+		}
+		if(ids == null || other.ids == null){
+			Set<Object> otherIndex = other.getIndex();
+			for(Object node : nodes){
+				if(!otherIndex.contains(node)){
+					return false;
+				}
+			}
+			return true;
+		}
+		long[] otherIds = other.ids;
+		boolean gallop = (long) size() * GALLOPING_RATIO < otherIds.length;
+		int otherPosition = 0;
+		for(long id : ids){
+			otherPosition = gallop ? gallop(otherIds, otherPosition, id) : advance(otherIds, otherPosition, id);
+			if(otherPosition == otherIds.length || otherIds[otherPosition] != id){
+				return false;
+			}
+			otherPosition++;
+		}
+		return true;
+	}
+
+	/**
+	 * Computes the intersection of this set with another set.
+	 *
+	 * If no numeric IDs are available, the order of this set is kept.
+	 * @param other the other candidate set, it must use the same kind of IDs as this set
+	 * @return a {@link CandidateSet} containing all elements present in both sets
+	 */
+	CandidateSet<N> intersect(CandidateSet<N> other) {
+		if(ids == null || other.ids == null){
+			Set<Object> otherIndex = other.getIndex();
+			Object[] intersection = new Object[Math.min(size(), other.size())];
+			int size = 0;
+			for(Object node : nodes){
+				if(otherIndex.contains(node)){
+					intersection[size++] = node;
+				}
+			}
+			return new CandidateSet<>(Arrays.copyOf(intersection, size), null);
+		}
+		CandidateSet<N> smaller = size() <= other.size() ? this : other;
+		CandidateSet<N> larger = smaller == this ? other : this;
+		boolean gallop = (long) smaller.size() * GALLOPING_RATIO < larger.size();
+		Object[] intersectionNodes = new Object[smaller.size()];
+		long[] intersectionIds = new long[smaller.size()];
+		int size = 0;
+		int largerPosition = 0;
+		for(int i = 0; i < smaller.ids.length && largerPosition < larger.ids.length; i++){
+			long id = smaller.ids[i];
+			largerPosition = gallop ? gallop(larger.ids, largerPosition, id) : advance(larger.ids, largerPosition, id);
+			if(largerPosition < larger.ids.length && larger.ids[largerPosition] == id){
+				intersectionNodes[size] = smaller.nodes[i];
+				intersectionIds[size] = id;
+				size++;
+				largerPosition++;
+			}
+		}
+		if(size == smaller.size()){
+			return smaller;
+		}
+		return new CandidateSet<>(Arrays.copyOf(intersectionNodes, size), Arrays.copyOf(intersectionIds, size));
+	}
+
+	/**
+	 * Finds the first position in a sorted array that is not smaller than a given key by scanning linearly.
+	 * @param sortedIds the sorted array
+	 * @param from the position to start at
+	 * @param key the key to search for
+	 * @return the first position at or after {@code from} that is not smaller than {@code key}, {@code sortedIds.length} if there is no such position
+	 */
+	private static int advance(long[] sortedIds, int from, long key) {
+		int position = from;
+		while(position < sortedIds.length && sortedIds[position] < key){
+			position++;
+		}
+		return position;
+	}
+
+	/**
+	 * Finds the first position in a sorted array that is not smaller than a given key using exponential search.
+	 * @param sortedIds the sorted array
+	 * @param from the position to start at
+	 * @param key the key to search for
+	 * @return the first position at or after {@code from} that is not smaller than {@code key}, {@code sortedIds.length} if there is no such position
+	 */
+	private static int gallop(long[] sortedIds, int from, long key) {
+		int low = from;
+		int step = 1;
+		int high = from;
+		while(high < sortedIds.length && sortedIds[high] < key){
+			low = high + 1;
+			high = from + step;
+			step <<= 1;
+		}
+		high = Math.min(high, sortedIds.length);
+		// sortedIds[low - 1] < key (if low > from) and sortedIds[high] >= key (if high < length)
+		while(low < high){
+			int mid = (low + high) >>> 1;
+			if(sortedIds[mid] < key){
+				low = mid + 1;
+			}else{
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private Set<Object> getIndex() {
+		Set<Object> currentIndex = index;
+		if(currentIndex == null){
+			currentIndex = Set.of(nodes);
+			index = currentIndex;
+		}
+		return currentIndex;
+	}
+}
@@ -0,0 +1,289 @@
+package io.github.danthe1st.arebac.gpeval;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import io.github.danthe1st.arebac.TypeMissmatchException;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeAware;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.IntAttribute;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.NumericalAttributeValue;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.ParameterAttribute;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator;
+
+/**
+ * The attribute requirements of a node or edge in the graph pattern compiled to a predicate that can be checked efficiently.
+ *
+ * Instead of evaluating each {@link AttributeRequirement} on its own in declaration order, requirements are grouped by their kind and checked in the following order:
+ * <ol>
+ *   <li>requirements on the {@link AttributeRequirement#ID_KEY ID} which don't need to access any attribute</li>
+ *   <li>{@link AttributeRequirementOperator#EQUAL equality} requirements which are typically the most selective ones</li>
+ *   <li>range requirements where all comparisons on the same attribute are merged into a single range of {@code int}s so that at most one lower and one upper bound is checked</li>
+ *   <li>{@link AttributeRequirementOperator#NOT_EQUAL inequality} requirements which rarely exclude an element</li>
+ * </ol>
+ * Attributes are compared using {@link AttributeAware#matches(String, AttributeRequirementOperator, AttributeValue)} so that elements can compare their attributes
+ * without creating {@link AttributeValue} objects.
+ * The result is the same as evaluating all requirements using {@link AttributeRequirement#evaluate(AttributeAware)}
+ * except that a {@link TypeMissmatchException} may not be thrown if another requirement is not satisfied.
+ *
+ * Requirements that contradict each other (e.g. different required values for the same attribute or an empty range) are detected while compiling
+ * so that these can be rejected without accessing any node or edge (see {@link #isUnsatisfiable()}).
+ */
+final class CompiledRequirements {
+
+	private static final CompiledRequirements EMPTY = new CompiledRequirements(List.of());
+
+	private final List<AttributeRequirement> requirements;
+	// the same requirements in the order these are checked
+	private final List<AttributeRequirement> orderedRequirements;
+
+	// name of a parameter that has not been bound or null if there are no placeholders
+	private final String unboundParameter;
+	// required ID or null if the ID is not restricted
+	private final String requiredId;
+	// true if there are multiple different requirements on the ID
+	private final boolean contradictingIds;
+	// true if no element can satisfy all requirements
+	private final boolean unsatisfiable;
+
+	private final String[] equalKeys;
+	private final AttributeValue<?>[] equalValues;
+
+	private final String[] rangeKeys;
+	// lower and upper bounds of the ranges, null if a range is not bounded in that direction
+	private final IntAttribute[] rangeMinimums;
+	private final IntAttribute[] rangeMaximums;
+
+	private final String[] notEqualKeys;
+	private final AttributeValue<?>[] notEqualValues;
+
+	/**
+	 * Compiles a list of attribute requirements.
+	 *
+	 * Duplicate requirements are only checked once.
+	 * @param requirements the requirements that all need to be satisfied
+	 * @return a {@link CompiledRequirements} checking all of the given requirements
+	 */
+	static CompiledRequirements compile(List<AttributeRequirement> requirements) {
+		if(requirements.isEmpty()){
+			return EMPTY;
+		}
+		return new CompiledRequirements(List.copyOf(new LinkedHashSet<>(requirements)));
+	}
+
+	private CompiledRequirements(List<AttributeRequirement> requirements) {
+		this.requirements = requirements;
+
+		String parameter = null;
+		String id = null;
+		boolean contradiction = false;
+		List<AttributeRequirement> parameterized = new ArrayList<>();
+		List<AttributeRequirement> idRequirements = new ArrayList<>();
+		List<AttributeRequirement> equal = new ArrayList<>();
+		List<AttributeRequirement> rangeRequirements = new ArrayList<>();
+		List<AttributeRequirement> notEqual = new ArrayList<>();
+		// key -> {minimum, maximum}
+		Map<String, long[]> ranges = new LinkedHashMap<>();
+		for(AttributeRequirement requirement : requirements){
+			if(requirement.value() instanceof ParameterAttribute(String name)){
+				if(parameter == null){
+					parameter = name;
+				}
+				parameterized.add(requirement);
+				continue;
+			}
+			if(AttributeRequirement.ID_KEY.equals(requirement.key())){
+				String value = (String) requirement.value().value();
+				if(id == null){
+					id = value;
+				}else if(!id.equals(value)){
+					contradiction = true;
+				}
+				idRequirements.add(requirement);
+				continue;
+			}
+			switch(requirement.operator()) {
+			case EQUAL -> equal.add(requirement);
+			case NOT_EQUAL -> notEqual.add(requirement);
+			case LESS_THAN, LESS_THAN_OR_EQUAL, GREATER_THAN, GREATER_THAN_OR_EQUAL -> {
+				addToRange(ranges, requirement);
+				rangeRequirements.add(requirement);
+			}
+			}
+		}
+		List<AttributeRequirement> ordered = new ArrayList<>(requirements.size());
+		ordered.addAll(idRequirements);
+		ordered.addAll(equal);
+		ordered.addAll(rangeRequirements);
+		ordered.addAll(notEqual);
+		ordered.addAll(parameterized);
+		this.orderedRequirements = List.copyOf(ordered);
+		this.unboundParameter = parameter;
+		this.requiredId = id;
+		this.contradictingIds = contradiction;
+
+		equalKeys = new String[equal.size()];
+		equalValues = new AttributeValue<?>[equal.size()];
+		for(int i = 0; i < equalKeys.length; i++){
+			equalKeys[i] = equal.get(i).key();
+			equalValues[i] = equal.get(i).value();
+		}
+		notEqualKeys = new String[notEqual.size()];
+		notEqualValues = new AttributeValue<?>[notEqual.size()];
+		for(int i = 0; i < notEqualKeys.length; i++){
+			notEqualKeys[i] = notEqual.get(i).key();
+			notEqualValues[i] = notEqual.get(i).value();
+		}
+		rangeKeys = new String[ranges.size()];
+		rangeMinimums = new IntAttribute[ranges.size()];
+		rangeMaximums = new IntAttribute[ranges.size()];
+		int rangeIndex = 0;
+		for(Map.Entry<String, long[]> range : ranges.entrySet()){
+			rangeKeys[rangeIndex] = range.getKey();
+			rangeMinimums[rangeIndex] = toBound(range.getValue()[0], Long.MIN_VALUE);
+			rangeMaximums[rangeIndex] = toBound(range.getValue()[1], Long.MAX_VALUE);
+			rangeIndex++;
+		}
+		this.unsatisfiable = contradiction || hasContradiction(equal, notEqual, ranges);
+	}
+
+	private static boolean hasContradiction(List<AttributeRequirement> equal, List<AttributeRequirement> notEqual, Map<String, long[]> ranges) {
+		for(long[] range : ranges.values()){
+			// attributes are ints so ranges outside of the int range are empty as well
+			if(range[0] > range[1] || range[0] > Integer.MAX_VALUE || range[1] < Integer.MIN_VALUE){
+				return true;
+			}
+		}
+		Map<String, AttributeValue<?>> requiredValues = new HashMap<>();
+		for(AttributeRequirement requirement : equal){
+			AttributeValue<?> otherValue = requiredValues.putIfAbsent(requirement.key(), requirement.value());
+			if(otherValue != null && !otherValue.equals(requirement.value())){
+				return true;
+			}
+			long[] range = ranges.get(requirement.key());
+			if(range != null && requirement.value() instanceof IntAttribute(int value) && (value < range[0] || value > range[1])){
+				return true;
+			}
+		}
+		for(AttributeRequirement requirement : notEqual){
+			if(requirement.value().equals(requiredValues.get(requirement.key()))){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static IntAttribute toBound(long bound, long unbounded) {
+		if(bound == unbounded){
+			return null;
+		}
+		// bounds outside of the int range only occur in unsatisfiable requirements which are never checked
+		return new IntAttribute(Math.clamp(bound, Integer.MIN_VALUE, Integer.MAX_VALUE));
+	}
+
+	private static void addToRange(Map<String, long[]> ranges, AttributeRequirement requirement) {
+		long[] range = ranges.computeIfAbsent(requirement.key(), k -> new long[] { Long.MIN_VALUE, Long.MAX_VALUE });
+		if(!(requirement.value() instanceof IntAttribute(int value))){
+			throw new TypeMissmatchException(NumericalAttributeValue.class, requirement.value());
+		}
+		switch(requirement.operator()) {
+		case LESS_THAN -> range[1] = Math.min(range[1], value - 1L);
+		case LESS_THAN_OR_EQUAL -> range[1] = Math.min(range[1], value);
+		case GREATER_THAN -> range[0] = Math.max(range[0], value + 1L);
+		case GREATER_THAN_OR_EQUAL -> range[0] = Math.max(range[0], value);
+		case EQUAL, NOT_EQUAL -> throw new IllegalArgumentException("not a range requirement: " + requirement);
+		}
+	}
+
+	/**
+	 * Checks whether all requirements are satisfied by an element of the attributed graph.
+	 * @param element the node or edge to check
+	 * @return {@code true} if all requirements are satisfied, else {@code false}
+	 * @throws IllegalStateException if a requirement contains a {@link ParameterAttribute placeholder}
+	 * @throws TypeMissmatchException if a range requirement is checked against an attribute that is not numeric
+	 */
+	boolean test(AttributeAware element) {
+		if(unboundParameter != null){
+			throw new IllegalStateException("parameter has not been bound: " + unboundParameter);
+		}
+		if(unsatisfiable){
+			return false;
+		}
+		if(requiredId != null && !requiredId.equals(element.id())){
+			return false;
+		}
+		for(int i = 0; i < equalKeys.length; i++){
+			if(!element.matches(equalKeys[i], AttributeRequirementOperator.EQUAL, equalValues[i])){
+				return false;
+			}
+		}
+		for(int i = 0; i < rangeKeys.length; i++){
+			if(rangeMinimums[i] != null && !element.matches(rangeKeys[i], AttributeRequirementOperator.GREATER_THAN_OR_EQUAL, rangeMinimums[i])){
+				return false;
+			}
+			if(rangeMaximums[i] != null && !element.matches(rangeKeys[i], AttributeRequirementOperator.LESS_THAN_OR_EQUAL, rangeMaximums[i])){
+				return false;
+			}
+		}
+		for(int i = 0; i < notEqualKeys.length; i++){
+			if(!element.matches(notEqualKeys[i], AttributeRequirementOperator.NOT_EQUAL, notEqualValues[i])){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether it is known that no element can satisfy these requirements.
+	 *
+	 * This is the case if the requirements contain
+	 * <ul>
+	 *   <li>different required IDs</li>
+	 *   <li>different required values for the same attribute</li>
+	 *   <li>a range of {@code int}s that is empty or doesn't contain the required value of the same attribute</li>
+	 *   <li>an inequality requirement excluding the required value of the same attribute</li>
+	 * </ul>
+	 * Requirements containing {@link ParameterAttribute placeholders} are not considered.
+	 * @return {@code true} if the requirements contradict each other, {@code false} if they may be satisfiable
+	 */
+	boolean isUnsatisfiable() {
+		return unsatisfiable;
+	}
+
+	/**
+	 * Gets the ID required by these requirements.
+	 * @return the required ID or {@code null} if the ID is not restricted or different IDs are required
+	 */
+	String requiredId() {
+		return contradictingIds ? null : requiredId;
+	}
+
+	/**
+	 * Gets the requirements these requirements have been compiled from.
+	 * @return the attribute requirements in declaration order without duplicates
+	 */
+	List<AttributeRequirement> list() {
+		return requirements;
+	}
+
+	/**
+	 * Gets the requirements these requirements have been compiled from in the order {@link #test(AttributeAware)} checks them.
+	 *
+	 * This is used when the requirements are checked by the {@link io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph graph}
+	 * so that it can check the most selective requirements first.
+	 * @return the attribute requirements without duplicates ordered by their kind
+	 */
+	List<AttributeRequirement> orderedList() {
+		return orderedRequirements;
+	}
+
+	@Override
+	public String toString() {
+		return "CompiledRequirements [requirements=" + requirements + "]";
+	}
+}
@@ -0,0 +1,99 @@
+package io.github.danthe1st.arebac.gpeval;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.GraphStatistics;
+import io.github.danthe1st.arebac.gpeval.GPEvalPlan.PlanNode;
+import io.github.danthe1st.arebac.gpeval.GPEvalPlan.RelevantEdge;
+import io.github.danthe1st.arebac.gpeval.NodeOrderingStrategy.NodeOrdering;
+import io.github.danthe1st.arebac.gpeval.NodeOrderingStrategy.SearchState;
+
+/**
+ * A {@link NodeOrdering} weighing the number of candidates of each node against the expected cost of assigning it.
+ *
+ * The score of a node with candidates is computed as {@code candidates * (1 + expansion) / weight} where
+ * <ul>
+ *   <li>{@code expansion} is the expected number of neighbors loaded for each candidate during forward checking,
+ *   i.e. the sum of the {@link GraphStatistics.Degree#averageDegree() average degrees} of all edges to unassigned nodes (or {@code 1} per edge if no statistics are available)</li>
+ *   <li>{@code weight} is {@code 1} plus the number of failures of these edges during the search so far (similar to the dom/wdeg heuristic)</li>
+ * </ul>
+ * The score of returned nodes is halved as assigning these first allows GP-Eval to backjump over the other nodes after finding a result.
+ * Nodes with only a single candidate are always assigned first and the node with the lowest score is chosen otherwise.
+ */
+final class CostBasedNodeOrdering implements NodeOrdering {
+
+	private static final double RETURNED_NODE_FACTOR = 0.5;
+	private static final double UNKNOWN_DEGREE = 1;
+
+	private final GPEvalPlan plan;
+	// node index -> relevant edge index (in the order of PlanNode#relevantEdges) -> expected neighbors per candidate
+	private final double[][] expansions;
+	private final boolean[] returned;
+	// edge index -> number of failures
+	private final AtomicIntegerArray edgeWeights;
+
+	CostBasedNodeOrdering(GPEvalPlan plan, GraphStatistics statistics) {
+		this.plan = plan;
+		expansions = new double[plan.nodeCount()][];
+		for(int nodeIndex = 0; nodeIndex < plan.nodeCount(); nodeIndex++){
+			PlanNode node = plan.node(nodeIndex);
+			RelevantEdge[] relevantEdges = node.relevantEdges();
+			expansions[nodeIndex] = new double[relevantEdges.length];
+			for(int i = 0; i < relevantEdges.length; i++){
+				RelevantEdge edge = relevantEdges[i];
+				expansions[nodeIndex][i] = statistics == null
+						? UNKNOWN_DEGREE
+						: statistics.getDegree(node.node().nodeType(), edge.edgeType(), edge.isOutgoing()).averageDegree();
+			}
+		}
+		returned = new boolean[plan.nodeCount()];
+		for(int returnedNode : plan.returnedNodes()){
+			returned[returnedNode] = true;
+		}
+		edgeWeights = new AtomicIntegerArray(plan.edgeCount());
+	}
+
+	@Override
+	public int selectNode(SearchState state) {
+		int selected = -1;
+		double lowestScore = Double.POSITIVE_INFINITY;
+		for(int nodeIndex = 0; nodeIndex < state.nodeCount(); nodeIndex++){
+			int candidateCount = state.candidateCount(nodeIndex);
+			if(candidateCount == -1){
+				continue;
+			}
+			if(candidateCount == 1){
+				return nodeIndex;
+			}
+			double score = computeScore(state, nodeIndex, candidateCount);
+			if(score < lowestScore){
+				selected = nodeIndex;
+				lowestScore = score;
+			}
+		}
+		return selected;
+	}
+
+	private double computeScore(SearchState state, int nodeIndex, int candidateCount) {
+		RelevantEdge[] relevantEdges = plan.node(nodeIndex).relevantEdges();
+		double expansion = 1;
+		int weight = 1;
+		for(int i = 0; i < relevantEdges.length; i++){
+			RelevantEdge edge = relevantEdges[i];
+			if(!state.isAssigned(edge.otherNode())){
+				expansion += expansions[nodeIndex][i];
+				weight += edgeWeights.get(edge.edgeIndex());
+			}
+		}
+		double score = candidateCount * expansion / weight;
+		if(returned[nodeIndex]){
+			score *= RETURNED_NODE_FACTOR;
+		}
+		return score;
+	}
+
+	@Override
+	public void recordFailure(int edgeIndex) {
+		edgeWeights.incrementAndGet(edgeIndex);
+	}
+}
@@ -0,0 +1,39 @@
+package io.github.danthe1st.arebac.gpeval;
+
+/**
+ * Decides which algorithm evaluates a graph pattern in {@link GPEval#evaluate(io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph, GPEvalPlan, GPEvalOptions)}.
+ *
+ * GP-Eval restricts the candidates of all adjacent nodes whenever a node is assigned which works well for graph patterns without cycles.
+ * In graph patterns with cycles (e.g. friends two users have in common), these candidates are often intersected with many other neighbor lists later on.
+ * {@link GenericJoin} computes the candidates of a node by intersecting the neighbors of all assigned adjacent nodes at once instead.
+ * @see GPEvalOptions#withEvaluationStrategy(EvaluationStrategy)
+ */
+public enum EvaluationStrategy {
+	/**
+	 * Always evaluates graph patterns using GP-Eval.
+	 *
+	 * This is the default strategy.
+	 */
+	GP_EVAL,
+	/**
+	 * Always evaluates graph patterns using {@link GenericJoin}.
+	 */
+	GENERIC_JOIN,
+	/**
+	 * Evaluates {@link GPEvalPlan#isCyclic() graph patterns with cycles} using {@link GenericJoin} and all other graph patterns using GP-Eval.
+	 */
+	GENERIC_JOIN_FOR_CYCLIC_PATTERNS;
+
+	/**
+	 * Checks whether a plan should be evaluated using {@link GenericJoin}.
+	 * @param plan the plan to evaluate
+	 * @return {@code true} if {@link GenericJoin} should be used, {@code false} if GP-Eval should be used
+	 */
+	boolean usesGenericJoin(GPEvalPlan plan) {
+		return switch(this) {
+		case GP_EVAL -> false;
+		case GENERIC_JOIN -> true;
+		case GENERIC_JOIN_FOR_CYCLIC_PATTERNS -> plan.isCyclic();
+		};
+	}
+}
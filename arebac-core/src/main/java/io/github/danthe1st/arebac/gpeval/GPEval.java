@@ -1,118 +1,504 @@
 package io.github.danthe1st.arebac.gpeval;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
-import java.util.function.Function;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeAware;
-import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
-import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.StringAttribute;
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedEdge;
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph;
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedNode;
-import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
 import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
 import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
-import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
-import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator;
-import io.github.danthe1st.arebac.data.graph_pattern.constraints.MutualExclusionConstraint;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPatternFingerprint;
+import io.github.danthe1st.arebac.gpeval.GPEvalPlan.RelevantEdge;
 import io.github.danthe1st.arebac.gpeval.GPNodeSet.GPNodeSetFactory;
+import io.github.danthe1st.arebac.gpeval.NodeOrderingStrategy.NodeOrdering;
+import io.github.danthe1st.arebac.gpeval.NodeOrderingStrategy.SearchState;
+import io.github.danthe1st.arebac.gpeval.events.ArcConsistencyEvent;
 import io.github.danthe1st.arebac.gpeval.events.FilterMutualExclusionConstraintsEvent;
 import io.github.danthe1st.arebac.gpeval.events.ForwardCheckingEvent;
 import io.github.danthe1st.arebac.gpeval.events.IntersectionEvent;
+import io.github.danthe1st.arebac.gpeval.events.NeighborBatchEvent;
 
 /**
  * Implementation of the GP-eval algorithm.
  *
  * This algorithm finds all assignments in a {@link AttributedGraph graph} that match a specified {@link GraphPattern}
  *
+ * Nodes in the graph pattern are identified by their index in the {@link GPEvalPlan} used for the evaluation.
+ *
  * @param <N> The type of nodes in the graph
  * @param <E> The type of edges in the graph
  */
 public final class GPEval<N extends AttributedNode, E extends AttributedEdge<N>> {
 
 	private final AttributedGraph<N, E> graph;
-	private final GraphPattern pattern;
+	private final GPEvalPlan plan;
+	private final GPEvalOptions options;
+	private final ResultMode resultMode;
 
 	private final GPNodeSetFactory nodeSetFactory;
+	private final NodeOrdering nodeOrdering;
+	private final SearchState searchState = new CurrentSearchState();
+	// computes numeric IDs of graph nodes for candidate sets, null if the graph doesn't provide numeric IDs
+	private final ToLongFunction<N> numericNodeIds;
+
+	// neighbors satisfying the requirements of pattern edges, null if neighbors should not be cached
+	private final NeighborCache<N> neighborCache;
+
+	// node in pattern -> set of nodes in graph, null if no candidates have been discovered
+	private final List<CandidateSet<N>> candidates;
+
+	// node in pattern -> node in graph, null if not assigned
+	private final List<N> assignments;
+	private int assignedNodeCount = 0;
 
-	private final Map<GPNode, GPNodeSet> mutualExclusionConstraints;
-	
-	// node in pattern -> list of nodes in graph
-	private Map<GPNode, List<N>> candidates = new HashMap<>();
+	// node in pattern -> nodes that could result in conflicts with that node, null if there are none
+	private final GPNodeSet[] incomingConflicts;
+
+	/**
+	 * Undo log of all changes to {@link GPEval#candidates}, {@link GPEval#assignments} and {@link GPEval#incomingConflicts}.
+	 *
+	 * Instead of copying the state for every candidate, changes are recorded here and reverted when backtracking.
+	 * @see GPEval#undo(int)
+	 */
+	private final List<TrailEntry<N>> trail = new ArrayList<>();
 
-	// node in pattern -> node in graph
-	private Map<GPNode, N> assignments = new HashMap<>();
+	// shared between all forked instances in case of parallel evaluation
+	private final Set<List<N>> results;
+	// keys identifying distinct results when only counting results, see GPEval#createResultKey(int[])
+	private final Set<Object> resultKeys;
 
-	private Set<List<N>> results = new HashSet<>();
+	// levels of the search that have been entered but not left yet, see GPEval#advance()
+	private final List<Level<N>> levels = new ArrayList<>();
+	private boolean started = false;
+	// vertices for backjumping returned by the last level that has been left, null if that has already been processed
+	private GPNodeSet returnedJump;
+	// vertices for backjumping returned by the first level
+	private GPNodeSet finalJump;
 
 	public static <N extends AttributedNode, E extends AttributedEdge<N>> Set<List<N>> evaluate(AttributedGraph<N, E> graph, GraphPattern pattern) {
-		GPEval<N, E> eval = new GPEval<>(graph, pattern);
-		try{
-			eval.init();
-		}catch(NoResultException e){
+		return evaluate(graph, GPEvalPlan.compile(pattern));
+	}
+
+	/**
+	 * Evaluates a graph pattern using specific {@link GPEvalOptions options}.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param pattern the graph pattern
+	 * @param options options for the evaluation, e.g. whether the evaluation should happen in parallel
+	 * @return nodes corresponding to the returned nodes in the graph pattern for each match
+	 */
+	public static <N extends AttributedNode, E extends AttributedEdge<N>> Set<List<N>> evaluate(AttributedGraph<N, E> graph, GraphPattern pattern, GPEvalOptions options) {
+		return evaluate(graph, GPEvalPlan.compile(pattern), options);
+	}
+
+	/**
+	 * Evaluates a precompiled graph pattern.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param plan the compiled graph pattern
+	 * @return nodes corresponding to the returned nodes in the graph pattern for each match
+	 * @throws IllegalArgumentException if the plan contains placeholders that have not been bound
+	 * @see GPEvalPlan#compile(GraphPattern)
+	 * @see PreparedGraphPattern
+	 */
+	public static <N extends AttributedNode, E extends AttributedEdge<N>> Set<List<N>> evaluate(AttributedGraph<N, E> graph, GPEvalPlan plan) {
+		return evaluate(graph, plan, GPEvalOptions.sequential());
+	}
+
+	/**
+	 * Evaluates a precompiled graph pattern using specific {@link GPEvalOptions options}.
+	 *
+	 * If parallel evaluation is enabled, the graph must support concurrent access.
+	 * If the {@link GPEvalOptions#evaluationStrategy() evaluation strategy} selects {@link GenericJoin} for the plan, it is evaluated using {@link GenericJoin} instead of GP-Eval.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param plan the compiled graph pattern
+	 * @param options options for the evaluation, e.g. whether the evaluation should happen in parallel
+	 * @return nodes corresponding to the returned nodes in the graph pattern for each match
+	 * @throws IllegalArgumentException if the plan contains placeholders that have not been bound
+	 */
+	public static <N extends AttributedNode, E extends AttributedEdge<N>> Set<List<N>> evaluate(AttributedGraph<N, E> graph, GPEvalPlan plan, GPEvalOptions options) {
+		if(options.evaluationStrategy().usesGenericJoin(plan)){
+			return GenericJoin.evaluate(graph, plan, options.neighborCacheSize());
+		}
+		GPEval<N, E> eval = initialize(graph, plan, options, ResultMode.COLLECT);
+		if(eval == null){
 			return Set.of();
 		}
 
-		eval.run(new HashMap<>());
+		if(options.isParallel()){
+			options.pool().invoke(ForkJoinTask.adapt(eval::runToCompletion));
+		}else{
+			eval.runToCompletion();
+		}
 
 		return eval.results;// returns nodes corresponding to returned nodes in graph pattern
 	}
 
-	private GPEval(AttributedGraph<N, E> graph, GraphPattern pattern) {
+	/**
+	 * Evaluates multiple graph patterns against the same graph.
+	 *
+	 * All lookups of nodes and edges are shared between the evaluations so that parts of the graph needed by multiple graph patterns
+	 * (e.g. the neighborhood of the subject when checking access to multiple resources) are only loaded once.
+	 * Graph patterns with the same {@link GraphPatternFingerprint fingerprint} are only evaluated once.
+	 *
+	 * As the graph is accessed by all evaluations, it should not be modified while evaluating the graph patterns.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param patterns the graph patterns to evaluate
+	 * @return the results of each graph pattern, in the order of the graph patterns
+	 * @see GPEval#evaluate(AttributedGraph, GraphPattern)
+	 */
+	public static <N extends AttributedNode, E extends AttributedEdge<N>> List<Set<List<N>>> evaluateAll(AttributedGraph<N, E> graph, List<GraphPattern> patterns) {
 		Objects.requireNonNull(graph);
-		Objects.requireNonNull(pattern);
-		this.graph = graph;
-		this.pattern = pattern;
-		Map<GPNode, GPNodeSet> exclusionConstraints = new HashMap<>();
-		this.nodeSetFactory = new GPNodeSetFactory(pattern);
-		for(MutualExclusionConstraint constraint : pattern.mutualExclusionConstraints()){
-			GPNode first = constraint.first();
-			GPNode second = constraint.second();
-			addToMultimap(exclusionConstraints, first, second);
-			addToMultimap(exclusionConstraints, second, first);
+		Objects.requireNonNull(patterns);
+		Map<GraphPatternFingerprint, GPEvalPlan> plansByFingerprint = new HashMap<>();
+		List<GPEvalPlan> plans = new ArrayList<>(patterns.size());
+		for(GraphPattern pattern : patterns){
+			plans.add(plansByFingerprint.computeIfAbsent(GraphPatternFingerprint.of(pattern), fingerprint -> GPEvalPlan.compile(pattern)));
 		}
-		this.mutualExclusionConstraints = Map.copyOf(exclusionConstraints);
+		return evaluateAllPlans(graph, plans);
+	}
+
+	/**
+	 * Evaluates multiple plans sharing all lookups on the graph.
+	 * @param plans the plans to evaluate, plans that are contained multiple times (by identity) are only evaluated once
+	 * @return the results of each plan, in the order of the plans
+	 * @see GPEval#evaluateAll(AttributedGraph, List)
+	 */
+	static <N extends AttributedNode, E extends AttributedEdge<N>> List<Set<List<N>>> evaluateAllPlans(AttributedGraph<N, E> graph, List<GPEvalPlan> plans) {
+		MemoizedGraph<N, E> memoizedGraph = new MemoizedGraph<>(graph);
+		Map<GPEvalPlan, Set<List<N>>> resultsByPlan = new IdentityHashMap<>();
+		List<Set<List<N>>> results = new ArrayList<>(plans.size());
+		for(GPEvalPlan plan : plans){
+			results.add(resultsByPlan.computeIfAbsent(plan, p -> evaluate(memoizedGraph, p)));
+		}
+		return results;
+	}
+
+	/**
+	 * Lazily evaluates a graph pattern.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param pattern the graph pattern
+	 * @return a sequential {@link Stream} of distinct results
+	 * @see GPEval#stream(AttributedGraph, GPEvalPlan)
+	 */
+	public static <N extends AttributedNode, E extends AttributedEdge<N>> Stream<List<N>> stream(AttributedGraph<N, E> graph, GraphPattern pattern) {
+		return stream(graph, GPEvalPlan.compile(pattern));
+	}
+
+	/**
+	 * Lazily evaluates a precompiled graph pattern.
+	 *
+	 * The search only continues when the next element of the {@link Stream} is requested so it is possible to stop after the first results (e.g. using {@link Stream#limit(long)}).
+	 * The graph is accessed while consuming the {@link Stream} so it must stay usable (e.g. transactions must stay open) until the {@link Stream} is consumed.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param plan the compiled graph pattern
+	 * @return a sequential {@link Stream} of distinct results
+	 * @throws IllegalArgumentException if the plan contains placeholders that have not been bound
+	 */
+	public static <N extends AttributedNode, E extends AttributedEdge<N>> Stream<List<N>> stream(AttributedGraph<N, E> graph, GPEvalPlan plan) {
+		return StreamSupport.stream(
+				Spliterators.spliteratorUnknownSize(
+						iterator(graph, plan),
+						Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE
+				),
+				false
+		);
+	}
+
+	/**
+	 * Lazily evaluates a precompiled graph pattern.
+	 *
+	 * Each call to {@link Iterator#hasNext()} continues the search until the next result is found.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param plan the compiled graph pattern
+	 * @return an {@link Iterator} of distinct results
+	 * @throws IllegalArgumentException if the plan contains placeholders that have not been bound
+	 * @see GPEval#stream(AttributedGraph, GPEvalPlan)
+	 */
+	public static <N extends AttributedNode, E extends AttributedEdge<N>> Iterator<List<N>> iterator(AttributedGraph<N, E> graph, GPEvalPlan plan) {
+		GPEval<N, E> eval = initialize(graph, plan, GPEvalOptions.sequential(), ResultMode.COLLECT);
+		if(eval == null){
+			return Collections.emptyIterator();
+		}
+		return eval.new ResultIterator();
+	}
+
+	/**
+	 * Evaluates a graph pattern but stops after a given number of distinct results have been found.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param pattern the graph pattern
+	 * @param limit the maximum number of results
+	 * @return at most {@code limit} distinct results
+	 * @see GPEval#evaluate(AttributedGraph, GPEvalPlan, int)
+	 */
+	public static <N extends AttributedNode, E extends AttributedEdge<N>> Set<List<N>> evaluate(AttributedGraph<N, E> graph, GraphPattern pattern, int limit) {
+		return evaluate(graph, GPEvalPlan.compile(pattern), limit);
 	}
 
 	/**
-	 * Constructor used for recursive calls with different data
-	 * @param graph the attributed graph to match against, shared between recursive calls
-	 * @param pattern the graph pattern to match, shared between recursive calls
-	 * @param mutualExclusionConstraints the mutual exclusion constraints, shared between recursive calls
-	 * @param candidates candidate nodes in the attributed graph for each vertex in the pattern where candidates have been discovered, copied in recursive calls
-	 * @param assignments vertices assigned so far, copied in recursive calls
-	 * @param results a {@link Set} storing the results of each pattern, shared between recursive calls
-	 * @param nodeSetFactory factory for {@link GPNodeSet} objects with the current graph pattern
+	 * Evaluates a precompiled graph pattern but stops after a given number of distinct results have been found.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param plan the compiled graph pattern
+	 * @param limit the maximum number of results
+	 * @return at most {@code limit} distinct results
+	 * @throws IllegalArgumentException if the limit is negative or the plan contains placeholders that have not been bound
 	 */
-	private GPEval(AttributedGraph<N, E> graph, GraphPattern pattern, Map<GPNode, GPNodeSet> mutualExclusionConstraints, Map<GPNode, List<N>> candidates, Map<GPNode, N> assignments, Set<List<N>> results, GPNodeSetFactory nodeSetFactory) {
+	public static <N extends AttributedNode, E extends AttributedEdge<N>> Set<List<N>> evaluate(AttributedGraph<N, E> graph, GPEvalPlan plan, int limit) {
+		if(limit < 0){
+			throw new IllegalArgumentException("limit must not be negative");
+		}
+		GPEval<N, E> eval = initialize(graph, plan, GPEvalOptions.sequential(), ResultMode.COLLECT);
+		if(eval == null || limit == 0){
+			return Set.of();
+		}
+		while(eval.results.size() < limit && eval.advance() != null){
+			// results are collected in GPEval#results
+		}
+		return eval.results;
+	}
+
+	/**
+	 * Counts the distinct results of a graph pattern.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param pattern the graph pattern
+	 * @return the number of distinct results
+	 * @see GPEval#count(AttributedGraph, GPEvalPlan)
+	 */
+	public static <N extends AttributedNode, E extends AttributedEdge<N>> int count(AttributedGraph<N, E> graph, GraphPattern pattern) {
+		return count(graph, GPEvalPlan.compile(pattern));
+	}
+
+	/**
+	 * Counts the distinct results of a precompiled graph pattern.
+	 *
+	 * This is equivalent to the size of the {@link Set} returned by {@link GPEval#evaluate(AttributedGraph, GPEvalPlan)}
+	 * but results are not kept if possible. If there is only a single returned node, only the nodes assigned to it are remembered.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param plan the compiled graph pattern
+	 * @return the number of distinct results
+	 * @throws IllegalArgumentException if the plan contains placeholders that have not been bound
+	 */
+	public static <N extends AttributedNode, E extends AttributedEdge<N>> int count(AttributedGraph<N, E> graph, GPEvalPlan plan) {
+		GPEval<N, E> eval = initialize(graph, plan, GPEvalOptions.sequential(), ResultMode.COUNT);
+		if(eval == null){
+			return 0;
+		}
+		eval.runToCompletion();
+		return eval.resultKeys.size();
+	}
+
+	/**
+	 * Finds all nodes of a given collection that can be assigned to a specific node in a graph pattern.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param pattern the graph pattern
+	 * @param resourceNode the node in the graph pattern, e.g. the resource access is requested for
+	 * @param candidates the nodes in the attributed graph to check
+	 * @return all candidates that are assigned to the given node in any match
+	 * @see GPEval#filter(AttributedGraph, GPEvalPlan, GPNode, Collection)
+	 */
+	public static <N extends AttributedNode, E extends AttributedEdge<N>> Set<N> filter(AttributedGraph<N, E> graph, GraphPattern pattern, GPNode resourceNode, Collection<N> candidates) {
+		return filter(graph, GPEvalPlan.compile(pattern), resourceNode, candidates);
+	}
+
+	/**
+	 * Finds all nodes of a given collection that can be assigned to a specific node in a precompiled graph pattern.
+	 *
+	 * This is equivalent to evaluating the graph pattern once for every candidate with an additional requirement on the ID of the given node
+	 * but the candidates are used as the initial candidates of the node so that all of them are checked in a single search.
+	 * The returned nodes of the graph pattern are ignored.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param plan the compiled graph pattern
+	 * @param resourceNode the node in the graph pattern, e.g. the resource access is requested for
+	 * @param candidates the nodes in the attributed graph to check
+	 * @return all candidates that are assigned to the given node in any match
+	 * @throws IllegalArgumentException if the plan contains placeholders that have not been bound or the node is not part of the graph pattern
+	 */
+	public static <N extends AttributedNode, E extends AttributedEdge<N>> Set<N> filter(AttributedGraph<N, E> graph, GPEvalPlan plan, GPNode resourceNode, Collection<N> candidates) {
+		Objects.requireNonNull(candidates);
+		int resourceIndex = plan.indexOf(resourceNode);
+		if(candidates.isEmpty()){
+			return Set.of();
+		}
+		// the results only consist of the resource node so that its assignments are remembered when counting results
+		GPEval<N, E> eval = initialize(graph, plan.withReturnedNodes(new int[] { resourceIndex }), GPEvalOptions.sequential(), ResultMode.COUNT);
+		if(eval == null){
+			return Set.of();
+		}
+		try{
+			eval.restrictCandidates(resourceIndex, candidates);
+		}catch(NoResultException e){
+			return Set.of();
+		}
+		eval.runToCompletion();
+		Set<N> permitted = new HashSet<>();
+		for(Object resultKey : eval.resultKeys){
+			@SuppressWarnings("unchecked")
+			N node = (N) resultKey;
+			permitted.add(node);
+		}
+		return permitted;
+	}
+
+	/**
+	 * Checks whether a graph pattern has any match.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param pattern the graph pattern
+	 * @return {@code true} if there is at least one match, else {@code false}
+	 * @see GPEval#exists(AttributedGraph, GPEvalPlan)
+	 */
+	public static <N extends AttributedNode, E extends AttributedEdge<N>> boolean exists(AttributedGraph<N, E> graph, GraphPattern pattern) {
+		return exists(graph, GPEvalPlan.compile(pattern));
+	}
+
+	/**
+	 * Checks whether a precompiled graph pattern has any match.
+	 *
+	 * This is equivalent to checking whether {@link GPEval#evaluate(AttributedGraph, GPEvalPlan)} returns a non-empty {@link Set}
+	 * but the search is stopped as soon as all nodes are assigned for the first time and no results are created.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param plan the compiled graph pattern
+	 * @return {@code true} if there is at least one match, else {@code false}
+	 * @throws IllegalArgumentException if the plan contains placeholders that have not been bound
+	 */
+	public static <N extends AttributedNode, E extends AttributedEdge<N>> boolean exists(AttributedGraph<N, E> graph, GPEvalPlan plan) {
+		GPEval<N, E> eval = initialize(graph, plan, GPEvalOptions.sequential(), ResultMode.EXISTS);
+		if(eval == null){
+			return false;
+		}
+		return eval.advance() != null;
+	}
+
+	/**
+	 * Creates a {@link GPEval} instance and sets up fixed vertices.
+	 * @return the instance or {@code null} if it is already known that there are no results
+	 */
+	private static <N extends AttributedNode, E extends AttributedEdge<N>> GPEval<N, E> initialize(AttributedGraph<N, E> graph, GPEvalPlan plan, GPEvalOptions options, ResultMode resultMode) {
+		if(!plan.parameterNames().isEmpty()){
+			throw new IllegalArgumentException("graph pattern contains unbound parameters: " + plan.parameterNames());
+		}
+		if(plan.isUnsatisfiable()){
+			return null;
+		}
+		GPEval<N, E> eval = new GPEval<>(graph, plan, options, resultMode);
+		try{
+			eval.init();
+		}catch(NoResultException e){
+			return null;
+		}
+		return eval;
+	}
+
+	private GPEval(AttributedGraph<N, E> graph, GPEvalPlan plan, GPEvalOptions options, ResultMode resultMode) {
+		Objects.requireNonNull(graph);
+		Objects.requireNonNull(plan);
+		Objects.requireNonNull(options);
 		this.graph = graph;
-		this.pattern = pattern;
-		this.mutualExclusionConstraints = mutualExclusionConstraints;
-		this.candidates = candidates;
-		this.assignments = assignments;
-		this.results = results;
-		this.nodeSetFactory = nodeSetFactory;
+		this.plan = plan;
+		this.options = options;
+		this.resultMode = resultMode;
+		this.nodeSetFactory = plan.nodeSetFactory();
+		this.numericNodeIds = graph.hasNumericNodeIds() ? graph::getNumericNodeId : null;
+		this.nodeOrdering = Objects.requireNonNull(options.nodeOrdering().createOrdering(plan, graph));
+		this.neighborCache = createNeighborCache(options);
+		this.candidates = new ArrayList<>(Collections.nCopies(plan.nodeCount(), null));
+		this.assignments = new ArrayList<>(Collections.nCopies(plan.nodeCount(), null));
+		this.incomingConflicts = new GPNodeSet[plan.nodeCount()];
+		this.results = switch(resultMode) {
+		case COLLECT -> options.isParallel() ? ConcurrentHashMap.newKeySet() : new HashSet<>();
+		case EXISTS, COUNT -> Set.of();
+		};
+		this.resultKeys = resultMode == ResultMode.COUNT ? new HashSet<>() : Set.of();
 	}
 
-	private void addToMultimap(Map<GPNode, GPNodeSet> mutualExclusionConstraints, GPNode key, GPNode value) {
-		mutualExclusionConstraints.merge(key, nodeSetFactory.createWithSingleElement(value), (a, b) -> {
-			a.addAll(b);
-			return a;
-		});
+	/**
+	 * Creates a copy of the search state of another instance that can be used by a different thread.
+	 *
+	 * The copy starts with an empty {@link GPEval#trail} and shares the results with the other instance.
+	 * @param parent the instance to copy
+	 */
+	private GPEval(GPEval<N, E> parent) {
+		this.graph = parent.graph;
+		this.plan = parent.plan;
+		this.options = parent.options;
+		this.resultMode = parent.resultMode;
+		this.nodeSetFactory = parent.nodeSetFactory;
+		this.numericNodeIds = parent.numericNodeIds;
+		this.nodeOrdering = parent.nodeOrdering;
+		// the cache is not thread-safe so every instance uses its own cache
+		this.neighborCache = createNeighborCache(options);
+		// stored candidate lists and incoming conflict sets are never modified (only copies of them are) so these can be shared
+		this.candidates = new ArrayList<>(parent.candidates);
+		this.assignments = new ArrayList<>(parent.assignments);
+		this.assignedNodeCount = parent.assignedNodeCount;
+		this.incomingConflicts = parent.incomingConflicts.clone();
+		this.results = parent.results;
+		this.resultKeys = parent.resultKeys;
+	}
+
+	private static <N> NeighborCache<N> createNeighborCache(GPEvalOptions options) {
+		if(options.neighborCacheSize() == 0){
+			return null;
+		}
+		return new NeighborCache<>(options.neighborCacheSize());
 	}
 
 	private void init() throws NoResultException {
 		setupFixedVertices();
 		checkRequirementsForFixedVertices();
+		if(options.arcConsistency()){
+			propagateArcConsistency();
+		}
 	}
 
 	/**
@@ -120,28 +506,10 @@ public final class GPEval<N extends AttributedNode, E extends AttributedEdge<N>>
 	 * @throws NoResultException if the vertex attribute requirements fail on these vertices indicating there can be no results
 	 */
 	private void setupFixedVertices() throws NoResultException {
-		for(Map.Entry<GPNode, List<AttributeRequirement>> attributeRequirementEntry : pattern.nodeRequirements().entrySet()){
-			GPNode patternNode = attributeRequirementEntry.getKey();
-			List<AttributeRequirement> requirements = attributeRequirementEntry.getValue();
-			for(AttributeRequirement requirement : requirements){
-				if(AttributeRequirement.ID_KEY.equals(requirement.key())){
-					AttributeValue<?> requirementValue = requirement.value();
-					if(!(requirementValue instanceof StringAttribute(String value))){
-						throw new IllegalStateException("ID requirements must be strings");
-					}
-					N graphNode = graph.findNodeById(value);
-
-					if(graphNode == null){
-						throw new NoResultException("Fixed node cannot be found");
-					}
-					candidates.put(patternNode, new ArrayList<>(List.of(graphNode)));
-				}else if(graph.isAttributeUniqueForNodeType(requirement.key(), patternNode.nodeType()) && requirement.operator() == AttributeRequirementOperator.EQUAL){
-					N graphNode = graph.getNodeByUniqueAttribute(patternNode.nodeType(), requirement.key(), requirement.value());
-					if(graphNode == null){
-						throw new NoResultException("Fixed node cannot be found");
-					}
-					candidates.put(patternNode, new ArrayList<>(List.of(graphNode)));
-				}
+		for(int nodeIndex = 0; nodeIndex < plan.nodeCount(); nodeIndex++){
+			N graphNode = plan.node(nodeIndex).findFixedNode(graph);
+			if(graphNode != null){
+				candidates.set(nodeIndex, CandidateSet.of(List.of(graphNode), numericNodeIds));
 			}
 		}
 	}
@@ -151,208 +519,662 @@ public final class GPEval<N extends AttributedNode, E extends AttributedEdge<N>>
 	 * @throws NoResultException if any vertex attribute requirement cannot be satisfied for a fixed vertex
 	 */
 	private void checkRequirementsForFixedVertices() throws NoResultException {
-		for(Map.Entry<GPNode, List<N>> assignedNodeEntry : candidates.entrySet()){
-			GPNode patternNode = assignedNodeEntry.getKey();
-			List<N> graphNodes = assignedNodeEntry.getValue();
-			for(Iterator<N> graphNodeIterator = graphNodes.iterator(); graphNodeIterator.hasNext();){
-				N graphNode = graphNodeIterator.next();
-				if(!checkRequirementsForNode(patternNode, graphNode)){
-					graphNodeIterator.remove();
+		for(int nodeIndex = 0; nodeIndex < plan.nodeCount(); nodeIndex++){
+			List<N> graphNodes = candidates.get(nodeIndex);
+			if(graphNodes == null){
+				continue;
+			}
+			List<N> validGraphNodes = new ArrayList<>(graphNodes.size());
+			for(N graphNode : graphNodes){
+				if(checkRequirementsForNode(nodeIndex, graphNode)){
+					validGraphNodes.add(graphNode);
+				}
+			}
+			if(validGraphNodes.isEmpty()){
+				throw new NoResultException("node cannot be assigned without violating constraints: " + plan.node(nodeIndex).node());
+			}
+			candidates.set(nodeIndex, CandidateSet.of(validGraphNodes, numericNodeIds));
+		}
+	}
+
+	/**
+	 * Restricts the candidates of all vertices connected to fixed vertices to nodes that have matching neighbors in the candidates of all adjacent vertices (AC-3).
+	 *
+	 * Starting with the fixed vertices, both vertices of every edge in the graph pattern are revised whenever the candidates of one of them change until no candidates change anymore.
+	 * The neighbors of an edge are always loaded from the vertex that had candidates first and reused for revising the other vertex so every neighbor is loaded at most once.
+	 * The loaded neighbors are stored in the {@link GPEval#neighborCache} so that forward checking doesn't need to load them again.
+	 * The same is done for the other direction of every edge (see {@link GPEval#cacheReversedNeighbors(int, RelevantEdge, Map)}).
+	 *
+	 * This only removes candidates that cannot be part of any match so no conflicts are recorded for them.
+	 * For graph patterns without cycles and mutual exclusion constraints, all remaining candidates are part of a match.
+	 * @throws NoResultException if a vertex doesn't have any candidates left
+	 */
+	private void propagateArcConsistency() throws NoResultException {
+		ArcConsistencyEvent event = new ArcConsistencyEvent();
+		event.begin();
+
+		// the vertex the neighbors of every edge are loaded from, its relevant edge and the neighbors loaded for it
+		int[] loadingNodes = new int[plan.edgeCount()];
+		RelevantEdge[] loadingEdges = new RelevantEdge[plan.edgeCount()];
+		List<Map<N, CandidateSet<N>>> loadedNeighbors = new ArrayList<>(Collections.nCopies(plan.edgeCount(), null));
+		Deque<Integer> changedNodes = new ArrayDeque<>();
+		boolean[] queued = new boolean[plan.nodeCount()];
+		for(int nodeIndex = 0; nodeIndex < plan.nodeCount(); nodeIndex++){
+			if(candidates.get(nodeIndex) != null){
+				changedNodes.add(nodeIndex);
+				queued[nodeIndex] = true;
+			}
+		}
+		while(!changedNodes.isEmpty()){
+			int node = changedNodes.poll();
+			queued[node] = false;
+			for(RelevantEdge relevantEdge : plan.node(node).relevantEdges()){
+				int edgeIndex = relevantEdge.edgeIndex();
+				if(loadingEdges[edgeIndex] == null){
+					loadingNodes[edgeIndex] = node;
+					loadingEdges[edgeIndex] = relevantEdge;
+					loadedNeighbors.set(edgeIndex, new HashMap<>());
+				}
+				event.addRevision();
+				try{
+					reviseEdge(loadingNodes[edgeIndex], loadingEdges[edgeIndex], loadedNeighbors.get(edgeIndex), changedNodes, queued, event);
+				}catch(NoResultException e){
+					event.commit();
+					throw e;
+				}
+			}
+		}
+		if(neighborCache != null){
+			for(int edgeIndex = 0; edgeIndex < plan.edgeCount(); edgeIndex++){
+				if(loadingEdges[edgeIndex] != null){
+					cacheReversedNeighbors(loadingNodes[edgeIndex], loadingEdges[edgeIndex], loadedNeighbors.get(edgeIndex));
+				}
+			}
+		}
+
+		event.commit();
+	}
+
+	/**
+	 * Stores the neighbors along an edge in the direction opposite to the direction they have been loaded in in the {@link GPEval#neighborCache}.
+	 *
+	 * These neighbors are only the candidates of the source vertex after arc consistency has been established.
+	 * As candidates are only removed during the search, this includes all neighbors that can be used by forward checking in this evaluation.
+	 * @param sourceNode the index of the vertex the neighbors have been loaded from
+	 * @param relevantEdge the edge from the source vertex to the other vertex
+	 * @param loadedNeighbors the neighbors of the candidates of the source vertex
+	 */
+	private void cacheReversedNeighbors(int sourceNode, RelevantEdge relevantEdge, Map<N, CandidateSet<N>> loadedNeighbors) {
+		CandidateSet<N> otherNodeCandidates = candidates.get(relevantEdge.otherNode());
+		Map<N, List<N>> reversedNeighbors = new HashMap<>();
+		for(N sourceCandidate : candidates.get(sourceNode)){
+			for(N neighbor : loadedNeighbors.get(sourceCandidate)){
+				if(otherNodeCandidates.contains(neighbor, numericNodeIds)){
+					reversedNeighbors.computeIfAbsent(neighbor, k -> new ArrayList<>()).add(sourceCandidate);
+				}
+			}
+		}
+		for(Map.Entry<N, List<N>> entry : reversedNeighbors.entrySet()){
+			neighborCache.put(entry.getKey(), relevantEdge.edgeIndex(), !relevantEdge.isOutgoing(), CandidateSet.of(entry.getValue(), numericNodeIds));
+		}
+	}
+
+	/**
+	 * Revises both vertices of an edge in the graph pattern for arc consistency.
+	 *
+	 * Candidates of the source vertex are kept if they have a neighbor in the candidates of the other vertex
+	 * and candidates of the other vertex are kept if they are a neighbor of a candidate of the source vertex.
+	 * Vertices with changed candidates are added to the queue unless they are already contained in it.
+	 * @param sourceNode the index of the vertex the neighbors are loaded from
+	 * @param relevantEdge the edge from the source vertex to the other vertex
+	 * @param loadedNeighbors the neighbors of candidates of the source vertex that have been loaded before, neighbors loaded by this method are added
+	 * @param changedNodes the queue of vertices whose edges need to be revised
+	 * @param queued whether each vertex is contained in the queue
+	 * @param event used for diagnosis, not necessary for GP-Eval
+	 * @throws NoResultException if a vertex doesn't have any candidates left
+	 */
+	private void reviseEdge(int sourceNode, RelevantEdge relevantEdge, Map<N, CandidateSet<N>> loadedNeighbors, Deque<Integer> changedNodes, boolean[] queued, ArcConsistencyEvent event) throws NoResultException {
+		int otherNode = relevantEdge.otherNode();
+		CandidateSet<N> sourceCandidates = candidates.get(sourceNode);
+		CandidateSet<N> otherNodeCandidates = candidates.get(otherNode);
+		loadNeighborsForArcConsistency(relevantEdge, sourceCandidates, loadedNeighbors, event);
+
+		List<N> supportedSourceCandidates = new ArrayList<>(sourceCandidates.size());
+		Set<N> reachedNeighbors = new LinkedHashSet<>();
+		for(N sourceCandidate : sourceCandidates){
+			boolean supported = false;
+			for(N neighbor : loadedNeighbors.get(sourceCandidate)){
+				if(otherNodeCandidates == null || otherNodeCandidates.contains(neighbor, numericNodeIds)){
+					reachedNeighbors.add(neighbor);
+					supported = true;
 				}
 			}
-			if(graphNodes.isEmpty()){
-				throw new NoResultException("node cannot be assigned without violating constraints: " + patternNode);
+			if(supported){
+				supportedSourceCandidates.add(sourceCandidate);
 			}
 		}
+		if(supportedSourceCandidates.isEmpty()){
+			throw new NoResultException("no candidate has matching neighbors: " + plan.node(sourceNode).node());
+		}
+		if(supportedSourceCandidates.size() < sourceCandidates.size()){
+			event.addRemovedCandidates(sourceCandidates.size() - supportedSourceCandidates.size());
+			candidates.set(sourceNode, CandidateSet.of(supportedSourceCandidates, numericNodeIds));
+			enqueue(sourceNode, changedNodes, queued);
+		}
+		if(otherNodeCandidates == null || reachedNeighbors.size() < otherNodeCandidates.size()){
+			if(otherNodeCandidates != null){
+				event.addRemovedCandidates(otherNodeCandidates.size() - reachedNeighbors.size());
+			}
+			candidates.set(otherNode, CandidateSet.of(reachedNeighbors, numericNodeIds));
+			enqueue(otherNode, changedNodes, queued);
+		}
+	}
+
+	private void enqueue(int node, Deque<Integer> changedNodes, boolean[] queued) {
+		if(!queued[node]){
+			queued[node] = true;
+			changedNodes.add(node);
+		}
+	}
+
+	/**
+	 * Loads the neighbors of all given candidates along an edge that have not been loaded before.
+	 *
+	 * Neighbors are taken from the {@link GPEval#neighborCache} if possible, all other neighbors are loaded at once.
+	 * @param relevantEdge the edge to load the neighbors along
+	 * @param sourceCandidates the nodes to load the neighbors of
+	 * @param loadedNeighbors the neighbors that have been loaded before, loaded neighbors are added
+	 * @param event used for diagnosis, not necessary for GP-Eval
+	 */
+	private void loadNeighborsForArcConsistency(RelevantEdge relevantEdge, CandidateSet<N> sourceCandidates, Map<N, CandidateSet<N>> loadedNeighbors, ArcConsistencyEvent event) {
+		List<N> nodesToLoad = new ArrayList<>();
+		for(N sourceCandidate : sourceCandidates){
+			if(loadedNeighbors.containsKey(sourceCandidate)){
+				continue;
+			}
+			CandidateSet<N> cachedNeighbors = neighborCache == null ? null : neighborCache.get(sourceCandidate, relevantEdge.edgeIndex(), relevantEdge.isOutgoing());
+			if(cachedNeighbors == null){
+				nodesToLoad.add(sourceCandidate);
+			}else{
+				loadedNeighbors.put(sourceCandidate, cachedNeighbors);
+			}
+		}
+		if(nodesToLoad.isEmpty()){
+			return;
+		}
+		event.addLoadedNodes(nodesToLoad.size());
+		Map<N, Collection<N>> neighbors = graph.findNeighbors(
+				nodesToLoad, relevantEdge.isOutgoing(),
+				relevantEdge.edgeType(), relevantEdge.otherNodeType(),
+				relevantEdge.edgeRequirements().orderedList(), relevantEdge.otherNodeRequirements().orderedList()
+		);
+		for(N node : nodesToLoad){
+			Collection<N> neighborsOfNode = neighbors.get(node);
+			if(neighborsOfNode == null){
+				neighborsOfNode = graph.findNeighbors(
+						node, relevantEdge.isOutgoing(),
+						relevantEdge.edgeType(), relevantEdge.otherNodeType(),
+						relevantEdge.edgeRequirements().orderedList(), relevantEdge.otherNodeRequirements().orderedList()
+				);
+			}
+			CandidateSet<N> neighborCandidates = CandidateSet.of(filterSelfConnectionRequirements(relevantEdge, neighborsOfNode), numericNodeIds);
+			loadedNeighbors.put(node, neighborCandidates);
+			if(neighborCache != null){
+				neighborCache.put(node, relevantEdge.edgeIndex(), relevantEdge.isOutgoing(), neighborCandidates);
+			}
+		}
+	}
+
+	/**
+	 * Restricts the candidates of a vertex to the given nodes before starting the search.
+	 * @param patternNode The index of the vertex in the graph pattern
+	 * @param allowedNodes the nodes in the attributed graph the vertex may be assigned to
+	 * @throws NoResultException if none of the nodes can be assigned to the vertex
+	 */
+	private void restrictCandidates(int patternNode, Collection<N> allowedNodes) throws NoResultException {
+		String nodeType = plan.node(patternNode).node().nodeType();
+		List<N> validGraphNodes = new ArrayList<>(allowedNodes.size());
+		for(N graphNode : allowedNodes){
+			if(graphNode.hasNodeType(nodeType) && checkRequirementsForNode(patternNode, graphNode)){
+				validGraphNodes.add(graphNode);
+			}
+		}
+		CandidateSet<N> newCandidates = CandidateSet.of(validGraphNodes, numericNodeIds);
+		CandidateSet<N> fixedCandidates = candidates.get(patternNode);
+		if(fixedCandidates != null){
+			newCandidates = fixedCandidates.intersect(newCandidates);
+		}
+		if(newCandidates.isEmpty()){
+			throw new NoResultException("none of the candidates can be assigned: " + plan.node(patternNode).node());
+		}
+		candidates.set(patternNode, newCandidates);
 	}
 
 	/**
 	 * Checks vertex attribute requirements for a specified vertex
-	 * @param patternNode The vertex in the graph pattern
+	 * @param patternNode The index of the vertex in the graph pattern
 	 * @param graphNode The node in the attributed graph the vertex may correspond to
 	 * @return {@code true} if the attribute requirements match, else {@code false}
 	 */
-	private boolean checkRequirementsForNode(GPNode patternNode, N graphNode) {
-		for(AttributeRequirement requirement : pattern.nodeRequirements().get(patternNode)){
-			if(!requirement.evaluate(graphNode)){
-				return false;
-			}
-		}
-		return checkSelfConnectionRequirements(patternNode, graphNode);
+	private boolean checkRequirementsForNode(int patternNode, N graphNode) {
+		return plan.node(patternNode).requirements().test(graphNode) &&
+				checkSelfConnectionRequirements(patternNode, graphNode);
 	}
 
 	/**
-	 * Runs the recursive phase of the GP-Eval algorithm
-	 * @param incomingConflicts a mapping storing information on which vertex could result in conflicts with which other nodes
+	 * Runs the search phase of the GP-Eval algorithm until it is finished.
+	 *
+	 * All changes to the search state made by this method (and the methods it calls) are reverted before it returns.
 	 * @return a {@link Set} of vertices when backjumping should stop
 	 */
-	private GPNodeSet run(Map<GPNode, GPNodeSet> incomingConflicts) {// returns nodes for backjumping
-		if(assignments.size() == pattern.graph().nodes().size()){
+	private GPNodeSet runToCompletion() {
+		while(advance() != null){
+			// results are collected in GPEval#results
+		}
+		return finalJump;
+	}
 
-			List<N> result = new ArrayList<>();
-			for(GPNode nodeToReturn : pattern.returnedNodes()){
-				result.add(Objects.requireNonNull(assignments.get(nodeToReturn)));
+	/**
+	 * Continues the search phase of the GP-Eval algorithm until a new result is found or the search is finished.
+	 *
+	 * The search corresponds to the recursive description of GP-Eval with every level of the recursion being represented by a {@link Level} on the {@link GPEval#levels} stack.
+	 * This allows the search to be paused whenever a result is found.
+	 * @return the new result or {@code null} if the search is finished
+	 */
+	private List<N> advance() {
+		if(!started){
+			started = true;
+			List<N> result = enterLevel();
+			if(result != null){
+				return result;
+			}
+		}
+		while(!levels.isEmpty()){
+			Level<N> level = levels.getLast();
+			if(returnedJump != null){
+				// the recursive call for the last candidate returned
+				GPNodeSet jump = returnedJump;
+				returnedJump = null;
+				// revert the assignment and everything done by forward checking before continuing with the next candidate
+				undo(level.candidateTrailPosition);
+				level.deadEnd = false;
+				// backjumping:
+				// if the currently assigned node is within the returned vertices, continue checking
+				if(!jump.isEmpty() && !jump.contains(level.currentNode)){
+					if(level.parallelResults != null){
+						cancelRemaining(level.parallelResults, level.nextCandidate);
+					}
+					leaveLevel(level, jump);
+					continue;
+				}
+				level.conflicts.addAll(jump);
+			}
+			if(level.nextCandidate < level.candidates.size()){
+				int candidateIndex = level.nextCandidate++;
+				if(level.parallelResults != null){
+					// the results of the forked tasks are processed in the same order as in sequential evaluation
+					CandidateResult candidateResult = level.parallelResults.get(candidateIndex).join();
+					level.outgoingConflicts.addAll(candidateResult.outgoingConflicts());
+					returnedJump = candidateResult.jump();
+					continue;
+				}
+				if(options.neighborBatchSize() > 0 && candidateIndex >= level.prefetchedCandidates){
+					prefetchNeighbors(level, candidateIndex);
+				}
+				assign(level.currentNode, level.candidates.get(candidateIndex));
+				if(forwardChecking(level.currentNode, level.outgoingConflicts)){
+					List<N> result = enterLevel();// the paper uses incomingConflicts (confIn) here but that's just a missing single quote
+					if(result != null){
+						return result;
+					}
+				}else{
+					undo(level.candidateTrailPosition);
+				}
+			}else{
+				leaveLevel(level, computeConflictsAfterAllCandidates(level));
 			}
+		}
+		return null;
+	}
 
-			results.add(List.copyOf(result));
+	/**
+	 * Starts a new level of the search which corresponds to a recursive call in the recursive description of GP-Eval.
+	 *
+	 * If all nodes are assigned, the result is recorded and the level is left immediately.
+	 * Otherwise, the next node to assign is picked and its candidates are prepared.
+	 *
+	 * When only checking whether a match exists ({@link ResultMode#EXISTS}), an empty {@link List} is returned for the first match without creating a result and the search must not be continued afterwards.
+	 * @return the result if all nodes are assigned and the result has not been found before, else {@code null}
+	 */
+	private List<N> enterLevel() {
+		if(assignedNodeCount == plan.nodeCount()){
+			if(resultMode == ResultMode.EXISTS){
+				return List.of();
+			}
+			int[] returnedNodes = plan.returnedNodes();
 			// backjump until any of the returned nodes are reassigned
 			// there is no point in looking at assignments leading to the same returned nodes
-			return nodeSetFactory.copyOf(pattern.returnedNodes());
+			returnFromLevel(nodeSetFactory.copyOf(returnedNodes));
+			if(resultMode == ResultMode.COUNT){
+				resultKeys.add(createResultKey(returnedNodes));
+				return null;
+			}
+			List<N> result = createResult(returnedNodes);
+			return results.add(result) ? result : null;
 		}
 
-		boolean deadEnd = true;
-		// all vertices where conflicts happened, used for backjumping
-		// if a conflict happened on a vertex and that vertex is reassigned, backjumping should stop/the search should continue
-		GPNodeSet conflicts = nodeSetFactory.createEmpty();
-		// outgoing conflicts are new conflicts resulting from forward checking "failures"
-		GPNodeSet outgoingConflicts = nodeSetFactory.createEmpty();
-
-		GPNode currentNode = pickNextNode();
+		int currentNode = pickNextNode();
+		int levelTrailPosition = trail.size();
 		List<N> currentNodeCandidates = candidates.get(currentNode);
-		GPNodeSet exclusionConstraints = mutualExclusionConstraints.get(currentNode);
+		GPNodeSet exclusionConstraints = plan.node(currentNode).mutualExclusionConstraints();
 		if(exclusionConstraints != null){
-			filterMutualExclusionConstraints(currentNodeCandidates, exclusionConstraints, Objects.requireNonNullElse(incomingConflicts.get(currentNode), nodeSetFactory.createEmpty()));
+			currentNodeCandidates = filterMutualExclusionConstraints(currentNode, currentNodeCandidates, exclusionConstraints);
 		}
-		for(N candidateNode : currentNodeCandidates){
-			Map<GPNode, List<N>> newCandidates = deepCopyExceptKey(candidates, currentNode);
-			Map<GPNode, N> newAssignments = new HashMap<>(assignments);
-			newAssignments.put(currentNode, candidateNode);
-			Map<GPNode, GPNodeSet> newIncomingConflicts = deepCopy(incomingConflicts);
-			GPEval<N, E> child = new GPEval<>(graph, pattern, mutualExclusionConstraints, newCandidates, newAssignments, results, nodeSetFactory);
-			boolean valid = child.forwardChecking(currentNode, newIncomingConflicts, outgoingConflicts);
-			if(valid){
-				deadEnd = false;
-				GPNodeSet jump = child.run(newIncomingConflicts);// the paper uses incomingConflicts (confIn) here but that's just a missing single quote
-				// backjumping:
-				// if the currently assigned node is within the returned vertices, continue checking
-				if(!jump.isEmpty() && !jump.contains(currentNode)){
-					return jump;
-				}
-				conflicts.addAll(jump);
+		// the current node is assigned in all deeper levels so it is not a candidate there
+		setCandidates(currentNode, null);
+		Level<N> level = new Level<>(
+				currentNode, currentNodeCandidates,
+				levelTrailPosition, trail.size(),
+				nodeSetFactory.createEmpty(), nodeSetFactory.createEmpty()
+		);
+		if(shouldEvaluateInParallel(currentNodeCandidates)){
+			level.parallelResults = forkCandidates(currentNode, currentNodeCandidates);
+		}
+		levels.add(level);
+		return null;
+	}
+
+	private List<N> createResult(int[] returnedNodes) {
+		List<N> result = new ArrayList<>(returnedNodes.length);
+		for(int nodeToReturn : returnedNodes){
+			result.add(Objects.requireNonNull(assignments.get(nodeToReturn)));
+		}
+		return List.copyOf(result);
+	}
+
+	/**
+	 * Creates an object identifying the current assignment of the returned nodes.
+	 * If there is only a single returned node, its assignment is used directly.
+	 * Otherwise, the {@link AttributedGraph#getNumericNodeId(AttributedNode) numeric IDs} of the assigned nodes are used if the graph provides these
+	 * so that the nodes don't need to be retained.
+	 * If the graph doesn't provide numeric IDs, a list of the assigned nodes is created like for other result modes.
+	 * @param returnedNodes the indices of the returned nodes
+	 * @return an object that is equal for all assignments with the same result
+	 */
+	private Object createResultKey(int[] returnedNodes) {
+		if(returnedNodes.length == 1){
+			return Objects.requireNonNull(assignments.get(returnedNodes[0]));
+		}
+		if(numericNodeIds != null){
+			long[] ids = new long[returnedNodes.length];
+			for(int i = 0; i < returnedNodes.length; i++){
+				ids[i] = numericNodeIds.applyAsLong(Objects.requireNonNull(assignments.get(returnedNodes[i])));
 			}
+			return new NumericResultKey(ids);
+		}
+		return createResult(returnedNodes);
+	}
+
+	/**
+	 * Leaves the current level of the search, reverts all changes made in that level and passes the vertices for backjumping to the previous level.
+	 * @param level the current level
+	 * @param jump the vertices for backjumping
+	 */
+	private void leaveLevel(Level<N> level, GPNodeSet jump) {
+		undo(level.levelTrailPosition);
+		levels.removeLast();
+		returnFromLevel(jump);
+	}
+
+	private void returnFromLevel(GPNodeSet jump) {
+		if(levels.isEmpty()){
+			finalJump = jump;
+		}else{
+			returnedJump = jump;
 		}
+	}
 
+	/**
+	 * Computes the vertices for backjumping after all candidates of a level have been checked.
+	 * @param level the current level
+	 * @return a {@link Set} of vertices when backjumping should stop
+	 */
+	private GPNodeSet computeConflictsAfterAllCandidates(Level<N> level) {
+		GPNodeSet conflicts = level.conflicts;
 		// in case of a dead end (no candidate resulted in forward checking to succeed)
 		// perform backjumping with incoming conflicts related to current vertex and all incoming conflicts related to nodes listed in outgoingConflicts
-		if(deadEnd){
-			addAllIncomingConflictsForNode(incomingConflicts, conflicts, currentNode);
-			for(GPNode node : outgoingConflicts){
-				addAllIncomingConflictsForNode(incomingConflicts, conflicts, node);
-			}
+		if(level.deadEnd){
+			addAllIncomingConflictsForNode(conflicts, level.currentNode);
+			addAllIncomingConflictsForNodes(conflicts, level.outgoingConflicts);
 			return conflicts;
 		}
 		// forward checking successful / no dead end
-		conflicts.addAll(pattern.returnedNodes());
-		for(GPNode node : pattern.returnedNodes()){
-			addAllIncomingConflictsForNode(incomingConflicts, conflicts, node);
+		for(int node : plan.returnedNodes()){
+			conflicts.add(node);
+			addAllIncomingConflictsForNode(conflicts, node);
 		}
-		if(!outgoingConflicts.isEmpty()){
-			addAllIncomingConflictsForNode(incomingConflicts, conflicts, currentNode);
-			for(GPNode node : outgoingConflicts){
-				addAllIncomingConflictsForNode(incomingConflicts, conflicts, node);
-			}
+		if(!level.outgoingConflicts.isEmpty()){
+			addAllIncomingConflictsForNode(conflicts, level.currentNode);
+			addAllIncomingConflictsForNodes(conflicts, level.outgoingConflicts);
 		}
 		return conflicts;
 	}
 
 	/**
-	 * create a deep copy of a {@code Map<K, List<V>>} but don't include the specified key in the copy
-	 * @param <K> the key type
-	 * @param <V> the value element type
-	 * @param multimap the {@link Map} to copy
-	 * @param keyToSkip the key to not copy
-	 * @return the copy of the map, not including the entry identified by {@code keyToSkip}
+	 * Assigns a candidate to a vertex, runs forward checking and continues the search with that assignment until it is finished if forward checking succeeds.
+	 * All changes to the search state are reverted before this method returns.
+	 * @param currentNode the index of the vertex in the graph pattern
+	 * @param candidateNode the candidate to assign
+	 * @param outgoingConflicts outgoing conflicts discovered in forward checking are added to this set
+	 * @return the vertices for backjumping or {@code null} if forward checking failed
 	 */
-	private <K, V> Map<K, List<V>> deepCopyExceptKey(Map<K, List<V>> multimap, K keyToSkip) {
-		Map<K, List<V>> result = HashMap.newHashMap(multimap.size());
-		for(Entry<K, List<V>> entry : multimap.entrySet()){
-			if(!entry.getKey().equals(keyToSkip)){
-				result.put(entry.getKey(), new ArrayList<>(entry.getValue()));
-			}
+	private GPNodeSet evaluateCandidate(int currentNode, N candidateNode, GPNodeSet outgoingConflicts) {
+		int candidateTrailPosition = trail.size();
+		assign(currentNode, candidateNode);
+		GPNodeSet jump = null;
+		if(forwardChecking(currentNode, outgoingConflicts)){
+			jump = runToCompletion();
 		}
-		return result;
+		undo(candidateTrailPosition);
+		return jump;
+	}
+
+	private boolean shouldEvaluateInParallel(List<N> currentNodeCandidates) {
+		return options.isParallel() &&
+				assignedNodeCount < options.maxParallelDepth() &&
+				currentNodeCandidates.size() >= options.parallelismThreshold() &&
+				ForkJoinTask.inForkJoinPool();
 	}
 
 	/**
-	 * create a deep copy of a {@code Map<GPNode, GPNodeSet>}
-	 * @param multimap the {@link Map} to copy
-	 * @return the copy of the map
+	 * Evaluates all candidates of a vertex in separate {@link ForkJoinTask}s.
+	 * Each task operates on its own copy of the search state.
+	 * @param currentNode the index of the vertex in the graph pattern
+	 * @param currentNodeCandidates the candidates of the vertex
+	 * @return the forked tasks in the order of the candidates
 	 */
-	private Map<GPNode, GPNodeSet> deepCopy(Map<GPNode, GPNodeSet> multimap) {
-		Map<GPNode, GPNodeSet> result = HashMap.newHashMap(multimap.size());
-		for(Entry<GPNode, GPNodeSet> entry : multimap.entrySet()){
-			result.put(entry.getKey(), entry.getValue().copy());
+	private List<ForkJoinTask<CandidateResult>> forkCandidates(int currentNode, List<N> currentNodeCandidates) {
+		List<ForkJoinTask<CandidateResult>> tasks = new ArrayList<>(currentNodeCandidates.size());
+		for(N candidateNode : currentNodeCandidates){
+			GPEval<N, E> fork = new GPEval<>(this);
+			tasks.add(ForkJoinTask.adapt(() -> {
+				GPNodeSet forkOutgoingConflicts = nodeSetFactory.createEmpty();
+				GPNodeSet jump = fork.evaluateCandidate(currentNode, candidateNode, forkOutgoingConflicts);
+				return new CandidateResult(jump, forkOutgoingConflicts);
+			}));
+		}
+		// tasks are forked in reverse order so that the first candidates are executed by this thread first
+		for(int i = tasks.size() - 1; i >= 0; i--){
+			tasks.get(i).fork();
+		}
+		return tasks;
+	}
+
+	private void cancelRemaining(List<ForkJoinTask<CandidateResult>> tasks, int fromIndex) {
+		for(int i = fromIndex; i < tasks.size(); i++){
+			tasks.get(i).cancel(false);
+		}
+	}
+
+	/**
+	 * Assigns a node in the attributed graph to a vertex in the graph pattern and records that on the {@link GPEval#trail}.
+	 * @param patternNode the index of the vertex in the graph pattern
+	 * @param graphNode the node in the attributed graph
+	 */
+	private void assign(int patternNode, N graphNode) {
+		assignments.set(patternNode, graphNode);
+		assignedNodeCount++;
+		trail.add(new AssignmentEntry<>(patternNode));
+	}
+
+	/**
+	 * Replaces the candidates of a vertex and records the previous candidates on the {@link GPEval#trail}.
+	 *
+	 * Candidate lists are never modified after being stored so the previous list can be restored as-is.
+	 * @param patternNode the index of the vertex in the graph pattern
+	 * @param newCandidates the new candidates or {@code null} if the vertex should not have any candidate list
+	 */
+	private void setCandidates(int patternNode, CandidateSet<N> newCandidates) {
+		CandidateSet<N> previous = candidates.set(patternNode, newCandidates);
+		trail.add(new CandidatesEntry<>(patternNode, previous));
+	}
+
+	/**
+	 * Gets the incoming conflicts of a vertex, creating an empty entry if not present.
+	 * @param patternNode the index of the vertex in the graph pattern
+	 * @return the incoming conflicts of the vertex which must not be modified
+	 */
+	private GPNodeSet getOrCreateIncomingConflicts(int patternNode) {
+		GPNodeSet nodeIncomingConflicts = incomingConflicts[patternNode];
+		if(nodeIncomingConflicts == null){
+			nodeIncomingConflicts = nodeSetFactory.createEmpty();
+			incomingConflicts[patternNode] = nodeIncomingConflicts;
+			trail.add(new IncomingConflictsEntry<>(patternNode, null));
+		}
+		return nodeIncomingConflicts;
+	}
+
+	/**
+	 * Gets a modifiable copy of the incoming conflicts of a vertex and stores it in {@link GPEval#incomingConflicts}.
+	 * The previous (unmodified) incoming conflicts are recorded on the {@link GPEval#trail}.
+	 * @param patternNode the index of the vertex in the graph pattern
+	 * @return the incoming conflicts of the vertex that can be modified
+	 */
+	private GPNodeSet modifyIncomingConflicts(int patternNode) {
+		GPNodeSet previous = incomingConflicts[patternNode];
+		GPNodeSet modifiable = previous == null ? nodeSetFactory.createEmpty() : previous.copy();
+		incomingConflicts[patternNode] = modifiable;
+		trail.add(new IncomingConflictsEntry<>(patternNode, previous));
+		return modifiable;
+	}
+
+	/**
+	 * Reverts all changes recorded on the {@link GPEval#trail} after a given position.
+	 * @param trailPosition the size of the trail to return to
+	 */
+	private void undo(int trailPosition) {
+		for(int i = trail.size() - 1; i >= trailPosition; i--){
+			switch(trail.remove(i)) {
+			case AssignmentEntry<N>(int node) -> {
+				assignments.set(node, null);
+				assignedNodeCount--;
+			}
+			case CandidatesEntry<N>(int node, CandidateSet<N> previous) -> candidates.set(node, previous);
+			case IncomingConflictsEntry<N>(int node, GPNodeSet previous) -> incomingConflicts[node] = previous;
+			}
 		}
-		return result;
 	}
 
 	/**
 	 * Add all incoming conflicts associated with a specified node to the {@link Set} of conflicts
-	 * @param incomingConflicts all incoming conflicts for any node
 	 * @param conflicts the {@link Set} of conflicts to modify
-	 * @param currentNode the node relevant for incoming conflicts
+	 * @param currentNode the index of the node relevant for incoming conflicts
 	 */
-	private void addAllIncomingConflictsForNode(Map<GPNode, GPNodeSet> incomingConflicts, GPNodeSet conflicts, GPNode currentNode) {
-		GPNodeSet nodeIncomingConflicts = incomingConflicts.get(currentNode);
+	private void addAllIncomingConflictsForNode(GPNodeSet conflicts, int currentNode) {
+		GPNodeSet nodeIncomingConflicts = incomingConflicts[currentNode];
 		if(nodeIncomingConflicts != null){
 			conflicts.addAll(nodeIncomingConflicts);
 		}
 	}
 
 	/**
-	 * Pick the next node to assign
-	 * @return a {@link GPNode} to assign
+	 * Add all incoming conflicts associated with any of the specified nodes to the {@link Set} of conflicts
+	 * @param conflicts the {@link Set} of conflicts to modify
+	 * @param nodes the nodes relevant for incoming conflicts
 	 */
-	private GPNode pickNextNode() {
-		GPNode candidate = null;
-		int numberOfPossibilities = Integer.MAX_VALUE;
-		for(Entry<GPNode, List<N>> candidateEntry : candidates.entrySet()){
-			int possibilities = candidateEntry.getValue().size();
-			GPNode potentialCandidate = candidateEntry.getKey();
-			if(assignments.containsKey(potentialCandidate)){
-				throw new IllegalStateException("sanity check failed: element of candidate set already assigned");
-			}
-			if(possibilities < numberOfPossibilities){
-				candidate = potentialCandidate;
-				numberOfPossibilities = possibilities;
-			}
+	private void addAllIncomingConflictsForNodes(GPNodeSet conflicts, GPNodeSet nodes) {
+		for(int node = nodes.nextIndex(0); node != -1; node = nodes.nextIndex(node + 1)){
+			addAllIncomingConflictsForNode(conflicts, node);
 		}
-		if (candidate == null) {
+	}
+
+	/**
+	 * Pick the next node to assign using the configured {@link NodeOrderingStrategy}
+	 * @return the index of the node to assign
+	 */
+	private int pickNextNode() {
+		int candidate = nodeOrdering.selectNode(searchState);
+		if(candidate == -1){
 			throw new IllegalStateException("No candidate node found. Make sure all nodes in the graph pattern are have some connection to a fixed node.");
 		}
+		if(candidates.get(candidate) == null){
+			throw new IllegalStateException("node ordering selected a node without candidates: " + plan.node(candidate).node());
+		}
+		if(assignments.get(candidate) != null){
+			throw new IllegalStateException("sanity check failed: element of candidate set already assigned");
+		}
 		return candidate;
 	}
 
 	/**
 	 * Removes candidates violating a mutual exclusion constraint with already assigned nodes
-	 * @param candidatesForNode The candidates to filter
+	 * @param currentNode the index of the vertex the candidates belong to, vertices violating mutual exclusion constraints are added to its incoming conflicts
+	 * @param candidatesForNode The candidates to filter, this {@link List} is not modified
 	 * @param exclusionConstraints all vertices that must have different assignments than the candidates
-	 * @param incomingConflicts vertices violating mutual exclusion constraints are added to this collection
+	 * @return the candidates not violating any mutual exclusion constraints
 	 */
-	private void filterMutualExclusionConstraints(List<N> candidatesForNode, GPNodeSet exclusionConstraints, GPNodeSet incomingConflicts) {
+	private List<N> filterMutualExclusionConstraints(int currentNode, List<N> candidatesForNode, GPNodeSet exclusionConstraints) {
 		FilterMutualExclusionConstraintsEvent event = new FilterMutualExclusionConstraintsEvent();
 		event.begin();
-		for(Iterator<N> it = candidatesForNode.iterator(); it.hasNext();){
-			filterMutualExclusionConstraintWithSpecificCandidate(exclusionConstraints, incomingConflicts, it);
+		Map<N, Integer> excludedNodes = findExcludedNodes(exclusionConstraints);
+		if(excludedNodes.isEmpty()){
+			event.commit();
+			return candidatesForNode;
+		}
+		List<N> filteredCandidates = new ArrayList<>(candidatesForNode.size());
+		// conflicts are only recorded if the current node already has incoming conflicts
+		GPNodeSet currentNodeIncomingConflicts = null;
+		for(N graphCandidate : candidatesForNode){
+			Integer violatedConstraint = excludedNodes.get(graphCandidate);
+			if(violatedConstraint == null){
+				filteredCandidates.add(graphCandidate);
+			}else if(incomingConflicts[currentNode] != null){
+				if(currentNodeIncomingConflicts == null){
+					currentNodeIncomingConflicts = modifyIncomingConflicts(currentNode);
+				}
+				currentNodeIncomingConflicts.add(violatedConstraint);
+			}
 		}
 		event.commit();
+		return filteredCandidates;
 	}
 
 	/**
-	 * Removes a specific candidate
-	 * @param exclusionConstraints the mutual exclusion constraints applying to the candidate
-	 * @param incomingConflicts if the vertex violates a mutual exclusion constraint, the other vertex is added as an incoming conflict
-	 * @param it used for obtaining the node and removing it if it matches a mutual exclusion constraint
+	 * Finds the nodes in the attributed graph assigned to nodes that are subject to mutual exclusion constraints.
+	 *
+	 * This allows checking each candidate using a single lookup instead of comparing it with all assignments.
+	 * @param exclusionConstraints the nodes in the graph pattern that must not be assigned to the same node
+	 * @return a {@link Map} from each node in the attributed graph assigned to any of these nodes to the (first) node in the graph pattern it is assigned to
 	 */
-	private void filterMutualExclusionConstraintWithSpecificCandidate(GPNodeSet exclusionConstraints, GPNodeSet incomingConflicts, Iterator<N> it) {
-		N graphCandidate = it.next();
-		for(GPNode exclusionConstraint : exclusionConstraints){
-			if(graphCandidate.equals(assignments.get(exclusionConstraint))){
-				incomingConflicts.add(exclusionConstraint);
-				it.remove();
-				return;
+	private Map<N, Integer> findExcludedNodes(GPNodeSet exclusionConstraints) {
+		Map<N, Integer> excludedNodes = new HashMap<>();
+		for(int exclusionConstraint = exclusionConstraints.nextIndex(0); exclusionConstraint != -1; exclusionConstraint = exclusionConstraints.nextIndex(exclusionConstraint + 1)){
+			N assignedNode = assignments.get(exclusionConstraint);
+			if(assignedNode != null){
+				excludedNodes.putIfAbsent(assignedNode, exclusionConstraint);
 			}
 		}
+		return excludedNodes;
 	}
 
 	/**
@@ -363,42 +1185,49 @@ public final class GPEval<N extends AttributedNode, E extends AttributedEdge<N>>
 	 *   <li>Else, check whether specified in the graph pattern should be satisfied with the specified neighbor</li>
 	 *   <li>This also discovers further neighbors and adds them.</li>
 	 * </ul>
-	 * @param currentNode The node to check
-	 * @param incomingConflicts potential conflicts discovered in forward checking are added as incoming conflicts
+	 * Potential conflicts discovered in forward checking are added as incoming conflicts.
+	 * All changes to the search state are recorded on the {@link GPEval#trail}.
+	 * @param currentNode The index of the node to check
 	 * @param outgoingConflicts if a vertex cannot be assigned (no candidates found), that is added to outgoing conflicts
 	 * @return {@code true} if forward checking succeeds, else {@code false}
 	 */
-	private boolean forwardChecking(GPNode currentNode, Map<GPNode, GPNodeSet> incomingConflicts, GPNodeSet outgoingConflicts) {
+	private boolean forwardChecking(int currentNode, GPNodeSet outgoingConflicts) {
 		// we use a JFR event to provide diagnostic information about the forward checking process
 		ForwardCheckingEvent forwardCheckingEvent = new ForwardCheckingEvent();
 		forwardCheckingEvent.begin();
 
-		List<RelevantEdge> relevantEdges = getRelevantEdges(currentNode);
-		forwardCheckingEvent.setRelevantEdges(relevantEdges.size());
+		RelevantEdge[] relevantEdges = plan.node(currentNode).relevantEdges();
+		forwardCheckingEvent.setRelevantEdges(relevantEdges.length);
+		// nodes with new or reduced candidates, only needed for propagating mutual exclusion constraints
+		GPNodeSet changedNodes = plan.hasMutualExclusionConstraints() ? nodeSetFactory.createEmpty() : null;
 		for(RelevantEdge relevantEdge : relevantEdges){
-			GPNode otherNode = relevantEdge.otherNode();
-			if(!assignments.containsKey(otherNode)){
+			int otherNode = relevantEdge.otherNode();
+			if(assignments.get(otherNode) == null){
 				// check neighbors of that edge in the graph pattern
 				// If a neighbor doesn't have any candidates, indicate "failure" of forward checking by returning false
 				// also need to add incoming and outgoing conflicts if applicable
 				forwardCheckingEvent.addUnknownEdge();
-				List<N> neighbors = getNeighborsSatisfyingEdgeAndAttributeRequirements(currentNode, relevantEdge, forwardCheckingEvent);
+				CandidateSet<N> neighbors = getNeighborCandidates(currentNode, relevantEdge, forwardCheckingEvent);
 				forwardCheckingEvent.addNeighborsProcessed(neighbors.size());
-				List<N> otherNodeCandidates = candidates.get(otherNode);
+				CandidateSet<N> otherNodeCandidates = candidates.get(otherNode);
 				assert otherNodeCandidates == null || !otherNodeCandidates.isEmpty();// this should normally not happen, null is written as empty in the paper
-				GPNodeSet otherNodeIncomingConflicts = incomingConflicts.computeIfAbsent(otherNode, n -> nodeSetFactory.createEmpty());
-				GPNodeSet currentNodeIncomingConflicts = incomingConflicts.computeIfAbsent(currentNode, n -> nodeSetFactory.createEmpty());
-				if(otherNodeCandidates == null || !neighbors.containsAll(Objects.requireNonNullElse(otherNodeCandidates, List.of()))){
+				getOrCreateIncomingConflicts(otherNode);
+				GPNodeSet currentNodeIncomingConflicts = getOrCreateIncomingConflicts(currentNode);
+				if(otherNodeCandidates == null || !otherNodeCandidates.isSubsetOf(neighbors)){
 					// candidates are discovered or reduced
 					// in this case, the other node has (potential) incoming conflicts with
 					// - the current node
 					// - all incoming conflicts of the current node
+					GPNodeSet otherNodeIncomingConflicts = modifyIncomingConflicts(otherNode);
 					otherNodeIncomingConflicts.addAll(currentNodeIncomingConflicts);
 					otherNodeIncomingConflicts.add(currentNode);
 				}
+				if(changedNodes != null && otherNodeCandidates != neighbors){
+					changedNodes.add(otherNode);
+				}
 				if(otherNodeCandidates == null){
-					otherNodeCandidates = new ArrayList<>(neighbors);
-					candidates.put(otherNode, otherNodeCandidates);
+					otherNodeCandidates = neighbors;
+					setCandidates(otherNode, otherNodeCandidates);
 				}else{
 					// intersect otherNodeCandidates with neighbors
 					// a JFR event is added here for diagnosis
@@ -407,9 +1236,8 @@ public final class GPEval<N extends AttributedNode, E extends AttributedEdge<N>>
 					event.setCandidatesCountBefore(otherNodeCandidates.size());
 					event.begin();
 
-					neighbors.retainAll(otherNodeCandidates);
-					otherNodeCandidates = neighbors;
-					candidates.put(otherNode, otherNodeCandidates);
+					otherNodeCandidates = neighbors.intersect(otherNodeCandidates);
+					setCandidates(otherNode, otherNodeCandidates);
 
 					event.setCandidateCountAfter(otherNodeCandidates.size());
 					event.commit();
@@ -419,122 +1247,408 @@ public final class GPEval<N extends AttributedNode, E extends AttributedEdge<N>>
 					// in this case, the current assignment is not possible
 					// add the neighboring node as an outgoing conflict
 					outgoingConflicts.add(otherNode);
+					nodeOrdering.recordFailure(relevantEdge.edgeIndex());
 					return false;
 				}
 			}
 		}
+		if(changedNodes != null && !propagateMutualExclusionConstraints(currentNode, changedNodes, outgoingConflicts, forwardCheckingEvent)){
+			return false;
+		}
 		forwardCheckingEvent.commit();
 
 		return true;
 	}
 
 	/**
-	 * Gets all neighbors of a specific node along a specific edge
-	 * @param currentNode the current node
+	 * Removes candidates violating mutual exclusion constraints after forward checking.
+	 *
+	 * A node in the attributed graph is removed from the candidates of all nodes that must not be the same as a node
+	 * that is assigned to it (the current node) or that has it as its only candidate left as that node must be assigned to it.
+	 * Afterwards, {@link GPEvalPlan#mutualExclusionCliques() groups of nodes that must all be different} containing nodes with changed candidates are checked for having enough distinct candidates.
+	 * Candidates of nodes that are the same as nodes assigned in previous levels are removed when these nodes are assigned (see {@link GPEval#filterMutualExclusionConstraints(int, List, GPNodeSet)}).
+	 *
+	 * Like in forward checking, removing candidates of a node adds the node causing that and its incoming conflicts to the incoming conflicts of that node.
+	 * As these changes are reverted if forward checking fails, all nodes involved in the propagation are recorded as outgoing conflicts in that case.
+	 * @param currentNode the index of the assigned node
+	 * @param changedNodes the nodes whose candidates have been changed by forward checking, nodes changed by this method are added
+	 * @param outgoingConflicts if a node cannot be assigned, the nodes involved are added to outgoing conflicts
+	 * @param forwardCheckingEvent used for diagnosis, not necessary for GP-Eval
+	 * @return {@code true} if all unassigned nodes with candidates can still be assigned, else {@code false}
+	 */
+	private boolean propagateMutualExclusionConstraints(int currentNode, GPNodeSet changedNodes, GPNodeSet outgoingConflicts, ForwardCheckingEvent forwardCheckingEvent) {
+		// nodes that are known to be assigned to a specific node in the attributed graph
+		Deque<Integer> fixedNodes = new ArrayDeque<>();
+		GPNodeSet causes = nodeSetFactory.createEmpty();
+		fixedNodes.add(currentNode);
+		for(int node = changedNodes.nextIndex(0); node != -1; node = changedNodes.nextIndex(node + 1)){
+			if(candidates.get(node).size() == 1){
+				fixedNodes.add(node);
+			}
+		}
+		while(!fixedNodes.isEmpty()){
+			int fixedNode = fixedNodes.poll();
+			GPNodeSet exclusionConstraints = plan.node(fixedNode).mutualExclusionConstraints();
+			if(exclusionConstraints == null){
+				continue;
+			}
+			causes.add(fixedNode);
+			N fixedGraphNode = fixedNode == currentNode ? assignments.get(currentNode) : candidates.get(fixedNode).get(0);
+			for(int other = exclusionConstraints.nextIndex(0); other != -1; other = exclusionConstraints.nextIndex(other + 1)){
+				if(!removeExcludedCandidate(other, fixedGraphNode, fixedNode, changedNodes, fixedNodes, forwardCheckingEvent)){
+					addPropagationConflicts(outgoingConflicts, changedNodes, causes);
+					return false;
+				}
+			}
+		}
+		if(!checkMutualExclusionCliques(changedNodes, outgoingConflicts)){
+			addPropagationConflicts(outgoingConflicts, changedNodes, causes);
+			return false;
+		}
+		return true;
+	}
+
+	private void addPropagationConflicts(GPNodeSet outgoingConflicts, GPNodeSet changedNodes, GPNodeSet causes) {
+		outgoingConflicts.addAll(changedNodes);
+		outgoingConflicts.addAll(causes);
+	}
+
+	/**
+	 * Removes a single candidate of an unassigned node due to a mutual exclusion constraint.
+	 * @param patternNode the node to remove the candidate from
+	 * @param graphNode the candidate to remove
+	 * @param cause the node that is (or must be) assigned to the candidate
+	 * @param changedNodes the nodes with changed candidates
+	 * @param fixedNodes nodes with a single candidate that still need to be propagated
+	 * @param forwardCheckingEvent used for diagnosis, not necessary for GP-Eval
+	 * @return {@code false} if the node doesn't have any candidates left, else {@code true}
+	 */
+	private boolean removeExcludedCandidate(int patternNode, N graphNode, int cause, GPNodeSet changedNodes, Deque<Integer> fixedNodes, ForwardCheckingEvent forwardCheckingEvent) {
+		// assigned nodes and nodes that have not been reached yet don't have candidates
+		CandidateSet<N> nodeCandidates = candidates.get(patternNode);
+		if(nodeCandidates == null){
+			return true;
+		}
+		CandidateSet<N> reducedCandidates = nodeCandidates.without(graphNode, numericNodeIds);
+		if(reducedCandidates == nodeCandidates){
+			return true;
+		}
+		forwardCheckingEvent.addExcludedCandidate();
+		GPNodeSet causeIncomingConflicts = getOrCreateIncomingConflicts(cause);
+		GPNodeSet nodeIncomingConflicts = modifyIncomingConflicts(patternNode);
+		nodeIncomingConflicts.addAll(causeIncomingConflicts);
+		nodeIncomingConflicts.add(cause);
+		setCandidates(patternNode, reducedCandidates);
+		changedNodes.add(patternNode);
+		if(reducedCandidates.isEmpty()){
+			return false;
+		}
+		if(reducedCandidates.size() == 1){
+			fixedNodes.add(patternNode);
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether the unassigned nodes of groups of nodes that must all be different have enough distinct candidates.
+	 *
+	 * If any number of nodes in such a group have fewer distinct candidates combined than there are nodes, these cannot be assigned to different nodes (pigeonhole principle).
+	 * Nodes are considered in ascending order of their number of candidates so this only needs to check the union of the candidates of the first nodes.
+	 * @param changedNodes the nodes with changed candidates, only groups containing these nodes are checked
+	 * @param outgoingConflicts if the nodes in a group cannot be assigned, these are added to outgoing conflicts
+	 * @return {@code false} if the nodes of a group cannot be assigned to different nodes, else {@code true}
+	 */
+	private boolean checkMutualExclusionCliques(GPNodeSet changedNodes, GPNodeSet outgoingConflicts) {
+		for(GPNodeSet clique : plan.mutualExclusionCliques()){
+			if(!clique.intersects(changedNodes)){
+				continue;
+			}
+			List<Integer> unassignedNodes = new ArrayList<>();
+			for(int node = clique.nextIndex(0); node != -1; node = clique.nextIndex(node + 1)){
+				if(candidates.get(node) != null){
+					unassignedNodes.add(node);
+				}
+			}
+			unassignedNodes.sort(Comparator.comparingInt(node -> candidates.get(node).size()));
+			Set<N> distinctCandidates = new HashSet<>();
+			for(int i = 0; i < unassignedNodes.size(); i++){
+				CandidateSet<N> nodeCandidates = candidates.get(unassignedNodes.get(i));
+				// the union of this and all previous candidates is large enough for all nodes
+				if(nodeCandidates.size() >= unassignedNodes.size()){
+					break;
+				}
+				distinctCandidates.addAll(nodeCandidates);
+				if(distinctCandidates.size() <= i){
+					for(int j = 0; j <= i; j++){
+						outgoingConflicts.add(unassignedNodes.get(j));
+					}
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the candidates for the other node of an edge based on the current node using the {@link GPEval#neighborCache} if possible.
+	 * @param currentNode the index of the current node
 	 * @param relevantEdge the edge of the current node to the other node
 	 * @param forwardCheckingEvent used for diagnosis, not necessary for GP-Eval
 	 * @return the neighbors satisfying the requirements
 	 */
-	private List<N> getNeighborsSatisfyingEdgeAndAttributeRequirements(GPNode currentNode, RelevantEdge relevantEdge, ForwardCheckingEvent forwardCheckingEvent) {
+	private CandidateSet<N> getNeighborCandidates(int currentNode, RelevantEdge relevantEdge, ForwardCheckingEvent forwardCheckingEvent) {
+		if(neighborCache == null){
+			return CandidateSet.of(getNeighborsSatisfyingEdgeAndAttributeRequirements(currentNode, relevantEdge, forwardCheckingEvent), numericNodeIds);
+		}
 		N currentNodeInDB = assignments.get(currentNode);
-		Collection<E> graphEdges;
-		Function<E, N> neighborFinder;
-		if(relevantEdge.isOutgoing()){
-			graphEdges = graph.findOutgoingEdges(currentNodeInDB, relevantEdge.edgeType());
-			neighborFinder = AttributedEdge::target;
-		}else{
-			graphEdges = graph.findIncomingEdges(currentNodeInDB, relevantEdge.edgeType());
-			neighborFinder = AttributedEdge::source;
-		}
-		graphEdges = Objects.requireNonNullElse(graphEdges, List.of());
-		List<N> neighborsSatisfyingRequirements = new ArrayList<>();
-		for(E graphEdge : graphEdges){
-			N neighbor = neighborFinder.apply(graphEdge);
-			if(satisfiesRequirements(relevantEdge, graphEdge, neighbor)){
-				neighborsSatisfyingRequirements.add(neighbor);
-			}
+		CandidateSet<N> neighbors = neighborCache.get(currentNodeInDB, relevantEdge.edgeIndex(), relevantEdge.isOutgoing());
+		if(neighbors != null){
+			forwardCheckingEvent.addCachedEdge();
+			return neighbors;
 		}
+		neighbors = CandidateSet.of(getNeighborsSatisfyingEdgeAndAttributeRequirements(currentNode, relevantEdge, forwardCheckingEvent), numericNodeIds);
+		neighborCache.put(currentNodeInDB, relevantEdge.edgeIndex(), relevantEdge.isOutgoing(), neighbors);
+		return neighbors;
+	}
 
-		forwardCheckingEvent.addNeighborsTotal(graphEdges.size());
+	/**
+	 * Gets all neighbors of a specific node along a specific edge
+	 *
+	 * Edge types, node types and attribute requirements are checked by the graph (see {@link AttributedGraph#findNeighbors(AttributedNode, boolean, String, String, List, List)}),
+	 * self-connections of the neighbors are checked afterwards.
+	 * @param currentNode the index of the current node
+	 * @param relevantEdge the edge of the current node to the other node
+	 * @param forwardCheckingEvent used for diagnosis, not necessary for GP-Eval
+	 * @return the neighbors satisfying the requirements
+	 */
+	private List<N> getNeighborsSatisfyingEdgeAndAttributeRequirements(int currentNode, RelevantEdge relevantEdge, ForwardCheckingEvent forwardCheckingEvent) {
+		N currentNodeInDB = assignments.get(currentNode);
+		Collection<N> neighbors = graph.findNeighbors(
+				currentNodeInDB, relevantEdge.isOutgoing(),
+				relevantEdge.edgeType(), relevantEdge.otherNodeType(),
+				relevantEdge.edgeRequirements().orderedList(), relevantEdge.otherNodeRequirements().orderedList()
+		);
+		forwardCheckingEvent.addNeighborsTotal(neighbors.size());
 
-		return neighborsSatisfyingRequirements;
+		return filterSelfConnectionRequirements(relevantEdge, neighbors);
 	}
 
 	/**
-	 * Checks whether an edge with a specific neighbor satisfies the specified labels/requirements
-	 * @param currentEdge The graph pattern edge to check
-	 * @param graphEdge The edge in the attributed graph to check against
-	 * @param neighbor The other graph node in the edge
-	 * @return {@code true} if the requirements are met, else {@code false}
+	 * Loads the neighbors of the next candidates of a level at once and stores these in the {@link GPEval#neighborCache}.
+	 *
+	 * This is done for all edges of the current node where the other node is not assigned as these edges are checked in forward checking for every candidate.
+	 * As assignments of other nodes don't change while the candidates of a level are evaluated, forward checking finds the loaded neighbors in the cache afterwards
+	 * unless they have been evicted in the meantime.
+	 * @param level the level whose candidates are assigned next
+	 * @param fromIndex the index of the first candidate to load the neighbors of
+	 * @see GPEvalOptions#neighborBatchSize()
 	 */
-	private boolean satisfiesRequirements(RelevantEdge currentEdge, E graphEdge, N neighbor) {
-		return graphEdge.hasEdgeType(currentEdge.edge.edgeType()) &&
-				neighbor.hasNodeType(currentEdge.otherNode.nodeType()) &&
-				checkAttributeRequirements(pattern.edgeRequirements().get(currentEdge.edge), graphEdge) &&
-				checkAttributeRequirements(pattern.nodeRequirements().get(currentEdge.otherNode), neighbor) &&
-				checkSelfConnectionRequirements(currentEdge.otherNode(), neighbor);
-	}
+	private void prefetchNeighbors(Level<N> level, int fromIndex) {
+		int toIndex = Math.min(level.candidates.size(), fromIndex + options.neighborBatchSize());
+		level.prefetchedCandidates = toIndex;
+		List<N> batch = level.candidates.subList(fromIndex, toIndex);
+		for(RelevantEdge relevantEdge : plan.node(level.currentNode).relevantEdges()){
+			if(assignments.get(relevantEdge.otherNode()) != null){
+				continue;
+			}
+			List<N> nodesToLoad = new ArrayList<>(batch.size());
+			for(N candidate : batch){
+				if(neighborCache.get(candidate, relevantEdge.edgeIndex(), relevantEdge.isOutgoing()) == null){
+					nodesToLoad.add(candidate);
+				}
+			}
+			// a single node is loaded in forward checking anyway
+			if(nodesToLoad.size() < 2){
+				continue;
+			}
+			NeighborBatchEvent event = new NeighborBatchEvent();
+			event.setEdgeIndex(relevantEdge.edgeIndex());
+			event.setNodes(nodesToLoad.size());
+			event.begin();
 
-	private boolean checkAttributeRequirements(List<AttributeRequirement> requirements, AttributeAware graphElement) {
-		if(requirements == null){
-			return true;
+			Map<N, Collection<N>> neighbors = graph.findNeighbors(
+					nodesToLoad, relevantEdge.isOutgoing(),
+					relevantEdge.edgeType(), relevantEdge.otherNodeType(),
+					relevantEdge.edgeRequirements().orderedList(), relevantEdge.otherNodeRequirements().orderedList()
+			);
+			for(N node : nodesToLoad){
+				Collection<N> neighborsOfNode = neighbors.get(node);
+				// nodes missing in the result are loaded separately in forward checking
+				if(neighborsOfNode != null){
+					event.addNeighbors(neighborsOfNode.size());
+					List<N> neighborCandidates = filterSelfConnectionRequirements(relevantEdge, neighborsOfNode);
+					neighborCache.put(node, relevantEdge.edgeIndex(), relevantEdge.isOutgoing(), CandidateSet.of(neighborCandidates, numericNodeIds));
+				}
+			}
+
+			event.commit();
 		}
-		for(AttributeRequirement attributeRequirement : requirements){
-			if(!attributeRequirement.evaluate(graphElement)){
-				return false;
+	}
+
+	private List<N> filterSelfConnectionRequirements(RelevantEdge relevantEdge, Collection<N> neighbors) {
+		List<N> neighborsSatisfyingRequirements = new ArrayList<>(neighbors.size());
+		for(N neighbor : neighbors){
+			if(checkSelfConnectionRequirements(relevantEdge.otherNode(), neighbor)){
+				neighborsSatisfyingRequirements.add(neighbor);
 			}
 		}
-		return true;
+		return neighborsSatisfyingRequirements;
 	}
 
 	/**
 	 * Checks whether all edges of a node in the graph pattern to itself are satisfied
 	 * These edges are not otherwise checked in the forward-checking because it only considers nodes with unknown assignments.
-	 * @param patternNode The node in the graph pattern that might have self-connections
+	 * @param patternNode The index of the node in the graph pattern that might have self-connections
 	 * @param graphNode The corresponding node in the attributed graph to check against
 	 * @return {@code false} if any violations have been found, else {@code true}
 	 */
-	private boolean checkSelfConnectionRequirements(GPNode patternNode, N graphNode) {
-		for(GPEdge edge : pattern.graph().outgoingEdges().getOrDefault(patternNode, List.of())){
-			if(edge.target().equals(patternNode)){
-				List<AttributeRequirement> requirements = pattern.edgeRequirements().get(edge);
-				if(!isSelfEdgeSatisfied(graphNode, edge, requirements)){
-					return false;
-				}
-			}
+	private boolean checkSelfConnectionRequirements(int patternNode, N graphNode) {
+		return plan.node(patternNode).checkSelfEdges(graph, graphNode);
+	}
+
+	/**
+	 * Specifies what should happen with matches.
+	 */
+	private enum ResultMode {
+		/**
+		 * All distinct results are collected in {@link GPEval#results}.
+		 */
+		COLLECT,
+		/**
+		 * The search is stopped at the first match without creating any results.
+		 */
+		EXISTS,
+		/**
+		 * Only keys identifying distinct results are collected in {@link GPEval#resultKeys}.
+		 */
+		COUNT
+	}
+
+	/**
+	 * Provides the current state of the search to the {@link NodeOrdering}.
+	 */
+	private final class CurrentSearchState implements SearchState {
+		@Override
+		public int nodeCount() {
+			return plan.nodeCount();
+		}
+
+		@Override
+		public int candidateCount(int node) {
+			List<N> candidatesOfNode = candidates.get(node);
+			return candidatesOfNode == null ? -1 : candidatesOfNode.size();
+		}
+
+		@Override
+		public boolean isAssigned(int node) {
+			return assignments.get(node) != null;
 		}
-		return true;
 	}
 
-	private boolean isSelfEdgeSatisfied(N graphNode, GPEdge edge, List<AttributeRequirement> requirements) {
-		for(E graphSelfEdge : graph.findOutgoingEdges(graphNode, edge.edgeType())){
-			if(graphSelfEdge.target().equals(graphNode) && checkAttributeRequirements(requirements, graphSelfEdge)){
-				return true;
+	/**
+	 * An {@link Iterator} continuing the search whenever the next result is requested.
+	 */
+	private final class ResultIterator implements Iterator<List<N>> {
+		private List<N> next;
+		private boolean finished = false;
+
+		@Override
+		public boolean hasNext() {
+			if(next == null && !finished){
+				next = advance();
+				finished = next == null;
+			}
+			return next != null;
+		}
+
+		@Override
+		public List<N> next() {
+			if(!hasNext()){
+				throw new NoSuchElementException();
 			}
+			List<N> result = next;
+			next = null;
+			return result;
 		}
-		return false;
 	}
-	
+
+	/**
+	 * The state of a level in the search.
+	 * This corresponds to the local variables of a recursive call in the recursive description of GP-Eval.
+	 * @param <N> The type of nodes in the graph
+	 */
+	private static final class Level<N> {
+		private final int currentNode;
+		private final List<N> candidates;
+		private final int levelTrailPosition;
+		private final int candidateTrailPosition;
+		// all vertices where conflicts happened, used for backjumping
+		// if a conflict happened on a vertex and that vertex is reassigned, backjumping should stop/the search should continue
+		private final GPNodeSet conflicts;
+		// outgoing conflicts are new conflicts resulting from forward checking "failures"
+		private final GPNodeSet outgoingConflicts;
+		private boolean deadEnd = true;
+		private int nextCandidate = 0;
+		// candidates before that index have been considered for batched neighbor lookups
+		private int prefetchedCandidates = 0;
+		// forked tasks evaluating the candidates or null if the candidates are evaluated sequentially
+		private List<ForkJoinTask<CandidateResult>> parallelResults;
+
+		private Level(int currentNode, List<N> candidates, int levelTrailPosition, int candidateTrailPosition, GPNodeSet conflicts, GPNodeSet outgoingConflicts) {
+			this.currentNode = currentNode;
+			this.candidates = candidates;
+			this.levelTrailPosition = levelTrailPosition;
+			this.candidateTrailPosition = candidateTrailPosition;
+			this.conflicts = conflicts;
+			this.outgoingConflicts = outgoingConflicts;
+		}
+	}
+
+	/**
+	 * The outcome of evaluating a single candidate in a forked task.
+	 * @param jump the vertices for backjumping or {@code null} if forward checking failed
+	 * @param outgoingConflicts the outgoing conflicts discovered in forward checking
+	 */
+	private record CandidateResult(GPNodeSet jump, GPNodeSet outgoingConflicts) {
+	}
+
 	/**
-	 * Gets all edges of a specified node in the graph pattern
-	 * @param currentNode the node
-	 * @return all edges related to the given node
+	 * Identifies a result by the numeric IDs of the returned nodes when only counting results.
+	 * @param ids the numeric IDs of the returned nodes in order
+	 * @see GPEval#createResultKey(int[])
 	 */
-	private List<RelevantEdge> getRelevantEdges(GPNode currentNode) {
-		Collection<GPEdge> outgoingEdges = Objects.requireNonNullElse(pattern.graph().outgoingEdges().get(currentNode), Set.of());
-		Collection<GPEdge> incomingEdges = Objects.requireNonNullElse(pattern.graph().incomingEdges().get(currentNode), Set.of());
+	private record NumericResultKey(long[] ids) {
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof NumericResultKey other && Arrays.equals(ids, other.ids);
+		}
 
-		List<RelevantEdge> relevantEdges = new ArrayList<>();
-		for(GPEdge edge : incomingEdges){
-			relevantEdges.add(new RelevantEdge(edge, edge.source(), edge.edgeType(), false));
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(ids);
 		}
-		for(GPEdge edge : outgoingEdges){
-			relevantEdges.add(new RelevantEdge(edge, edge.target(), edge.edgeType(), true));
+
+		@Override
+		public String toString() {
+			return "NumericResultKey[ids=" + Arrays.toString(ids) + "]";
 		}
-		return relevantEdges;
 	}
 
-	private record RelevantEdge(GPEdge edge, GPNode otherNode, String edgeType, boolean isOutgoing) {
+	/**
+	 * A change to the search state that can be reverted.
+	 * @param <N> The type of nodes in the graph
+	 * @see GPEval#trail
+	 */
+	private sealed interface TrailEntry<N> {
+	}
+
+	private record AssignmentEntry<N>(int node) implements TrailEntry<N> {
+	}
+
+	private record CandidatesEntry<N>(int node, CandidateSet<N> previous) implements TrailEntry<N> {
+	}
+
+	private record IncomingConflictsEntry<N>(int node, GPNodeSet previous) implements TrailEntry<N> {
 	}
 
 }
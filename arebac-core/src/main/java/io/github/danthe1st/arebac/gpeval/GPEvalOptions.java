@@ -0,0 +1,131 @@
+package io.github.danthe1st.arebac.gpeval;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Options for evaluating graph patterns using {@link GPEval}.
+ *
+ * By default, graph patterns are evaluated sequentially on the calling thread.
+ * If a {@link ForkJoinPool} is configured, the candidates of the upper levels of the search are evaluated in parallel.
+ * In that case, the {@link io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph graph} must support concurrent access from multiple threads.
+ *
+ * Nodes with the fewest candidates are assigned first unless a different {@link NodeOrderingStrategy} is configured.
+ *
+ * During an evaluation, the neighbors of graph nodes satisfying the requirements of edges in the graph pattern are cached so that these don't need to be loaded again
+ * if the same graph node is assigned in multiple branches of the search.
+ * The size of that cache is limited by the total number of neighbors stored in it. If parallel evaluation is used, every task uses its own cache.
+ *
+ * If a neighbor batch size is configured, the neighbors of multiple candidates of a node are loaded at once using
+ * {@link io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph#findNeighbors(java.util.Collection, boolean, String, String, java.util.List, java.util.List) AttributedGraph#findNeighbors}
+ * and stored in the neighbor cache before these candidates are assigned.
+ * This reduces the number of requests to graphs with a high overhead per request but may load neighbors of candidates that are never assigned (e.g. because of backjumping).
+ *
+ * If arc consistency is enabled, the candidates of all nodes connected to fixed nodes are restricted to nodes that have matching neighbors in the candidates of all adjacent nodes before the search starts.
+ * This loads the neighbors of all these candidates in both directions of the edges but avoids assigning candidates that cannot be part of any match.
+ *
+ * The {@link EvaluationStrategy} decides whether graph patterns are evaluated using GP-Eval or {@link GenericJoin}.
+ * Only the neighbor cache size applies to {@link GenericJoin} which always evaluates graph patterns sequentially.
+ *
+ * @param pool the {@link ForkJoinPool} used for parallel evaluation or {@code null} if the evaluation should happen sequentially
+ * @param parallelismThreshold the minimum number of candidates of a node for evaluating these candidates in parallel
+ * @param maxParallelDepth the number of levels (assigned nodes) up to which candidates may be evaluated in parallel
+ * @param nodeOrdering the {@link NodeOrderingStrategy strategy} deciding which node is assigned next
+ * @param neighborCacheSize the maximum number of neighbors cached during an evaluation or {@code 0} if neighbors should not be cached
+ * @param neighborBatchSize the maximum number of candidates the neighbors are loaded for at once or {@code 0} if the neighbors of every candidate should be loaded separately
+ * @param arcConsistency {@code true} if candidates should be restricted using arc consistency before the search, else {@code false}
+ * @param evaluationStrategy the {@link EvaluationStrategy strategy} deciding which algorithm evaluates a graph pattern
+ */
+public record GPEvalOptions(ForkJoinPool pool, int parallelismThreshold, int maxParallelDepth, NodeOrderingStrategy nodeOrdering, int neighborCacheSize, int neighborBatchSize, boolean arcConsistency, EvaluationStrategy evaluationStrategy) {
+
+	private static final int DEFAULT_PARALLELISM_THRESHOLD = 64;
+	private static final int DEFAULT_MAX_PARALLEL_DEPTH = 2;
+	private static final int DEFAULT_NEIGHBOR_CACHE_SIZE = 100_000;
+
+	private static final GPEvalOptions SEQUENTIAL = new GPEvalOptions(null, DEFAULT_PARALLELISM_THRESHOLD, DEFAULT_MAX_PARALLEL_DEPTH, NodeOrderingStrategy.fewestCandidates(), DEFAULT_NEIGHBOR_CACHE_SIZE, 0, false, EvaluationStrategy.GP_EVAL);
+
+	public GPEvalOptions {
+		Objects.requireNonNull(nodeOrdering);
+		Objects.requireNonNull(evaluationStrategy);
+		if(parallelismThreshold < 1){
+			throw new IllegalArgumentException("parallelism threshold must be positive");
+		}
+		if(maxParallelDepth < 0){
+			throw new IllegalArgumentException("maximum parallel depth must not be negative");
+		}
+		if(neighborCacheSize < 0){
+			throw new IllegalArgumentException("neighbor cache size must not be negative");
+		}
+		if(neighborBatchSize < 0){
+			throw new IllegalArgumentException("neighbor batch size must not be negative");
+		}
+		if(neighborBatchSize > 0 && neighborCacheSize == 0){
+			throw new IllegalArgumentException("batched neighbor lookups require the neighbor cache");
+		}
+	}
+
+	/**
+	 * Gets the default options evaluating graph patterns sequentially.
+	 * @return options for sequential evaluation
+	 */
+	public static GPEvalOptions sequential() {
+		return SEQUENTIAL;
+	}
+
+	/**
+	 * Creates options for evaluating graph patterns in parallel using the {@link ForkJoinPool#commonPool() common pool}.
+	 * @return options for parallel evaluation
+	 */
+	public static GPEvalOptions parallel() {
+		return parallel(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates options for evaluating graph patterns in parallel using a specific {@link ForkJoinPool}.
+	 * @param pool the pool to run the evaluation in
+	 * @return options for parallel evaluation
+	 */
+	public static GPEvalOptions parallel(ForkJoinPool pool) {
+		return SEQUENTIAL.withPool(pool);
+	}
+
+	public GPEvalOptions withPool(ForkJoinPool pool) {
+		return new GPEvalOptions(pool, parallelismThreshold, maxParallelDepth, nodeOrdering, neighborCacheSize, neighborBatchSize, arcConsistency, evaluationStrategy);
+	}
+
+	public GPEvalOptions withParallelismThreshold(int parallelismThreshold) {
+		return new GPEvalOptions(pool, parallelismThreshold, maxParallelDepth, nodeOrdering, neighborCacheSize, neighborBatchSize, arcConsistency, evaluationStrategy);
+	}
+
+	public GPEvalOptions withMaxParallelDepth(int maxParallelDepth) {
+		return new GPEvalOptions(pool, parallelismThreshold, maxParallelDepth, nodeOrdering, neighborCacheSize, neighborBatchSize, arcConsistency, evaluationStrategy);
+	}
+
+	public GPEvalOptions withNodeOrdering(NodeOrderingStrategy nodeOrdering) {
+		return new GPEvalOptions(pool, parallelismThreshold, maxParallelDepth, nodeOrdering, neighborCacheSize, neighborBatchSize, arcConsistency, evaluationStrategy);
+	}
+
+	public GPEvalOptions withNeighborCacheSize(int neighborCacheSize) {
+		return new GPEvalOptions(pool, parallelismThreshold, maxParallelDepth, nodeOrdering, neighborCacheSize, neighborBatchSize, arcConsistency, evaluationStrategy);
+	}
+
+	public GPEvalOptions withNeighborBatchSize(int neighborBatchSize) {
+		return new GPEvalOptions(pool, parallelismThreshold, maxParallelDepth, nodeOrdering, neighborCacheSize, neighborBatchSize, arcConsistency, evaluationStrategy);
+	}
+
+	public GPEvalOptions withArcConsistency(boolean arcConsistency) {
+		return new GPEvalOptions(pool, parallelismThreshold, maxParallelDepth, nodeOrdering, neighborCacheSize, neighborBatchSize, arcConsistency, evaluationStrategy);
+	}
+
+	public GPEvalOptions withEvaluationStrategy(EvaluationStrategy evaluationStrategy) {
+		return new GPEvalOptions(pool, parallelismThreshold, maxParallelDepth, nodeOrdering, neighborCacheSize, neighborBatchSize, arcConsistency, evaluationStrategy);
+	}
+
+	/**
+	 * Checks whether graph patterns are evaluated in parallel.
+	 * @return {@code true} if a {@link ForkJoinPool} is configured, else {@code false}
+	 */
+	public boolean isParallel() {
+		return pool != null;
+	}
+}
@@ -0,0 +1,779 @@
+package io.github.danthe1st.arebac.gpeval;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import io.github.danthe1st.arebac.TypeMissmatchException;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.ParameterAttribute;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.StringAttribute;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedEdge;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.MutualExclusionConstraint;
+import io.github.danthe1st.arebac.gpeval.GPNodeSet.GPNodeSetFactory;
+
+/**
+ * A {@link GraphPattern graph pattern} compiled for evaluation using {@link GPEval GP-Eval}.
+ *
+ * Compiling a graph pattern assigns indices to all of its nodes and edges and precomputes the structural information needed by GP-Eval,
+ * e.g. the edges relevant for each node together with the attribute requirements of these edges and of the nodes on the other side.
+ *
+ * While compiling, the graph pattern is normalized so that GP-Eval doesn't perform the same work multiple times:
+ * <ul>
+ *   <li>Edges that are implied by another edge with the same source, target and edge type are removed (see {@link #removeRedundantEdges(List)}).</li>
+ *   <li>Duplicate attribute requirements of the same node or edge are only checked once.</li>
+ * </ul>
+ *
+ * Plans are immutable and can be evaluated any number of times (also concurrently) against any {@link AttributedGraph}
+ * so the cost of compiling a graph pattern only needs to be paid once per pattern.
+ *
+ * Graph patterns that cannot match any subgraph due to contradicting constraints (e.g. when combining a policy and a query with different requirements for the same attribute)
+ * are detected while compiling (see {@link #isUnsatisfiable()}) so that GP-Eval doesn't need to access the attributed graph for these.
+ *
+ * If the graph pattern contains {@link ParameterAttribute placeholders}, the plan cannot be evaluated directly.
+ * Such graph patterns should be used with a {@link PreparedGraphPattern} instead.
+ * @see GPEval#evaluate(AttributedGraph, GPEvalPlan)
+ */
+public final class GPEvalPlan {
+
+	private static final int MAX_MUTUAL_EXCLUSION_CLIQUES = 64;
+
+	private final GraphPattern pattern;
+	private final PlanNode[] nodes;
+	private final GPEdge[] edges;
+	private final int[] returnedNodes;
+	private final GPNodeSetFactory nodeSetFactory;
+	// node/edge index -> compiled attribute requirements, the same instances are referenced by all nodes and relevant edges
+	private final List<CompiledRequirements> nodeRequirements;
+	private final List<CompiledRequirements> edgeRequirements;
+	private final Set<String> parameterNames;
+	private final boolean unsatisfiable;
+	// groups of at least 3 nodes that must all be assigned to different nodes, empty if there are no such groups
+	private final List<GPNodeSet> mutualExclusionCliques;
+	private final boolean hasMutualExclusionConstraints;
+	private final boolean cyclic;
+
+	/**
+	 * Compiles a {@link GraphPattern} to a {@link GPEvalPlan}.
+	 * @param pattern the graph pattern to compile
+	 * @return a plan that can be used for evaluating the graph pattern
+	 */
+	public static GPEvalPlan compile(GraphPattern pattern) {
+		Objects.requireNonNull(pattern);
+		return new GPEvalPlan(pattern);
+	}
+
+	private GPEvalPlan(GraphPattern pattern) {
+		this.pattern = pattern;
+
+		// nodes and edges are sorted by their IDs so that indices don't depend on the iteration order of the graph pattern
+		List<GPNode> sortedNodes = new ArrayList<>(pattern.graph().nodes().values());
+		sortedNodes.sort(Comparator.comparing(GPNode::id));
+		List<GPEdge> sortedEdges = new ArrayList<>();
+		for(Collection<GPEdge> outgoingEdges : pattern.graph().outgoingEdges().values()){
+			sortedEdges.addAll(outgoingEdges);
+		}
+		sortedEdges.sort(
+				Comparator.comparing(GPEdge::id)
+					.thenComparing(e -> e.source().id())
+					.thenComparing(e -> e.target().id())
+					.thenComparing(GPEdge::edgeType)
+		);
+		sortedEdges = removeRedundantEdges(sortedEdges);
+
+		nodeSetFactory = new GPNodeSetFactory(sortedNodes);
+		Map<GPNode, Integer> nodeIndices = new HashMap<>();
+		for(int i = 0; i < sortedNodes.size(); i++){
+			nodeIndices.put(sortedNodes.get(i), i);
+		}
+		edges = sortedEdges.toArray(new GPEdge[0]);
+		Map<GPEdge, Integer> edgeIndices = new HashMap<>();
+		for(int i = 0; i < edges.length; i++){
+			edgeIndices.put(edges[i], i);
+		}
+
+		List<CompiledRequirements> nodeRequirementList = new ArrayList<>(sortedNodes.size());
+		for(GPNode node : sortedNodes){
+			nodeRequirementList.add(CompiledRequirements.compile(pattern.nodeRequirements().getOrDefault(node, List.of())));
+		}
+		nodeRequirements = List.copyOf(nodeRequirementList);
+		List<CompiledRequirements> edgeRequirementList = new ArrayList<>(edges.length);
+		for(GPEdge edge : edges){
+			edgeRequirementList.add(CompiledRequirements.compile(pattern.edgeRequirements().getOrDefault(edge, List.of())));
+		}
+		edgeRequirements = List.copyOf(edgeRequirementList);
+		parameterNames = findParameterNames();
+
+		GPNodeSet[] mutualExclusionConstraints = createMutualExclusionConstraints(nodeIndices, sortedNodes.size());
+		hasMutualExclusionConstraints = !pattern.mutualExclusionConstraints().isEmpty();
+		mutualExclusionCliques = findMutualExclusionCliques(mutualExclusionConstraints);
+
+		nodes = new PlanNode[sortedNodes.size()];
+		for(int nodeIndex = 0; nodeIndex < nodes.length; nodeIndex++){
+			GPNode node = sortedNodes.get(nodeIndex);
+			nodes[nodeIndex] = new PlanNode(
+					nodeIndex, node,
+					nodeRequirements.get(nodeIndex),
+					createRelevantEdges(node, nodeIndices, edgeIndices),
+					createSelfEdges(node, edgeIndices),
+					mutualExclusionConstraints[nodeIndex]
+			);
+		}
+
+		returnedNodes = new int[pattern.returnedNodes().size()];
+		for(int i = 0; i < returnedNodes.length; i++){
+			returnedNodes[i] = nodeIndices.get(pattern.returnedNodes().get(i));
+		}
+		unsatisfiable = findContradiction();
+		cyclic = findCycle(nodeIndices);
+	}
+
+	/**
+	 * Checks whether the nodes in the graph pattern are connected in a cycle when ignoring the direction of edges.
+	 *
+	 * Edges between the same two nodes and edges from a node to itself are not considered to be cycles.
+	 * @param nodeIndices the indices of all nodes in the graph pattern
+	 * @return {@code true} if the graph pattern contains a cycle, else {@code false}
+	 */
+	private boolean findCycle(Map<GPNode, Integer> nodeIndices) {
+		// union-find over the nodes, an edge between two nodes that are already connected closes a cycle
+		int[] parents = new int[nodeIndices.size()];
+		for(int i = 0; i < parents.length; i++){
+			parents[i] = i;
+		}
+		Set<Long> connectedPairs = new HashSet<>();
+		for(GPEdge edge : edges){
+			int source = nodeIndices.get(edge.source());
+			int target = nodeIndices.get(edge.target());
+			if(source == target || !connectedPairs.add((long) Math.min(source, target) << 32 | Math.max(source, target))){
+				continue;
+			}
+			int sourceRoot = findRoot(parents, source);
+			int targetRoot = findRoot(parents, target);
+			if(sourceRoot == targetRoot){
+				return true;
+			}
+			parents[sourceRoot] = targetRoot;
+		}
+		return false;
+	}
+
+	private static int findRoot(int[] parents, int node) {
+		int root = node;
+		while(parents[root] != root){
+			root = parents[root];
+		}
+		return root;
+	}
+
+	/**
+	 * Checks whether the constraints of the graph pattern contradict each other.
+	 *
+	 * This is the case if the attribute requirements of any node or edge are {@link CompiledRequirements#isUnsatisfiable() unsatisfiable}
+	 * or if two nodes that must not be the same due to a mutual exclusion constraint require the same ID.
+	 * @return {@code true} if the graph pattern cannot have any match, else {@code false}
+	 */
+	private boolean findContradiction() {
+		for(CompiledRequirements requirements : nodeRequirements){
+			if(requirements.isUnsatisfiable()){
+				return true;
+			}
+		}
+		for(CompiledRequirements requirements : edgeRequirements){
+			if(requirements.isUnsatisfiable()){
+				return true;
+			}
+		}
+		for(PlanNode node : nodes){
+			String requiredId = node.requirements().requiredId();
+			if(requiredId == null || node.mutualExclusionConstraints() == null){
+				continue;
+			}
+			for(int otherNode = 0; otherNode < nodes.length; otherNode++){
+				if(node.mutualExclusionConstraints().contains(otherNode) && requiredId.equals(nodes[otherNode].requirements().requiredId())){
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Removes edges that are implied by other edges in the graph pattern.
+	 *
+	 * Multiple edges in the graph pattern may be matched by the same edge in the attributed graph.
+	 * Hence, an edge is redundant if there is another edge with the same source, target and edge type that has all attribute requirements of that edge.
+	 * If multiple such edges have the same attribute requirements, only the first one is kept.
+	 * Edges with different attribute requirements that don't imply each other are not merged as these may be satisfied by different edges in the attributed graph.
+	 * @param sortedEdges all edges of the graph pattern in the order of their indices
+	 * @return the edges that are not implied by other edges, in the same order
+	 */
+	private List<GPEdge> removeRedundantEdges(List<GPEdge> sortedEdges) {
+		Map<ParallelEdgeKey, List<GPEdge>> parallelEdges = new HashMap<>();
+		Map<GPEdge, Set<AttributeRequirement>> requirements = new HashMap<>();
+		Set<GPEdge> redundantEdges = new HashSet<>();
+		for(GPEdge edge : sortedEdges){
+			Set<AttributeRequirement> edgeRequirements = new HashSet<>(pattern.edgeRequirements().getOrDefault(edge, List.of()));
+			requirements.put(edge, edgeRequirements);
+			List<GPEdge> keptEdges = parallelEdges.computeIfAbsent(new ParallelEdgeKey(edge.source(), edge.target(), edge.edgeType()), k -> new ArrayList<>());
+			if(keptEdges.stream().anyMatch(keptEdge -> requirements.get(keptEdge).containsAll(edgeRequirements))){
+				redundantEdges.add(edge);
+				continue;
+			}
+			for(Iterator<GPEdge> it = keptEdges.iterator(); it.hasNext();){
+				GPEdge keptEdge = it.next();
+				if(edgeRequirements.containsAll(requirements.get(keptEdge))){
+					redundantEdges.add(keptEdge);
+					it.remove();
+				}
+			}
+			keptEdges.add(edge);
+		}
+		if(redundantEdges.isEmpty()){
+			return sortedEdges;
+		}
+		List<GPEdge> remainingEdges = new ArrayList<>(sortedEdges);
+		remainingEdges.removeAll(redundantEdges);
+		return remainingEdges;
+	}
+
+	private record ParallelEdgeKey(GPNode source, GPNode target, String edgeType) {
+	}
+
+	private GPNodeSet[] createMutualExclusionConstraints(Map<GPNode, Integer> nodeIndices, int nodeCount) {
+		GPNodeSet[] exclusionConstraints = new GPNodeSet[nodeCount];
+		for(MutualExclusionConstraint constraint : pattern.mutualExclusionConstraints()){
+			int first = nodeIndices.get(constraint.first());
+			int second = nodeIndices.get(constraint.second());
+			addToMultimap(exclusionConstraints, first, second);
+			addToMultimap(exclusionConstraints, second, first);
+		}
+		return exclusionConstraints;
+	}
+
+	/**
+	 * Finds groups of nodes where every pair of nodes is subject to a mutual exclusion constraint.
+	 *
+	 * All nodes in such a group must be assigned to different nodes in the attributed graph which allows GP-Eval to detect
+	 * when the nodes in a group have fewer distinct candidates than there are nodes in the group.
+	 * Groups of two nodes are not included as these are already handled by checking the individual mutual exclusion constraints.
+	 *
+	 * This uses the Bron-Kerbosch algorithm for finding maximal cliques. As the number of maximal cliques can grow exponentially,
+	 * at most {@value #MAX_MUTUAL_EXCLUSION_CLIQUES} cliques are returned which only makes the checks in GP-Eval weaker.
+	 * @param mutualExclusionConstraints the mutual exclusion constraints of each node
+	 * @return the maximal groups of at least 3 nodes that must be pairwise different
+	 */
+	private List<GPNodeSet> findMutualExclusionCliques(GPNodeSet[] mutualExclusionConstraints) {
+		BitSet[] neighbors = new BitSet[mutualExclusionConstraints.length];
+		BitSet candidates = new BitSet();
+		for(int i = 0; i < neighbors.length; i++){
+			neighbors[i] = new BitSet();
+			GPNodeSet constraints = mutualExclusionConstraints[i];
+			if(constraints != null){
+				for(int other = constraints.nextIndex(0); other != -1; other = constraints.nextIndex(other + 1)){
+					neighbors[i].set(other);
+				}
+				// a node needs at least two other nodes for being part of a relevant clique
+				if(neighbors[i].cardinality() >= 2){
+					candidates.set(i);
+				}
+			}
+		}
+		if(candidates.isEmpty()){
+			return List.of();
+		}
+		List<GPNodeSet> cliques = new ArrayList<>();
+		findMaximalCliques(neighbors, new BitSet(), candidates, new BitSet(), cliques);
+		return List.copyOf(cliques);
+	}
+
+	private void findMaximalCliques(BitSet[] neighbors, BitSet clique, BitSet candidates, BitSet excluded, List<GPNodeSet> cliques) {
+		if(cliques.size() >= MAX_MUTUAL_EXCLUSION_CLIQUES){
+			return;
+		}
+		if(candidates.isEmpty()){
+			if(excluded.isEmpty() && clique.cardinality() >= 3){
+				GPNodeSet nodeSet = nodeSetFactory.createEmpty();
+				clique.stream().forEach(nodeSet::add);
+				cliques.add(nodeSet);
+			}
+			return;
+		}
+		// only nodes not adjacent to the pivot need to be considered, other cliques are found starting from the pivot or its neighbors
+		BitSet pivotCandidates = (BitSet) candidates.clone();
+		pivotCandidates.or(excluded);
+		BitSet remaining = (BitSet) candidates.clone();
+		remaining.andNot(neighbors[pivotCandidates.nextSetBit(0)]);
+		for(int node = remaining.nextSetBit(0); node != -1; node = remaining.nextSetBit(node + 1)){
+			BitSet newClique = (BitSet) clique.clone();
+			newClique.set(node);
+			BitSet newCandidates = (BitSet) candidates.clone();
+			newCandidates.and(neighbors[node]);
+			BitSet newExcluded = (BitSet) excluded.clone();
+			newExcluded.and(neighbors[node]);
+			findMaximalCliques(neighbors, newClique, newCandidates, newExcluded, cliques);
+			candidates.clear(node);
+			excluded.set(node);
+		}
+	}
+
+	private void addToMultimap(GPNodeSet[] mutualExclusionConstraints, int key, int value) {
+		if(mutualExclusionConstraints[key] == null){
+			mutualExclusionConstraints[key] = nodeSetFactory.createEmpty();
+		}
+		mutualExclusionConstraints[key].add(value);
+	}
+
+	private Set<String> findParameterNames() {
+		Set<String> names = new LinkedHashSet<>();
+		for(CompiledRequirements requirements : nodeRequirements){
+			addParameterNames(names, requirements.list());
+		}
+		for(CompiledRequirements requirements : edgeRequirements){
+			addParameterNames(names, requirements.list());
+		}
+		return Collections.unmodifiableSet(names);
+	}
+
+	private void addParameterNames(Set<String> names, List<AttributeRequirement> requirements) {
+		for(AttributeRequirement requirement : requirements){
+			if(requirement.value() instanceof ParameterAttribute(String name)){
+				names.add(name);
+			}
+		}
+	}
+
+	/**
+	 * Gets all edges of a specified node in the graph pattern except for edges from the node to itself
+	 * @param node the node
+	 * @param nodeIndices the indices of all nodes in the graph pattern
+	 * @param edgeIndices the indices of all edges in the graph pattern
+	 * @return all edges connecting the given node to other nodes
+	 */
+	private RelevantEdge[] createRelevantEdges(GPNode node, Map<GPNode, Integer> nodeIndices, Map<GPEdge, Integer> edgeIndices) {
+		Collection<GPEdge> outgoingEdges = pattern.graph().outgoingEdges().getOrDefault(node, List.of());
+		Collection<GPEdge> incomingEdges = pattern.graph().incomingEdges().getOrDefault(node, List.of());
+
+		List<RelevantEdge> relevantEdges = new ArrayList<>();
+		for(GPEdge edge : incomingEdges){
+			if(!edge.source().equals(node) && edgeIndices.containsKey(edge)){
+				relevantEdges.add(createRelevantEdge(edge, edge.source(), false, nodeIndices, edgeIndices));
+			}
+		}
+		for(GPEdge edge : outgoingEdges){
+			if(!edge.target().equals(node) && edgeIndices.containsKey(edge)){
+				relevantEdges.add(createRelevantEdge(edge, edge.target(), true, nodeIndices, edgeIndices));
+			}
+		}
+		relevantEdges.sort(Comparator.comparingInt(RelevantEdge::edgeIndex));
+		return relevantEdges.toArray(new RelevantEdge[0]);
+	}
+
+	private RelevantEdge createRelevantEdge(GPEdge edge, GPNode otherNode, boolean isOutgoing, Map<GPNode, Integer> nodeIndices, Map<GPEdge, Integer> edgeIndices) {
+		int edgeIndex = edgeIndices.get(edge);
+		int otherNodeIndex = nodeIndices.get(otherNode);
+		return new RelevantEdge(
+				edgeIndex, edge,
+				otherNodeIndex, otherNode.nodeType(),
+				edge.edgeType(), isOutgoing,
+				edgeRequirements.get(edgeIndex), nodeRequirements.get(otherNodeIndex)
+		);
+	}
+
+	/**
+	 * Gets all edges of a node in the graph pattern to itself.
+	 * These edges are not checked in the forward-checking because it only considers nodes with unknown assignments.
+	 * @param node the node
+	 * @param edgeIndices the indices of all edges in the graph pattern
+	 * @return all edges from the given node to itself
+	 */
+	private SelfEdge[] createSelfEdges(GPNode node, Map<GPEdge, Integer> edgeIndices) {
+		List<SelfEdge> selfEdges = new ArrayList<>();
+		for(GPEdge edge : pattern.graph().outgoingEdges().getOrDefault(node, List.of())){
+			if(edge.target().equals(node) && edgeIndices.containsKey(edge)){
+				int edgeIndex = edgeIndices.get(edge);
+				selfEdges.add(new SelfEdge(edgeIndex, edge.edgeType(), edgeRequirements.get(edgeIndex)));
+			}
+		}
+		selfEdges.sort(Comparator.comparingInt(SelfEdge::edgeIndex));
+		return selfEdges.toArray(new SelfEdge[0]);
+	}
+
+	/**
+	 * Creates a plan with all {@link ParameterAttribute placeholders} replaced by the given values.
+	 *
+	 * The structure of the plan is shared with this plan, only attribute requirements containing placeholders are replaced.
+	 * @param template the plan containing placeholders
+	 * @param parameters the values of all parameters
+	 */
+	private GPEvalPlan(GPEvalPlan template, Map<String, AttributeValue<?>> parameters) {
+		this.pattern = template.pattern;
+		this.edges = template.edges;
+		this.returnedNodes = template.returnedNodes;
+		this.nodeSetFactory = template.nodeSetFactory;
+		this.nodeRequirements = bindAll(template.nodeRequirements, parameters);
+		this.edgeRequirements = bindAll(template.edgeRequirements, parameters);
+		this.parameterNames = Set.of();
+		this.mutualExclusionCliques = template.mutualExclusionCliques;
+		this.hasMutualExclusionConstraints = template.hasMutualExclusionConstraints;
+		this.cyclic = template.cyclic;
+
+		nodes = new PlanNode[template.nodes.length];
+		for(int nodeIndex = 0; nodeIndex < nodes.length; nodeIndex++){
+			PlanNode templateNode = template.nodes[nodeIndex];
+			RelevantEdge[] relevantEdges = new RelevantEdge[templateNode.relevantEdges().length];
+			for(int i = 0; i < relevantEdges.length; i++){
+				RelevantEdge edge = templateNode.relevantEdges()[i];
+				relevantEdges[i] = new RelevantEdge(
+						edge.edgeIndex(), edge.edge(),
+						edge.otherNode(), edge.otherNodeType(),
+						edge.edgeType(), edge.isOutgoing(),
+						edgeRequirements.get(edge.edgeIndex()), nodeRequirements.get(edge.otherNode())
+				);
+			}
+			SelfEdge[] selfEdges = new SelfEdge[templateNode.selfEdges().length];
+			for(int i = 0; i < selfEdges.length; i++){
+				SelfEdge edge = templateNode.selfEdges()[i];
+				selfEdges[i] = new SelfEdge(edge.edgeIndex(), edge.edgeType(), edgeRequirements.get(edge.edgeIndex()));
+			}
+			nodes[nodeIndex] = new PlanNode(
+					nodeIndex, templateNode.node(),
+					nodeRequirements.get(nodeIndex),
+					relevantEdges, selfEdges,
+					templateNode.mutualExclusionConstraints()
+			);
+		}
+		unsatisfiable = findContradiction();
+	}
+
+	private static List<CompiledRequirements> bindAll(List<CompiledRequirements> compiledRequirements, Map<String, AttributeValue<?>> parameters) {
+		List<CompiledRequirements> boundRequirements = new ArrayList<>(compiledRequirements.size());
+		for(CompiledRequirements requirements : compiledRequirements){
+			boundRequirements.add(bind(requirements, parameters));
+		}
+		return boundRequirements;
+	}
+
+	private static CompiledRequirements bind(CompiledRequirements compiledRequirements, Map<String, AttributeValue<?>> parameters) {
+		List<AttributeRequirement> requirements = compiledRequirements.list();
+		List<AttributeRequirement> boundRequirements = null;
+		for(int i = 0; i < requirements.size(); i++){
+			AttributeRequirement requirement = requirements.get(i);
+			if(requirement.value() instanceof ParameterAttribute(String name)){
+				if(boundRequirements == null){
+					boundRequirements = new ArrayList<>(requirements);
+				}
+				try{
+					boundRequirements.set(i, requirement.bind(parameters.get(name)));
+				}catch(TypeMissmatchException e){
+					throw new IllegalArgumentException("value of parameter " + name + " cannot be used with operator " + requirement.operator(), e);
+				}
+			}
+		}
+		if(boundRequirements == null){
+			// requirements without placeholders are shared with the template
+			return compiledRequirements;
+		}
+		return CompiledRequirements.compile(boundRequirements);
+	}
+
+	/**
+	 * Creates a copy of a plan returning different nodes.
+	 * @param template the plan to copy
+	 * @param returnedNodes the indices of the returned nodes
+	 */
+	private GPEvalPlan(GPEvalPlan template, int[] returnedNodes) {
+		this.pattern = template.pattern;
+		this.nodes = template.nodes;
+		this.edges = template.edges;
+		this.returnedNodes = returnedNodes;
+		this.nodeSetFactory = template.nodeSetFactory;
+		this.nodeRequirements = template.nodeRequirements;
+		this.edgeRequirements = template.edgeRequirements;
+		this.parameterNames = template.parameterNames;
+		this.unsatisfiable = template.unsatisfiable;
+		this.mutualExclusionCliques = template.mutualExclusionCliques;
+		this.hasMutualExclusionConstraints = template.hasMutualExclusionConstraints;
+		this.cyclic = template.cyclic;
+	}
+
+	/**
+	 * Creates a plan for the same graph pattern returning different nodes.
+	 * @param returnedNodes the indices of the nodes to return, must not be modified
+	 * @return a plan sharing everything except for the returned nodes with this plan
+	 */
+	GPEvalPlan withReturnedNodes(int[] returnedNodes) {
+		return new GPEvalPlan(this, returnedNodes);
+	}
+
+	/**
+	 * Gets the index of a node in the graph pattern.
+	 * @param node the node in the graph pattern
+	 * @return the index of the node
+	 * @throws IllegalArgumentException if the node is not part of the graph pattern
+	 */
+	int indexOf(GPNode node) {
+		Objects.requireNonNull(node);
+		for(PlanNode planNode : nodes){
+			if(planNode.node().equals(node)){
+				return planNode.index();
+			}
+		}
+		throw new IllegalArgumentException("node is not part of the graph pattern: " + node);
+	}
+
+	/**
+	 * Binds all {@link ParameterAttribute placeholders} in this plan.
+	 * @param parameters the values of the parameters, by name
+	 * @return a plan without any placeholders or this plan if it doesn't contain any placeholders
+	 * @throws IllegalArgumentException if a parameter is missing or its value cannot be used with the corresponding attribute requirement
+	 */
+	GPEvalPlan bind(Map<String, AttributeValue<?>> parameters) {
+		Objects.requireNonNull(parameters);
+		if(parameterNames.isEmpty()){
+			return this;
+		}
+		for(String parameterName : parameterNames){
+			if(parameters.get(parameterName) == null){
+				throw new IllegalArgumentException("missing value for parameter " + parameterName);
+			}
+		}
+		return new GPEvalPlan(this, parameters);
+	}
+
+	/**
+	 * Gets the graph pattern this plan has been compiled from.
+	 *
+	 * If this plan has been created by binding the parameters of a {@link PreparedGraphPattern}, this is the graph pattern containing the placeholders.
+	 * @return the compiled {@link GraphPattern}
+	 */
+	public GraphPattern pattern() {
+		return pattern;
+	}
+
+	/**
+	 * Gets the names of all {@link ParameterAttribute placeholders} in this plan.
+	 * Plans can only be evaluated if they don't contain any placeholders.
+	 * @return the names of the parameters that need to be bound before evaluating this plan
+	 */
+	public Set<String> parameterNames() {
+		return parameterNames;
+	}
+
+	/**
+	 * Checks whether it is known that the graph pattern cannot have any match.
+	 *
+	 * GP-Eval returns no results for such plans without accessing the attributed graph.
+	 * Requirements containing {@link ParameterAttribute placeholders} are only considered after {@link PreparedGraphPattern#bind(Map) binding} them.
+	 * @return {@code true} if constraints of the graph pattern contradict each other, {@code false} if the graph pattern may have matches
+	 */
+	public boolean isUnsatisfiable() {
+		return unsatisfiable;
+	}
+
+	/**
+	 * Checks whether the nodes in the graph pattern are connected in a cycle (ignoring the direction of edges).
+	 *
+	 * Edges between the same two nodes and edges from a node to itself don't form a cycle.
+	 * @return {@code true} if the graph pattern contains a cycle, else {@code false}
+	 * @see EvaluationStrategy#GENERIC_JOIN_FOR_CYCLIC_PATTERNS
+	 */
+	public boolean isCyclic() {
+		return cyclic;
+	}
+
+	/**
+	 * Gets the number of nodes in the graph pattern.
+	 * @return the number of nodes, nodes are identified by indices from {@code 0} (inclusive) to this number (exclusive)
+	 */
+	public int nodeCount() {
+		return nodes.length;
+	}
+
+	PlanNode node(int nodeIndex) {
+		return nodes[nodeIndex];
+	}
+
+	/**
+	 * Gets a node in the graph pattern by its index.
+	 * @param nodeIndex the index of the node
+	 * @return the node in the graph pattern
+	 */
+	public GPNode patternNode(int nodeIndex) {
+		return nodes[nodeIndex].node();
+	}
+
+	/**
+	 * Gets an edge in the graph pattern by its index.
+	 * @param edgeIndex the index of the edge
+	 * @return the edge in the graph pattern
+	 */
+	public GPEdge edge(int edgeIndex) {
+		return edges[edgeIndex];
+	}
+
+	/**
+	 * Gets the number of edges in the graph pattern.
+	 *
+	 * Edges that are implied by other edges are not part of the plan and not included in this number.
+	 * @return the number of edges, edges are identified by indices from {@code 0} (inclusive) to this number (exclusive)
+	 */
+	public int edgeCount() {
+		return edges.length;
+	}
+
+	/**
+	 * Gets the indices of all returned nodes.
+	 * @return the indices of the returned nodes which must not be modified
+	 */
+	int[] returnedNodes() {
+		return returnedNodes;
+	}
+
+	GPNodeSetFactory nodeSetFactory() {
+		return nodeSetFactory;
+	}
+
+	/**
+	 * Checks whether any nodes in the graph pattern must not be assigned to the same node in the attributed graph.
+	 * @return {@code true} if the graph pattern contains mutual exclusion constraints, else {@code false}
+	 */
+	boolean hasMutualExclusionConstraints() {
+		return hasMutualExclusionConstraints;
+	}
+
+	/**
+	 * Gets groups of at least 3 nodes where all nodes must be assigned to different nodes in the attributed graph.
+	 * @return the maximal groups of pairwise mutually exclusive nodes, the sets must not be modified
+	 */
+	List<GPNodeSet> mutualExclusionCliques() {
+		return mutualExclusionCliques;
+	}
+
+	@Override
+	public String toString() {
+		return "GPEvalPlan [pattern=" + pattern + "]";
+	}
+
+	/**
+	 * Information about a node in the graph pattern needed for evaluation.
+	 * @param index the index of the node in the plan
+	 * @param node the node in the graph pattern
+	 * @param requirements the attribute requirements of the node
+	 * @param relevantEdges all edges from or to other nodes, must not be modified
+	 * @param selfEdges all edges from the node to itself, must not be modified
+	 * @param mutualExclusionConstraints all nodes that must not be assigned to the same node in the attributed graph or {@code null} if there are no such nodes, must not be modified
+	 */
+	record PlanNode(
+			int index, GPNode node,
+			CompiledRequirements requirements,
+			RelevantEdge[] relevantEdges,
+			SelfEdge[] selfEdges,
+			GPNodeSet mutualExclusionConstraints) {
+
+		/**
+		 * Finds the only node in the attributed graph this node can be assigned to.
+		 *
+		 * This is the case if the node has a requirement on its ID or an {@link AttributeRequirementOperator#EQUAL equality} requirement on an attribute that is
+		 * {@link AttributedGraph#isAttributeUniqueForNodeType(String, String) unique} for its node type.
+		 * Other attribute requirements of the node are not checked.
+		 * @param <N> The type of nodes in the graph
+		 * @param graph the graph to find the node in
+		 * @return the only node this node can be assigned to or {@code null} if this node can be assigned to multiple nodes
+		 * @throws NoResultException if the only node this node can be assigned to doesn't exist
+		 */
+		<N extends AttributedNode> N findFixedNode(AttributedGraph<N, ?> graph) throws NoResultException {
+			N fixedNode = null;
+			for(AttributeRequirement requirement : requirements.list()){
+				if(AttributeRequirement.ID_KEY.equals(requirement.key())){
+					AttributeValue<?> requirementValue = requirement.value();
+					if(!(requirementValue instanceof StringAttribute(String value))){
+						throw new IllegalStateException("ID requirements must be strings");
+					}
+					fixedNode = graph.findNodeById(value);
+
+					if(fixedNode == null){
+						throw new NoResultException("Fixed node cannot be found");
+					}
+				}else if(graph.isAttributeUniqueForNodeType(requirement.key(), node.nodeType()) && requirement.operator() == AttributeRequirementOperator.EQUAL){
+					fixedNode = graph.getNodeByUniqueAttribute(node.nodeType(), requirement.key(), requirement.value());
+					if(fixedNode == null){
+						throw new NoResultException("Fixed node cannot be found");
+					}
+				}
+			}
+			return fixedNode;
+		}
+
+		/**
+		 * Checks whether all edges of this node to itself are satisfied for a node in the attributed graph.
+		 * @param <N> The type of nodes in the graph
+		 * @param <E> The type of edges in the graph
+		 * @param graph the graph containing the node
+		 * @param graphNode the node in the attributed graph this node may be assigned to
+		 * @return {@code false} if any edge to itself is missing, else {@code true}
+		 */
+		<N extends AttributedNode, E extends AttributedEdge<N>> boolean checkSelfEdges(AttributedGraph<N, E> graph, N graphNode) {
+			for(SelfEdge edge : selfEdges){
+				if(!edge.isSatisfied(graph, graphNode)){
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * An edge connecting a node to another node in the graph pattern, seen from one of the two nodes.
+	 * @param edgeIndex the index of the edge in the plan
+	 * @param edge the edge in the graph pattern
+	 * @param otherNode the index of the node on the other side of the edge
+	 * @param otherNodeType the type of the node on the other side of the edge
+	 * @param edgeType the type of the edge
+	 * @param isOutgoing {@code true} if the edge points to the other node, {@code false} if it points from the other node
+	 * @param edgeRequirements the attribute requirements of the edge
+	 * @param otherNodeRequirements the attribute requirements of the node on the other side of the edge
+	 */
+	record RelevantEdge(
+			int edgeIndex, GPEdge edge,
+			int otherNode, String otherNodeType,
+			String edgeType, boolean isOutgoing,
+			CompiledRequirements edgeRequirements,
+			CompiledRequirements otherNodeRequirements) {
+	}
+
+	/**
+	 * An edge from a node in the graph pattern to itself.
+	 * @param edgeIndex the index of the edge in the plan
+	 * @param edgeType the type of the edge
+	 * @param requirements the attribute requirements of the edge
+	 */
+	record SelfEdge(int edgeIndex, String edgeType, CompiledRequirements requirements) {
+
+		private <N extends AttributedNode, E extends AttributedEdge<N>> boolean isSatisfied(AttributedGraph<N, E> graph, N graphNode) {
+			for(E graphSelfEdge : graph.findOutgoingEdges(graphNode, edgeType)){
+				if(graphSelfEdge.target().equals(graphNode) && requirements.test(graphSelfEdge)){
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+}
@@ -4,11 +4,11 @@ import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 
 import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
-import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
 
 class GPNodeSet implements Iterable<GPNode> {
 
@@ -16,15 +16,15 @@ class GPNodeSet implements Iterable<GPNode> {
 		private final Map<String, Integer> nodeToIndexMapping;
 		private final GPNode[] nodes;
 
-		public GPNodeSetFactory(GraphPattern graphPattern) {
-			Collection<GPNode> allowedNodes = graphPattern.graph().nodes().values();
-			nodes = new GPNode[allowedNodes.size()];
+		/**
+		 * Creates a factory for sets of the given nodes.
+		 * @param nodes all nodes that can be part of the created sets, the index of a node in this {@link List} is used as its index in the sets
+		 */
+		public GPNodeSetFactory(List<GPNode> nodes) {
+			this.nodes = nodes.toArray(new GPNode[0]);
 			Map<String, Integer> mapping = new HashMap<>();
-			int i = 0;
-			for(GPNode node : allowedNodes){
-				nodes[i] = node;
-				mapping.put(node.id(), i);
-				i++;
+			for(int i = 0; i < this.nodes.length; i++){
+				mapping.put(this.nodes[i].id(), i);
 			}
 			nodeToIndexMapping = Map.copyOf(mapping);
 		}
@@ -47,6 +47,14 @@ class GPNodeSet implements Iterable<GPNode> {
 			return nodeSet;
 		}
 
+		public GPNodeSet copyOf(int[] nodeIndices) {
+			GPNodeSet nodeSet = createEmpty();
+			for(int nodeIndex : nodeIndices){
+				nodeSet.add(nodeIndex);
+			}
+			return nodeSet;
+		}
+
 		public GPNodeSet createWithSingleElement(GPNode node) {
 			GPNodeSet nodeSet = createEmpty();
 			nodeSet.add(node);
@@ -63,7 +71,11 @@ class GPNodeSet implements Iterable<GPNode> {
 	}
 
 	public boolean contains(GPNode node) {
-		return data.get(factory.getIndexFromNode(node));
+		return contains(factory.getIndexFromNode(node));
+	}
+
+	public boolean contains(int nodeIndex) {
+		return data.get(nodeIndex);
 	}
 	
 	public GPNodeSet copy() {
@@ -71,7 +83,11 @@ class GPNodeSet implements Iterable<GPNode> {
 	}
 
 	public void add(GPNode node) {
-		data.set(factory.getIndexFromNode(node));
+		add(factory.getIndexFromNode(node));
+	}
+
+	public void add(int nodeIndex) {
+		data.set(nodeIndex);
 	}
 
 	public void addAll(GPNodeSet other) {
@@ -88,6 +104,25 @@ class GPNodeSet implements Iterable<GPNode> {
 		return data.isEmpty();
 	}
 
+	public boolean intersects(GPNodeSet other) {
+		return data.intersects(other.data);
+	}
+
+	/**
+	 * Finds the index of the next node in this set.
+	 * This can be used for iterating over the indices of all nodes in the set:
+	 * <pre>
+	 * for(int i = set.nextIndex(0); i != -1; i = set.nextIndex(i + 1)){
+	 * 	// ...
+	 * }
+	 * </pre>
+	 * @param fromIndex the index to start searching from (inclusive)
+	 * @return the index of the next node in this set or {@code -1} if there is no such node
+	 */
+	public int nextIndex(int fromIndex) {
+		return data.nextSetBit(fromIndex);
+	}
+
 	@Override
 	public Iterator<GPNode> iterator() {
 		return new Iterator<>() {
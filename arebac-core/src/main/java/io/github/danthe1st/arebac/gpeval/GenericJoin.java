@@ -0,0 +1,347 @@
+package io.github.danthe1st.arebac.gpeval;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedEdge;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.gpeval.GPEvalPlan.RelevantEdge;
+
+/**
+ * Evaluates graph patterns using a worst-case optimal join (Generic Join).
+ *
+ * The nodes of the graph pattern are assigned in a fixed order starting with fixed nodes.
+ * Every following node is the node connected to the most nodes assigned before it.
+ * The candidates of a node are computed when it is assigned by intersecting the neighbors of all assigned adjacent nodes along the edges to them, starting with the smallest neighbor list.
+ * Intersections only take time proportional to the smaller of two sets (using {@link AttributedGraph#getNumericNodeId(AttributedNode) sorted numeric IDs} if available and hashing otherwise)
+ * so the number of candidates considered is limited by the number of partial matches instead of the number of neighbors of a single assigned node.
+ * This makes evaluating graph patterns with cycles (e.g. friends two users have in common) cheaper than using {@link GPEval GP-Eval}
+ * which restricts the candidates of all adjacent nodes whenever a node is assigned.
+ *
+ * Once all returned nodes are assigned, the search only checks whether any match exists for the remaining nodes.
+ * Neighbors are only loaded once per evaluation for every assigned node and edge unless they don't fit in the neighbor cache.
+ *
+ * The results are the same as the results of {@link GPEval#evaluate(AttributedGraph, GPEvalPlan)}.
+ * @param <N> The type of nodes in the graph
+ * @param <E> The type of edges in the graph
+ * @see EvaluationStrategy
+ */
+public final class GenericJoin<N extends AttributedNode, E extends AttributedEdge<N>> {
+
+	private final AttributedGraph<N, E> graph;
+	private final GPEvalPlan plan;
+	private final ToLongFunction<N> numericNodeIds;
+	private final NeighborCache<N> neighborCache;
+
+	// candidates of fixed nodes, null for all other nodes
+	private final List<CandidateSet<N>> fixedCandidates;
+	// indices of the nodes in the graph pattern in the order they are assigned
+	private final int[] order;
+	// for every position in the order, the edges from nodes assigned before to the node at that position (seen from the nodes assigned before) and the indices of these nodes
+	private final RelevantEdge[][] joinEdges;
+	private final int[][] joinEdgeSources;
+	// all returned nodes are assigned after this position in the order
+	private final int lastReturnedPosition;
+
+	private final List<N> assignments;
+	private final Set<List<N>> results = new HashSet<>();
+
+	/**
+	 * Evaluates a graph pattern using Generic Join.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param pattern the graph pattern
+	 * @return nodes corresponding to the returned nodes in the graph pattern for each match
+	 * @see GPEval#evaluate(AttributedGraph, GraphPattern)
+	 */
+	public static <N extends AttributedNode, E extends AttributedEdge<N>> Set<List<N>> evaluate(AttributedGraph<N, E> graph, GraphPattern pattern) {
+		return evaluate(graph, GPEvalPlan.compile(pattern));
+	}
+
+	/**
+	 * Evaluates a precompiled graph pattern using Generic Join.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param plan the compiled graph pattern
+	 * @return nodes corresponding to the returned nodes in the graph pattern for each match
+	 * @throws IllegalArgumentException if the plan contains placeholders that have not been bound
+	 * @see GPEval#evaluate(AttributedGraph, GPEvalPlan)
+	 */
+	public static <N extends AttributedNode, E extends AttributedEdge<N>> Set<List<N>> evaluate(AttributedGraph<N, E> graph, GPEvalPlan plan) {
+		return evaluate(graph, plan, GPEvalOptions.sequential().neighborCacheSize());
+	}
+
+	/**
+	 * Evaluates a precompiled graph pattern using Generic Join with a specific cache size.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param plan the compiled graph pattern
+	 * @param neighborCacheSize the maximum number of neighbors cached during the evaluation or {@code 0} if neighbors should not be cached
+	 * @return nodes corresponding to the returned nodes in the graph pattern for each match
+	 * @throws IllegalArgumentException if the plan contains placeholders that have not been bound
+	 * @see GPEvalOptions#neighborCacheSize()
+	 */
+	static <N extends AttributedNode, E extends AttributedEdge<N>> Set<List<N>> evaluate(AttributedGraph<N, E> graph, GPEvalPlan plan, int neighborCacheSize) {
+		if(!plan.parameterNames().isEmpty()){
+			throw new IllegalArgumentException("graph pattern contains unbound parameters: " + plan.parameterNames());
+		}
+		if(plan.isUnsatisfiable()){
+			return Set.of();
+		}
+		GenericJoin<N, E> join;
+		try{
+			join = new GenericJoin<>(graph, plan, neighborCacheSize);
+		}catch(NoResultException e){
+			return Set.of();
+		}
+		join.search(0);
+		return join.results;
+	}
+
+	private GenericJoin(AttributedGraph<N, E> graph, GPEvalPlan plan, int neighborCacheSize) throws NoResultException {
+		Objects.requireNonNull(graph);
+		Objects.requireNonNull(plan);
+		this.graph = graph;
+		this.plan = plan;
+		this.numericNodeIds = graph.hasNumericNodeIds() ? graph::getNumericNodeId : null;
+		this.neighborCache = neighborCacheSize == 0 ? null : new NeighborCache<>(neighborCacheSize);
+		this.fixedCandidates = findFixedCandidates();
+		this.order = findOrder();
+		this.joinEdges = new RelevantEdge[order.length][];
+		this.joinEdgeSources = new int[order.length][];
+		findJoinEdges();
+		this.lastReturnedPosition = findLastReturnedPosition();
+		this.assignments = new ArrayList<>(Collections.nCopies(plan.nodeCount(), null));
+	}
+
+	/**
+	 * Finds the nodes in the attributed graph fixed nodes can be assigned to.
+	 * @return the candidates of all fixed nodes, {@code null} for all nodes that are not fixed
+	 * @throws NoResultException if a fixed node cannot be assigned
+	 */
+	private List<CandidateSet<N>> findFixedCandidates() throws NoResultException {
+		List<CandidateSet<N>> candidates = new ArrayList<>(plan.nodeCount());
+		for(int nodeIndex = 0; nodeIndex < plan.nodeCount(); nodeIndex++){
+			N graphNode = plan.node(nodeIndex).findFixedNode(graph);
+			if(graphNode == null){
+				candidates.add(null);
+			}else if(plan.node(nodeIndex).requirements().test(graphNode) && plan.node(nodeIndex).checkSelfEdges(graph, graphNode)){
+				candidates.add(CandidateSet.of(List.of(graphNode), numericNodeIds));
+			}else{
+				throw new NoResultException("node cannot be assigned without violating constraints: " + plan.node(nodeIndex).node());
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Decides in which order the nodes of the graph pattern are assigned.
+	 *
+	 * Fixed nodes are assigned first. Afterwards, the node with the most edges to nodes assigned before it is assigned next, preferring returned nodes if multiple nodes have the same number of these edges.
+	 * @return the indices of all nodes in the graph pattern in the order they are assigned
+	 */
+	private int[] findOrder() {
+		boolean[] returned = new boolean[plan.nodeCount()];
+		for(int returnedNode : plan.returnedNodes()){
+			returned[returnedNode] = true;
+		}
+		int[] nodeOrder = new int[plan.nodeCount()];
+		boolean[] ordered = new boolean[plan.nodeCount()];
+		int[] assignedNeighborEdges = new int[plan.nodeCount()];
+		for(int position = 0; position < nodeOrder.length; position++){
+			int next = -1;
+			for(int node = 0; node < nodeOrder.length; node++){
+				if(!ordered[node] && (next == -1 || isAssignedBefore(node, next, assignedNeighborEdges, returned))){
+					next = node;
+				}
+			}
+			if(fixedCandidates.get(next) == null && assignedNeighborEdges[next] == 0){
+				throw new IllegalStateException("No candidate node found. Make sure all nodes in the graph pattern have some connection to a fixed node.");
+			}
+			nodeOrder[position] = next;
+			ordered[next] = true;
+			for(RelevantEdge relevantEdge : plan.node(next).relevantEdges()){
+				assignedNeighborEdges[relevantEdge.otherNode()]++;
+			}
+		}
+		return nodeOrder;
+	}
+
+	private boolean isAssignedBefore(int node, int otherNode, int[] assignedNeighborEdges, boolean[] returned) {
+		boolean fixed = fixedCandidates.get(node) != null;
+		if(fixed != (fixedCandidates.get(otherNode) != null)){
+			return fixed;
+		}
+		if(assignedNeighborEdges[node] != assignedNeighborEdges[otherNode]){
+			return assignedNeighborEdges[node] > assignedNeighborEdges[otherNode];
+		}
+		return returned[node] && !returned[otherNode];
+	}
+
+	private void findJoinEdges() {
+		int[] positions = new int[order.length];
+		for(int position = 0; position < order.length; position++){
+			positions[order[position]] = position;
+		}
+		for(int position = 0; position < order.length; position++){
+			int node = order[position];
+			List<RelevantEdge> edges = new ArrayList<>();
+			List<Integer> sources = new ArrayList<>();
+			for(RelevantEdge relevantEdge : plan.node(node).relevantEdges()){
+				int otherNode = relevantEdge.otherNode();
+				if(positions[otherNode] < position){
+					edges.add(findReversedEdge(otherNode, relevantEdge.edgeIndex()));
+					sources.add(otherNode);
+				}
+			}
+			joinEdges[position] = edges.toArray(new RelevantEdge[0]);
+			joinEdgeSources[position] = sources.stream().mapToInt(Integer::intValue).toArray();
+		}
+	}
+
+	private RelevantEdge findReversedEdge(int node, int edgeIndex) {
+		for(RelevantEdge relevantEdge : plan.node(node).relevantEdges()){
+			if(relevantEdge.edgeIndex() == edgeIndex){
+				return relevantEdge;
+			}
+		}
+		throw new IllegalStateException("edge " + edgeIndex + " is missing for node " + plan.node(node).node());
+	}
+
+	private int findLastReturnedPosition() {
+		int lastPosition = -1;
+		for(int position = 0; position < order.length; position++){
+			for(int returnedNode : plan.returnedNodes()){
+				if(order[position] == returnedNode){
+					lastPosition = position;
+				}
+			}
+		}
+		return lastPosition;
+	}
+
+	/**
+	 * Assigns the node at a specific position in the order and all nodes after it.
+	 * @param position the position of the node to assign in the order
+	 * @return {@code true} if any match has been found, else {@code false}
+	 */
+	private boolean search(int position) {
+		if(position == order.length){
+			results.add(createResult());
+			return true;
+		}
+		int node = order[position];
+		boolean found = false;
+		for(N candidate : findCandidates(position)){
+			if(violatesMutualExclusionConstraint(node, candidate)){
+				continue;
+			}
+			assignments.set(node, candidate);
+			if(search(position + 1)){
+				found = true;
+				if(position > lastReturnedPosition){
+					// all returned nodes are assigned so further matches would have the same result
+					break;
+				}
+			}
+		}
+		assignments.set(node, null);
+		return found;
+	}
+
+	/**
+	 * Computes the candidates of the node at a specific position in the order by intersecting the neighbors of all assigned adjacent nodes.
+	 * @param position the position of the node in the order
+	 * @return the nodes in the attributed graph that are neighbors of all assigned adjacent nodes and satisfy all requirements
+	 */
+	private CandidateSet<N> findCandidates(int position) {
+		CandidateSet<N> fixed = fixedCandidates.get(order[position]);
+		RelevantEdge[] edges = joinEdges[position];
+		if(edges.length == 0){
+			// only fixed nodes are assigned without being connected to any assigned node
+			return fixed;
+		}
+		List<CandidateSet<N>> neighborLists = new ArrayList<>(edges.length + 1);
+		if(fixed != null){
+			neighborLists.add(fixed);
+		}
+		for(int i = 0; i < edges.length; i++){
+			CandidateSet<N> neighbors = getNeighbors(assignments.get(joinEdgeSources[position][i]), edges[i]);
+			if(neighbors.isEmpty()){
+				return neighbors;
+			}
+			neighborLists.add(neighbors);
+		}
+		neighborLists.sort(Comparator.comparingInt(CandidateSet::size));
+		CandidateSet<N> candidates = neighborLists.get(0);
+		for(int i = 1; i < neighborLists.size() && !candidates.isEmpty(); i++){
+			candidates = candidates.intersect(neighborLists.get(i));
+		}
+		return candidates;
+	}
+
+	/**
+	 * Gets the neighbors of an assigned node along an edge satisfying the requirements of the edge and the node on the other side.
+	 * @param graphNode the node in the attributed graph assigned to the node in the graph pattern the edge is seen from
+	 * @param relevantEdge the edge to the node whose candidates are computed
+	 * @return the neighbors satisfying the requirements
+	 */
+	private CandidateSet<N> getNeighbors(N graphNode, RelevantEdge relevantEdge) {
+		if(neighborCache != null){
+			CandidateSet<N> cachedNeighbors = neighborCache.get(graphNode, relevantEdge.edgeIndex(), relevantEdge.isOutgoing());
+			if(cachedNeighbors != null){
+				return cachedNeighbors;
+			}
+		}
+		Collection<N> neighbors = graph.findNeighbors(
+				graphNode, relevantEdge.isOutgoing(),
+				relevantEdge.edgeType(), relevantEdge.otherNodeType(),
+				relevantEdge.edgeRequirements().orderedList(), relevantEdge.otherNodeRequirements().orderedList()
+		);
+		List<N> neighborsSatisfyingRequirements = new ArrayList<>(neighbors.size());
+		for(N neighbor : neighbors){
+			if(plan.node(relevantEdge.otherNode()).checkSelfEdges(graph, neighbor)){
+				neighborsSatisfyingRequirements.add(neighbor);
+			}
+		}
+		CandidateSet<N> neighborCandidates = CandidateSet.of(neighborsSatisfyingRequirements, numericNodeIds);
+		if(neighborCache != null){
+			neighborCache.put(graphNode, relevantEdge.edgeIndex(), relevantEdge.isOutgoing(), neighborCandidates);
+		}
+		return neighborCandidates;
+	}
+
+	private boolean violatesMutualExclusionConstraint(int node, N candidate) {
+		GPNodeSet exclusionConstraints = plan.node(node).mutualExclusionConstraints();
+		if(exclusionConstraints == null){
+			return false;
+		}
+		for(int otherNode = exclusionConstraints.nextIndex(0); otherNode != -1; otherNode = exclusionConstraints.nextIndex(otherNode + 1)){
+			if(candidate.equals(assignments.get(otherNode))){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private List<N> createResult() {
+		int[] returnedNodes = plan.returnedNodes();
+		List<N> result = new ArrayList<>(returnedNodes.length);
+		for(int nodeToReturn : returnedNodes){
+			result.add(Objects.requireNonNull(assignments.get(nodeToReturn)));
+		}
+		return List.copyOf(result);
+	}
+}
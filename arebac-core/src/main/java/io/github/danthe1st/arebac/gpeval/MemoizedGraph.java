@@ -0,0 +1,160 @@
+package io.github.danthe1st.arebac.gpeval;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedEdge;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedNode;
+import io.github.danthe1st.arebac.data.commongraph.attributed.GraphStatistics;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+
+/**
+ * An {@link AttributedGraph} remembering the results of all lookups on another graph.
+ *
+ * This is used for evaluating multiple graph patterns against the same graph so that nodes and edges accessed by multiple graph patterns are only loaded once.
+ * As the same node and edge objects are returned for repeated lookups, attributes cached by these objects are shared as well.
+ * Neighbor lookups are delegated to the underlying graph (so that it can filter neighbors itself) and remembered per node, edge and requirements.
+ *
+ * Instances are not thread-safe and should only be used for a short time as changes to the underlying graph are not observed.
+ * @param <N> The type of nodes in the graph
+ * @param <E> The type of edges in the graph
+ */
+final class MemoizedGraph<N extends AttributedNode, E extends AttributedEdge<N>> implements AttributedGraph<N, E> {
+	private final AttributedGraph<N, E> delegate;
+	private final Map<String, N> nodesById = new HashMap<>();
+	private final Map<EdgeLookup<N>, Collection<E>> outgoingEdges = new HashMap<>();
+	private final Map<EdgeLookup<N>, Collection<E>> incomingEdges = new HashMap<>();
+	private final Map<NeighborLookup<N>, Collection<N>> neighbors = new HashMap<>();
+	private final Map<UniqueAttributeLookup, N> nodesByUniqueAttribute = new HashMap<>();
+	private GraphStatistics statistics;
+	private boolean statisticsLoaded = false;
+
+	MemoizedGraph(AttributedGraph<N, E> delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public N findNodeById(String id) {
+		if(nodesById.containsKey(id)){
+			return nodesById.get(id);
+		}
+		N node = delegate.findNodeById(id);
+		nodesById.put(id, node);
+		return node;
+	}
+
+	@Override
+	public Collection<E> findOutgoingEdges(N node, String edgeType) {
+		return outgoingEdges.computeIfAbsent(new EdgeLookup<>(node, edgeType), lookup -> List.copyOf(delegate.findOutgoingEdges(node, edgeType)));
+	}
+
+	@Override
+	public Collection<E> findIncomingEdges(N node, String edgeType) {
+		return incomingEdges.computeIfAbsent(new EdgeLookup<>(node, edgeType), lookup -> List.copyOf(delegate.findIncomingEdges(node, edgeType)));
+	}
+
+	@Override
+	public Map<N, Collection<E>> findEdges(Collection<N> nodes, boolean outgoing, String edgeType) {
+		Map<EdgeLookup<N>, Collection<E>> memoizedEdges = outgoing ? outgoingEdges : incomingEdges;
+		Map<N, Collection<E>> edges = new HashMap<>();
+		List<N> nodesToLoad = new ArrayList<>();
+		for(N node : nodes){
+			Collection<E> edgesOfNode = memoizedEdges.get(new EdgeLookup<>(node, edgeType));
+			if(edgesOfNode == null){
+				nodesToLoad.add(node);
+			}else{
+				edges.put(node, edgesOfNode);
+			}
+		}
+		if(!nodesToLoad.isEmpty()){
+			// only edges that haven't been loaded before are requested from the underlying graph, all of them at once
+			delegate.findEdges(nodesToLoad, outgoing, edgeType).forEach((node, edgesOfNode) -> {
+				Collection<E> copy = List.copyOf(edgesOfNode);
+				memoizedEdges.put(new EdgeLookup<>(node, edgeType), copy);
+				edges.put(node, copy);
+			});
+		}
+		return edges;
+	}
+
+	@Override
+	public Collection<N> findNeighbors(N node, boolean outgoing, String edgeType, String neighborNodeType, List<AttributeRequirement> edgeRequirements, List<AttributeRequirement> neighborRequirements) {
+		return neighbors.computeIfAbsent(
+				new NeighborLookup<>(node, outgoing, edgeType, neighborNodeType, edgeRequirements, neighborRequirements),
+				lookup -> List.copyOf(delegate.findNeighbors(node, outgoing, edgeType, neighborNodeType, edgeRequirements, neighborRequirements))
+		);
+	}
+
+	@Override
+	public Map<N, Collection<N>> findNeighbors(Collection<N> nodes, boolean outgoing, String edgeType, String neighborNodeType, List<AttributeRequirement> edgeRequirements, List<AttributeRequirement> neighborRequirements) {
+		Map<N, Collection<N>> result = new HashMap<>();
+		List<N> nodesToLoad = new ArrayList<>();
+		for(N node : nodes){
+			Collection<N> neighborsOfNode = neighbors.get(new NeighborLookup<>(node, outgoing, edgeType, neighborNodeType, edgeRequirements, neighborRequirements));
+			if(neighborsOfNode == null){
+				nodesToLoad.add(node);
+			}else{
+				result.put(node, neighborsOfNode);
+			}
+		}
+		if(!nodesToLoad.isEmpty()){
+			Map<N, Collection<N>> loaded = delegate.findNeighbors(nodesToLoad, outgoing, edgeType, neighborNodeType, edgeRequirements, neighborRequirements);
+			for(N node : nodesToLoad){
+				Collection<N> neighborsOfNode = loaded.get(node);
+				Collection<N> copy = neighborsOfNode == null ? List.of() : List.copyOf(neighborsOfNode);
+				neighbors.put(new NeighborLookup<>(node, outgoing, edgeType, neighborNodeType, edgeRequirements, neighborRequirements), copy);
+				result.put(node, copy);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public boolean isAttributeUniqueForNodeType(String key, String nodeType) {
+		return delegate.isAttributeUniqueForNodeType(key, nodeType);
+	}
+
+	@Override
+	public N getNodeByUniqueAttribute(String nodeType, String key, AttributeValue<?> value) {
+		UniqueAttributeLookup lookup = new UniqueAttributeLookup(nodeType, key, value);
+		if(nodesByUniqueAttribute.containsKey(lookup)){
+			return nodesByUniqueAttribute.get(lookup);
+		}
+		N node = delegate.getNodeByUniqueAttribute(nodeType, key, value);
+		nodesByUniqueAttribute.put(lookup, node);
+		return node;
+	}
+
+	@Override
+	public boolean hasNumericNodeIds() {
+		return delegate.hasNumericNodeIds();
+	}
+
+	@Override
+	public long getNumericNodeId(N node) {
+		return delegate.getNumericNodeId(node);
+	}
+
+	@Override
+	public GraphStatistics getStatistics() {
+		if(!statisticsLoaded){
+			statistics = delegate.getStatistics();
+			statisticsLoaded = true;
+		}
+		return statistics;
+	}
+
+	private record EdgeLookup<N>(N node, String edgeType) {
+	}
+
+	private record NeighborLookup<N>(N node, boolean outgoing, String edgeType, String neighborNodeType, List<AttributeRequirement> edgeRequirements, List<AttributeRequirement> neighborRequirements) {
+	}
+
+	private record UniqueAttributeLookup(String nodeType, String key, AttributeValue<?> value) {
+	}
+}
@@ -0,0 +1,80 @@
+package io.github.danthe1st.arebac.gpeval;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of the neighbors satisfying the requirements of edges in the graph pattern used during a single evaluation of a graph pattern.
+ *
+ * The same node in the attributed graph may be assigned to a node in the graph pattern in many different branches of the search.
+ * Every time this happens, the same neighbors would be loaded from the graph and checked against the same requirements again.
+ * As the neighbors satisfying the requirements of an edge in the graph pattern only depend on the node in the graph and that edge,
+ * these can be stored and reused within the same evaluation.
+ *
+ * The cache is limited by the total number of neighbors stored in it. If that limit is exceeded, the least recently used entries are removed.
+ *
+ * Instances are not thread-safe and should not outlive a single evaluation as changes to the underlying graph are not observed.
+ * @param <N> The type of nodes in the graph
+ */
+final class NeighborCache<N> {
+	private final int maximumNeighbors;
+	private final Map<NeighborLookup<N>, CandidateSet<N>> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private int storedNeighbors = 0;
+
+	/**
+	 * Creates an empty cache.
+	 * @param maximumNeighbors the maximum number of neighbors stored in all entries combined
+	 */
+	NeighborCache(int maximumNeighbors) {
+		this.maximumNeighbors = maximumNeighbors;
+	}
+
+	/**
+	 * Gets the neighbors of a node along an edge in the graph pattern if these are present in the cache.
+	 * @param graphNode the node in the attributed graph
+	 * @param edgeIndex the index of the edge in the {@link GPEvalPlan}
+	 * @param outgoing {@code true} if the neighbors are targets of the edge, {@code false} if they are sources of the edge
+	 * @return the stored neighbors or {@code null} if these are not present in the cache
+	 */
+	CandidateSet<N> get(N graphNode, int edgeIndex, boolean outgoing) {
+		return entries.get(new NeighborLookup<>(graphNode, edgeIndex, outgoing));
+	}
+
+	/**
+	 * Stores the neighbors of a node along an edge in the graph pattern.
+	 *
+	 * Neighbor sets exceeding the limit of the cache on their own are not stored.
+	 * @param graphNode the node in the attributed graph
+	 * @param edgeIndex the index of the edge in the {@link GPEvalPlan}
+	 * @param outgoing {@code true} if the neighbors are targets of the edge, {@code false} if they are sources of the edge
+	 * @param neighbors the neighbors satisfying the requirements of the edge and the neighboring node in the graph pattern
+	 */
+	void put(N graphNode, int edgeIndex, boolean outgoing, CandidateSet<N> neighbors) {
+		if(weight(neighbors) > maximumNeighbors){
+			return;
+		}
+		CandidateSet<N> previous = entries.put(new NeighborLookup<>(graphNode, edgeIndex, outgoing), neighbors);
+		if(previous != null){
+			storedNeighbors -= weight(previous);
+		}
+		storedNeighbors += weight(neighbors);
+		evictIfNecessary();
+	}
+
+	// empty neighbor sets are counted as well so that the number of entries is limited
+	private static int weight(CandidateSet<?> neighbors) {
+		return neighbors.size() + 1;
+	}
+
+	private void evictIfNecessary() {
+		Iterator<CandidateSet<N>> it = entries.values().iterator();
+		while(storedNeighbors > maximumNeighbors && it.hasNext()){
+			storedNeighbors -= weight(it.next());
+			it.remove();
+		}
+	}
+
+	private record NeighborLookup<N>(N graphNode, int edgeIndex, boolean outgoing) {
+	}
+}
@@ -0,0 +1,127 @@
+package io.github.danthe1st.arebac.gpeval;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph;
+import io.github.danthe1st.arebac.data.commongraph.attributed.GraphStatistics;
+
+/**
+ * Decides in which order {@link GPEval GP-Eval} assigns the nodes of a graph pattern.
+ *
+ * GP-Eval can only assign nodes that already have candidates, i.e. fixed nodes and nodes connected to an assigned node.
+ * Among these nodes, the order has a large impact on the number of explored assignments and graph accesses but not on the results.
+ *
+ * A {@link NodeOrderingStrategy} creates a {@link NodeOrdering} for every evaluation which is then asked for the next node whenever a node needs to be assigned.
+ * Nodes and edges are identified by their indices in the {@link GPEvalPlan}.
+ * @see GPEvalOptions#withNodeOrdering(NodeOrderingStrategy)
+ */
+@FunctionalInterface
+public interface NodeOrderingStrategy {
+
+	/**
+	 * Creates the {@link NodeOrdering} used for a single evaluation.
+	 * @param plan the plan that is evaluated
+	 * @param graph the graph the plan is evaluated against
+	 * @return the {@link NodeOrdering} for the evaluation
+	 */
+	NodeOrdering createOrdering(GPEvalPlan plan, AttributedGraph<?, ?> graph);
+
+	/**
+	 * Gets a strategy always assigning the node with the fewest candidates next.
+	 * If multiple nodes have the same number of candidates, the node with the lowest index is chosen.
+	 *
+	 * This is the default strategy.
+	 * @return the strategy assigning nodes with the fewest candidates first
+	 */
+	static NodeOrderingStrategy fewestCandidates() {
+		return (plan, graph) -> NodeOrdering.FEWEST_CANDIDATES;
+	}
+
+	/**
+	 * Gets a cost-based strategy using the {@link AttributedGraph#getStatistics() statistics of the graph}.
+	 *
+	 * This strategy weighs the number of candidates of each node against the expected number of neighbors loaded when assigning it
+	 * (based on the {@link GraphStatistics.Degree#averageDegree() average degree} of its edges to unassigned nodes)
+	 * and prefers nodes with edges that frequently caused failures in the search so far (similar to the dom/wdeg heuristic) as well as returned nodes.
+	 * @return a strategy estimating the cost of assigning each node
+	 */
+	static NodeOrderingStrategy costBased() {
+		return (plan, graph) -> new CostBasedNodeOrdering(plan, graph.getStatistics());
+	}
+
+	/**
+	 * Gets a cost-based strategy using specific statistics.
+	 *
+	 * This allows reusing statistics for multiple evaluations if obtaining these from the graph is expensive.
+	 * @param statistics the statistics used for estimating costs or {@code null} if only runtime information should be used
+	 * @return a strategy estimating the cost of assigning each node
+	 * @see NodeOrderingStrategy#costBased()
+	 */
+	static NodeOrderingStrategy costBased(GraphStatistics statistics) {
+		return (plan, graph) -> new CostBasedNodeOrdering(plan, statistics);
+	}
+
+	/**
+	 * Chooses the nodes to assign during a single evaluation.
+	 *
+	 * When evaluating in parallel, the same instance is used by all threads taking part in the evaluation so implementations must be thread-safe.
+	 */
+	@FunctionalInterface
+	interface NodeOrdering {
+
+		/**
+		 * @see NodeOrderingStrategy#fewestCandidates()
+		 */
+		NodeOrdering FEWEST_CANDIDATES = state -> {
+			int selected = -1;
+			int numberOfPossibilities = Integer.MAX_VALUE;
+			for(int node = 0; node < state.nodeCount(); node++){
+				int possibilities = state.candidateCount(node);
+				if(possibilities != -1 && possibilities < numberOfPossibilities){
+					selected = node;
+					numberOfPossibilities = possibilities;
+				}
+			}
+			return selected;
+		};
+
+		/**
+		 * Selects the node to assign next.
+		 * @param state the current state of the search
+		 * @return the index of a node with candidates or {@code -1} if there is no such node
+		 */
+		int selectNode(SearchState state);
+
+		/**
+		 * Called whenever assigning a candidate fails because a neighboring node doesn't have any candidates left along an edge.
+		 * @param edgeIndex the index of the edge that could not be satisfied
+		 */
+		default void recordFailure(int edgeIndex) {
+			// failures are ignored by default
+		}
+	}
+
+	/**
+	 * A view of the current state of the search.
+	 */
+	interface SearchState {
+
+		/**
+		 * Gets the number of nodes in the graph pattern.
+		 * @return the number of nodes
+		 */
+		int nodeCount();
+
+		/**
+		 * Gets the number of candidates of a node.
+		 * @param node the index of the node
+		 * @return the number of candidates or {@code -1} if the node is already assigned or doesn't have any known candidates
+		 */
+		int candidateCount(int node);
+
+		/**
+		 * Checks whether a node has been assigned.
+		 * @param node the index of the node
+		 * @return {@code true} if the node has been assigned, else {@code false}
+		 */
+		boolean isAssigned(int node);
+	}
+}
@@ -0,0 +1,210 @@
+package io.github.danthe1st.arebac.gpeval;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.ParameterAttribute;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedEdge;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+
+/**
+ * A {@link GraphPattern graph pattern} with {@link ParameterAttribute placeholders} that is compiled once and evaluated with different parameter values.
+ *
+ * Placeholders can be used in place of the values of any attribute requirement, including requirements on the ID of a node ({@link io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement#ID_KEY}).
+ * Graph patterns (e.g. policies and queries) containing placeholders can be combined using {@link io.github.danthe1st.arebac.weaving.Weaving Weaving} before preparing them
+ * so that neither weaving nor creating and validating the graph pattern needs to happen when evaluating it.
+ *
+ * <pre>
+ * GraphPattern policy = ...; // contains new AttributeRequirement(ID_KEY, EQUAL, AttributeValue.parameter("subjectId"))
+ * PreparedGraphPattern prepared = PreparedGraphPattern.prepare(Weaving.combinePatterns(List.of(policy, query)));
+ * Set&lt;List&lt;Neo4jNode&gt;&gt; results = prepared.evaluate(graph, Map.of("subjectId", AttributeValue.attribute(subjectId)));
+ * </pre>
+ *
+ * Prepared graph patterns are immutable and can be used concurrently.
+ */
+public final class PreparedGraphPattern {
+
+	private final GPEvalPlan plan;
+	// nodes of other graph patterns -> corresponding nodes of the prepared graph pattern, null if a node corresponds to multiple nodes
+	private final Map<GPNode, GPNode> nodeMapping;
+
+	/**
+	 * Prepares a graph pattern for evaluation with different parameters.
+	 * @param pattern the graph pattern which may contain {@link ParameterAttribute placeholders}
+	 * @return the prepared graph pattern
+	 */
+	public static PreparedGraphPattern prepare(GraphPattern pattern) {
+		return new PreparedGraphPattern(GPEvalPlan.compile(pattern));
+	}
+
+	private PreparedGraphPattern(GPEvalPlan plan) {
+		this(plan, Map.of());
+	}
+
+	private PreparedGraphPattern(GPEvalPlan plan, Map<GPNode, GPNode> nodeMapping) {
+		this.plan = plan;
+		this.nodeMapping = nodeMapping;
+	}
+
+	/**
+	 * Creates a prepared graph pattern sharing the compiled plan that additionally accepts nodes of other graph patterns in {@link #filter(AttributedGraph, Map, GPNode, Collection)}.
+	 * @param nodeMapping maps nodes of other graph patterns to the corresponding nodes of this graph pattern or to {@code null} if there is no unique corresponding node
+	 * @return the prepared graph pattern accepting the given nodes
+	 */
+	PreparedGraphPattern withNodeMapping(Map<GPNode, GPNode> nodeMapping) {
+		return new PreparedGraphPattern(plan, Collections.unmodifiableMap(new HashMap<>(nodeMapping)));
+	}
+
+	/**
+	 * Creates a {@link GPEvalPlan} with all placeholders replaced by the given parameter values.
+	 * @param parameters the values of the parameters, by name
+	 * @return a plan that can be evaluated using {@link GPEval#evaluate(AttributedGraph, GPEvalPlan)}
+	 * @throws IllegalArgumentException if a parameter is missing or its value cannot be used with the corresponding attribute requirement
+	 */
+	public GPEvalPlan bind(Map<String, AttributeValue<?>> parameters) {
+		return plan.bind(parameters);
+	}
+
+	/**
+	 * Evaluates the graph pattern with the given parameter values.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param parameters the values of the parameters, by name
+	 * @return nodes corresponding to the returned nodes in the graph pattern for each match
+	 * @throws IllegalArgumentException if a parameter is missing or its value cannot be used with the corresponding attribute requirement
+	 * @see GPEval#evaluate(AttributedGraph, GPEvalPlan)
+	 */
+	public <N extends AttributedNode, E extends AttributedEdge<N>> Set<List<N>> evaluate(AttributedGraph<N, E> graph, Map<String, AttributeValue<?>> parameters) {
+		Objects.requireNonNull(graph);
+		return GPEval.evaluate(graph, bind(parameters));
+	}
+
+	/**
+	 * Evaluates the graph pattern with multiple sets of parameter values, e.g. for checking access to multiple resources.
+	 *
+	 * Lookups of nodes and edges are shared between the evaluations and equal sets of parameter values are only evaluated once.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param parameterSets the values of the parameters for each evaluation, by name
+	 * @return the results for each set of parameter values, in the same order
+	 * @throws IllegalArgumentException if a parameter is missing or its value cannot be used with the corresponding attribute requirement
+	 * @see GPEval#evaluateAll(AttributedGraph, List)
+	 */
+	public <N extends AttributedNode, E extends AttributedEdge<N>> List<Set<List<N>>> evaluateAll(AttributedGraph<N, E> graph, List<Map<String, AttributeValue<?>>> parameterSets) {
+		Objects.requireNonNull(graph);
+		Map<Map<String, AttributeValue<?>>, GPEvalPlan> plansByParameters = new HashMap<>();
+		List<GPEvalPlan> plans = new ArrayList<>(parameterSets.size());
+		for(Map<String, AttributeValue<?>> parameters : parameterSets){
+			plans.add(plansByParameters.computeIfAbsent(parameters, this::bind));
+		}
+		return GPEval.evaluateAllPlans(graph, plans);
+	}
+
+	/**
+	 * Finds all nodes of a given collection that can be assigned to a specific node in the graph pattern with the given parameter values.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param parameters the values of the parameters, by name
+	 * @param resourceNode the node in the graph pattern, e.g. the resource access is requested for.
+	 * If this has been obtained from a {@link PreparedGraphPatternCache}, nodes of the graph patterns passed to the cache can be used as well.
+	 * @param candidates the nodes in the attributed graph to check
+	 * @return all candidates that are assigned to the given node in any match
+	 * @throws IllegalArgumentException if a parameter is missing, its value cannot be used with the corresponding attribute requirement or the node is not part of the graph pattern
+	 * @see GPEval#filter(AttributedGraph, GPEvalPlan, GPNode, Collection)
+	 */
+	public <N extends AttributedNode, E extends AttributedEdge<N>> Set<N> filter(AttributedGraph<N, E> graph, Map<String, AttributeValue<?>> parameters, GPNode resourceNode, Collection<N> candidates) {
+		Objects.requireNonNull(graph);
+		return GPEval.filter(graph, bind(parameters), toPreparedNode(resourceNode), candidates);
+	}
+
+	private GPNode toPreparedNode(GPNode node) {
+		if(!nodeMapping.containsKey(node)){
+			return node;
+		}
+		GPNode preparedNode = nodeMapping.get(node);
+		if(preparedNode == null){
+			throw new IllegalArgumentException("node corresponds to multiple nodes of the prepared graph pattern: " + node);
+		}
+		return preparedNode;
+	}
+
+	/**
+	 * Checks whether the graph pattern has any match with the given parameter values.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param parameters the values of the parameters, by name
+	 * @return {@code true} if there is at least one match, else {@code false}
+	 * @throws IllegalArgumentException if a parameter is missing or its value cannot be used with the corresponding attribute requirement
+	 * @see GPEval#exists(AttributedGraph, GPEvalPlan)
+	 */
+	public <N extends AttributedNode, E extends AttributedEdge<N>> boolean exists(AttributedGraph<N, E> graph, Map<String, AttributeValue<?>> parameters) {
+		Objects.requireNonNull(graph);
+		return GPEval.exists(graph, bind(parameters));
+	}
+
+	/**
+	 * Counts the distinct results of the graph pattern with the given parameter values.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param parameters the values of the parameters, by name
+	 * @return the number of distinct results
+	 * @throws IllegalArgumentException if a parameter is missing or its value cannot be used with the corresponding attribute requirement
+	 * @see GPEval#count(AttributedGraph, GPEvalPlan)
+	 */
+	public <N extends AttributedNode, E extends AttributedEdge<N>> int count(AttributedGraph<N, E> graph, Map<String, AttributeValue<?>> parameters) {
+		Objects.requireNonNull(graph);
+		return GPEval.count(graph, bind(parameters));
+	}
+
+	/**
+	 * Lazily evaluates the graph pattern with the given parameter values.
+	 * @param <N> The type of nodes in the graph
+	 * @param <E> The type of edges in the graph
+	 * @param graph the attributed graph to match against
+	 * @param parameters the values of the parameters, by name
+	 * @return a sequential {@link Stream} of distinct results
+	 * @throws IllegalArgumentException if a parameter is missing or its value cannot be used with the corresponding attribute requirement
+	 * @see GPEval#stream(AttributedGraph, GPEvalPlan)
+	 */
+	public <N extends AttributedNode, E extends AttributedEdge<N>> Stream<List<N>> stream(AttributedGraph<N, E> graph, Map<String, AttributeValue<?>> parameters) {
+		Objects.requireNonNull(graph);
+		return GPEval.stream(graph, bind(parameters));
+	}
+
+	/**
+	 * Gets the names of all parameters of this graph pattern.
+	 * @return the names of all {@link ParameterAttribute placeholders} in the graph pattern
+	 */
+	public Set<String> parameterNames() {
+		return plan.parameterNames();
+	}
+
+	/**
+	 * Gets the graph pattern containing the placeholders.
+	 * @return the prepared graph pattern
+	 */
+	public GraphPattern pattern() {
+		return plan.pattern();
+	}
+
+	@Override
+	public String toString() {
+		return "PreparedGraphPattern [pattern=" + plan.pattern() + ", parameterNames=" + plan.parameterNames() + "]";
+	}
+}
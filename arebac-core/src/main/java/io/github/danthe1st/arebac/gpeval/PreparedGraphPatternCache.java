@@ -0,0 +1,225 @@
+package io.github.danthe1st.arebac.gpeval;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPatternFingerprint;
+import io.github.danthe1st.arebac.weaving.Weaving;
+import io.github.danthe1st.arebac.weaving.Weaving.CombinedGraphPattern;
+
+/**
+ * A bounded cache of {@link PreparedGraphPattern prepared graph patterns} keyed by the {@link GraphPatternFingerprint fingerprints} of the graph patterns they have been created from.
+ *
+ * If the same policies are combined with queries of the same shape for every request, {@link #getWoven(List)} only needs to compute the fingerprints of these graph patterns
+ * instead of {@link Weaving weaving} and compiling them again.
+ * Values that change between requests should be represented using {@link io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.ParameterAttribute placeholders}
+ * which are provided when evaluating the {@link PreparedGraphPattern}.
+ *
+ * <pre>
+ * PreparedGraphPatternCache cache = new PreparedGraphPatternCache(1000);
+ * ...
+ * PreparedGraphPattern prepared = cache.getWoven(List.of(policy, query));
+ * Set&lt;List&lt;Neo4jNode&gt;&gt; results = prepared.evaluate(graph, Map.of("subjectId", AttributeValue.attribute(subjectId)));
+ * </pre>
+ *
+ * A cache hit may return a {@link PreparedGraphPattern} compiled from a different but equivalent graph pattern (e.g. with different node IDs).
+ * The returned object accepts the nodes of the requested graph patterns in {@link PreparedGraphPattern#filter(AttributedGraph, Map, GPNode, java.util.Collection) filter}
+ * by mapping them to the corresponding nodes of the prepared graph pattern using the {@link GraphPatternFingerprint#canonicalNodes() canonical order} of the nodes.
+ * When combining graph patterns, nodes that are part of multiple input patterns but correspond to different nodes of the combined pattern cannot be used that way.
+ *
+ * If the cache is full, the entries that have been added first are evicted.
+ * This class can be used concurrently. Concurrent requests for the same missing entry may prepare the graph pattern multiple times but only one of the results is stored.
+ */
+public final class PreparedGraphPatternCache {
+
+	private final int maximumSize;
+	private final Map<CacheKey, CacheEntry> entries = new ConcurrentHashMap<>();
+	// keys in insertion order, used for evicting entries
+	private final Queue<CacheKey> insertionOrder = new ConcurrentLinkedQueue<>();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Creates an empty cache.
+	 * @param maximumSize the maximum number of prepared graph patterns stored in the cache
+	 * @throws IllegalArgumentException if the maximum size is not positive
+	 */
+	public PreparedGraphPatternCache(int maximumSize) {
+		if(maximumSize <= 0){
+			throw new IllegalArgumentException("maximum size must be positive");
+		}
+		this.maximumSize = maximumSize;
+	}
+
+	/**
+	 * Gets a prepared graph pattern from the cache or prepares it if it isn't present.
+	 * @param pattern the graph pattern to prepare
+	 * @return a {@link PreparedGraphPattern} of a graph pattern with the same {@link GraphPatternFingerprint fingerprint}
+	 */
+	public PreparedGraphPattern get(GraphPattern pattern) {
+		Objects.requireNonNull(pattern);
+		GraphPatternFingerprint fingerprint = GraphPatternFingerprint.of(pattern);
+		return get(new CacheKey(false, List.of(fingerprint)), () -> new CacheEntry(PreparedGraphPattern.prepare(pattern), List.of(fingerprint.canonicalNodes())));
+	}
+
+	/**
+	 * Gets the prepared combination of multiple graph patterns from the cache or {@link Weaving#combinePatterns(List) weaves} and prepares them if it isn't present.
+	 * @param inputPatterns the graph patterns to combine, e.g. policies and a query
+	 * @return a {@link PreparedGraphPattern} of the combination of graph patterns with the same {@link GraphPatternFingerprint fingerprints} in the same order
+	 */
+	public PreparedGraphPattern getWoven(List<GraphPattern> inputPatterns) {
+		Objects.requireNonNull(inputPatterns);
+		List<GraphPatternFingerprint> fingerprints = new ArrayList<>(inputPatterns.size());
+		for(GraphPattern pattern : inputPatterns){
+			fingerprints.add(GraphPatternFingerprint.of(pattern));
+		}
+		return get(new CacheKey(true, fingerprints), () -> {
+			CombinedGraphPattern combined = Weaving.combinePatternsWithNodes(inputPatterns);
+			List<List<GPNode>> preparedNodes = new ArrayList<>(fingerprints.size());
+			for(int i = 0; i < fingerprints.size(); i++){
+				List<GPNode> nodes = new ArrayList<>();
+				for(GPNode node : fingerprints.get(i).canonicalNodes()){
+					nodes.add(combined.nodeMappings().get(i).get(node));
+				}
+				preparedNodes.add(nodes);
+			}
+			return new CacheEntry(PreparedGraphPattern.prepare(combined.pattern()), preparedNodes);
+		});
+	}
+
+	private PreparedGraphPattern get(CacheKey key, Supplier<CacheEntry> entrySupplier) {
+		CacheEntry entry = entries.get(key);
+		if(entry != null){
+			hits.increment();
+		}else{
+			misses.increment();
+			entry = entrySupplier.get();
+			CacheEntry existing = entries.putIfAbsent(key, entry);
+			if(existing != null){
+				entry = existing;
+			}else{
+				insertionOrder.add(key);
+				evictIfNecessary();
+			}
+		}
+		return entry.forPatterns(key.fingerprints());
+	}
+
+	private void evictIfNecessary() {
+		while(entries.size() > maximumSize){
+			CacheKey oldest = insertionOrder.poll();
+			if(oldest == null){
+				return;
+			}
+			if(entries.remove(oldest) != null){
+				evictions.increment();
+			}
+		}
+	}
+
+	/**
+	 * Removes all entries from the cache.
+	 * The statistics of the cache are not reset.
+	 */
+	public void clear() {
+		CacheKey key;
+		while((key = insertionOrder.poll()) != null){
+			entries.remove(key);
+		}
+	}
+
+	/**
+	 * Gets the number of prepared graph patterns in the cache.
+	 * @return the number of entries
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Gets the number of requests that have been answered using an entry in the cache.
+	 * @return the number of cache hits
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Gets the number of requests that required preparing a graph pattern.
+	 * @return the number of cache misses
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Gets the number of entries that have been removed because the cache was full.
+	 * @return the number of evicted entries
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "PreparedGraphPatternCache [size=" + size() + ", maximumSize=" + maximumSize + ", hits=" + getHitCount() + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "]";
+	}
+
+	/**
+	 * The key of an entry in the cache.
+	 * @param woven {@code true} if the entry is the combination of the graph patterns, {@code false} if it is a single graph pattern that has not been woven
+	 * @param fingerprints the fingerprints of the graph patterns in the order they are combined
+	 */
+	private record CacheKey(boolean woven, List<GraphPatternFingerprint> fingerprints) {
+	}
+
+	/**
+	 * An entry in the cache.
+	 * @param prepared the prepared graph pattern
+	 * @param preparedNodes for every graph pattern in the key, the nodes of the prepared graph pattern corresponding to the nodes of that graph pattern in {@link GraphPatternFingerprint#canonicalNodes() canonical order}
+	 */
+	private record CacheEntry(PreparedGraphPattern prepared, List<List<GPNode>> preparedNodes) {
+
+		/**
+		 * Gets the prepared graph pattern accepting the nodes of graph patterns with the same fingerprints as the ones the entry has been created for.
+		 * @param fingerprints the fingerprints of the requested graph patterns
+		 * @return the prepared graph pattern
+		 */
+		PreparedGraphPattern forPatterns(List<GraphPatternFingerprint> fingerprints) {
+			Set<GPNode> nodesOfPreparedPattern = new HashSet<>(prepared.pattern().graph().nodes().values());
+			Map<GPNode, GPNode> nodeMapping = new HashMap<>();
+			boolean identity = true;
+			for(int i = 0; i < fingerprints.size(); i++){
+				List<GPNode> requestedNodes = fingerprints.get(i).canonicalNodes();
+				for(int position = 0; position < requestedNodes.size(); position++){
+					GPNode requestedNode = requestedNodes.get(position);
+					GPNode preparedNode = preparedNodes.get(i).get(position);
+					identity &= requestedNode.equals(preparedNode);
+					boolean ambiguous = nodeMapping.containsKey(requestedNode) ?
+							!Objects.equals(nodeMapping.get(requestedNode), preparedNode) :
+							nodesOfPreparedPattern.contains(requestedNode) && !requestedNode.equals(preparedNode);
+					nodeMapping.put(requestedNode, ambiguous ? null : preparedNode);
+				}
+			}
+			if(identity){
+				return prepared;
+			}
+			return prepared.withNodeMapping(nodeMapping);
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package io.github.danthe1st.arebac.gpeval.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+
+@Name("io.github.danthe1st.arebac.gpeval.events.ArcConsistencyEvent")
+@Description("restricting candidates using arc consistency before the search")
+@Category("AReBAC")
+public class ArcConsistencyEvent extends Event {
+	@Name("revisions")
+	@Description("number of times the candidates of the nodes of an edge have been checked")
+	private int revisions;
+	@Name("loadedNodes")
+	@Description("number of candidates the neighbors have been loaded for")
+	private int loadedNodes;
+	@Name("removedCandidates")
+	@Description("number of candidates removed because they don't have matching neighbors")
+	private int removedCandidates;
+	
+	public void addRevision() {
+		revisions++;
+	}
+	
+	public void addLoadedNodes(int nodes) {
+		this.loadedNodes += nodes;
+	}
+	
+	public void addRemovedCandidates(int candidates) {
+		this.removedCandidates += candidates;
+	}
+}
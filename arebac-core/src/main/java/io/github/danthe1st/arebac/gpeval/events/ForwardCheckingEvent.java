@@ -11,11 +11,11 @@ import jdk.jfr.Name;
 public class ForwardCheckingEvent extends Event {
 	
 	@Name("validNeighbors")
-	@Description("the amount of neighbors processed that satisfy edge/attribute requirements")
+	@Description("the amount of neighbors processed that satisfy edge/attribute requirements and self-connections")
 	private int validNeighborsProcessed;
 	
 	@Name("totalNeighbors")
-	@Description("the total amount of neighbors where edge/attribute requirements were checked")
+	@Description("the total amount of neighbors satisfying edge/attribute requirements returned by the graph where self-connections were checked")
 	private int neighborsTotal;
 	
 	@Name("relevantEdges")
@@ -26,6 +26,14 @@ public class ForwardCheckingEvent extends Event {
 	@Description("the amount of unassigned graph pattern edges checked")
 	private int unknownEdges;
 	
+	@Name("cachedEdges")
+	@Description("the amount of unassigned graph pattern edges where the neighbors have been taken from the neighbor cache")
+	private int cachedEdges;
+	
+	@Name("excludedCandidates")
+	@Description("the amount of candidates of unassigned nodes removed due to mutual exclusion constraints")
+	private int excludedCandidates;
+	
 	public void addNeighborsProcessed(int neighbors) {
 		this.validNeighborsProcessed += neighbors;
 	}
@@ -41,4 +49,12 @@ public class ForwardCheckingEvent extends Event {
 	public void addUnknownEdge() {
 		unknownEdges++;
 	}
+	
+	public void addCachedEdge() {
+		cachedEdges++;
+	}
+	
+	public void addExcludedCandidate() {
+		excludedCandidates++;
+	}
 }
@@ -0,0 +1,33 @@
+package io.github.danthe1st.arebac.gpeval.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+
+@Name("io.github.danthe1st.arebac.gpeval.events.NeighborBatchEvent")
+@Description("loading the neighbors of multiple candidates at once")
+@Category("AReBAC")
+public class NeighborBatchEvent extends Event {
+	@Name("edgeIndex")
+	@Description("index of the edge in the graph pattern the neighbors are loaded for")
+	private int edgeIndex;
+	@Name("nodes")
+	@Description("number of nodes the neighbors are loaded for")
+	private int nodes;
+	@Name("neighbors")
+	@Description("number of neighbors returned by the graph")
+	private int neighbors;
+	
+	public void setEdgeIndex(int edgeIndex) {
+		this.edgeIndex = edgeIndex;
+	}
+	
+	public void setNodes(int nodes) {
+		this.nodes = nodes;
+	}
+	
+	public void addNeighbors(int neighbors) {
+		this.neighbors += neighbors;
+	}
+}
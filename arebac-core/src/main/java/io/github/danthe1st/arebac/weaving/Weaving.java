@@ -29,6 +29,25 @@ public final class Weaving {
 	public static GraphPattern combinePatterns(List<GraphPattern> inputPatterns) {
 		return new Weaving(inputPatterns).run();
 	}
+
+	/**
+	 * Combines graph patterns like {@link Weaving#combinePatterns(List)} and additionally finds the nodes in the resulting pattern corresponding to the nodes of the input patterns.
+	 * @param inputPatterns the graph patterns to combine
+	 * @return the resulting pattern together with the correspondence of nodes
+	 */
+	public static CombinedGraphPattern combinePatternsWithNodes(List<GraphPattern> inputPatterns) {
+		Weaving weaving = new Weaving(inputPatterns);
+		GraphPattern pattern = weaving.run();
+		List<Map<GPNode, GPNode>> nodeMappings = new ArrayList<>();
+		for(int patternIndex = 0; patternIndex < weaving.inputPatterns.size(); patternIndex++){
+			Map<GPNode, GPNode> nodeMapping = new HashMap<>();
+			for(GPNode node : weaving.inputPatterns.get(patternIndex).graph().nodes().values()){
+				nodeMapping.put(node, weaving.convertNode(patternIndex, node));
+			}
+			nodeMappings.add(nodeMapping);
+		}
+		return new CombinedGraphPattern(pattern, nodeMappings);
+	}
 	
     private Weaving(List<GraphPattern> inputPatterns) {
         Objects.requireNonNull(inputPatterns);
@@ -207,6 +226,19 @@ public final class Weaving {
 		return "p" + patternIndex + "," + id;
 	}
 	
+	/**
+	 * The result of combining graph patterns.
+	 * @param pattern the combined graph pattern
+	 * @param nodeMappings for each input pattern, a mapping from its nodes to the corresponding nodes in the combined pattern
+	 * @see Weaving#combinePatternsWithNodes(List)
+	 */
+	public record CombinedGraphPattern(GraphPattern pattern, List<Map<GPNode, GPNode>> nodeMappings) {
+		public CombinedGraphPattern {
+			Objects.requireNonNull(pattern);
+			nodeMappings = nodeMappings.stream().map(Map::copyOf).toList();
+		}
+	}
+
 	private record VertexInGraphPattern(int patternId, GPNode vertex) {
 		
 	}
@@ -0,0 +1,137 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement.ID_KEY;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.EQUAL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.GPEval;
+import io.github.danthe1st.arebac.gpeval.GPEvalOptions;
+import org.junit.jupiter.api.Test;
+
+class ArcConsistencyTest {
+	private static final String USER_NODE_TYPE = "user";
+	private static final String DOCUMENT_NODE_TYPE = "document";
+	private static final String FRIEND_EDGE_TYPE = "friend";
+	private static final String OWNS_EDGE_TYPE = "owns";
+	private static final int FRIEND_COUNT = 10;
+
+	private static final GPEvalOptions ARC_CONSISTENCY = GPEvalOptions.sequential().withArcConsistency(true);
+
+	private final InMemoryGraph graph = createGraph();
+
+	@Test
+	void testSameResultsAsWithoutArcConsistency() {
+		for(GraphPattern pattern : List.of(createDocumentsOfFriendsPattern("public"), createDocumentsOfFriendsPattern("secret"), createCommonFriendsPattern())){
+			Set<List<InMemoryGraphNode>> expected = GPEval.evaluate(graph, pattern);
+			assertEquals(expected, GPEval.evaluate(graph, pattern, ARC_CONSISTENCY));
+			assertEquals(expected, GPEval.evaluate(graph, pattern, ARC_CONSISTENCY.withNeighborCacheSize(0)));
+		}
+	}
+
+	@Test
+	void testNumericNodeIds() {
+		NumericIdGraph numericGraph = new NumericIdGraph(graph);
+		for(GraphPattern pattern : List.of(createDocumentsOfFriendsPattern("public"), createDocumentsOfFriendsPattern("secret"), createCommonFriendsPattern())){
+			assertEquals(GPEval.evaluate(graph, pattern), GPEval.evaluate(numericGraph, pattern, ARC_CONSISTENCY));
+		}
+	}
+
+	@Test
+	void testNeighborsAreLoadedOnce() {
+		GraphPattern pattern = createDocumentsOfFriendsPattern("public");
+		CountingGraph countingGraph = new CountingGraph(graph);
+		Set<List<InMemoryGraphNode>> results = GPEval.evaluate(countingGraph, pattern, ARC_CONSISTENCY);
+		assertFalse(results.isEmpty());
+		// the friends of the subject and the documents of all friends are loaded before the search, the search only uses cached neighbors
+		assertEquals(2, countingGraph.getBatchLookups());
+		assertEquals(0, countingGraph.getEdgeLookups());
+	}
+
+	@Test
+	void testNoMatchWithoutSearch() {
+		CountingGraph countingGraph = new CountingGraph(graph);
+		assertEquals(Set.of(), GPEval.evaluate(countingGraph, createDocumentsOfFriendsPattern("missing"), ARC_CONSISTENCY));
+		assertEquals(2, countingGraph.getBatchLookups());
+		assertEquals(0, countingGraph.getEdgeLookups());
+	}
+
+	private InMemoryGraph createGraph() {
+		InMemoryGraphNode subject = new InMemoryGraphNode("subject", USER_NODE_TYPE, Map.of());
+		List<InMemoryGraphNode> nodes = new ArrayList<>(List.of(subject));
+		List<InMemoryGraphEdge> edges = new ArrayList<>();
+		List<InMemoryGraphNode> friends = new ArrayList<>();
+		for(int i = 0; i < FRIEND_COUNT; i++){
+			InMemoryGraphNode friend = new InMemoryGraphNode("friend" + i, USER_NODE_TYPE, Map.of());
+			nodes.add(friend);
+			friends.add(friend);
+			edges.add(new InMemoryGraphEdge(subject, friend, "subject->friend" + i, FRIEND_EDGE_TYPE, Map.of()));
+			// only every third friend owns a document
+			if(i % 3 == 0){
+				InMemoryGraphNode document = new InMemoryGraphNode("document" + i, DOCUMENT_NODE_TYPE, Map.of("visibility", attribute(i % 2 == 0 ? "public" : "secret")));
+				nodes.add(document);
+				edges.add(new InMemoryGraphEdge(friend, document, "friend" + i + "->document" + i, OWNS_EDGE_TYPE, Map.of()));
+			}
+		}
+		for(int i = 1; i < FRIEND_COUNT; i += 2){
+			edges.add(new InMemoryGraphEdge(friends.get(i), friends.get(i - 1), "friend" + i + "->friend" + (i - 1), FRIEND_EDGE_TYPE, Map.of()));
+		}
+		return new InMemoryGraph(nodes, edges);
+	}
+
+	private GraphPattern createDocumentsOfFriendsPattern(String visibility) {
+		GPNode subject = new GPNode("subject", USER_NODE_TYPE);
+		GPNode friend = new GPNode("friend", USER_NODE_TYPE);
+		GPNode document = new GPNode("document", DOCUMENT_NODE_TYPE);
+		return new GraphPattern(
+				new GPGraph(
+						List.of(subject, friend, document),
+						List.of(
+								new GPEdge(subject, friend, null, FRIEND_EDGE_TYPE),
+								new GPEdge(friend, document, null, OWNS_EDGE_TYPE)
+						)
+				),
+				List.of(),
+				Map.of(
+						subject, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute("subject"))),
+						document, List.of(new AttributeRequirement("visibility", EQUAL, attribute(visibility)))
+				),
+				Map.of(),
+				List.of(friend, document), Map.of()
+		);
+	}
+
+	private GraphPattern createCommonFriendsPattern() {
+		GPNode subject = new GPNode("subject", USER_NODE_TYPE);
+		GPNode friend = new GPNode("friend", USER_NODE_TYPE);
+		GPNode otherFriend = new GPNode("otherFriend", USER_NODE_TYPE);
+		return new GraphPattern(
+				new GPGraph(
+						List.of(subject, friend, otherFriend),
+						List.of(
+								new GPEdge(subject, friend, null, FRIEND_EDGE_TYPE),
+								new GPEdge(subject, otherFriend, null, FRIEND_EDGE_TYPE),
+								new GPEdge(friend, otherFriend, null, FRIEND_EDGE_TYPE)
+						)
+				),
+				List.of(),
+				Map.of(subject, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute("subject")))),
+				Map.of(),
+				List.of(friend, otherFriend), Map.of()
+		);
+	}
+}
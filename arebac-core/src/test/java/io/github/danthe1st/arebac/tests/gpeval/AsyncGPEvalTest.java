@@ -0,0 +1,136 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AsyncAttributedGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.AsyncGPEval;
+import io.github.danthe1st.arebac.gpeval.GPEval;
+import io.github.danthe1st.arebac.gpeval.GPEvalOptions;
+import io.github.danthe1st.arebac.gpeval.GPEvalPlan;
+import org.junit.jupiter.api.Test;
+
+class AsyncGPEvalTest {
+	private static final int USER_COUNT = 8;
+	private static final Duration LATENCY = Duration.ofMillis(2);
+
+	private final InMemoryGraph graph = FriendGraphFixture.createGraph(USER_COUNT, 3);
+
+	@Test
+	void testResultsMatchSynchronousEvaluation() throws Exception {
+		GraphPattern pattern = FriendGraphFixture.createFriendChainPattern();
+		Set<List<InMemoryGraphNode>> expected = GPEval.evaluate(graph, pattern);
+		assertFalse(expected.isEmpty());
+		assertEquals(expected, AsyncGPEval.evaluate(new LatencyGraph(graph, LATENCY), pattern).get(1, TimeUnit.MINUTES));
+	}
+
+	@Test
+	void testNeighborsOfCandidatesAreLoadedConcurrently() throws Exception {
+		GraphPattern pattern = FriendGraphFixture.createFriendChainPattern();
+		LatencyGraph latencyGraph = new LatencyGraph(graph, LATENCY);
+		AsyncGPEval.evaluate(latencyGraph, pattern).get(1, TimeUnit.MINUTES);
+		assertTrue(latencyGraph.maxRequestsInProgress.get() > 1);
+	}
+
+	@Test
+	void testWithoutNeighborCache() throws Exception {
+		GraphPattern pattern = FriendGraphFixture.createFriendChainPattern();
+		LatencyGraph latencyGraph = new LatencyGraph(graph, LATENCY);
+		GPEvalOptions options = GPEvalOptions.sequential().withNeighborCacheSize(0);
+		assertEquals(
+				GPEval.evaluate(graph, pattern),
+				AsyncGPEval.evaluate(latencyGraph, GPEvalPlan.compile(pattern), options).get(1, TimeUnit.MINUTES)
+		);
+		assertEquals(1, latencyGraph.maxRequestsInProgress.get());
+	}
+
+	@Test
+	void testParallelEvaluation() throws Exception {
+		GraphPattern pattern = FriendGraphFixture.createFriendChainPattern();
+		GPEvalOptions options = GPEvalOptions.parallel().withParallelismThreshold(1);
+		assertEquals(
+				GPEval.evaluate(graph, pattern),
+				AsyncGPEval.evaluate(new LatencyGraph(graph, LATENCY), GPEvalPlan.compile(pattern), options).get(1, TimeUnit.MINUTES)
+		);
+	}
+
+	@Test
+	void testFailedLookup() {
+		IllegalStateException failure = new IllegalStateException("lookup failed");
+		AsyncAttributedGraph<InMemoryGraphNode, InMemoryGraphEdge> failingGraph = new LatencyGraph(graph, LATENCY) {
+			@Override
+			public CompletableFuture<Collection<InMemoryGraphEdge>> findOutgoingEdges(InMemoryGraphNode node, String edgeType) {
+				return CompletableFuture.failedFuture(failure);
+			}
+		};
+		CompletableFuture<Set<List<InMemoryGraphNode>>> result = AsyncGPEval.evaluate(failingGraph, FriendGraphFixture.createFriendChainPattern());
+		ExecutionException exception = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.MINUTES));
+		assertInstanceOf(IllegalStateException.class, exception.getCause());
+		assertEquals(failure.getMessage(), exception.getCause().getMessage());
+	}
+
+	/**
+	 * An {@link AsyncAttributedGraph} answering lookups from an {@link InMemoryGraph} after a delay.
+	 */
+	private static class LatencyGraph implements AsyncAttributedGraph<InMemoryGraphNode, InMemoryGraphEdge> {
+		private static final Executor EXECUTOR = Thread::startVirtualThread;
+
+		private final InMemoryGraph delegate;
+		private final Duration latency;
+		private final AtomicInteger requestsInProgress = new AtomicInteger();
+		private final AtomicInteger maxRequestsInProgress = new AtomicInteger();
+
+		LatencyGraph(InMemoryGraph delegate, Duration latency) {
+			this.delegate = delegate;
+			this.latency = latency;
+		}
+
+		@Override
+		public CompletableFuture<InMemoryGraphNode> findNodeById(String id) {
+			return request(() -> delegate.findNodeById(id));
+		}
+
+		@Override
+		public CompletableFuture<Collection<InMemoryGraphEdge>> findOutgoingEdges(InMemoryGraphNode node, String edgeType) {
+			return request(() -> delegate.findOutgoingEdges(node, edgeType));
+		}
+
+		@Override
+		public CompletableFuture<Collection<InMemoryGraphEdge>> findIncomingEdges(InMemoryGraphNode node, String edgeType) {
+			return request(() -> delegate.findIncomingEdges(node, edgeType));
+		}
+
+		private <T> CompletableFuture<T> request(Supplier<T> lookup) {
+			maxRequestsInProgress.accumulateAndGet(requestsInProgress.incrementAndGet(), Math::max);
+			return CompletableFuture.supplyAsync(() -> {
+				try{
+					Thread.sleep(latency);
+					return lookup.get();
+				}catch(InterruptedException e){
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException(e);
+				}finally{
+					requestsInProgress.decrementAndGet();
+				}
+			}, EXECUTOR);
+		}
+	}
+}
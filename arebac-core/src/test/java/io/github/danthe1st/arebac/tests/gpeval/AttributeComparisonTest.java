@@ -0,0 +1,98 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.EQUAL;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.GREATER_THAN;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.LESS_THAN_OR_EQUAL;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.NOT_EQUAL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import io.github.danthe1st.arebac.TypeMissmatchException;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeAware;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import org.junit.jupiter.api.Test;
+
+class AttributeComparisonTest {
+	private static final int[] INTS = { Integer.MIN_VALUE, -1, 0, 1, 17, 18, Integer.MAX_VALUE };
+	private static final List<AttributeValue<?>> NON_NUMERIC_VALUES = List.of(attribute("18"), attribute(""), attribute(true), attribute(false));
+
+	@Test
+	void testIntComparisonMatchesAttributeValues() {
+		for(AttributeRequirementOperator operator : AttributeRequirementOperator.values()){
+			for(int attributeValue : INTS){
+				for(int requiredValue : INTS){
+					assertEquals(
+							operator.test(attribute(attributeValue), attribute(requiredValue)),
+							operator.test(attributeValue, attribute(requiredValue)),
+							attributeValue + " " + operator + " " + requiredValue
+					);
+				}
+			}
+		}
+	}
+
+	@Test
+	void testEqualityOfDifferentTypes() {
+		for(AttributeValue<?> requiredValue : NON_NUMERIC_VALUES){
+			assertFalse(EQUAL.test(18, requiredValue));
+			assertTrue(NOT_EQUAL.test(18, requiredValue));
+			assertEquals(EQUAL.test(attribute("18"), requiredValue), EQUAL.test("18", requiredValue));
+			assertEquals(NOT_EQUAL.test(attribute("18"), requiredValue), NOT_EQUAL.test("18", requiredValue));
+			assertEquals(EQUAL.test(attribute(true), requiredValue), EQUAL.test(true, requiredValue));
+			assertEquals(NOT_EQUAL.test(attribute(false), requiredValue), NOT_EQUAL.test(false, requiredValue));
+		}
+		assertFalse(EQUAL.test("18", attribute(18)));
+		assertFalse(EQUAL.test(true, attribute(1)));
+	}
+
+	@Test
+	void testNonNumericRangeComparison() {
+		assertThrows(TypeMissmatchException.class, () -> GREATER_THAN.test(attribute("a"), attribute(1)));
+		assertThrows(TypeMissmatchException.class, () -> GREATER_THAN.test("a", attribute(1)));
+		assertThrows(TypeMissmatchException.class, () -> LESS_THAN_OR_EQUAL.test(true, attribute(1)));
+		assertThrows(TypeMissmatchException.class, () -> LESS_THAN_OR_EQUAL.test(1, attribute("a")));
+		assertThrows(TypeMissmatchException.class, () -> LESS_THAN_OR_EQUAL.test(attribute(1), attribute("a")));
+	}
+
+	@Test
+	void testDefaultMatches() {
+		InMemoryGraphNode node = new InMemoryGraphNode("node", "user", Map.of("age", attribute(18), "name", attribute("someone")));
+		assertTrue(node.matches("age", GREATER_THAN, attribute(17)));
+		assertFalse(node.matches("age", GREATER_THAN, attribute(18)));
+		assertTrue(node.matches("name", NOT_EQUAL, attribute("other")));
+		// missing attributes never match
+		assertFalse(node.matches("other", EQUAL, attribute(18)));
+		assertFalse(node.matches("other", NOT_EQUAL, attribute(18)));
+	}
+
+	@Test
+	void testRequirementUsesMatches() {
+		AttributeAware element = new AttributeAware() {
+			@Override
+			public String id() {
+				return "element";
+			}
+
+			@Override
+			public AttributeValue<?> getAttribute(String key) {
+				throw new AssertionError("attribute should be compared using matches");
+			}
+
+			@Override
+			public boolean matches(String key, AttributeRequirementOperator operator, AttributeValue<?> value) {
+				return operator.test(18, value);
+			}
+		};
+		assertTrue(new AttributeRequirement("age", GREATER_THAN, attribute(17)).evaluate(element));
+		assertFalse(new AttributeRequirement("age", EQUAL, attribute(17)).evaluate(element));
+	}
+}
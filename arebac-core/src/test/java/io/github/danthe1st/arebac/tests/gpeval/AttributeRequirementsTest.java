@@ -0,0 +1,156 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement.ID_KEY;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.EQUAL;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.GREATER_THAN;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.GREATER_THAN_OR_EQUAL;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.LESS_THAN;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.LESS_THAN_OR_EQUAL;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.NOT_EQUAL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.danthe1st.arebac.TypeMissmatchException;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
+import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.GPEval;
+import org.junit.jupiter.api.Test;
+
+class AttributeRequirementsTest {
+	private static final String USER_NODE_TYPE = "user";
+	private static final String FRIEND_EDGE_TYPE = "friend";
+	private static final String AGE_ATTRIBUTE = "age";
+	private static final String NAME_ATTRIBUTE = "name";
+	private static final int[] AGES = { Integer.MIN_VALUE, 0, 17, 18, 19, 30, 31, Integer.MAX_VALUE };
+
+	private final List<InMemoryGraphNode> friends = new ArrayList<>();
+	private final InMemoryGraph graph = createGraph();
+
+	@Test
+	void testCombinedRange() {
+		assertEquals(
+				friendsWithAges(19, 30),
+				evaluate(
+						new AttributeRequirement(AGE_ATTRIBUTE, GREATER_THAN, attribute(18)),
+						new AttributeRequirement(AGE_ATTRIBUTE, LESS_THAN_OR_EQUAL, attribute(30))
+				)
+		);
+		assertEquals(
+				friendsWithAges(18, 19, 30),
+				evaluate(
+						new AttributeRequirement(AGE_ATTRIBUTE, LESS_THAN, attribute(31)),
+						new AttributeRequirement(AGE_ATTRIBUTE, GREATER_THAN_OR_EQUAL, attribute(18)),
+						new AttributeRequirement(AGE_ATTRIBUTE, LESS_THAN, attribute(Integer.MAX_VALUE))
+				)
+		);
+	}
+
+	@Test
+	void testRangeBoundaries() {
+		assertEquals(friendsWithAges(Integer.MIN_VALUE), evaluate(new AttributeRequirement(AGE_ATTRIBUTE, LESS_THAN_OR_EQUAL, attribute(Integer.MIN_VALUE))));
+		assertEquals(Set.of(), evaluate(new AttributeRequirement(AGE_ATTRIBUTE, LESS_THAN, attribute(Integer.MIN_VALUE))));
+		assertEquals(friendsWithAges(Integer.MAX_VALUE), evaluate(new AttributeRequirement(AGE_ATTRIBUTE, GREATER_THAN_OR_EQUAL, attribute(Integer.MAX_VALUE))));
+		assertEquals(Set.of(), evaluate(new AttributeRequirement(AGE_ATTRIBUTE, GREATER_THAN, attribute(Integer.MAX_VALUE))));
+	}
+
+	@Test
+	void testContradictingRange() {
+		assertEquals(
+				Set.of(),
+				evaluate(
+						new AttributeRequirement(AGE_ATTRIBUTE, GREATER_THAN, attribute(30)),
+						new AttributeRequirement(AGE_ATTRIBUTE, LESS_THAN, attribute(18))
+				)
+		);
+	}
+
+	@Test
+	void testEqualityAndRange() {
+		assertEquals(
+				friendsWithAges(30),
+				evaluate(
+						new AttributeRequirement(AGE_ATTRIBUTE, GREATER_THAN, attribute(18)),
+						new AttributeRequirement(NAME_ATTRIBUTE, EQUAL, attribute("friend30")),
+						new AttributeRequirement(AGE_ATTRIBUTE, NOT_EQUAL, attribute(19))
+				)
+		);
+	}
+
+	@Test
+	void testNotEqual() {
+		assertEquals(
+				friendsWithAges(Integer.MIN_VALUE, 0, 17, 18, 31, Integer.MAX_VALUE),
+				evaluate(
+						new AttributeRequirement(AGE_ATTRIBUTE, NOT_EQUAL, attribute(19)),
+						new AttributeRequirement(AGE_ATTRIBUTE, NOT_EQUAL, attribute(30))
+				)
+		);
+	}
+
+	@Test
+	void testMissingAttribute() {
+		assertEquals(Set.of(), evaluate(new AttributeRequirement("missing", NOT_EQUAL, attribute(0))));
+		assertEquals(Set.of(), evaluate(new AttributeRequirement("missing", GREATER_THAN, attribute(0))));
+	}
+
+	@Test
+	void testRangeOnNonNumericAttribute() {
+		assertThrows(TypeMissmatchException.class, () -> evaluate(new AttributeRequirement(NAME_ATTRIBUTE, GREATER_THAN, attribute(0))));
+	}
+
+	private Set<List<InMemoryGraphNode>> friendsWithAges(int... ages) {
+		Set<List<InMemoryGraphNode>> result = new HashSet<>();
+		for(int age : ages){
+			result.add(List.of(friends.get(Arrays.binarySearch(AGES, age))));
+		}
+		return result;
+	}
+
+	private Set<List<InMemoryGraphNode>> evaluate(AttributeRequirement... friendRequirements) {
+		GPNode requestor = new GPNode("requestor", USER_NODE_TYPE);
+		GPNode friend = new GPNode("friend", USER_NODE_TYPE);
+		GraphPattern pattern = new GraphPattern(
+				new GPGraph(
+						List.of(requestor, friend),
+						List.of(new GPEdge(requestor, friend, null, FRIEND_EDGE_TYPE))
+				),
+				List.of(),
+				Map.of(
+						requestor, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute("requestor"))),
+						friend, List.of(friendRequirements)
+				),
+				Map.of(),
+				List.of(friend), Map.of()
+		);
+		return GPEval.evaluate(graph, pattern);
+	}
+
+	private InMemoryGraph createGraph() {
+		InMemoryGraphNode requestor = new InMemoryGraphNode("requestor", USER_NODE_TYPE, Map.of());
+		List<InMemoryGraphNode> nodes = new ArrayList<>(List.of(requestor));
+		List<InMemoryGraphEdge> edges = new ArrayList<>();
+		for(int age : AGES){
+			Map<String, AttributeValue<?>> attributes = Map.of(AGE_ATTRIBUTE, attribute(age), NAME_ATTRIBUTE, attribute("friend" + age));
+			InMemoryGraphNode friend = new InMemoryGraphNode("friend" + age, USER_NODE_TYPE, attributes);
+			friends.add(friend);
+			nodes.add(friend);
+			edges.add(new InMemoryGraphEdge(requestor, friend, "r->" + age, FRIEND_EDGE_TYPE, Map.of()));
+		}
+		return new InMemoryGraph(nodes, edges);
+	}
+}
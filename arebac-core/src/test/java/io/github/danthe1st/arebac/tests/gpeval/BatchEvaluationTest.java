@@ -0,0 +1,125 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement.ID_KEY;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.EQUAL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
+import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.GPEval;
+import io.github.danthe1st.arebac.gpeval.PreparedGraphPattern;
+import org.junit.jupiter.api.Test;
+
+class BatchEvaluationTest {
+	private static final String USER_NODE_TYPE = "user";
+	private static final String DOCUMENT_NODE_TYPE = "document";
+	private static final String FRIEND_EDGE_TYPE = "friend";
+	private static final String OWNS_EDGE_TYPE = "owns";
+	private static final String SUBJECT_ID = "subject";
+	private static final int DOCUMENT_COUNT = 10;
+
+	private final InMemoryGraph graph = createGraph();
+
+	@Test
+	void testEvaluateAll() {
+		List<GraphPattern> patterns = new ArrayList<>();
+		for(int i = 0; i < DOCUMENT_COUNT; i++){
+			patterns.add(createPattern(attribute("document" + i)));
+		}
+		// the same document is checked twice
+		patterns.add(createPattern(attribute("document0")));
+
+		CountingGraph separateGraph = new CountingGraph(graph);
+		List<Set<List<InMemoryGraphNode>>> expectedResults = new ArrayList<>();
+		for(GraphPattern pattern : patterns){
+			expectedResults.add(GPEval.evaluate(separateGraph, pattern));
+		}
+		CountingGraph batchGraph = new CountingGraph(graph);
+		assertEquals(expectedResults, GPEval.evaluateAll(batchGraph, patterns));
+		assertTrue(batchGraph.getEdgeLookups() < separateGraph.getEdgeLookups());
+		// neighbor lookups are still done by the graph but only once for every node and edge
+		assertTrue(batchGraph.getNeighborLookups() > 0);
+		assertTrue(batchGraph.getNeighborLookups() < separateGraph.getNeighborLookups());
+
+		// odd documents are owned by friends of the subject
+		for(int i = 0; i < DOCUMENT_COUNT; i++){
+			assertEquals(i % 2 == 1, !expectedResults.get(i).isEmpty());
+		}
+	}
+
+	@Test
+	void testPreparedEvaluateAll() {
+		PreparedGraphPattern prepared = PreparedGraphPattern.prepare(createPattern(AttributeValue.parameter("documentId")));
+		List<Map<String, AttributeValue<?>>> parameterSets = new ArrayList<>();
+		List<Set<List<InMemoryGraphNode>>> expectedResults = new ArrayList<>();
+		CountingGraph separateGraph = new CountingGraph(graph);
+		for(int i = 0; i < DOCUMENT_COUNT; i++){
+			Map<String, AttributeValue<?>> parameters = Map.of("documentId", attribute("document" + i));
+			parameterSets.add(parameters);
+			expectedResults.add(prepared.evaluate(separateGraph, parameters));
+		}
+		CountingGraph batchGraph = new CountingGraph(graph);
+		assertEquals(expectedResults, prepared.evaluateAll(batchGraph, parameterSets));
+		assertTrue(batchGraph.getEdgeLookups() < separateGraph.getEdgeLookups());
+		assertTrue(batchGraph.getNeighborLookups() > 0);
+		assertTrue(batchGraph.getNeighborLookups() < separateGraph.getNeighborLookups());
+	}
+
+	private InMemoryGraph createGraph() {
+		InMemoryGraphNode subject = new InMemoryGraphNode(SUBJECT_ID, USER_NODE_TYPE, Map.of());
+		List<InMemoryGraphNode> nodes = new ArrayList<>(List.of(subject));
+		List<InMemoryGraphEdge> edges = new ArrayList<>();
+		List<InMemoryGraphNode> friends = new ArrayList<>();
+		for(int i = 0; i < 3; i++){
+			InMemoryGraphNode friend = new InMemoryGraphNode("friend" + i, USER_NODE_TYPE, Map.of());
+			friends.add(friend);
+			nodes.add(friend);
+			edges.add(new InMemoryGraphEdge(subject, friend, "s->f" + i, FRIEND_EDGE_TYPE, Map.of()));
+		}
+		InMemoryGraphNode stranger = new InMemoryGraphNode("stranger", USER_NODE_TYPE, Map.of());
+		nodes.add(stranger);
+		for(int i = 0; i < DOCUMENT_COUNT; i++){
+			InMemoryGraphNode document = new InMemoryGraphNode("document" + i, DOCUMENT_NODE_TYPE, Map.of());
+			nodes.add(document);
+			InMemoryGraphNode owner = i % 2 == 1 ? friends.get(i % friends.size()) : stranger;
+			edges.add(new InMemoryGraphEdge(owner, document, owner.id() + "->d" + i, OWNS_EDGE_TYPE, Map.of()));
+		}
+		return new InMemoryGraph(nodes, edges);
+	}
+
+	private GraphPattern createPattern(AttributeValue<?> documentId) {
+		GPNode subject = new GPNode("subject", USER_NODE_TYPE);
+		GPNode friend = new GPNode("friend", USER_NODE_TYPE);
+		GPNode document = new GPNode("document", DOCUMENT_NODE_TYPE);
+		return new GraphPattern(
+				new GPGraph(
+						List.of(subject, friend, document),
+						List.of(
+								new GPEdge(subject, friend, null, FRIEND_EDGE_TYPE),
+								new GPEdge(friend, document, null, OWNS_EDGE_TYPE)
+						)
+				),
+				List.of(),
+				Map.of(
+						subject, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute(SUBJECT_ID))),
+						document, List.of(new AttributeRequirement(ID_KEY, EQUAL, documentId))
+				),
+				Map.of(),
+				List.of(friend), Map.of()
+		);
+	}
+}
@@ -0,0 +1,77 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+
+/**
+ * Wraps an {@link InMemoryGraph} and counts how often edges and neighbors are looked up.
+ *
+ * Loading the edges of multiple nodes at once counts as a single batch lookup.
+ */
+class CountingGraph implements AttributedGraph<InMemoryGraphNode, InMemoryGraphEdge> {
+	private final InMemoryGraph delegate;
+	private int edgeLookups = 0;
+	private int batchLookups = 0;
+	private int neighborLookups = 0;
+
+	CountingGraph(InMemoryGraph delegate) {
+		this.delegate = delegate;
+	}
+
+	@Override
+	public InMemoryGraphNode findNodeById(String id) {
+		return delegate.findNodeById(id);
+	}
+
+	@Override
+	public Collection<InMemoryGraphEdge> findOutgoingEdges(InMemoryGraphNode node, String edgeType) {
+		edgeLookups++;
+		return delegate.findOutgoingEdges(node, edgeType);
+	}
+
+	@Override
+	public Collection<InMemoryGraphEdge> findIncomingEdges(InMemoryGraphNode node, String edgeType) {
+		edgeLookups++;
+		return delegate.findIncomingEdges(node, edgeType);
+	}
+
+	@Override
+	public Map<InMemoryGraphNode, Collection<InMemoryGraphEdge>> findEdges(Collection<InMemoryGraphNode> nodes, boolean outgoing, String edgeType) {
+		batchLookups++;
+		Map<InMemoryGraphNode, Collection<InMemoryGraphEdge>> edges = new HashMap<>();
+		for(InMemoryGraphNode node : nodes){
+			edges.put(node, outgoing ? delegate.findOutgoingEdges(node, edgeType) : delegate.findIncomingEdges(node, edgeType));
+		}
+		return edges;
+	}
+
+	@Override
+	public Collection<InMemoryGraphNode> findNeighbors(InMemoryGraphNode node, boolean outgoing, String edgeType, String neighborNodeType, List<AttributeRequirement> edgeRequirements, List<AttributeRequirement> neighborRequirements) {
+		neighborLookups++;
+		return AttributedGraph.super.findNeighbors(node, outgoing, edgeType, neighborNodeType, edgeRequirements, neighborRequirements);
+	}
+
+	int getEdgeLookups() {
+		return edgeLookups;
+	}
+
+	int getBatchLookups() {
+		return batchLookups;
+	}
+
+	int getNeighborLookups() {
+		return neighborLookups;
+	}
+
+	void resetEdgeLookups() {
+		edgeLookups = 0;
+	}
+}
@@ -0,0 +1,142 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement.ID_KEY;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.EQUAL;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.GREATER_THAN;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.GPEval;
+import org.junit.jupiter.api.Test;
+
+class FilterCandidatesTest {
+	private static final String USER_NODE_TYPE = "user";
+	private static final String DOCUMENT_NODE_TYPE = "document";
+	private static final String FRIEND_EDGE_TYPE = "friend";
+	private static final String OWNS_EDGE_TYPE = "owns";
+	private static final String SUBJECT_ID = "subject";
+	private static final int DOCUMENT_COUNT = 50;
+
+	private final InMemoryGraphNode subject = new InMemoryGraphNode(SUBJECT_ID, USER_NODE_TYPE, Map.of());
+	private final List<InMemoryGraphNode> documents = new ArrayList<>();
+	private final InMemoryGraph graph = createGraph();
+
+	private final GPNode subjectNode = new GPNode("subject", USER_NODE_TYPE);
+	private final GPNode friendNode = new GPNode("friend", USER_NODE_TYPE);
+	private final GPNode documentNode = new GPNode("document", DOCUMENT_NODE_TYPE);
+
+	@Test
+	void testFilterMatchesSeparateEvaluations() {
+		Set<InMemoryGraphNode> expected = new HashSet<>();
+		CountingGraph separateGraph = new CountingGraph(graph);
+		for(InMemoryGraphNode document : documents){
+			GraphPattern pattern = createPattern(List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute(document.id()))));
+			if(GPEval.exists(separateGraph, pattern)){
+				expected.add(document);
+			}
+		}
+		assertTrue(expected.size() > 0 && expected.size() < DOCUMENT_COUNT);
+
+		CountingGraph filterGraph = new CountingGraph(graph);
+		List<InMemoryGraphNode> candidates = new ArrayList<>(documents);
+		// duplicates and nodes of other types are ignored
+		candidates.add(documents.get(1));
+		candidates.add(subject);
+		assertEquals(expected, GPEval.filter(filterGraph, createPattern(List.of()), documentNode, candidates));
+		assertTrue(filterGraph.getEdgeLookups() < separateGraph.getEdgeLookups());
+	}
+
+	@Test
+	void testFilterWithAttributeRequirements() {
+		Set<InMemoryGraphNode> expected = new HashSet<>();
+		for(int i = 41; i < DOCUMENT_COUNT; i++){
+			// documents of every second user are owned by friends of the subject
+			if(i % 5 % 2 == 0){
+				expected.add(documents.get(i));
+			}
+		}
+		GraphPattern pattern = createPattern(List.of(new AttributeRequirement("size", GREATER_THAN, attribute(40))));
+		assertEquals(expected, GPEval.filter(graph, pattern, documentNode, documents));
+	}
+
+	@Test
+	void testFilterFixedNode() {
+		GraphPattern pattern = createPattern(List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute("document2"))));
+		assertEquals(Set.of(documents.get(2)), GPEval.filter(graph, pattern, documentNode, documents));
+		assertEquals(Set.of(), GPEval.filter(graph, pattern, documentNode, documents.subList(3, DOCUMENT_COUNT)));
+		// document1 is not owned by a friend of the subject
+		GraphPattern otherPattern = createPattern(List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute("document1"))));
+		assertEquals(Set.of(), GPEval.filter(graph, otherPattern, documentNode, documents));
+	}
+
+	@Test
+	void testFilterOtherNodes() {
+		// the subject is the only node that can be assigned to the subject node
+		assertEquals(Set.of(subject), GPEval.filter(graph, createPattern(List.of()), subjectNode, List.of(subject, documents.get(0))));
+		assertEquals(Set.of(), GPEval.filter(graph, createPattern(List.of()), documentNode, List.of()));
+	}
+
+	@Test
+	void testNodeNotInPattern() {
+		GraphPattern pattern = createPattern(List.of());
+		GPNode unknownNode = new GPNode("unknown", DOCUMENT_NODE_TYPE);
+		assertThrows(IllegalArgumentException.class, () -> GPEval.filter(graph, pattern, unknownNode, documents));
+	}
+
+	private InMemoryGraph createGraph() {
+		List<InMemoryGraphNode> nodes = new ArrayList<>(List.of(subject));
+		List<InMemoryGraphEdge> edges = new ArrayList<>();
+		List<InMemoryGraphNode> users = new ArrayList<>();
+		for(int i = 0; i < 5; i++){
+			InMemoryGraphNode user = new InMemoryGraphNode("user" + i, USER_NODE_TYPE, Map.of());
+			users.add(user);
+			nodes.add(user);
+			if(i % 2 == 0){
+				edges.add(new InMemoryGraphEdge(subject, user, "s->u" + i, FRIEND_EDGE_TYPE, Map.of()));
+			}
+		}
+		for(int i = 0; i < DOCUMENT_COUNT; i++){
+			InMemoryGraphNode document = new InMemoryGraphNode("document" + i, DOCUMENT_NODE_TYPE, Map.of("size", attribute(i)));
+			documents.add(document);
+			nodes.add(document);
+			InMemoryGraphNode owner = users.get(i % users.size());
+			edges.add(new InMemoryGraphEdge(owner, document, owner.id() + "->d" + i, OWNS_EDGE_TYPE, Map.of()));
+		}
+		return new InMemoryGraph(nodes, edges);
+	}
+
+	private GraphPattern createPattern(List<AttributeRequirement> documentRequirements) {
+		return new GraphPattern(
+				new GPGraph(
+						List.of(subjectNode, friendNode, documentNode),
+						List.of(
+								new GPEdge(subjectNode, friendNode, null, FRIEND_EDGE_TYPE),
+								new GPEdge(friendNode, documentNode, null, OWNS_EDGE_TYPE)
+						)
+				),
+				List.of(),
+				Map.of(
+						subjectNode, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute(SUBJECT_ID))),
+						documentNode, documentRequirements
+				),
+				Map.of(),
+				List.of(friendNode), Map.of()
+		);
+	}
+}
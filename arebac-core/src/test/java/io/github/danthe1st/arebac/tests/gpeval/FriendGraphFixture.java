@@ -0,0 +1,94 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement.ID_KEY;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.EQUAL;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.GREATER_THAN;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+
+/**
+ * Creates densely connected graphs of users and graph patterns matching chains of friends in these graphs.
+ */
+final class FriendGraphFixture {
+	static final String USER_NODE_TYPE = "user";
+	static final String FRIEND_EDGE_TYPE = "friend";
+
+	private FriendGraphFixture() {
+	}
+
+	/**
+	 * Creates a graph with the users {@code user0} to {@code user<userCount-1>}.
+	 *
+	 * There is a {@code friend} edge from user {@code i} to user {@code j} unless {@code i == j} or {@code (i + j) % edgeModulus == 0}.
+	 * Every edge has a {@code since} attribute with the value {@code i * j}.
+	 * @param userCount the number of users
+	 * @param edgeModulus the modulus deciding which edges are left out
+	 * @return the created graph
+	 */
+	static InMemoryGraph createGraph(int userCount, int edgeModulus) {
+		List<InMemoryGraphNode> users = new ArrayList<>();
+		for(int i = 0; i < userCount; i++){
+			users.add(new InMemoryGraphNode("user" + i, USER_NODE_TYPE, Map.of()));
+		}
+		List<InMemoryGraphEdge> edges = new ArrayList<>();
+		for(int i = 0; i < userCount; i++){
+			for(int j = 0; j < userCount; j++){
+				if(i != j && (i + j) % edgeModulus != 0){
+					edges.add(new InMemoryGraphEdge(users.get(i), users.get(j), i + "->" + j, FRIEND_EDGE_TYPE, Map.of("since", attribute(i * j))));
+				}
+			}
+		}
+		return new InMemoryGraph(users, edges);
+	}
+
+	/**
+	 * Creates a graph pattern returning chains of three friends starting at {@code user0}.
+	 * @return the created graph pattern
+	 */
+	static GraphPattern createFriendChainPattern() {
+		return createFriendChainPattern(List.of());
+	}
+
+	/**
+	 * Creates a graph pattern returning chains of three friends starting at {@code user0} where the last friendship is newer than a specific value.
+	 * @param minSince the value the {@code since} attribute of the last edge needs to be greater than
+	 * @return the created graph pattern
+	 */
+	static GraphPattern createFriendChainPattern(int minSince) {
+		return createFriendChainPattern(List.of(new AttributeRequirement("since", GREATER_THAN, attribute(minSince))));
+	}
+
+	private static GraphPattern createFriendChainPattern(List<AttributeRequirement> lastEdgeRequirements) {
+		GPNode subject = new GPNode("subject", USER_NODE_TYPE);
+		GPNode first = new GPNode("first", USER_NODE_TYPE);
+		GPNode second = new GPNode("second", USER_NODE_TYPE);
+		GPNode third = new GPNode("third", USER_NODE_TYPE);
+		GPEdge thirdEdge = new GPEdge(second, third, null, FRIEND_EDGE_TYPE);
+		return new GraphPattern(
+				new GPGraph(
+						List.of(subject, first, second, third),
+						List.of(
+								new GPEdge(subject, first, null, FRIEND_EDGE_TYPE),
+								new GPEdge(first, second, null, FRIEND_EDGE_TYPE),
+								thirdEdge
+						)
+				),
+				List.of(),
+				Map.of(subject, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute("user0")))),
+				Map.of(thirdEdge, lastEdgeRequirements),
+				List.of(first, second, third), Map.of()
+		);
+	}
+}
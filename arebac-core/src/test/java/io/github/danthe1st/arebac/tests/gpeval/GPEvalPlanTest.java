@@ -0,0 +1,82 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement.ID_KEY;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.EQUAL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.MutualExclusionConstraint;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.GPEval;
+import io.github.danthe1st.arebac.gpeval.GPEvalPlan;
+import org.junit.jupiter.api.Test;
+
+class GPEvalPlanTest {
+	private static final String REQUESTOR_ID = "UID";
+	private static final String NODE_TYPE = "user";
+	private static final String FRIEND_EDGE_TYPE = "friend";
+
+	@Test
+	void testPlanCanBeReusedForDifferentGraphs() {
+		GraphPattern pattern = createFriendOfFriendPattern();
+		GPEvalPlan plan = GPEvalPlan.compile(pattern);
+		assertSame(pattern, plan.pattern());
+
+		InMemoryGraphNode requestor = new InMemoryGraphNode(REQUESTOR_ID, NODE_TYPE, Map.of());
+		InMemoryGraphNode friend = new InMemoryGraphNode("friend", NODE_TYPE, Map.of());
+		InMemoryGraphNode friendOfFriend = new InMemoryGraphNode("fof", NODE_TYPE, Map.of());
+		InMemoryGraph chainGraph = new InMemoryGraph(
+				List.of(requestor, friend, friendOfFriend),
+				List.of(
+						new InMemoryGraphEdge(requestor, friend, "r->f", FRIEND_EDGE_TYPE, Map.of()),
+						new InMemoryGraphEdge(friend, friendOfFriend, "f->fof", FRIEND_EDGE_TYPE, Map.of())
+				)
+		);
+		InMemoryGraph mutualFriendsGraph = new InMemoryGraph(
+				List.of(requestor, friend),
+				List.of(
+						new InMemoryGraphEdge(requestor, friend, "r->f", FRIEND_EDGE_TYPE, Map.of()),
+						new InMemoryGraphEdge(friend, requestor, "f->r", FRIEND_EDGE_TYPE, Map.of())
+				)
+		);
+
+		for(int i = 0; i < 3; i++){
+			assertEquals(Set.of(List.of(friendOfFriend)), GPEval.evaluate(chainGraph, plan));
+			// the requestor is excluded by the mutual exclusion constraint
+			assertEquals(Set.of(), GPEval.evaluate(mutualFriendsGraph, plan));
+		}
+		assertEquals(GPEval.evaluate(chainGraph, pattern), GPEval.evaluate(chainGraph, plan));
+	}
+
+	private GraphPattern createFriendOfFriendPattern() {
+		GPNode requestor = new GPNode("requestor", NODE_TYPE);
+		GPNode friend = new GPNode("friend", NODE_TYPE);
+		GPNode friendOfFriend = new GPNode("friendOfFriend", NODE_TYPE);
+
+		return new GraphPattern(
+				new GPGraph(
+						List.of(requestor, friend, friendOfFriend),
+						List.of(
+								new GPEdge(requestor, friend, null, FRIEND_EDGE_TYPE),
+								new GPEdge(friend, friendOfFriend, null, FRIEND_EDGE_TYPE)
+						)
+				),
+				List.of(new MutualExclusionConstraint(requestor, friendOfFriend)),
+				Map.of(requestor, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute(REQUESTOR_ID)))),
+				Map.of(),
+				List.of(friendOfFriend), Map.of()
+		);
+	}
+}
@@ -0,0 +1,174 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement.ID_KEY;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.EQUAL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.MutualExclusionConstraint;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.EvaluationStrategy;
+import io.github.danthe1st.arebac.gpeval.GPEval;
+import io.github.danthe1st.arebac.gpeval.GPEvalOptions;
+import io.github.danthe1st.arebac.gpeval.GPEvalPlan;
+import io.github.danthe1st.arebac.gpeval.GenericJoin;
+import org.junit.jupiter.api.Test;
+
+class GenericJoinTest {
+	private static final String USER_NODE_TYPE = "user";
+	private static final String FRIEND_EDGE_TYPE = "friend";
+	private static final int USER_COUNT = 12;
+
+	private final InMemoryGraph graph = createGraph();
+
+	@Test
+	void testSameResultsAsGPEval() {
+		for(GraphPattern pattern : List.of(createTwoCommonFriendsPattern(), createCommonFriendPattern(), createFriendOfFriendPattern())){
+			Set<List<InMemoryGraphNode>> expected = GPEval.evaluate(graph, pattern);
+			assertFalse(expected.isEmpty());
+			assertEquals(expected, GenericJoin.evaluate(graph, pattern));
+			assertEquals(expected, GPEval.evaluate(graph, pattern, GPEvalOptions.sequential().withEvaluationStrategy(EvaluationStrategy.GENERIC_JOIN)));
+			assertEquals(expected, GPEval.evaluate(graph, pattern, GPEvalOptions.sequential().withNeighborCacheSize(0).withEvaluationStrategy(EvaluationStrategy.GENERIC_JOIN_FOR_CYCLIC_PATTERNS)));
+		}
+	}
+
+	@Test
+	void testCyclicPatterns() {
+		assertTrue(GPEvalPlan.compile(createTwoCommonFriendsPattern()).isCyclic());
+		assertTrue(GPEvalPlan.compile(createCommonFriendPattern()).isCyclic());
+		assertFalse(GPEvalPlan.compile(createFriendOfFriendPattern()).isCyclic());
+	}
+
+	@Test
+	void testEdgesInBothDirectionsAreNotCyclic() {
+		GPNode requestor = new GPNode("requestor", USER_NODE_TYPE);
+		GPNode friend = new GPNode("friend", USER_NODE_TYPE);
+		GraphPattern pattern = new GraphPattern(
+				new GPGraph(
+						List.of(requestor, friend),
+						List.of(
+								new GPEdge(requestor, friend, null, FRIEND_EDGE_TYPE),
+								new GPEdge(friend, requestor, null, FRIEND_EDGE_TYPE)
+						)
+				),
+				List.of(),
+				Map.of(requestor, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute("user0")))),
+				Map.of(),
+				List.of(friend), Map.of()
+		);
+		assertFalse(GPEvalPlan.compile(pattern).isCyclic());
+		assertEquals(GPEval.evaluate(graph, pattern), GenericJoin.evaluate(graph, pattern));
+	}
+
+	@Test
+	void testNodeNotConnectedToFixedNode() {
+		GPNode node = new GPNode("node", USER_NODE_TYPE);
+		GraphPattern pattern = new GraphPattern(new GPGraph(List.of(node), List.of()), List.of(), Map.of(), Map.of(), List.of(node), Map.of());
+		assertThrows(IllegalStateException.class, () -> GenericJoin.evaluate(graph, pattern));
+	}
+
+	private InMemoryGraph createGraph() {
+		List<InMemoryGraphNode> users = new ArrayList<>();
+		for(int i = 0; i < USER_COUNT; i++){
+			users.add(new InMemoryGraphNode("user" + i, USER_NODE_TYPE, Map.of()));
+		}
+		List<InMemoryGraphEdge> edges = new ArrayList<>();
+		for(int i = 0; i < USER_COUNT; i++){
+			for(int j = 0; j < USER_COUNT; j++){
+				// every user is a friend of the users with an index differing by 1, 2 or 5
+				int difference = Math.abs(i - j);
+				if(difference == 1 || difference == 2 || difference == 5){
+					edges.add(new InMemoryGraphEdge(users.get(i), users.get(j), "user" + i + "->user" + j, FRIEND_EDGE_TYPE, Map.of()));
+				}
+			}
+		}
+		return new InMemoryGraph(users, edges);
+	}
+
+	/**
+	 * Creates a graph pattern finding users that have two different friends in common with the requestor (a cycle of 4 nodes).
+	 * @return the graph pattern returning the other user
+	 */
+	private GraphPattern createTwoCommonFriendsPattern() {
+		GPNode requestor = new GPNode("requestor", USER_NODE_TYPE);
+		GPNode target = new GPNode("target", USER_NODE_TYPE);
+		GPNode firstFriend = new GPNode("f1", USER_NODE_TYPE);
+		GPNode secondFriend = new GPNode("f2", USER_NODE_TYPE);
+		return new GraphPattern(
+				new GPGraph(
+						List.of(requestor, target, firstFriend, secondFriend),
+						List.of(
+								new GPEdge(requestor, firstFriend, null, FRIEND_EDGE_TYPE),
+								new GPEdge(requestor, secondFriend, null, FRIEND_EDGE_TYPE),
+								new GPEdge(firstFriend, target, null, FRIEND_EDGE_TYPE),
+								new GPEdge(secondFriend, target, null, FRIEND_EDGE_TYPE)
+						)
+				),
+				List.of(
+						new MutualExclusionConstraint(firstFriend, secondFriend),
+						new MutualExclusionConstraint(requestor, target)
+				),
+				Map.of(requestor, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute("user3")))),
+				Map.of(),
+				List.of(target), Map.of()
+		);
+	}
+
+	/**
+	 * Creates a graph pattern finding pairs of friends of the requestor that are friends of each other (a triangle).
+	 * @return the graph pattern returning both friends
+	 */
+	private GraphPattern createCommonFriendPattern() {
+		GPNode requestor = new GPNode("requestor", USER_NODE_TYPE);
+		GPNode friend = new GPNode("friend", USER_NODE_TYPE);
+		GPNode otherFriend = new GPNode("otherFriend", USER_NODE_TYPE);
+		return new GraphPattern(
+				new GPGraph(
+						List.of(requestor, friend, otherFriend),
+						List.of(
+								new GPEdge(requestor, friend, null, FRIEND_EDGE_TYPE),
+								new GPEdge(requestor, otherFriend, null, FRIEND_EDGE_TYPE),
+								new GPEdge(friend, otherFriend, null, FRIEND_EDGE_TYPE)
+						)
+				),
+				List.of(),
+				Map.of(requestor, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute("user0")))),
+				Map.of(),
+				List.of(friend, otherFriend), Map.of()
+		);
+	}
+
+	private GraphPattern createFriendOfFriendPattern() {
+		GPNode requestor = new GPNode("requestor", USER_NODE_TYPE);
+		GPNode friend = new GPNode("friend", USER_NODE_TYPE);
+		GPNode friendOfFriend = new GPNode("friendOfFriend", USER_NODE_TYPE);
+		return new GraphPattern(
+				new GPGraph(
+						List.of(requestor, friend, friendOfFriend),
+						List.of(
+								new GPEdge(requestor, friend, null, FRIEND_EDGE_TYPE),
+								new GPEdge(friend, friendOfFriend, null, FRIEND_EDGE_TYPE)
+						)
+				),
+				List.of(new MutualExclusionConstraint(requestor, friendOfFriend)),
+				Map.of(requestor, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute("user0")))),
+				Map.of(),
+				List.of(friendOfFriend), Map.of()
+		);
+	}
+}
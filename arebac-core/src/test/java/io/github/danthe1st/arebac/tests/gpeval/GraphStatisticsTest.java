@@ -0,0 +1,85 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.GraphStatistics;
+import io.github.danthe1st.arebac.data.commongraph.attributed.GraphStatistics.AttributeHistogram;
+import io.github.danthe1st.arebac.data.commongraph.attributed.GraphStatistics.Degree;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import org.junit.jupiter.api.Test;
+
+class GraphStatisticsTest {
+	private static final String USER_NODE_TYPE = "user";
+	private static final String DOCUMENT_NODE_TYPE = "document";
+	private static final String FRIEND_EDGE_TYPE = "friend";
+	private static final String OWNS_EDGE_TYPE = "owns";
+
+	private final GraphStatistics statistics = createGraph().getStatistics();
+
+	@Test
+	void testNodeCounts() {
+		assertEquals(3, statistics.getNodeCount(USER_NODE_TYPE));
+		assertEquals(2, statistics.getNodeCount(DOCUMENT_NODE_TYPE));
+		assertEquals(0, statistics.getNodeCount("unknown"));
+	}
+
+	@Test
+	void testEdgeCounts() {
+		assertEquals(3, statistics.getEdgeCount(FRIEND_EDGE_TYPE));
+		assertEquals(2, statistics.getEdgeCount(OWNS_EDGE_TYPE));
+		assertEquals(0, statistics.getEdgeCount("unknown"));
+	}
+
+	@Test
+	void testDegrees() {
+		assertEquals(new Degree(3, 3), statistics.getDegree(USER_NODE_TYPE, FRIEND_EDGE_TYPE, true));
+		assertEquals(new Degree(3, 3), statistics.getDegree(USER_NODE_TYPE, FRIEND_EDGE_TYPE, false));
+		assertEquals(new Degree(2, 2), statistics.getDegree(DOCUMENT_NODE_TYPE, OWNS_EDGE_TYPE, false));
+		assertEquals(new Degree(2, 0), statistics.getDegree(DOCUMENT_NODE_TYPE, OWNS_EDGE_TYPE, true));
+		assertEquals(1.0, statistics.getDegree(USER_NODE_TYPE, FRIEND_EDGE_TYPE, true).averageDegree());
+		assertEquals(0.0, statistics.getDegree("unknown", FRIEND_EDGE_TYPE, true).averageDegree());
+	}
+
+	@Test
+	void testMaxDegrees() {
+		assertEquals(2, statistics.getMaxDegree(USER_NODE_TYPE, FRIEND_EDGE_TYPE, true));
+		assertEquals(1, statistics.getMaxDegree(USER_NODE_TYPE, FRIEND_EDGE_TYPE, false));
+		assertEquals(1, statistics.getMaxDegree(DOCUMENT_NODE_TYPE, OWNS_EDGE_TYPE, false));
+		assertEquals(0, statistics.getMaxDegree(DOCUMENT_NODE_TYPE, OWNS_EDGE_TYPE, true));
+		assertEquals(0, statistics.getMaxDegree("unknown", FRIEND_EDGE_TYPE, true));
+	}
+
+	@Test
+	void testAttributeHistogram() {
+		AttributeHistogram histogram = statistics.getAttributeHistogram(USER_NODE_TYPE, "role");
+		assertEquals(3, histogram.nodeCount());
+		assertEquals(Map.of(attribute("admin"), 1L, attribute("user"), 1L), histogram.valueCounts());
+		assertEquals(1, histogram.count(attribute("admin")));
+		assertEquals(0, histogram.count(attribute("guest")));
+		assertEquals(1.0 / 3, histogram.selectivity(attribute("user")));
+	}
+
+	private InMemoryGraph createGraph() {
+		InMemoryGraphNode alice = new InMemoryGraphNode("alice", USER_NODE_TYPE, Map.of("role", attribute("admin")));
+		InMemoryGraphNode bob = new InMemoryGraphNode("bob", USER_NODE_TYPE, Map.of("role", attribute("user")));
+		InMemoryGraphNode carol = new InMemoryGraphNode("carol", USER_NODE_TYPE, Map.of());
+		InMemoryGraphNode doc1 = new InMemoryGraphNode("doc1", DOCUMENT_NODE_TYPE, Map.of());
+		InMemoryGraphNode doc2 = new InMemoryGraphNode("doc2", DOCUMENT_NODE_TYPE, Map.of());
+		return new InMemoryGraph(
+				List.of(alice, bob, carol, doc1, doc2),
+				List.of(
+						new InMemoryGraphEdge(alice, bob, "a->b", FRIEND_EDGE_TYPE, Map.of()),
+						new InMemoryGraphEdge(alice, carol, "a->c", FRIEND_EDGE_TYPE, Map.of()),
+						new InMemoryGraphEdge(bob, alice, "b->a", FRIEND_EDGE_TYPE, Map.of()),
+						new InMemoryGraphEdge(alice, doc1, "a->d1", OWNS_EDGE_TYPE, Map.of()),
+						new InMemoryGraphEdge(carol, doc2, "c->d2", OWNS_EDGE_TYPE, Map.of())
+				)
+		);
+	}
+}
@@ -0,0 +1,119 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement.ID_KEY;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.EQUAL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.GPEval;
+import org.junit.jupiter.api.Test;
+
+class LimitAndCountTest {
+	private static final String REQUESTOR_ID = "requestor";
+	private static final String USER_NODE_TYPE = "user";
+	private static final String DOCUMENT_NODE_TYPE = "document";
+	private static final String FRIEND_EDGE_TYPE = "friend";
+	private static final String OWNS_EDGE_TYPE = "owns";
+	private static final int FRIEND_COUNT = 20;
+	private static final int DOCUMENTS_PER_FRIEND = 3;
+
+	private final InMemoryGraph graph = createGraph();
+
+	@Test
+	void testCountSingleReturnedNode() {
+		GraphPattern pattern = createPattern(true, false);
+		assertEquals(FRIEND_COUNT, GPEval.count(graph, pattern));
+		assertEquals(GPEval.evaluate(graph, pattern).size(), GPEval.count(graph, pattern));
+	}
+
+	@Test
+	void testCountMultipleReturnedNodes() {
+		GraphPattern pattern = createPattern(true, true);
+		assertEquals(FRIEND_COUNT * DOCUMENTS_PER_FRIEND, GPEval.count(graph, pattern));
+		assertEquals(GPEval.evaluate(graph, pattern).size(), GPEval.count(graph, pattern));
+	}
+
+	@Test
+	void testCountMultipleReturnedNodesWithNumericIds() {
+		GraphPattern pattern = createPattern(true, true);
+		assertEquals(FRIEND_COUNT * DOCUMENTS_PER_FRIEND, GPEval.count(new NumericIdGraph(graph), pattern));
+	}
+
+	@Test
+	void testCountWithoutResults() {
+		assertEquals(0, GPEval.count(new InMemoryGraph(List.of(), List.of()), createPattern(true, true)));
+	}
+
+	@Test
+	void testLimit() {
+		GraphPattern pattern = createPattern(false, true);
+		Set<List<InMemoryGraphNode>> allResults = GPEval.evaluate(graph, pattern);
+		assertEquals(FRIEND_COUNT * DOCUMENTS_PER_FRIEND, allResults.size());
+
+		Set<List<InMemoryGraphNode>> limitedResults = GPEval.evaluate(graph, pattern, 5);
+		assertEquals(5, limitedResults.size());
+		assertTrue(allResults.containsAll(limitedResults));
+
+		assertEquals(allResults, GPEval.evaluate(graph, pattern, allResults.size() + 1));
+		assertEquals(Set.of(), GPEval.evaluate(graph, pattern, 0));
+		assertThrows(IllegalArgumentException.class, () -> GPEval.evaluate(graph, pattern, -1));
+	}
+
+	private InMemoryGraph createGraph() {
+		InMemoryGraphNode requestor = new InMemoryGraphNode(REQUESTOR_ID, USER_NODE_TYPE, Map.of());
+		List<InMemoryGraphNode> nodes = new ArrayList<>(List.of(requestor));
+		List<InMemoryGraphEdge> edges = new ArrayList<>();
+		for(int i = 0; i < FRIEND_COUNT; i++){
+			InMemoryGraphNode friend = new InMemoryGraphNode("friend" + i, USER_NODE_TYPE, Map.of());
+			nodes.add(friend);
+			edges.add(new InMemoryGraphEdge(requestor, friend, "r->f" + i, FRIEND_EDGE_TYPE, Map.of()));
+			for(int j = 0; j < DOCUMENTS_PER_FRIEND; j++){
+				InMemoryGraphNode document = new InMemoryGraphNode("document" + i + "_" + j, DOCUMENT_NODE_TYPE, Map.of());
+				nodes.add(document);
+				edges.add(new InMemoryGraphEdge(friend, document, "f" + i + "->d" + j, OWNS_EDGE_TYPE, Map.of()));
+			}
+		}
+		return new InMemoryGraph(nodes, edges);
+	}
+
+	private GraphPattern createPattern(boolean returnFriend, boolean returnDocument) {
+		GPNode requestor = new GPNode("requestor", USER_NODE_TYPE);
+		GPNode friend = new GPNode("friend", USER_NODE_TYPE);
+		GPNode document = new GPNode("document", DOCUMENT_NODE_TYPE);
+		List<GPNode> returnedNodes = new ArrayList<>();
+		if(returnFriend){
+			returnedNodes.add(friend);
+		}
+		if(returnDocument){
+			returnedNodes.add(document);
+		}
+		return new GraphPattern(
+				new GPGraph(
+						List.of(requestor, friend, document),
+						List.of(
+								new GPEdge(requestor, friend, null, FRIEND_EDGE_TYPE),
+								new GPEdge(friend, document, null, OWNS_EDGE_TYPE)
+						)
+				),
+				List.of(),
+				Map.of(requestor, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute(REQUESTOR_ID)))),
+				Map.of(),
+				returnedNodes, Map.of()
+		);
+	}
+}
@@ -0,0 +1,119 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement.ID_KEY;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.EQUAL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.MutualExclusionConstraint;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.GPEval;
+import org.junit.jupiter.api.Test;
+
+class MutualExclusionPropagationTest {
+	private static final String USER_NODE_TYPE = "user";
+	private static final String DOCUMENT_NODE_TYPE = "document";
+	private static final String FRIEND_EDGE_TYPE = "friend";
+	private static final String OWNS_EDGE_TYPE = "owns";
+
+	@Test
+	void testNotEnoughCandidatesForAllDifferentNodes() {
+		CountingGraph graph = new CountingGraph(createGraph(2));
+		assertEquals(Set.of(), GPEval.evaluate(graph, createPattern(3)));
+		// the three friends only have two candidates so the search stops after loading the friends of the subject
+		assertEquals(3, graph.getEdgeLookups());
+	}
+
+	@Test
+	void testAllDifferentNodes() {
+		Set<List<InMemoryGraphNode>> results = GPEval.evaluate(createGraph(3), createPattern(3));
+		// every permutation of the three friends
+		assertEquals(6, results.size());
+		for(List<InMemoryGraphNode> result : results){
+			assertEquals(3, Set.copyOf(result).size());
+		}
+	}
+
+	@Test
+	void testSingleCandidateIsRemovedFromOtherNodes() {
+		InMemoryGraph graph = createGraph(3);
+		GraphPattern pattern = createPattern(2);
+		GPNode firstFriend = pattern.graph().nodes().get("friend0");
+		GPNode secondFriend = pattern.graph().nodes().get("friend1");
+		// the first friend can only be friend0, so the second friend can be any other friend
+		GraphPattern restrictedPattern = new GraphPattern(
+				pattern.graph(), pattern.mutualExclusionConstraints(),
+				Map.of(
+						pattern.graph().nodes().get("subject"), List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute("subject"))),
+						firstFriend, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute("friend0")))
+				),
+				Map.of(), List.of(firstFriend, secondFriend), Map.of()
+		);
+		Set<List<InMemoryGraphNode>> results = GPEval.evaluate(graph, restrictedPattern);
+		assertEquals(2, results.size());
+		for(List<InMemoryGraphNode> result : results){
+			assertEquals("friend0", result.get(0).id());
+			assertNotEquals("friend0", result.get(1).id());
+		}
+	}
+
+	private InMemoryGraph createGraph(int friendCount) {
+		InMemoryGraphNode subject = new InMemoryGraphNode("subject", USER_NODE_TYPE, Map.of());
+		List<InMemoryGraphNode> nodes = new ArrayList<>(List.of(subject));
+		List<InMemoryGraphEdge> edges = new ArrayList<>();
+		for(int i = 0; i < friendCount; i++){
+			InMemoryGraphNode friend = new InMemoryGraphNode("friend" + i, USER_NODE_TYPE, Map.of());
+			InMemoryGraphNode document = new InMemoryGraphNode("document" + i, DOCUMENT_NODE_TYPE, Map.of());
+			nodes.add(friend);
+			nodes.add(document);
+			edges.add(new InMemoryGraphEdge(subject, friend, "subject->" + i, FRIEND_EDGE_TYPE, Map.of()));
+			edges.add(new InMemoryGraphEdge(friend, document, "owns" + i, OWNS_EDGE_TYPE, Map.of()));
+		}
+		return new InMemoryGraph(nodes, edges);
+	}
+
+	/**
+	 * Creates a graph pattern with friends of the subject that must all be different and own a document.
+	 * @param friendCount the number of friends in the graph pattern
+	 * @return the graph pattern returning all friends
+	 */
+	private GraphPattern createPattern(int friendCount) {
+		GPNode subject = new GPNode("subject", USER_NODE_TYPE);
+		List<GPNode> nodes = new ArrayList<>(List.of(subject));
+		List<GPNode> friends = new ArrayList<>();
+		List<GPEdge> edges = new ArrayList<>();
+		List<MutualExclusionConstraint> constraints = new ArrayList<>();
+		for(int i = 0; i < friendCount; i++){
+			GPNode friend = new GPNode("friend" + i, USER_NODE_TYPE);
+			GPNode document = new GPNode("document" + i, DOCUMENT_NODE_TYPE);
+			for(GPNode otherFriend : friends){
+				constraints.add(new MutualExclusionConstraint(friend, otherFriend));
+			}
+			friends.add(friend);
+			nodes.add(friend);
+			nodes.add(document);
+			edges.add(new GPEdge(subject, friend, null, FRIEND_EDGE_TYPE));
+			edges.add(new GPEdge(friend, document, null, OWNS_EDGE_TYPE));
+		}
+		return new GraphPattern(
+				new GPGraph(nodes, edges),
+				constraints,
+				Map.of(subject, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute("subject")))),
+				Map.of(),
+				friends, Map.of()
+		);
+	}
+}
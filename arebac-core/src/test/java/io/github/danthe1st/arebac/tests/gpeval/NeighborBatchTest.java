@@ -0,0 +1,61 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.GPEval;
+import io.github.danthe1st.arebac.gpeval.GPEvalOptions;
+import org.junit.jupiter.api.Test;
+
+class NeighborBatchTest {
+	private static final int USER_COUNT = 10;
+
+	private final InMemoryGraph graph = FriendGraphFixture.createGraph(USER_COUNT, 4);
+
+	@Test
+	void testBatchedLookupsReduceRequests() {
+		GraphPattern pattern = FriendGraphFixture.createFriendChainPattern(8);
+		CountingGraph separateGraph = new CountingGraph(graph);
+		Set<List<InMemoryGraphNode>> expected = GPEval.evaluate(separateGraph, pattern, GPEvalOptions.sequential());
+		assertFalse(expected.isEmpty());
+		assertEquals(0, separateGraph.getBatchLookups());
+
+		CountingGraph batchedGraph = new CountingGraph(graph);
+		assertEquals(expected, GPEval.evaluate(batchedGraph, pattern, GPEvalOptions.sequential().withNeighborBatchSize(USER_COUNT)));
+		assertTrue(batchedGraph.getBatchLookups() > 0);
+		assertTrue(batchedGraph.getEdgeLookups() + batchedGraph.getBatchLookups() < separateGraph.getEdgeLookups());
+	}
+
+	@Test
+	void testDifferentBatchAndCacheSizes() {
+		GraphPattern pattern = FriendGraphFixture.createFriendChainPattern(8);
+		Set<List<InMemoryGraphNode>> expected = GPEval.evaluate(graph, pattern, GPEvalOptions.sequential().withNeighborCacheSize(0));
+		for(int batchSize = 1; batchSize <= USER_COUNT; batchSize++){
+			for(int cacheSize : new int[] { 1, 5, 50 }){
+				GPEvalOptions options = GPEvalOptions.sequential().withNeighborCacheSize(cacheSize).withNeighborBatchSize(batchSize);
+				assertEquals(expected, GPEval.evaluate(graph, pattern, options), "batch size " + batchSize + ", cache size " + cacheSize);
+			}
+		}
+	}
+
+	@Test
+	void testParallelEvaluationWithBatches() {
+		GraphPattern pattern = FriendGraphFixture.createFriendChainPattern(8);
+		Set<List<InMemoryGraphNode>> expected = GPEval.evaluate(graph, pattern);
+		assertEquals(expected, GPEval.evaluate(graph, pattern, GPEvalOptions.parallel().withParallelismThreshold(1).withNeighborBatchSize(3)));
+	}
+
+	@Test
+	void testInvalidBatchSize() {
+		assertThrows(IllegalArgumentException.class, () -> GPEvalOptions.sequential().withNeighborBatchSize(-1));
+		assertThrows(IllegalArgumentException.class, () -> GPEvalOptions.sequential().withNeighborCacheSize(0).withNeighborBatchSize(1));
+	}
+}
@@ -0,0 +1,55 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.GPEval;
+import io.github.danthe1st.arebac.gpeval.GPEvalOptions;
+import org.junit.jupiter.api.Test;
+
+class NeighborCacheTest {
+	private static final int USER_COUNT = 8;
+
+	private final InMemoryGraph graph = FriendGraphFixture.createGraph(USER_COUNT, 3);
+
+	@Test
+	void testCachedNeighborsAreReused() {
+		GraphPattern pattern = FriendGraphFixture.createFriendChainPattern(5);
+		CountingGraph uncachedGraph = new CountingGraph(graph);
+		Set<List<InMemoryGraphNode>> expected = GPEval.evaluate(uncachedGraph, pattern, GPEvalOptions.sequential().withNeighborCacheSize(0));
+		assertFalse(expected.isEmpty());
+
+		CountingGraph cachedGraph = new CountingGraph(graph);
+		assertEquals(expected, GPEval.evaluate(cachedGraph, pattern, GPEvalOptions.sequential()));
+		assertTrue(cachedGraph.getEdgeLookups() < uncachedGraph.getEdgeLookups());
+	}
+
+	@Test
+	void testSmallCache() {
+		GraphPattern pattern = FriendGraphFixture.createFriendChainPattern(5);
+		Set<List<InMemoryGraphNode>> expected = GPEval.evaluate(graph, pattern, GPEvalOptions.sequential().withNeighborCacheSize(0));
+		for(int size = 1; size < 10; size++){
+			assertEquals(expected, GPEval.evaluate(graph, pattern, GPEvalOptions.sequential().withNeighborCacheSize(size)));
+		}
+	}
+
+	@Test
+	void testParallelEvaluationWithCache() {
+		GraphPattern pattern = FriendGraphFixture.createFriendChainPattern(5);
+		Set<List<InMemoryGraphNode>> expected = GPEval.evaluate(graph, pattern, GPEvalOptions.sequential().withNeighborCacheSize(0));
+		assertEquals(expected, GPEval.evaluate(graph, pattern, GPEvalOptions.parallel().withParallelismThreshold(1)));
+	}
+
+	@Test
+	void testNegativeCacheSize() {
+		assertThrows(IllegalArgumentException.class, () -> GPEvalOptions.sequential().withNeighborCacheSize(-1));
+	}
+}
@@ -0,0 +1,137 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement.ID_KEY;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.EQUAL;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.GREATER_THAN;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.NOT_EQUAL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.GPEval;
+import org.junit.jupiter.api.Test;
+
+class NeighborPushdownTest {
+	private static final String USER_NODE_TYPE = "user";
+	private static final String DOCUMENT_NODE_TYPE = "document";
+	private static final String FRIEND_EDGE_TYPE = "friend";
+	private static final String OWNS_EDGE_TYPE = "owns";
+
+	private final InMemoryGraph graph = createGraph();
+
+	@Test
+	void testRequirementsArePassedToGraph() {
+		PushdownGraph pushdownGraph = new PushdownGraph(graph);
+		Set<List<InMemoryGraphNode>> expected = GPEval.evaluate(graph, createPattern());
+		assertFalse(expected.isEmpty());
+		assertEquals(expected, GPEval.evaluate(pushdownGraph, createPattern()));
+
+		assertFalse(pushdownGraph.lookups.isEmpty());
+		for(NeighborLookup lookup : pushdownGraph.lookups){
+			if(lookup.edgeType().equals(FRIEND_EDGE_TYPE)){
+				assertEquals(USER_NODE_TYPE, lookup.neighborNodeType());
+				// requirements are ordered by selectivity, not in declaration order
+				assertEquals(
+						List.of(
+								new AttributeRequirement("visible", EQUAL, attribute(true)),
+								new AttributeRequirement("since", GREATER_THAN, attribute(1)),
+								new AttributeRequirement("since", NOT_EQUAL, attribute(3))
+						),
+						lookup.edgeRequirements()
+				);
+			}else{
+				assertEquals(OWNS_EDGE_TYPE, lookup.edgeType());
+				assertEquals(List.of(), lookup.edgeRequirements());
+			}
+		}
+	}
+
+	private InMemoryGraph createGraph() {
+		InMemoryGraphNode subject = new InMemoryGraphNode("subject", USER_NODE_TYPE, Map.of());
+		List<InMemoryGraphNode> nodes = new ArrayList<>(List.of(subject));
+		List<InMemoryGraphEdge> edges = new ArrayList<>();
+		for(int i = 0; i < 6; i++){
+			InMemoryGraphNode friend = new InMemoryGraphNode("friend" + i, USER_NODE_TYPE, Map.of());
+			InMemoryGraphNode document = new InMemoryGraphNode("document" + i, DOCUMENT_NODE_TYPE, Map.of());
+			nodes.add(friend);
+			nodes.add(document);
+			edges.add(new InMemoryGraphEdge(subject, friend, "s->f" + i, FRIEND_EDGE_TYPE, Map.of("since", attribute(i), "visible", attribute(i % 2 == 0))));
+			edges.add(new InMemoryGraphEdge(friend, document, "f->d" + i, OWNS_EDGE_TYPE, Map.of()));
+		}
+		return new InMemoryGraph(nodes, edges);
+	}
+
+	private GraphPattern createPattern() {
+		GPNode subject = new GPNode("subject", USER_NODE_TYPE);
+		GPNode friend = new GPNode("friend", USER_NODE_TYPE);
+		GPNode document = new GPNode("document", DOCUMENT_NODE_TYPE);
+		GPEdge friendEdge = new GPEdge(subject, friend, null, FRIEND_EDGE_TYPE);
+		return new GraphPattern(
+				new GPGraph(
+						List.of(subject, friend, document),
+						List.of(friendEdge, new GPEdge(friend, document, null, OWNS_EDGE_TYPE))
+				),
+				List.of(),
+				Map.of(subject, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute("subject")))),
+				Map.of(
+						friendEdge, List.of(
+								new AttributeRequirement("since", NOT_EQUAL, attribute(3)),
+								new AttributeRequirement("since", GREATER_THAN, attribute(1)),
+								new AttributeRequirement("visible", EQUAL, attribute(true))
+						)
+				),
+				List.of(document), Map.of()
+		);
+	}
+
+	private record NeighborLookup(String edgeType, String neighborNodeType, List<AttributeRequirement> edgeRequirements) {
+	}
+
+	/**
+	 * Records the requirements passed to {@link AttributedGraph#findNeighbors(io.github.danthe1st.arebac.data.commongraph.attributed.AttributedNode, boolean, String, String, List, List)}.
+	 */
+	private static class PushdownGraph implements AttributedGraph<InMemoryGraphNode, InMemoryGraphEdge> {
+		private final InMemoryGraph delegate;
+		private final List<NeighborLookup> lookups = new ArrayList<>();
+
+		PushdownGraph(InMemoryGraph delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public InMemoryGraphNode findNodeById(String id) {
+			return delegate.findNodeById(id);
+		}
+
+		@Override
+		public Collection<InMemoryGraphEdge> findOutgoingEdges(InMemoryGraphNode node, String edgeType) {
+			return delegate.findOutgoingEdges(node, edgeType);
+		}
+
+		@Override
+		public Collection<InMemoryGraphEdge> findIncomingEdges(InMemoryGraphNode node, String edgeType) {
+			return delegate.findIncomingEdges(node, edgeType);
+		}
+
+		@Override
+		public Collection<InMemoryGraphNode> findNeighbors(InMemoryGraphNode node, boolean outgoing, String edgeType, String neighborNodeType, List<AttributeRequirement> edgeRequirements, List<AttributeRequirement> neighborRequirements) {
+			lookups.add(new NeighborLookup(edgeType, neighborNodeType, edgeRequirements));
+			return AttributedGraph.super.findNeighbors(node, outgoing, edgeType, neighborNodeType, edgeRequirements, neighborRequirements);
+		}
+	}
+}
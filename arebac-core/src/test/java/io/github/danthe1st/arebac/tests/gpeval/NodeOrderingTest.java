@@ -0,0 +1,153 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement.ID_KEY;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.EQUAL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.GPEval;
+import io.github.danthe1st.arebac.gpeval.GPEvalOptions;
+import io.github.danthe1st.arebac.gpeval.NodeOrderingStrategy;
+import io.github.danthe1st.arebac.gpeval.NodeOrderingStrategy.NodeOrdering;
+import org.junit.jupiter.api.Test;
+
+class NodeOrderingTest {
+	private static final String USER_NODE_TYPE = "user";
+	private static final String POST_NODE_TYPE = "post";
+	private static final String DOCUMENT_NODE_TYPE = "document";
+	private static final String TAG_NODE_TYPE = "tag";
+	private static final String FOLLOWS_EDGE_TYPE = "follows";
+	private static final String POSTED_EDGE_TYPE = "posted";
+	private static final String OWNS_EDGE_TYPE = "owns";
+	private static final String TAGGED_EDGE_TYPE = "tagged";
+	private static final int POSTS_PER_HUB = 200;
+
+	private final InMemoryGraph graph = createGraph();
+	private final GraphPattern pattern = createPattern();
+
+	@Test
+	void testFewestCandidatesExpandsHubs() {
+		List<GPNode> selectedNodes = new ArrayList<>();
+		Set<List<InMemoryGraphNode>> results = GPEval.evaluate(graph, pattern, GPEvalOptions.sequential().withNodeOrdering(recording(NodeOrderingStrategy.fewestCandidates(), selectedNodes)));
+		assertEquals("hub", selectedNodes.get(1).id());
+		assertEquals(GPEval.evaluate(graph, pattern), results);
+	}
+
+	@Test
+	void testCostBasedAvoidsHubs() {
+		List<GPNode> selectedNodes = new ArrayList<>();
+		Set<List<InMemoryGraphNode>> results = GPEval.evaluate(graph, pattern, GPEvalOptions.sequential().withNodeOrdering(recording(NodeOrderingStrategy.costBased(), selectedNodes)));
+		assertEquals("document", selectedNodes.get(1).id());
+		assertEquals(GPEval.evaluate(graph, pattern), results);
+	}
+
+	@Test
+	void testCostBasedWithoutStatistics() {
+		assertEquals(
+				GPEval.evaluate(graph, pattern),
+				GPEval.evaluate(graph, pattern, GPEvalOptions.sequential().withNodeOrdering(NodeOrderingStrategy.costBased(null)))
+		);
+	}
+
+	@Test
+	void testFailuresAreRecorded() {
+		AtomicInteger failures = new AtomicInteger();
+		NodeOrderingStrategy strategy = (plan, g) -> new NodeOrdering() {
+			@Override
+			public int selectNode(NodeOrderingStrategy.SearchState state) {
+				return NodeOrdering.FEWEST_CANDIDATES.selectNode(state);
+			}
+
+			@Override
+			public void recordFailure(int edgeIndex) {
+				assertEquals(TAGGED_EDGE_TYPE, plan.edge(edgeIndex).edgeType());
+				failures.incrementAndGet();
+			}
+		};
+		GPEval.evaluate(graph, pattern, GPEvalOptions.sequential().withNodeOrdering(strategy));
+		// the document without tags cannot be assigned
+		assertEquals(1, failures.get());
+	}
+
+	@Test
+	void testInvalidSelection() {
+		NodeOrderingStrategy strategy = (plan, g) -> state -> -1;
+		GPEvalOptions options = GPEvalOptions.sequential().withNodeOrdering(strategy);
+		assertThrows(IllegalStateException.class, () -> GPEval.evaluate(graph, pattern, options));
+	}
+
+	private NodeOrderingStrategy recording(NodeOrderingStrategy strategy, List<GPNode> selectedNodes) {
+		return (plan, g) -> {
+			NodeOrdering ordering = strategy.createOrdering(plan, g);
+			return state -> {
+				int selected = ordering.selectNode(state);
+				selectedNodes.add(plan.patternNode(selected));
+				return selected;
+			};
+		};
+	}
+
+	private InMemoryGraph createGraph() {
+		InMemoryGraphNode requestor = new InMemoryGraphNode("requestor", USER_NODE_TYPE, Map.of());
+		InMemoryGraphNode tag = new InMemoryGraphNode("tag", TAG_NODE_TYPE, Map.of());
+		List<InMemoryGraphNode> nodes = new ArrayList<>(List.of(requestor, tag));
+		List<InMemoryGraphEdge> edges = new ArrayList<>();
+		for(int i = 0; i < 2; i++){
+			InMemoryGraphNode hub = new InMemoryGraphNode("hub" + i, USER_NODE_TYPE, Map.of());
+			nodes.add(hub);
+			edges.add(new InMemoryGraphEdge(requestor, hub, "r->h" + i, FOLLOWS_EDGE_TYPE, Map.of()));
+			for(int j = 0; j < POSTS_PER_HUB; j++){
+				InMemoryGraphNode post = new InMemoryGraphNode("post" + i + "_" + j, POST_NODE_TYPE, Map.of());
+				nodes.add(post);
+				edges.add(new InMemoryGraphEdge(hub, post, "h" + i + "->p" + j, POSTED_EDGE_TYPE, Map.of()));
+			}
+		}
+		for(int i = 0; i < 3; i++){
+			InMemoryGraphNode document = new InMemoryGraphNode("document" + i, DOCUMENT_NODE_TYPE, Map.of());
+			nodes.add(document);
+			edges.add(new InMemoryGraphEdge(requestor, document, "r->d" + i, OWNS_EDGE_TYPE, Map.of()));
+			if(i != 2){
+				edges.add(new InMemoryGraphEdge(document, tag, "d" + i + "->t", TAGGED_EDGE_TYPE, Map.of()));
+			}
+		}
+		return new InMemoryGraph(nodes, edges);
+	}
+
+	private GraphPattern createPattern() {
+		GPNode requestor = new GPNode("requestor", USER_NODE_TYPE);
+		GPNode hub = new GPNode("hub", USER_NODE_TYPE);
+		GPNode post = new GPNode("post", POST_NODE_TYPE);
+		GPNode document = new GPNode("document", DOCUMENT_NODE_TYPE);
+		GPNode tag = new GPNode("tag", TAG_NODE_TYPE);
+		return new GraphPattern(
+				new GPGraph(
+						List.of(requestor, hub, post, document, tag),
+						List.of(
+								new GPEdge(requestor, hub, null, FOLLOWS_EDGE_TYPE),
+								new GPEdge(hub, post, null, POSTED_EDGE_TYPE),
+								new GPEdge(requestor, document, null, OWNS_EDGE_TYPE),
+								new GPEdge(document, tag, null, TAGGED_EDGE_TYPE)
+						)
+				),
+				List.of(),
+				Map.of(requestor, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute("requestor")))),
+				Map.of(),
+				List.of(document), Map.of()
+		);
+	}
+}
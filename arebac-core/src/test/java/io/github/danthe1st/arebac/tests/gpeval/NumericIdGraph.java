@@ -0,0 +1,39 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import java.util.Collection;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+
+/**
+ * Wraps an {@link InMemoryGraph} and provides numeric node IDs in an order different from the order edges are returned in.
+ */
+record NumericIdGraph(InMemoryGraph delegate) implements AttributedGraph<InMemoryGraphNode, InMemoryGraphEdge> {
+
+	@Override
+	public InMemoryGraphNode findNodeById(String id) {
+		return delegate.findNodeById(id);
+	}
+
+	@Override
+	public Collection<InMemoryGraphEdge> findOutgoingEdges(InMemoryGraphNode node, String edgeType) {
+		return delegate.findOutgoingEdges(node, edgeType);
+	}
+
+	@Override
+	public Collection<InMemoryGraphEdge> findIncomingEdges(InMemoryGraphNode node, String edgeType) {
+		return delegate.findIncomingEdges(node, edgeType);
+	}
+
+	@Override
+	public boolean hasNumericNodeIds() {
+		return true;
+	}
+
+	@Override
+	public long getNumericNodeId(InMemoryGraphNode node) {
+		return -node.id().hashCode();
+	}
+}
@@ -0,0 +1,103 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement.ID_KEY;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.EQUAL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.GPEval;
+import org.junit.jupiter.api.Test;
+
+class NumericNodeIdsTest {
+	private static final String USER_NODE_TYPE = "user";
+	private static final String FRIEND_EDGE_TYPE = "friend";
+	private static final int USER_COUNT = 500;
+
+	private final List<InMemoryGraphNode> users = new ArrayList<>();
+	private final InMemoryGraph graph = createGraph();
+
+	@Test
+	void testCommonFriendsOfHubAndSmallNode() {
+		// hub is friends with all users, small has a few friends so the intersection is computed between sets of very different sizes
+		GraphPattern pattern = createCommonFriendsPattern("hub", "small");
+		Set<List<InMemoryGraphNode>> expected = Set.of(List.of(users.get(3)), List.of(users.get(42)), List.of(users.get(499)));
+		assertEquals(expected, GPEval.evaluate(graph, pattern));
+		assertEquals(expected, GPEval.evaluate(new NumericIdGraph(graph), pattern));
+	}
+
+	@Test
+	void testCommonFriendsOfSimilarlySizedNodes() {
+		GraphPattern pattern = createCommonFriendsPattern("hub", "even");
+		Set<List<InMemoryGraphNode>> expected = new HashSet<>();
+		for(int i = 0; i < USER_COUNT; i += 2){
+			expected.add(List.of(users.get(i)));
+		}
+		assertEquals(expected, GPEval.evaluate(graph, pattern));
+		assertEquals(expected, GPEval.evaluate(new NumericIdGraph(graph), pattern));
+	}
+
+	@Test
+	void testNoCommonFriends() {
+		GraphPattern pattern = createCommonFriendsPattern("small", "lonely");
+		assertEquals(Set.of(), GPEval.evaluate(graph, pattern));
+		assertEquals(Set.of(), GPEval.evaluate(new NumericIdGraph(graph), pattern));
+	}
+
+	private InMemoryGraph createGraph() {
+		InMemoryGraphNode hub = new InMemoryGraphNode("hub", USER_NODE_TYPE, Map.of());
+		InMemoryGraphNode small = new InMemoryGraphNode("small", USER_NODE_TYPE, Map.of());
+		InMemoryGraphNode even = new InMemoryGraphNode("even", USER_NODE_TYPE, Map.of());
+		InMemoryGraphNode lonely = new InMemoryGraphNode("lonely", USER_NODE_TYPE, Map.of());
+		List<InMemoryGraphNode> nodes = new ArrayList<>(List.of(hub, small, even, lonely));
+		List<InMemoryGraphEdge> edges = new ArrayList<>();
+		for(int i = 0; i < USER_COUNT; i++){
+			InMemoryGraphNode user = new InMemoryGraphNode(String.valueOf(i), USER_NODE_TYPE, Map.of());
+			users.add(user);
+			nodes.add(user);
+			edges.add(new InMemoryGraphEdge(hub, user, "hub->" + i, FRIEND_EDGE_TYPE, Map.of()));
+			if(i % 2 == 0){
+				edges.add(new InMemoryGraphEdge(even, user, "even->" + i, FRIEND_EDGE_TYPE, Map.of()));
+			}
+		}
+		for(int i : new int[] { 499, 42, 3 }){
+			edges.add(new InMemoryGraphEdge(small, users.get(i), "small->" + i, FRIEND_EDGE_TYPE, Map.of()));
+		}
+		return new InMemoryGraph(nodes, edges);
+	}
+
+	private GraphPattern createCommonFriendsPattern(String firstId, String secondId) {
+		GPNode first = new GPNode("first", USER_NODE_TYPE);
+		GPNode second = new GPNode("second", USER_NODE_TYPE);
+		GPNode commonFriend = new GPNode("commonFriend", USER_NODE_TYPE);
+		return new GraphPattern(
+				new GPGraph(
+						List.of(first, second, commonFriend),
+						List.of(
+								new GPEdge(first, commonFriend, null, FRIEND_EDGE_TYPE),
+								new GPEdge(second, commonFriend, null, FRIEND_EDGE_TYPE)
+						)
+				),
+				List.of(),
+				Map.of(
+						first, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute(firstId))),
+						second, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute(secondId)))
+				),
+				Map.of(),
+				List.of(commonFriend), Map.of()
+		);
+	}
+}
@@ -0,0 +1,105 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement.ID_KEY;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.EQUAL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.MutualExclusionConstraint;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.GPEval;
+import io.github.danthe1st.arebac.gpeval.GPEvalOptions;
+import org.junit.jupiter.api.Test;
+
+class ParallelEvaluationTest {
+	private static final String USER_NODE_TYPE = "user";
+	private static final String FRIEND_EDGE_TYPE = "friend";
+	private static final String REQUESTOR_ID = "u0";
+	private static final int USER_COUNT = 200;
+
+	@Test
+	void testParallelEvaluationFindsSameResultsAsSequentialEvaluation() {
+		InMemoryGraph graph = createRandomFriendGraph();
+		GraphPattern pattern = createCommonFriendsPattern();
+
+		Set<List<InMemoryGraphNode>> sequentialResult = GPEval.evaluate(graph, pattern);
+		assertFalse(sequentialResult.isEmpty());
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try{
+			GPEvalOptions options = GPEvalOptions.parallel(pool)
+				.withParallelismThreshold(2)
+				.withMaxParallelDepth(3);
+			for(int i = 0; i < 5; i++){
+				assertEquals(sequentialResult, GPEval.evaluate(graph, pattern, options));
+			}
+		}finally{
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void testSmallSearchesStaySequential() {
+		InMemoryGraph graph = createRandomFriendGraph();
+		GraphPattern pattern = createCommonFriendsPattern();
+		GPEvalOptions options = GPEvalOptions.parallel().withParallelismThreshold(Integer.MAX_VALUE);
+		assertEquals(GPEval.evaluate(graph, pattern), GPEval.evaluate(graph, pattern, options));
+	}
+
+	private InMemoryGraph createRandomFriendGraph() {
+		Random random = new Random(1337);
+		List<InMemoryGraphNode> users = new ArrayList<>();
+		for(int i = 0; i < USER_COUNT; i++){
+			users.add(new InMemoryGraphNode("u" + i, USER_NODE_TYPE, Map.of()));
+		}
+		List<InMemoryGraphEdge> edges = new ArrayList<>();
+		for(InMemoryGraphNode user : users){
+			for(int i = 0; i < 8; i++){
+				InMemoryGraphNode friend = users.get(random.nextInt(USER_COUNT));
+				edges.add(new InMemoryGraphEdge(user, friend, user.id() + "->" + friend.id() + "#" + i, FRIEND_EDGE_TYPE, Map.of()));
+			}
+		}
+		return new InMemoryGraph(users, edges);
+	}
+
+	private GraphPattern createCommonFriendsPattern() {
+		GPNode requestor = new GPNode("requestor", USER_NODE_TYPE);
+		GPNode firstFriend = new GPNode("f1", USER_NODE_TYPE);
+		GPNode secondFriend = new GPNode("f2", USER_NODE_TYPE);
+		GPNode target = new GPNode("target", USER_NODE_TYPE);
+
+		return new GraphPattern(
+				new GPGraph(
+						List.of(requestor, firstFriend, secondFriend, target),
+						List.of(
+								new GPEdge(requestor, firstFriend, null, FRIEND_EDGE_TYPE),
+								new GPEdge(requestor, secondFriend, null, FRIEND_EDGE_TYPE),
+								new GPEdge(firstFriend, target, null, FRIEND_EDGE_TYPE),
+								new GPEdge(secondFriend, target, null, FRIEND_EDGE_TYPE)
+						)
+				),
+				List.of(
+						new MutualExclusionConstraint(firstFriend, secondFriend),
+						new MutualExclusionConstraint(requestor, target)
+				),
+				Map.of(requestor, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute(REQUESTOR_ID)))),
+				Map.of(),
+				List.of(firstFriend, target), Map.of()
+		);
+	}
+}
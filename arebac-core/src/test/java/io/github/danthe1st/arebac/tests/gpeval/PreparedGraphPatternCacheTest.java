@@ -0,0 +1,195 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.parameter;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement.ID_KEY;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.EQUAL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
+import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPatternFingerprint;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.MutualExclusionConstraint;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.PreparedGraphPattern;
+import io.github.danthe1st.arebac.gpeval.PreparedGraphPatternCache;
+import org.junit.jupiter.api.Test;
+
+class PreparedGraphPatternCacheTest {
+	private static final String USER_NODE_TYPE = "user";
+	private static final String FRIEND_EDGE_TYPE = "friend";
+
+	private final InMemoryGraphNode requestor = new InMemoryGraphNode("UID", USER_NODE_TYPE, Map.of());
+	private final InMemoryGraphNode friend = new InMemoryGraphNode("friend", USER_NODE_TYPE, Map.of());
+	private final InMemoryGraphNode friendOfFriend = new InMemoryGraphNode("fof", USER_NODE_TYPE, Map.of());
+	private final InMemoryGraph graph = new InMemoryGraph(
+			List.of(requestor, friend, friendOfFriend),
+			List.of(
+					new InMemoryGraphEdge(requestor, friend, "r->f", FRIEND_EDGE_TYPE, Map.of()),
+					new InMemoryGraphEdge(friend, friendOfFriend, "f->fof", FRIEND_EDGE_TYPE, Map.of())
+			)
+	);
+
+	@Test
+	void testFingerprintIgnoresIds() {
+		assertEquals(
+				GraphPatternFingerprint.of(createFriendOfFriendPattern("a", parameter("requestor"))),
+				GraphPatternFingerprint.of(createFriendOfFriendPattern("b", parameter("requestor")))
+		);
+		assertEquals(
+				GraphPatternFingerprint.of(createFriendOfFriendPattern("a", attribute("UID"))),
+				GraphPatternFingerprint.of(createFriendOfFriendPattern("b", attribute("UID")))
+		);
+	}
+
+	@Test
+	void testFingerprintContainsRequirements() {
+		assertNotEquals(
+				GraphPatternFingerprint.of(createFriendOfFriendPattern("a", attribute("UID"))),
+				GraphPatternFingerprint.of(createFriendOfFriendPattern("a", attribute("other")))
+		);
+		assertNotEquals(
+				GraphPatternFingerprint.of(createFriendOfFriendPattern("a", parameter("requestor"))),
+				GraphPatternFingerprint.of(createFriendOfFriendPattern("a", parameter("subject")))
+		);
+	}
+
+	@Test
+	void testFingerprintContainsOrderOfReturnedNodes() {
+		GPNode requestor = new GPNode("requestor", USER_NODE_TYPE);
+		GPNode friend = new GPNode("friend", USER_NODE_TYPE);
+		GPGraph graph = new GPGraph(List.of(requestor, friend), List.of(new GPEdge(requestor, friend, null, FRIEND_EDGE_TYPE)));
+		assertNotEquals(
+				GraphPatternFingerprint.of(new GraphPattern(graph, List.of(), Map.of(), Map.of(), List.of(requestor, friend), Map.of())),
+				GraphPatternFingerprint.of(new GraphPattern(graph, List.of(), Map.of(), Map.of(), List.of(friend, requestor), Map.of()))
+		);
+	}
+
+	@Test
+	void testFingerprintOfSymmetricPattern() {
+		assertEquals(GraphPatternFingerprint.of(createStarPattern("a", 3)), GraphPatternFingerprint.of(createStarPattern("b", 3)));
+		// too many symmetric nodes to compare all orders, this falls back to comparing node IDs
+		assertEquals(GraphPatternFingerprint.of(createStarPattern("a", 10)), GraphPatternFingerprint.of(createStarPattern("a", 10)));
+		assertNotEquals(GraphPatternFingerprint.of(createStarPattern("a", 10)), GraphPatternFingerprint.of(createStarPattern("b", 10)));
+	}
+
+	@Test
+	void testCacheHits() {
+		PreparedGraphPatternCache cache = new PreparedGraphPatternCache(10);
+		PreparedGraphPattern prepared = cache.get(createFriendOfFriendPattern("a", parameter("requestor")));
+		// the same graph pattern is returned if the nodes don't need to be mapped
+		assertSame(prepared, cache.get(createFriendOfFriendPattern("a", parameter("requestor"))));
+		assertSame(prepared.pattern(), cache.get(createFriendOfFriendPattern("b", parameter("requestor"))).pattern());
+		assertNotSame(prepared.pattern(), cache.get(createFriendOfFriendPattern("a", parameter("subject"))).pattern());
+		assertEquals(2, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+		assertEquals(2, cache.size());
+
+		assertEquals(Set.of(List.of(friendOfFriend)), cache.get(createFriendOfFriendPattern("c", parameter("requestor"))).evaluate(graph, Map.of("requestor", attribute("UID"))));
+	}
+
+	@Test
+	void testFilterWithNodesOfEquivalentPattern() {
+		PreparedGraphPatternCache cache = new PreparedGraphPatternCache(10);
+		cache.get(createFriendOfFriendPattern("a", parameter("requestor")));
+		GraphPattern pattern = createFriendOfFriendPattern("b", parameter("requestor"));
+		PreparedGraphPattern prepared = cache.get(pattern);
+		assertEquals(1, cache.getHitCount());
+		Map<String, AttributeValue<?>> parameters = Map.of("requestor", attribute("UID"));
+		assertEquals(Set.of(friend), prepared.filter(graph, parameters, pattern.graph().nodes().get("bfriend"), List.of(requestor, friend, friendOfFriend)));
+		assertEquals(Set.of(friendOfFriend), prepared.filter(graph, parameters, pattern.graph().nodes().get("bfriendOfFriend"), List.of(requestor, friend, friendOfFriend)));
+		// nodes of the prepared graph pattern can still be used
+		assertEquals(Set.of(friend), prepared.filter(graph, parameters, prepared.pattern().graph().nodes().get("afriend"), List.of(requestor, friend, friendOfFriend)));
+	}
+
+	@Test
+	void testFilterWithNodesOfWovenPatterns() {
+		PreparedGraphPatternCache cache = new PreparedGraphPatternCache(10);
+		cache.getWoven(List.of(createFriendOfFriendPattern("a", parameter("requestor")), createStarPattern("a", 1)));
+		GraphPattern friendOfFriendPattern = createFriendOfFriendPattern("b", parameter("requestor"));
+		GraphPattern starPattern = createStarPattern("b", 1);
+		PreparedGraphPattern prepared = cache.getWoven(List.of(friendOfFriendPattern, starPattern));
+		assertEquals(1, cache.getHitCount());
+		Map<String, AttributeValue<?>> parameters = Map.of("requestor", attribute("UID"));
+		List<InMemoryGraphNode> candidates = List.of(requestor, friend, friendOfFriend);
+		assertEquals(Set.of(friendOfFriend), prepared.filter(graph, parameters, friendOfFriendPattern.graph().nodes().get("bfriendOfFriend"), candidates));
+		// the center of the star pattern is combined with the requestor
+		assertEquals(Set.of(requestor), prepared.filter(graph, parameters, starPattern.graph().nodes().get("bcenter"), candidates));
+		assertEquals(Set.of(friend), prepared.filter(graph, parameters, starPattern.graph().nodes().get("bfriend0"), candidates));
+	}
+
+	@Test
+	void testWovenPatterns() {
+		PreparedGraphPatternCache cache = new PreparedGraphPatternCache(10);
+		PreparedGraphPattern prepared = cache.getWoven(List.of(createFriendOfFriendPattern("a", parameter("requestor")), createStarPattern("a", 2)));
+		assertSame(prepared.pattern(), cache.getWoven(List.of(createFriendOfFriendPattern("b", parameter("requestor")), createStarPattern("b", 2))).pattern());
+		assertNotSame(prepared.pattern(), cache.getWoven(List.of(createStarPattern("a", 2), createFriendOfFriendPattern("a", parameter("requestor")))).pattern());
+		assertNotSame(prepared.pattern(), cache.get(createFriendOfFriendPattern("a", parameter("requestor"))).pattern());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(3, cache.getMissCount());
+	}
+
+	@Test
+	void testEviction() {
+		PreparedGraphPatternCache cache = new PreparedGraphPatternCache(2);
+		cache.get(createFriendOfFriendPattern("a", attribute("first")));
+		cache.get(createFriendOfFriendPattern("a", attribute("second")));
+		cache.get(createFriendOfFriendPattern("a", attribute("third")));
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+
+		cache.get(createFriendOfFriendPattern("a", attribute("third")));
+		assertEquals(1, cache.getHitCount());
+		cache.get(createFriendOfFriendPattern("a", attribute("first")));
+		assertEquals(2, cache.getEvictionCount());
+		assertEquals(4, cache.getMissCount());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+
+	private GraphPattern createFriendOfFriendPattern(String idPrefix, AttributeValue<?> requestorId) {
+		GPNode requestor = new GPNode(idPrefix + "requestor", USER_NODE_TYPE);
+		GPNode friend = new GPNode(idPrefix + "friend", USER_NODE_TYPE);
+		GPNode friendOfFriend = new GPNode(idPrefix + "friendOfFriend", USER_NODE_TYPE);
+		return new GraphPattern(
+				new GPGraph(
+						List.of(requestor, friend, friendOfFriend),
+						List.of(
+								new GPEdge(requestor, friend, null, FRIEND_EDGE_TYPE),
+								new GPEdge(friend, friendOfFriend, null, FRIEND_EDGE_TYPE)
+						)
+				),
+				List.of(new MutualExclusionConstraint(requestor, friendOfFriend)),
+				Map.of(requestor, List.of(new AttributeRequirement(ID_KEY, EQUAL, requestorId))),
+				Map.of(),
+				List.of(friendOfFriend), Map.of("requestor", requestor)
+		);
+	}
+
+	private GraphPattern createStarPattern(String idPrefix, int friendCount) {
+		GPNode center = new GPNode(idPrefix + "center", USER_NODE_TYPE);
+		List<GPNode> nodes = new ArrayList<>(List.of(center));
+		List<GPEdge> edges = new ArrayList<>();
+		for(int i = 0; i < friendCount; i++){
+			GPNode friend = new GPNode(idPrefix + "friend" + i, USER_NODE_TYPE);
+			nodes.add(friend);
+			edges.add(new GPEdge(center, friend, null, FRIEND_EDGE_TYPE));
+		}
+		return new GraphPattern(new GPGraph(nodes, edges), List.of(), Map.of(), Map.of(), List.of(center), Map.of("requestor", center));
+	}
+}
@@ -0,0 +1,134 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.parameter;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement.ID_KEY;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.EQUAL;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.GREATER_THAN_OR_EQUAL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.danthe1st.arebac.TypeMissmatchException;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
+import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.GPEval;
+import io.github.danthe1st.arebac.gpeval.PreparedGraphPattern;
+import io.github.danthe1st.arebac.weaving.Weaving;
+import org.junit.jupiter.api.Test;
+
+class PreparedGraphPatternTest {
+	private static final String USER_NODE_TYPE = "user";
+	private static final String DOCUMENT_NODE_TYPE = "document";
+	private static final String OWNS_EDGE_TYPE = "owns";
+	private static final String LEVEL_ATTRIBUTE = "level";
+
+	private final InMemoryGraphNode alice = new InMemoryGraphNode("alice", USER_NODE_TYPE, Map.of());
+	private final InMemoryGraphNode bob = new InMemoryGraphNode("bob", USER_NODE_TYPE, Map.of());
+	private final InMemoryGraphNode aliceDocument = new InMemoryGraphNode("aliceDoc", DOCUMENT_NODE_TYPE, Map.of(LEVEL_ATTRIBUTE, attribute(1)));
+	private final InMemoryGraphNode aliceSecretDocument = new InMemoryGraphNode("aliceSecret", DOCUMENT_NODE_TYPE, Map.of(LEVEL_ATTRIBUTE, attribute(5)));
+	private final InMemoryGraphNode bobDocument = new InMemoryGraphNode("bobDoc", DOCUMENT_NODE_TYPE, Map.of(LEVEL_ATTRIBUTE, attribute(3)));
+	private final InMemoryGraph graph = new InMemoryGraph(
+			List.of(alice, bob, aliceDocument, aliceSecretDocument, bobDocument),
+			List.of(
+					new InMemoryGraphEdge(alice, aliceDocument, "a->doc", OWNS_EDGE_TYPE, Map.of()),
+					new InMemoryGraphEdge(alice, aliceSecretDocument, "a->secret", OWNS_EDGE_TYPE, Map.of()),
+					new InMemoryGraphEdge(bob, bobDocument, "b->doc", OWNS_EDGE_TYPE, Map.of())
+			)
+	);
+
+	@Test
+	void testEvaluateWithDifferentParameters() {
+		PreparedGraphPattern prepared = PreparedGraphPattern.prepare(createWovenPattern());
+		assertEquals(Set.of("subjectId", "minLevel"), prepared.parameterNames());
+
+		assertEquals(
+				Set.of(List.of(aliceDocument), List.of(aliceSecretDocument)),
+				prepared.evaluate(graph, Map.of("subjectId", attribute("alice"), "minLevel", attribute(0)))
+		);
+		assertEquals(
+				Set.of(List.of(aliceSecretDocument)),
+				prepared.evaluate(graph, Map.of("subjectId", attribute("alice"), "minLevel", attribute(2)))
+		);
+		assertEquals(
+				Set.of(List.of(bobDocument)),
+				prepared.evaluate(graph, Map.of("subjectId", attribute("bob"), "minLevel", attribute(2)))
+		);
+		assertEquals(
+				Set.of(),
+				prepared.evaluate(graph, Map.of("subjectId", attribute("nobody"), "minLevel", attribute(0)))
+		);
+	}
+
+	@Test
+	void testBoundPlanMatchesPatternWithoutParameters() {
+		PreparedGraphPattern prepared = PreparedGraphPattern.prepare(createWovenPattern());
+		GraphPattern equivalentPattern = Weaving.combinePatterns(List.of(createPolicy(attribute("bob")), createQuery(attribute(2))));
+		assertEquals(
+				GPEval.evaluate(graph, equivalentPattern),
+				GPEval.evaluate(graph, prepared.bind(Map.of("subjectId", attribute("bob"), "minLevel", attribute(2))))
+		);
+	}
+
+	@Test
+	void testInvalidParameters() {
+		PreparedGraphPattern prepared = PreparedGraphPattern.prepare(createWovenPattern());
+		assertThrows(IllegalArgumentException.class, () -> prepared.bind(Map.of("subjectId", attribute("alice"))));
+		assertThrows(IllegalArgumentException.class, () -> prepared.bind(Map.of("subjectId", attribute(1), "minLevel", attribute(0))));
+	}
+
+	@Test
+	void testStringBoundToRangePlaceholder() {
+		PreparedGraphPattern prepared = PreparedGraphPattern.prepare(createWovenPattern());
+		Map<String, AttributeValue<?>> parameters = Map.of("subjectId", attribute("alice"), "minLevel", attribute("high"));
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> prepared.bind(parameters));
+		assertInstanceOf(TypeMissmatchException.class, e.getCause());
+		assertThrows(IllegalArgumentException.class, () -> prepared.evaluate(graph, parameters));
+	}
+
+	@Test
+	void testUnboundPatternCannotBeEvaluated() {
+		GraphPattern pattern = createWovenPattern();
+		assertThrows(IllegalArgumentException.class, () -> GPEval.evaluate(graph, pattern));
+	}
+
+	private GraphPattern createWovenPattern() {
+		return Weaving.combinePatterns(List.of(createPolicy(parameter("subjectId")), createQuery(parameter("minLevel"))));
+	}
+
+	private GraphPattern createPolicy(AttributeValue<?> subjectId) {
+		GPNode subject = new GPNode("subject", USER_NODE_TYPE);
+		GPNode document = new GPNode("document", DOCUMENT_NODE_TYPE);
+		return new GraphPattern(
+				new GPGraph(List.of(subject, document), List.of(new GPEdge(subject, document, "owns", OWNS_EDGE_TYPE))),
+				List.of(),
+				Map.of(subject, List.of(new AttributeRequirement(ID_KEY, EQUAL, subjectId))),
+				Map.of(),
+				List.of(),
+				Map.of("subject", subject, "document", document)
+		);
+	}
+
+	private GraphPattern createQuery(AttributeValue<?> minLevel) {
+		GPNode document = new GPNode("document", DOCUMENT_NODE_TYPE);
+		return new GraphPattern(
+				new GPGraph(List.of(document), List.of()),
+				List.of(),
+				Map.of(document, List.of(new AttributeRequirement(LEVEL_ATTRIBUTE, GREATER_THAN_OR_EQUAL, minLevel))),
+				Map.of(),
+				List.of(document),
+				Map.of("document", document)
+		);
+	}
+}
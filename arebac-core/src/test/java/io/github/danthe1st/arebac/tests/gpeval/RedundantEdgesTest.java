@@ -0,0 +1,111 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement.ID_KEY;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.EQUAL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.GPEval;
+import io.github.danthe1st.arebac.gpeval.GPEvalPlan;
+import org.junit.jupiter.api.Test;
+
+class RedundantEdgesTest {
+	private static final String USER_NODE_TYPE = "user";
+	private static final String QUESTION_NODE_TYPE = "question";
+	private static final String ASKED_EDGE_TYPE = "asked";
+	private static final String USER_ID = "user";
+
+	private final InMemoryGraphNode user = new InMemoryGraphNode(USER_ID, USER_NODE_TYPE, Map.of());
+	private final InMemoryGraphNode firstQuestion = new InMemoryGraphNode("q1", QUESTION_NODE_TYPE, Map.of());
+	private final InMemoryGraphNode secondQuestion = new InMemoryGraphNode("q2", QUESTION_NODE_TYPE, Map.of());
+	private final InMemoryGraph graph = new InMemoryGraph(
+			List.of(user, firstQuestion, secondQuestion),
+			List.of(
+					new InMemoryGraphEdge(user, firstQuestion, "u->q1a", ASKED_EDGE_TYPE, Map.of("score", attribute(1))),
+					new InMemoryGraphEdge(user, firstQuestion, "u->q1b", ASKED_EDGE_TYPE, Map.of("score", attribute(2))),
+					new InMemoryGraphEdge(user, secondQuestion, "u->q2", ASKED_EDGE_TYPE, Map.of("score", attribute(1)))
+			)
+	);
+
+	@Test
+	void testIdenticalEdgesAreMerged() {
+		GPNode userNode = new GPNode("user", USER_NODE_TYPE);
+		GPNode questionNode = new GPNode("question", QUESTION_NODE_TYPE);
+		List<GPEdge> edges = new ArrayList<>();
+		Map<GPEdge, List<AttributeRequirement>> edgeRequirements = new HashMap<>();
+		for(int i = 0; i < 7; i++){
+			GPEdge edge = new GPEdge(userNode, questionNode, "edge" + i, ASKED_EDGE_TYPE);
+			edges.add(edge);
+			edgeRequirements.put(edge, List.of(new AttributeRequirement("score", EQUAL, attribute(1)), new AttributeRequirement("score", EQUAL, attribute(1))));
+		}
+		GraphPattern pattern = createPattern(userNode, questionNode, edges, edgeRequirements);
+		GPEvalPlan plan = GPEvalPlan.compile(pattern);
+		assertEquals(1, plan.edgeCount());
+		assertEquals("edge0", plan.edge(0).id());
+
+		CountingGraph countingGraph = new CountingGraph(graph);
+		assertEquals(Set.of(List.of(firstQuestion), List.of(secondQuestion)), GPEval.evaluate(countingGraph, plan));
+		assertEquals(1, countingGraph.getEdgeLookups());
+	}
+
+	@Test
+	void testImpliedEdgesAreRemoved() {
+		GPNode userNode = new GPNode("user", USER_NODE_TYPE);
+		GPNode questionNode = new GPNode("question", QUESTION_NODE_TYPE);
+		GPEdge unrestrictedEdge = new GPEdge(userNode, questionNode, "a", ASKED_EDGE_TYPE);
+		GPEdge restrictedEdge = new GPEdge(userNode, questionNode, "b", ASKED_EDGE_TYPE);
+		GraphPattern pattern = createPattern(
+				userNode, questionNode,
+				List.of(unrestrictedEdge, restrictedEdge),
+				Map.of(restrictedEdge, List.of(new AttributeRequirement("score", EQUAL, attribute(2))))
+		);
+		GPEvalPlan plan = GPEvalPlan.compile(pattern);
+		assertEquals(1, plan.edgeCount());
+		assertEquals(restrictedEdge, plan.edge(0));
+		assertEquals(Set.of(List.of(firstQuestion)), GPEval.evaluate(graph, plan));
+	}
+
+	@Test
+	void testEdgesWithDifferentRequirementsAreKept() {
+		GPNode userNode = new GPNode("user", USER_NODE_TYPE);
+		GPNode questionNode = new GPNode("question", QUESTION_NODE_TYPE);
+		GPEdge firstEdge = new GPEdge(userNode, questionNode, "a", ASKED_EDGE_TYPE);
+		GPEdge secondEdge = new GPEdge(userNode, questionNode, "b", ASKED_EDGE_TYPE);
+		GraphPattern pattern = createPattern(
+				userNode, questionNode,
+				List.of(firstEdge, secondEdge),
+				Map.of(
+						firstEdge, List.of(new AttributeRequirement("score", EQUAL, attribute(1))),
+						secondEdge, List.of(new AttributeRequirement("score", EQUAL, attribute(2)))
+				)
+		);
+		GPEvalPlan plan = GPEvalPlan.compile(pattern);
+		assertEquals(2, plan.edgeCount());
+		// both edges are satisfied by different edges in the attributed graph
+		assertEquals(Set.of(List.of(firstQuestion)), GPEval.evaluate(graph, plan));
+	}
+
+	private GraphPattern createPattern(GPNode userNode, GPNode questionNode, List<GPEdge> edges, Map<GPEdge, List<AttributeRequirement>> edgeRequirements) {
+		return new GraphPattern(
+				new GPGraph(List.of(userNode, questionNode), edges),
+				List.of(),
+				Map.of(userNode, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute(USER_ID)), new AttributeRequirement(ID_KEY, EQUAL, attribute(USER_ID)))),
+				edgeRequirements,
+				List.of(questionNode), Map.of()
+		);
+	}
+}
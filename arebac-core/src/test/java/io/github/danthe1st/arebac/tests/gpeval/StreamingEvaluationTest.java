@@ -0,0 +1,113 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement.ID_KEY;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.EQUAL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.GPEval;
+import io.github.danthe1st.arebac.gpeval.GPEvalPlan;
+import org.junit.jupiter.api.Test;
+
+class StreamingEvaluationTest {
+	private static final String REQUESTOR_ID = "requestor";
+	private static final String USER_NODE_TYPE = "user";
+	private static final String DOCUMENT_NODE_TYPE = "document";
+	private static final String FRIEND_EDGE_TYPE = "friend";
+	private static final String OWNS_EDGE_TYPE = "owns";
+	private static final int FRIEND_COUNT = 50;
+
+	private final CountingGraph graph = new CountingGraph(createGraph());
+
+	@Test
+	void testStreamReturnsDistinctResults() {
+		List<List<InMemoryGraphNode>> streamed = GPEval.stream(graph, createPattern()).toList();
+		assertEquals(FRIEND_COUNT, streamed.size());
+		assertEquals(Set.copyOf(streamed), GPEval.evaluate(graph, createPattern()));
+	}
+
+	@Test
+	void testStreamIsLazy() {
+		GPEvalPlan plan = GPEvalPlan.compile(createPattern());
+		GPEval.evaluate(graph, plan);
+		int edgeLookupsForAllResults = graph.getEdgeLookups();
+		graph.resetEdgeLookups();
+
+		List<List<InMemoryGraphNode>> firstPage = GPEval.stream(graph, plan).limit(3).toList();
+		assertEquals(3, firstPage.size());
+		assertTrue(graph.getEdgeLookups() < edgeLookupsForAllResults, graph.getEdgeLookups() + " edge lookups for the first results, " + edgeLookupsForAllResults + " for all results");
+	}
+
+	@Test
+	void testIterator() {
+		Iterator<List<InMemoryGraphNode>> iterator = GPEval.iterator(graph, GPEvalPlan.compile(createPattern()));
+		Set<List<InMemoryGraphNode>> results = new HashSet<>();
+		while(iterator.hasNext()){
+			assertTrue(results.add(iterator.next()));
+		}
+		assertFalse(iterator.hasNext());
+		assertThrows(NoSuchElementException.class, iterator::next);
+		assertEquals(GPEval.evaluate(graph, createPattern()), results);
+	}
+
+	@Test
+	void testStreamWithoutResults() {
+		GraphPattern pattern = createPattern();
+		InMemoryGraph emptyGraph = new InMemoryGraph(List.of(), List.of());
+		assertEquals(List.of(), GPEval.stream(emptyGraph, pattern).toList());
+	}
+
+	private InMemoryGraph createGraph() {
+		InMemoryGraphNode requestor = new InMemoryGraphNode(REQUESTOR_ID, USER_NODE_TYPE, Map.of());
+		List<InMemoryGraphNode> nodes = new ArrayList<>();
+		List<InMemoryGraphEdge> edges = new ArrayList<>();
+		nodes.add(requestor);
+		for(int i = 0; i < FRIEND_COUNT; i++){
+			InMemoryGraphNode friend = new InMemoryGraphNode("friend" + i, USER_NODE_TYPE, Map.of());
+			InMemoryGraphNode document = new InMemoryGraphNode("document" + i, DOCUMENT_NODE_TYPE, Map.of());
+			nodes.add(friend);
+			nodes.add(document);
+			edges.add(new InMemoryGraphEdge(requestor, friend, "r->f" + i, FRIEND_EDGE_TYPE, Map.of()));
+			edges.add(new InMemoryGraphEdge(friend, document, "f" + i + "->d" + i, OWNS_EDGE_TYPE, Map.of()));
+		}
+		return new InMemoryGraph(nodes, edges);
+	}
+
+	private GraphPattern createPattern() {
+		GPNode requestor = new GPNode("requestor", USER_NODE_TYPE);
+		GPNode friend = new GPNode("friend", USER_NODE_TYPE);
+		GPNode document = new GPNode("document", DOCUMENT_NODE_TYPE);
+		return new GraphPattern(
+				new GPGraph(
+						List.of(requestor, friend, document),
+						List.of(
+								new GPEdge(requestor, friend, null, FRIEND_EDGE_TYPE),
+								new GPEdge(friend, document, null, OWNS_EDGE_TYPE)
+						)
+				),
+				List.of(),
+				Map.of(requestor, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute(REQUESTOR_ID)))),
+				Map.of(),
+				List.of(document), Map.of()
+		);
+	}
+}
@@ -0,0 +1,187 @@
+package io.github.danthe1st.arebac.tests.gpeval;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement.ID_KEY;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.EQUAL;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.GREATER_THAN;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.LESS_THAN;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.LESS_THAN_OR_EQUAL;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.NOT_EQUAL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.MutualExclusionConstraint;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.GPEval;
+import io.github.danthe1st.arebac.gpeval.GPEvalPlan;
+import io.github.danthe1st.arebac.gpeval.PreparedGraphPattern;
+import io.github.danthe1st.arebac.weaving.Weaving;
+import org.junit.jupiter.api.Test;
+
+class UnsatisfiablePatternTest {
+	private static final String USER_NODE_TYPE = "user";
+	private static final String DOCUMENT_NODE_TYPE = "document";
+	private static final String OWNS_EDGE_TYPE = "owns";
+	private static final String USER_ID = "user";
+
+	private final AttributedGraph<InMemoryGraphNode, InMemoryGraphEdge> unusableGraph = new UnusableGraph();
+
+	@Test
+	void testConflictingEqualRequirementsFromWeaving() {
+		GraphPattern policy = createPattern(List.of(new AttributeRequirement("status", EQUAL, attribute("active"))));
+		GraphPattern query = createPattern(List.of(new AttributeRequirement("status", EQUAL, attribute("archived"))));
+		GraphPattern combined = Weaving.combinePatterns(List.of(policy, query));
+		assertTrue(GPEvalPlan.compile(combined).isUnsatisfiable());
+		assertEquals(Set.of(), GPEval.evaluate(unusableGraph, combined));
+		assertFalse(GPEval.exists(unusableGraph, combined));
+		assertEquals(0, GPEval.count(unusableGraph, combined));
+	}
+
+	@Test
+	void testEmptyRange() {
+		GraphPattern pattern = createPattern(
+				List.of(
+						new AttributeRequirement("size", GREATER_THAN, attribute(5)),
+						new AttributeRequirement("size", LESS_THAN, attribute(6))
+				)
+		);
+		assertTrue(GPEvalPlan.compile(pattern).isUnsatisfiable());
+		assertEquals(Set.of(), GPEval.evaluate(unusableGraph, pattern));
+	}
+
+	@Test
+	void testRequiredValueOutsideOfRange() {
+		GraphPattern pattern = createPattern(
+				List.of(
+						new AttributeRequirement("size", EQUAL, attribute(10)),
+						new AttributeRequirement("size", LESS_THAN_OR_EQUAL, attribute(5))
+				)
+		);
+		assertTrue(GPEvalPlan.compile(pattern).isUnsatisfiable());
+	}
+
+	@Test
+	void testExcludedRequiredValue() {
+		GraphPattern pattern = createPattern(
+				List.of(
+						new AttributeRequirement("status", EQUAL, attribute("active")),
+						new AttributeRequirement("status", NOT_EQUAL, attribute("active"))
+				)
+		);
+		assertTrue(GPEvalPlan.compile(pattern).isUnsatisfiable());
+	}
+
+	@Test
+	void testConflictingIds() {
+		GraphPattern pattern = createPattern(List.of(), List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute("other"))), List.of());
+		assertTrue(GPEvalPlan.compile(pattern).isUnsatisfiable());
+		assertEquals(Set.of(), GPEval.evaluate(unusableGraph, pattern));
+	}
+
+	@Test
+	void testMutualExclusionBetweenNodesWithSameId() {
+		GraphPattern pattern = createPattern(List.of(), List.of(), List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute(USER_ID))));
+		assertTrue(GPEvalPlan.compile(pattern).isUnsatisfiable());
+		assertEquals(Set.of(), GPEval.evaluate(unusableGraph, pattern));
+	}
+
+	@Test
+	void testContradictionAfterBindingParameters() {
+		GraphPattern pattern = createPattern(
+				List.of(
+						new AttributeRequirement("status", EQUAL, attribute("active")),
+						new AttributeRequirement("status", EQUAL, AttributeValue.parameter("status"))
+				)
+		);
+		PreparedGraphPattern prepared = PreparedGraphPattern.prepare(pattern);
+		assertFalse(prepared.bind(Map.of("status", attribute("active"))).isUnsatisfiable());
+		assertTrue(prepared.bind(Map.of("status", attribute("archived"))).isUnsatisfiable());
+		assertEquals(Set.of(), prepared.evaluate(unusableGraph, Map.of("status", attribute("archived"))));
+	}
+
+	@Test
+	void testCompatibleRequirements() {
+		GraphPattern pattern = createPattern(
+				List.of(
+						new AttributeRequirement("size", GREATER_THAN, attribute(1)),
+						new AttributeRequirement("size", LESS_THAN, attribute(3)),
+						new AttributeRequirement("size", EQUAL, attribute(2)),
+						new AttributeRequirement("status", EQUAL, attribute("active")),
+						new AttributeRequirement("status", NOT_EQUAL, attribute("archived"))
+				)
+		);
+		assertFalse(GPEvalPlan.compile(pattern).isUnsatisfiable());
+
+		InMemoryGraphNode user = new InMemoryGraphNode(USER_ID, USER_NODE_TYPE, Map.of());
+		InMemoryGraphNode otherUser = new InMemoryGraphNode("other", USER_NODE_TYPE, Map.of());
+		InMemoryGraphNode document = new InMemoryGraphNode("doc", DOCUMENT_NODE_TYPE, Map.of("size", attribute(2), "status", attribute("active")));
+		InMemoryGraph graph = new InMemoryGraph(
+				List.of(user, otherUser, document),
+				List.of(
+						new InMemoryGraphEdge(user, document, "u->d", OWNS_EDGE_TYPE, Map.of()),
+						new InMemoryGraphEdge(otherUser, document, "o->d", OWNS_EDGE_TYPE, Map.of())
+				)
+		);
+		assertEquals(Set.of(List.of(document)), GPEval.evaluate(graph, pattern));
+	}
+
+	private GraphPattern createPattern(List<AttributeRequirement> documentRequirements) {
+		return createPattern(documentRequirements, List.of(), List.of());
+	}
+
+	private GraphPattern createPattern(List<AttributeRequirement> documentRequirements, List<AttributeRequirement> additionalUserRequirements, List<AttributeRequirement> otherUserRequirements) {
+		GPNode user = new GPNode("user", USER_NODE_TYPE);
+		GPNode otherUser = new GPNode("otherUser", USER_NODE_TYPE);
+		GPNode document = new GPNode("document", DOCUMENT_NODE_TYPE);
+		List<AttributeRequirement> userRequirements = new ArrayList<>(additionalUserRequirements);
+		userRequirements.add(new AttributeRequirement(ID_KEY, EQUAL, attribute(USER_ID)));
+		return new GraphPattern(
+				new GPGraph(
+						List.of(user, otherUser, document),
+						List.of(
+								new GPEdge(user, document, null, OWNS_EDGE_TYPE),
+								new GPEdge(otherUser, document, null, OWNS_EDGE_TYPE)
+						)
+				),
+				List.of(new MutualExclusionConstraint(user, otherUser)),
+				otherUserRequirements.isEmpty()
+						? Map.of(user, userRequirements, document, documentRequirements)
+						: Map.of(user, userRequirements, otherUser, otherUserRequirements, document, documentRequirements),
+				Map.of(),
+				List.of(document), Map.of("user", user, "document", document)
+		);
+	}
+
+	private static final class UnusableGraph implements AttributedGraph<InMemoryGraphNode, InMemoryGraphEdge> {
+		@Override
+		public InMemoryGraphNode findNodeById(String id) {
+			throw new AssertionError("graph should not be accessed");
+		}
+
+		@Override
+		public Collection<InMemoryGraphEdge> findOutgoingEdges(InMemoryGraphNode node, String edgeType) {
+			throw new AssertionError("graph should not be accessed");
+		}
+
+		@Override
+		public Collection<InMemoryGraphEdge> findIncomingEdges(InMemoryGraphNode node, String edgeType) {
+			throw new AssertionError("graph should not be accessed");
+		}
+	}
+}
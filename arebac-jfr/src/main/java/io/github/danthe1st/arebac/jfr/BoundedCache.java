@@ -0,0 +1,236 @@
+package io.github.danthe1st.arebac.jfr;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * A concurrent cache limited by the total weight of its entries.
+ *
+ * Entries are distributed over multiple segments by the hash codes of their keys. Every segment is guarded by its own lock
+ * and evicts its least recently used entries if the weight of its entries exceeds its share of the maximum weight.
+ *
+ * Values are computed outside of the locks so loading a value does not block other threads accessing the same segment.
+ * Concurrent requests for the same missing entry may compute the value multiple times but only one of the results is stored.
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+final class BoundedCache<K, V> {
+	private final Segment<K, V>[] segments;
+	private final ToIntFunction<V> weigher;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder rejections = new LongAdder();
+
+	/**
+	 * Creates an empty cache.
+	 * @param maximumWeight the maximum total weight of all entries
+	 * @param concurrencyLevel the number of segments, entries heavier than {@code maximumWeight / concurrencyLevel} are not stored
+	 * @param weigher computes the weight of a value, must be positive
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	BoundedCache(long maximumWeight, int concurrencyLevel, ToIntFunction<V> weigher) {
+		this.weigher = weigher;
+		int segmentCount = (int) Math.min(concurrencyLevel, maximumWeight);
+		segments = new Segment[segmentCount];
+		for(int i = 0; i < segmentCount; i++){
+			// distribute the remainder so the maximum weights of all segments add up to the maximum weight
+			segments[i] = new Segment<>(maximumWeight / segmentCount + (i < maximumWeight % segmentCount ? 1 : 0));
+		}
+	}
+
+	/**
+	 * Gets the value of an entry in the cache or computes and stores it if it isn't present.
+	 * @param key the key of the entry
+	 * @param loader computes the value if it is not present, {@code null} values are returned but not stored
+	 * @return the value associated with the key
+	 */
+	V get(K key, Function<K, V> loader) {
+		return get(key, loader, true);
+	}
+
+	/**
+	 * Gets the value of an entry in the cache or computes and stores it like {@link #get(Object, Function)} without counting the lookup as a hit or miss.
+	 * This is intended for internal lookups that should not affect the hit rate.
+	 * @param key the key of the entry
+	 * @param loader computes the value if it is not present, {@code null} values are returned but not stored
+	 * @return the value associated with the key
+	 */
+	V getUncounted(K key, Function<K, V> loader) {
+		return get(key, loader, false);
+	}
+
+	private V get(K key, Function<K, V> loader, boolean counted) {
+		Segment<K, V> segment = segmentFor(key);
+		V value = segment.get(key);
+		if(value != null){
+			if(counted){
+				hits.increment();
+			}
+			return value;
+		}
+		if(counted){
+			misses.increment();
+		}
+		value = loader.apply(key);
+		if(value == null){
+			return null;
+		}
+		int weight = weigher.applyAsInt(value);
+		if(weight > segment.maximumWeight){
+			// storing the value would evict all other entries of the segment
+			rejections.increment();
+			return value;
+		}
+		return segment.putIfAbsent(key, value, weight, evictions);
+	}
+
+	/**
+	 * Removes an entry from the cache.
+	 * @param key the key of the entry
+	 */
+	void invalidate(K key) {
+		segmentFor(key).remove(key);
+	}
+
+	/**
+	 * Removes all entries from the cache satisfying a condition.
+	 * @param condition checks whether the entry with a specific key and value should be removed
+	 */
+	void invalidateIf(BiPredicate<K, V> condition) {
+		for(Segment<K, V> segment : segments){
+			segment.removeIf(condition);
+		}
+	}
+
+	/**
+	 * Removes all entries from the cache.
+	 */
+	void invalidateAll() {
+		invalidateIf((key, value) -> true);
+	}
+
+	/**
+	 * Gets the number of entries in the cache.
+	 * @return the number of entries
+	 */
+	long size() {
+		long size = 0;
+		for(Segment<K, V> segment : segments){
+			size += segment.size();
+		}
+		return size;
+	}
+
+	long getHitCount() {
+		return hits.sum();
+	}
+
+	long getMissCount() {
+		return misses.sum();
+	}
+
+	long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	long getRejectionCount() {
+		return rejections.sum();
+	}
+
+	private Segment<K, V> segmentFor(K key) {
+		int hash = key.hashCode();
+		// spread the higher bits as keys like records often differ in the lower bits only
+		hash ^= hash >>> 16;
+		return segments[Math.floorMod(hash, segments.length)];
+	}
+
+	private static final class Segment<K, V> {
+		private final ReentrantLock lock = new ReentrantLock();
+		private final long maximumWeight;
+		private final Map<K, WeightedValue<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+		private long weight = 0;
+
+		private Segment(long maximumWeight) {
+			this.maximumWeight = maximumWeight;
+		}
+
+		private V get(K key) {
+			lock.lock();
+			try{
+				WeightedValue<V> entry = entries.get(key);
+				return entry == null ? null : entry.value();
+			}finally{
+				lock.unlock();
+			}
+		}
+
+		private V putIfAbsent(K key, V value, int valueWeight, LongAdder evictions) {
+			lock.lock();
+			try{
+				WeightedValue<V> existing = entries.get(key);
+				if(existing != null){
+					return existing.value();
+				}
+				entries.put(key, new WeightedValue<>(value, valueWeight));
+				weight += valueWeight;
+				Iterator<WeightedValue<V>> it = entries.values().iterator();
+				while(weight > maximumWeight){
+					weight -= it.next().weight();
+					it.remove();
+					evictions.increment();
+				}
+				return value;
+			}finally{
+				lock.unlock();
+			}
+		}
+
+		private void remove(K key) {
+			lock.lock();
+			try{
+				WeightedValue<V> removed = entries.remove(key);
+				if(removed != null){
+					weight -= removed.weight();
+				}
+			}finally{
+				lock.unlock();
+			}
+		}
+
+		private void removeIf(BiPredicate<K, V> condition) {
+			lock.lock();
+			try{
+				Iterator<Map.Entry<K, WeightedValue<V>>> it = entries.entrySet().iterator();
+				while(it.hasNext()){
+					Map.Entry<K, WeightedValue<V>> entry = it.next();
+					if(condition.test(entry.getKey(), entry.getValue().value())){
+						weight -= entry.getValue().weight();
+						it.remove();
+					}
+				}
+			}finally{
+				lock.unlock();
+			}
+		}
+
+		private int size() {
+			lock.lock();
+			try{
+				return entries.size();
+			}finally{
+				lock.unlock();
+			}
+		}
+	}
+
+	private record WeightedValue<V>(V value, int weight) {
+	}
+}
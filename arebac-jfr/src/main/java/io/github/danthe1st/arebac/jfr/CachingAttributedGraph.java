@@ -0,0 +1,251 @@
+package io.github.danthe1st.arebac.jfr;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedEdge;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedNode;
+import io.github.danthe1st.arebac.data.commongraph.attributed.GraphStatistics;
+
+/**
+ * An {@link AttributedGraph} caching nodes, edges and their attributes loaded from another graph across multiple evaluations.
+ *
+ * This is intended for workloads where most requests access the same small part of the graph that rarely changes.
+ * Nodes found by their ID or a unique attribute, the incoming and outgoing edges of nodes as well as all attributes read from these are stored
+ * until they are evicted or {@link #invalidateNode(String) invalidated}.
+ *
+ * The size of the cache is limited by a maximum weight. Every node and unique attribute lookup has a weight of 1 while
+ * edges found for a node and edge type have a weight of 1 plus the number of edges. If the cache is full, the least recently used entries are evicted.
+ * The cache is split into multiple segments with separate locks so it can be accessed from multiple threads concurrently.
+ * Every segment is limited to its share of the maximum weight so entries heavier than that (e.g. nodes with a very large number of edges) are not cached
+ * and counted as {@link #getRejectionCount() rejections} instead.
+ * In order to cache the edges of nodes with up to {@code d} edges of a type, the maximum weight should be at least {@code concurrencyLevel * (d + 1)}.
+ * If only a few threads access the cache, a lower concurrency level allows caching heavier entries with the same maximum weight.
+ *
+ * The underlying graph must allow accessing its nodes and edges outside of the evaluation they have been loaded in. This is not the case for {@code Neo4jAccess}
+ * which only allows accessing nodes and edges during the transaction they have been loaded in.
+ *
+ * Changes to the underlying graph are not observed. If a node or its attributes change, it needs to be invalidated using {@link #invalidateNode(String)}.
+ * This also removes cached edges of other nodes connected to it so these don't refer to the outdated node.
+ * If an edge is added or removed, both the source and target node need to be invalidated.
+ * @param <N> The type of nodes in the underlying graph
+ * @param <E> The type of edges in the underlying graph
+ */
+public class CachingAttributedGraph<N extends AttributedNode, E extends AttributedEdge<N>> implements AttributedGraph<CachingGraphNode<N>, CachingGraphEdge<N, E>> {
+
+	private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+	private final AttributedGraph<N, E> graph;
+	private final BoundedCache<CacheKey, Object> cache;
+
+	/**
+	 * Creates a cache for a graph that is split into 16 segments.
+	 * @param graph the underlying graph
+	 * @param maximumWeight the maximum weight of all cached nodes and edges
+	 * @throws IllegalArgumentException if the maximum weight is not positive
+	 */
+	public CachingAttributedGraph(AttributedGraph<N, E> graph, long maximumWeight) {
+		this(graph, maximumWeight, DEFAULT_CONCURRENCY_LEVEL);
+	}
+
+	/**
+	 * Creates a cache for a graph.
+	 * @param graph the underlying graph
+	 * @param maximumWeight the maximum weight of all cached nodes and edges
+	 * @param concurrencyLevel the number of segments the cache is split into, every segment can store entries up to a weight of {@code maximumWeight / concurrencyLevel}
+	 * @throws IllegalArgumentException if the maximum weight or the concurrency level is not positive
+	 */
+	public CachingAttributedGraph(AttributedGraph<N, E> graph, long maximumWeight, int concurrencyLevel) {
+		Objects.requireNonNull(graph);
+		if(maximumWeight <= 0){
+			throw new IllegalArgumentException("maximum weight must be positive");
+		}
+		if(concurrencyLevel <= 0){
+			throw new IllegalArgumentException("concurrency level must be positive");
+		}
+		this.graph = graph;
+		this.cache = new BoundedCache<>(maximumWeight, concurrencyLevel, value -> value instanceof List<?> edges ? edges.size() + 1 : 1);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public CachingGraphNode<N> findNodeById(String id) {
+		return (CachingGraphNode<N>) cache.get(new NodeKey(id), key -> {
+			N node = graph.findNodeById(id);
+			return node == null ? null : new CachingGraphNode<>(node);
+		});
+	}
+
+	@Override
+	public Collection<CachingGraphEdge<N, E>> findOutgoingEdges(CachingGraphNode<N> node, String edgeType) {
+		return findEdges(node, edgeType, true);
+	}
+
+	@Override
+	public Collection<CachingGraphEdge<N, E>> findIncomingEdges(CachingGraphNode<N> node, String edgeType) {
+		return findEdges(node, edgeType, false);
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<CachingGraphEdge<N, E>> findEdges(CachingGraphNode<N> node, String edgeType, boolean outgoing) {
+		return (List<CachingGraphEdge<N, E>>) cache.get(new EdgesKey(node.id(), edgeType, outgoing), key -> {
+			N internalNode = node.getInternalNode();
+			Collection<E> edges = outgoing ? graph.findOutgoingEdges(internalNode, edgeType) : graph.findIncomingEdges(internalNode, edgeType);
+			List<CachingGraphEdge<N, E>> result = new ArrayList<>(edges.size());
+			for(E edge : edges){
+				result.add(new CachingGraphEdge<>(edge, wrap(edge.source()), wrap(edge.target())));
+			}
+			return List.copyOf(result);
+		});
+	}
+
+	/**
+	 * Gets the cached node corresponding to a node of the underlying graph or adds it to the cache.
+	 * This makes sure attributes of nodes reached via edges are cached as well.
+	 * The lookup is not counted as a hit or miss since it is not requested by the caller.
+	 * @param node the node in the underlying graph
+	 * @return the {@link CachingGraphNode}
+	 */
+	@SuppressWarnings("unchecked")
+	private CachingGraphNode<N> wrap(N node) {
+		return (CachingGraphNode<N>) cache.getUncounted(new NodeKey(node.id()), key -> new CachingGraphNode<>(node));
+	}
+
+	@Override
+	public boolean isAttributeUniqueForNodeType(String key, String nodeType) {
+		return graph.isAttributeUniqueForNodeType(key, nodeType);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public CachingGraphNode<N> getNodeByUniqueAttribute(String nodeType, String key, AttributeValue<?> value) {
+		return (CachingGraphNode<N>) cache.get(new UniqueAttributeKey(nodeType, key, value), lookup -> {
+			N node = graph.getNodeByUniqueAttribute(nodeType, key, value);
+			return node == null ? null : wrap(node);
+		});
+	}
+
+	@Override
+	public boolean hasNumericNodeIds() {
+		return graph.hasNumericNodeIds();
+	}
+
+	@Override
+	public long getNumericNodeId(CachingGraphNode<N> node) {
+		return graph.getNumericNodeId(node.getInternalNode());
+	}
+
+	@Override
+	public GraphStatistics getStatistics() {
+		return graph.getStatistics();
+	}
+
+	/**
+	 * Removes a node, its attributes and its incoming and outgoing edges from the cache.
+	 *
+	 * Cached edges of other nodes are removed as well if they are connected to the invalidated node
+	 * since these edges refer to the node with the attributes it had when the edges were loaded.
+	 * This requires checking all cached edges.
+	 * @param id the ID of the node
+	 */
+	public void invalidateNode(String id) {
+		Objects.requireNonNull(id);
+		cache.invalidateIf((key, value) -> switch(key) {
+		case NodeKey nodeKey -> nodeKey.id().equals(id);
+		case EdgesKey edgesKey -> edgesKey.nodeId().equals(id) || isConnectedTo((List<?>) value, id);
+		case UniqueAttributeKey uniqueAttributeKey -> ((CachingGraphNode<?>) value).id().equals(id);
+		});
+	}
+
+	private static boolean isConnectedTo(List<?> edges, String nodeId) {
+		for(Object element : edges){
+			CachingGraphEdge<?, ?> edge = (CachingGraphEdge<?, ?>) element;
+			if(edge.source().id().equals(nodeId) || edge.target().id().equals(nodeId)){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Removes all entries from the cache.
+	 * The statistics of the cache are not reset.
+	 */
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	/**
+	 * Gets the number of entries (nodes, edges of a node with a specific type and unique attribute lookups) in the cache.
+	 * @return the number of entries
+	 */
+	public long size() {
+		return cache.size();
+	}
+
+	/**
+	 * Gets the number of lookups that have been answered using an entry in the cache.
+	 * Lookups are calls to {@link #findNodeById(String)}, {@link #findOutgoingEdges(CachingGraphNode, String)}, {@link #findIncomingEdges(CachingGraphNode, String)}
+	 * and {@link #getNodeByUniqueAttribute(String, String, AttributeValue)}. Nodes added to the cache when loading edges are not counted.
+	 * @return the number of cache hits
+	 */
+	public long getHitCount() {
+		return cache.getHitCount();
+	}
+
+	/**
+	 * Gets the number of lookups that required accessing the underlying graph.
+	 * @see #getHitCount()
+	 * @return the number of cache misses
+	 */
+	public long getMissCount() {
+		return cache.getMissCount();
+	}
+
+	/**
+	 * Gets the number of entries that have been removed because the cache was full.
+	 * @return the number of evicted entries
+	 */
+	public long getEvictionCount() {
+		return cache.getEvictionCount();
+	}
+
+	/**
+	 * Gets the number of entries that have not been stored because they are heavier than the share of the maximum weight of a segment.
+	 * @return the number of rejected entries
+	 */
+	public long getRejectionCount() {
+		return cache.getRejectionCount();
+	}
+
+	/**
+	 * Gets the ratio of lookups that have been answered using an entry in the cache.
+	 * @return the hit rate between {@code 0} and {@code 1} or {@code 1} if no lookups happened
+	 */
+	public double getHitRate() {
+		long hits = getHitCount();
+		long requests = hits + getMissCount();
+		return requests == 0 ? 1 : (double) hits / requests;
+	}
+
+	@Override
+	public String toString() {
+		return "CachingAttributedGraph [graph=" + graph + ", size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + ", rejections=" + getRejectionCount() + "]";
+	}
+
+	private sealed interface CacheKey {
+	}
+
+	private record NodeKey(String id) implements CacheKey {
+	}
+
+	private record EdgesKey(String nodeId, String edgeType, boolean outgoing) implements CacheKey {
+	}
+
+	private record UniqueAttributeKey(String nodeType, String key, AttributeValue<?> value) implements CacheKey {
+	}
+}
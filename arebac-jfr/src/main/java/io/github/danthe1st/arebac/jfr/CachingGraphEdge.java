@@ -0,0 +1,84 @@
+package io.github.danthe1st.arebac.jfr;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedEdge;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedNode;
+
+/**
+ * An edge of a {@link CachingAttributedGraph} remembering all attributes that have been read from it.
+ *
+ * The source and target of the edge are the {@link CachingGraphNode nodes} stored in the {@link CachingAttributedGraph} at the time the edge has been loaded.
+ * @param <N> The type of the wrapped nodes
+ * @param <E> The type of the wrapped edge
+ */
+public class CachingGraphEdge<N extends AttributedNode, E extends AttributedEdge<N>> implements AttributedEdge<CachingGraphNode<N>> {
+
+	private final E edge;
+	private final CachingGraphNode<N> source;
+	private final CachingGraphNode<N> target;
+	// attribute key -> value, empty if the edge doesn't have that attribute
+	private final Map<String, Optional<AttributeValue<?>>> attributes = new ConcurrentHashMap<>();
+
+	CachingGraphEdge(E edge, CachingGraphNode<N> source, CachingGraphNode<N> target) {
+		this.edge = Objects.requireNonNull(edge);
+		this.source = Objects.requireNonNull(source);
+		this.target = Objects.requireNonNull(target);
+	}
+
+	@Override
+	public CachingGraphNode<N> source() {
+		return source;
+	}
+
+	@Override
+	public CachingGraphNode<N> target() {
+		return target;
+	}
+
+	@Override
+	public String id() {
+		return edge.id();
+	}
+
+	@Override
+	public boolean hasEdgeType(String edgeType) {
+		return edge.hasEdgeType(edgeType);
+	}
+
+	@Override
+	public AttributeValue<?> getAttribute(String key) {
+		return attributes.computeIfAbsent(key, k -> Optional.ofNullable(edge.getAttribute(k))).orElse(null);
+	}
+
+	public E getInternalEdge() {
+		return edge;
+	}
+
+	@Override
+	public String toString() {
+		return "CachingGraphEdge [edge=" + edge + "]";
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(edge);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj){
+			return true;
+		}
+		if((obj == null) || (getClass() != obj.getClass())){
+			return false;
+		}
+		CachingGraphEdge<?, ?> other = (CachingGraphEdge<?, ?>) obj;
+		return Objects.equals(edge, other.edge);
+	}
+
+}
@@ -0,0 +1,66 @@
+package io.github.danthe1st.arebac.jfr;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedNode;
+
+/**
+ * A node of a {@link CachingAttributedGraph} remembering all attributes that have been read from it.
+ * @param <N> The type of the wrapped node
+ */
+public class CachingGraphNode<N extends AttributedNode> implements AttributedNode {
+
+	private final N node;
+	// attribute key -> value, empty if the node doesn't have that attribute
+	private final Map<String, Optional<AttributeValue<?>>> attributes = new ConcurrentHashMap<>();
+
+	CachingGraphNode(N node) {
+		this.node = Objects.requireNonNull(node);
+	}
+
+	@Override
+	public String id() {
+		return node.id();
+	}
+
+	@Override
+	public boolean hasNodeType(String nodeType) {
+		return node.hasNodeType(nodeType);
+	}
+
+	@Override
+	public AttributeValue<?> getAttribute(String key) {
+		return attributes.computeIfAbsent(key, k -> Optional.ofNullable(node.getAttribute(k))).orElse(null);
+	}
+
+	public N getInternalNode() {
+		return node;
+	}
+
+	@Override
+	public String toString() {
+		return "CachingGraphNode [node=" + node + "]";
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(node);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj){
+			return true;
+		}
+		if((obj == null) || (getClass() != obj.getClass())){
+			return false;
+		}
+		CachingGraphNode<?> other = (CachingGraphNode<?>) obj;
+		return Objects.equals(node, other.node);
+	}
+
+}
@@ -5,6 +5,7 @@ import java.util.Objects;
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedEdge;
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedNode;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator;
 import io.github.danthe1st.arebac.jfr.events.GetAttributeEvent;
 import io.github.danthe1st.arebac.jfr.events.GetAttributeEvent.ElementType;
 
@@ -45,6 +46,15 @@ public class JFRRecordedGraphEdge<N extends AttributedNode, E extends Attributed
 		return attribute;
 	}
 
+	@Override
+	public boolean matches(String key, AttributeRequirementOperator operator, AttributeValue<?> value) {
+		GetAttributeEvent event = new GetAttributeEvent(edge.id(), key, ElementType.EDGE);
+		event.begin();
+		boolean matches = edge.matches(key, operator, value);
+		event.commit();
+		return matches;
+	}
+
 	@Override
 	public String toString() {
 		return "JFRRecordedGraphEdge [edge=" + edge + "]";
@@ -4,6 +4,7 @@ import java.util.Objects;
 
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedNode;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator;
 import io.github.danthe1st.arebac.jfr.events.GetAttributeEvent;
 import io.github.danthe1st.arebac.jfr.events.GetAttributeEvent.ElementType;
 
@@ -34,6 +35,15 @@ public class JFRRecordedGraphNode<N extends AttributedNode> implements Attribute
 		return attribute;
 	}
 	
+	@Override
+	public boolean matches(String key, AttributeRequirementOperator operator, AttributeValue<?> value) {
+		GetAttributeEvent event = new GetAttributeEvent(node.id(), key, ElementType.NODE);
+		event.begin();
+		boolean matches = node.matches(key, operator, value);
+		event.commit();
+		return matches;
+	}
+	
 	public N getInternalNode() {
 		return node;
 	}
@@ -1,14 +1,18 @@
 package io.github.danthe1st.arebac.jfr;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedEdge;
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph;
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedNode;
+import io.github.danthe1st.arebac.data.commongraph.attributed.GraphStatistics;
 import io.github.danthe1st.arebac.jfr.events.FindEdgesEvent;
 import io.github.danthe1st.arebac.jfr.events.FindEdgesEvent.Direction;
+import io.github.danthe1st.arebac.jfr.events.FindEdgesOfNodesEvent;
 import io.github.danthe1st.arebac.jfr.events.FindNodeByUniqueAttributeEvent;
 import io.github.danthe1st.arebac.jfr.events.FindNodeEvent;
 
@@ -49,6 +53,23 @@ public class JFRRecordedGraphWrapper<N extends AttributedNode, E extends Attribu
 		return incomingEdges.stream().map(JFRRecordedGraphEdge::new).toList();
 	}
 	
+	@Override
+	public Map<JFRRecordedGraphNode<N>, Collection<JFRRecordedGraphEdge<N, E>>> findEdges(Collection<JFRRecordedGraphNode<N>> nodes, boolean outgoing, String edgeType) {
+		// the edges of all nodes are requested at once so that batching of the underlying graph is preserved
+		Map<N, JFRRecordedGraphNode<N>> wrappers = new HashMap<>();
+		for(JFRRecordedGraphNode<N> node : nodes){
+			wrappers.put(node.getInternalNode(), node);
+		}
+		FindEdgesOfNodesEvent event = new FindEdgesOfNodesEvent(wrappers.size(), edgeType, outgoing ? Direction.OUTGOING : Direction.INCOMING);
+		event.begin();
+		Map<N, Collection<E>> edges = graph.findEdges(wrappers.keySet(), outgoing, edgeType);
+		event.setFoundEdgesCount(edges.values().stream().mapToInt(Collection::size).sum());
+		event.commit();
+		Map<JFRRecordedGraphNode<N>, Collection<JFRRecordedGraphEdge<N, E>>> result = new HashMap<>();
+		edges.forEach((node, edgesOfNode) -> result.put(wrappers.get(node), edgesOfNode.stream().map(JFRRecordedGraphEdge::new).toList()));
+		return result;
+	}
+	
 	@Override
 	public boolean isAttributeUniqueForNodeType(String key, String nodeType) {
 		return graph.isAttributeUniqueForNodeType(key, nodeType);
@@ -70,6 +91,21 @@ public class JFRRecordedGraphWrapper<N extends AttributedNode, E extends Attribu
 		return result;
 	}
 	
+	@Override
+	public boolean hasNumericNodeIds() {
+		return graph.hasNumericNodeIds();
+	}
+	
+	@Override
+	public long getNumericNodeId(JFRRecordedGraphNode<N> node) {
+		return graph.getNumericNodeId(node.getInternalNode());
+	}
+	
+	@Override
+	public GraphStatistics getStatistics() {
+		return graph.getStatistics();
+	}
+	
 	@Override
 	public String toString() {
 		return "JFRRecordedGraphWrapper [graph=" + graph + "]";
@@ -0,0 +1,44 @@
+package io.github.danthe1st.arebac.jfr.events;
+
+import java.util.Objects;
+
+import io.github.danthe1st.arebac.jfr.events.FindEdgesEvent.Direction;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name(FindEdgesOfNodesEvent.NAME)
+@Category(JFREventConstants.CATEGORY)
+@Description("find edges of multiple nodes at once")
+public class FindEdgesOfNodesEvent extends Event {
+	static final String NAME = "io.github.danthe1st.arebac.jfr.events.FindEdgesOfNodesEvent";
+
+	@Label("nodeCount")
+	private int nodeCount;
+
+	@Label("edgeType")
+	private String edgeType;
+
+	@Label("outgoing")
+	private boolean outgoing;
+	
+	@Label("incoming")
+	private boolean incoming;
+	
+	@Label("foundEdgesCount")
+	private int foundEdgesCount;
+	
+	public FindEdgesOfNodesEvent(int nodeCount, String edgeType, Direction direction) {
+		this.nodeCount = nodeCount;
+		this.edgeType = edgeType;
+		Objects.requireNonNull(direction);
+		this.outgoing = direction == Direction.OUTGOING;
+		this.incoming = direction == Direction.INCOMING;
+	}
+	
+	public void setFoundEdgesCount(int foundEdgesCount) {
+		this.foundEdgesCount = foundEdgesCount;
+	}
+}
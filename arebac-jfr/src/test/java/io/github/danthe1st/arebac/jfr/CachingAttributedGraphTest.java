@@ -0,0 +1,235 @@
+package io.github.danthe1st.arebac.jfr;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement.ID_KEY;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.EQUAL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.GPEval;
+import org.junit.jupiter.api.Test;
+
+class CachingAttributedGraphTest {
+	private static final String USER_NODE_TYPE = "user";
+	private static final String FRIEND_EDGE_TYPE = "friend";
+
+	private final CountingGraph graph = new CountingGraph(createGraph("initial"));
+
+	@Test
+	void testNodesAreLoadedOnce() {
+		CachingAttributedGraph<InMemoryGraphNode, InMemoryGraphEdge> cache = new CachingAttributedGraph<>(graph, 100);
+		CachingGraphNode<InMemoryGraphNode> node = cache.findNodeById("a");
+		assertSame(node, cache.findNodeById("a"));
+		assertEquals(1, graph.nodeLookups);
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(0.5, cache.getHitRate());
+	}
+
+	@Test
+	void testHitRateOnlyCountsLookups() {
+		CachingAttributedGraph<InMemoryGraphNode, InMemoryGraphEdge> cache = new CachingAttributedGraph<>(graph, 100);
+		CachingGraphNode<InMemoryGraphNode> a = cache.findNodeById("a");
+		cache.findOutgoingEdges(a, FRIEND_EDGE_TYPE);
+		cache.findOutgoingEdges(a, FRIEND_EDGE_TYPE);
+		// b has been cached when loading the edges of a
+		cache.findNodeById("b");
+		assertEquals(1, graph.nodeLookups);
+		assertEquals(2, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+		assertEquals(0.5, cache.getHitRate());
+	}
+
+	@Test
+	void testLeastRecentlyUsedNodeIsEvicted() {
+		CachingAttributedGraph<InMemoryGraphNode, InMemoryGraphEdge> cache = new CachingAttributedGraph<>(graph, 3, 1);
+		cache.findNodeById("a");
+		cache.findNodeById("b");
+		cache.findNodeById("c");
+		cache.findNodeById("a");
+		cache.findNodeById("d");
+		assertEquals(1, cache.getEvictionCount());
+		assertEquals(3, cache.size());
+
+		graph.nodeLookups = 0;
+		cache.findNodeById("a");
+		cache.findNodeById("c");
+		cache.findNodeById("d");
+		assertEquals(0, graph.nodeLookups);
+		cache.findNodeById("b");
+		assertEquals(1, graph.nodeLookups);
+	}
+
+	@Test
+	void testEdgesAreWeighedByTheirCount() {
+		CachingAttributedGraph<InMemoryGraphNode, InMemoryGraphEdge> cache = new CachingAttributedGraph<>(graph, 5, 1);
+		CachingGraphNode<InMemoryGraphNode> a = cache.findNodeById("a");
+		// a has 3 outgoing edges (weight 4) and loading them caches b, c and d (weight 1 each)
+		Collection<CachingGraphEdge<InMemoryGraphNode, InMemoryGraphEdge>> edges = cache.findOutgoingEdges(a, FRIEND_EDGE_TYPE);
+		assertEquals(3, edges.size());
+		assertEquals(3, cache.getEvictionCount());
+		assertEquals(2, cache.size());
+		// nodes cached while loading edges are not counted
+		assertEquals(0, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+
+		assertSame(edges, cache.findOutgoingEdges(a, FRIEND_EDGE_TYPE));
+		assertEquals(1, graph.edgeLookups);
+	}
+
+	@Test
+	void testEntriesHeavierThanSegmentAreNotCached() {
+		// every one of the 16 segments has a maximum weight of 2 so the edges of a (weight 4) cannot be stored
+		CachingAttributedGraph<InMemoryGraphNode, InMemoryGraphEdge> segmentedCache = new CachingAttributedGraph<>(graph, 32);
+		CachingGraphNode<InMemoryGraphNode> a = segmentedCache.findNodeById("a");
+		segmentedCache.findOutgoingEdges(a, FRIEND_EDGE_TYPE);
+		segmentedCache.findOutgoingEdges(a, FRIEND_EDGE_TYPE);
+		assertEquals(2, graph.edgeLookups);
+		assertEquals(2, segmentedCache.getRejectionCount());
+
+		graph.edgeLookups = 0;
+		CachingAttributedGraph<InMemoryGraphNode, InMemoryGraphEdge> singleSegmentCache = new CachingAttributedGraph<>(graph, 32, 1);
+		a = singleSegmentCache.findNodeById("a");
+		singleSegmentCache.findOutgoingEdges(a, FRIEND_EDGE_TYPE);
+		singleSegmentCache.findOutgoingEdges(a, FRIEND_EDGE_TYPE);
+		assertEquals(1, graph.edgeLookups);
+		assertEquals(0, singleSegmentCache.getRejectionCount());
+	}
+
+	@Test
+	void testInvalidateNodeRemovesEdgesOfNeighbors() {
+		CachingAttributedGraph<InMemoryGraphNode, InMemoryGraphEdge> cache = new CachingAttributedGraph<>(graph, 100);
+		CachingGraphNode<InMemoryGraphNode> a = cache.findNodeById("a");
+		CachingGraphNode<InMemoryGraphNode> b = cache.findNodeById("b");
+		assertEquals(attribute("initial"), getFriend(cache, a, "b").getAttribute("name"));
+		assertEquals(attribute("initial"), b.getAttribute("name"));
+
+		graph.delegate = createGraph("changed");
+		cache.invalidateNode("b");
+		CachingGraphNode<InMemoryGraphNode> newB = cache.findNodeById("b");
+		assertNotSame(b, newB);
+		assertEquals(attribute("changed"), newB.getAttribute("name"));
+		// the edges of a have been loaded before b changed
+		assertEquals(attribute("changed"), getFriend(cache, a, "b").getAttribute("name"));
+		assertSame(newB, getFriend(cache, a, "b"));
+	}
+
+	@Test
+	void testInvalidateAll() {
+		CachingAttributedGraph<InMemoryGraphNode, InMemoryGraphEdge> cache = new CachingAttributedGraph<>(graph, 100);
+		CachingGraphNode<InMemoryGraphNode> a = cache.findNodeById("a");
+		cache.findOutgoingEdges(a, FRIEND_EDGE_TYPE);
+		cache.invalidateAll();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getEvictionCount());
+
+		graph.delegate = createGraph("changed");
+		assertEquals(attribute("changed"), cache.findNodeById("a").getAttribute("name"));
+		assertEquals(2, graph.nodeLookups);
+	}
+
+	@Test
+	void testEvaluationResultsMatchUnderlyingGraph() {
+		GPNode first = new GPNode("first", USER_NODE_TYPE);
+		GPNode second = new GPNode("second", USER_NODE_TYPE);
+		GPNode third = new GPNode("third", USER_NODE_TYPE);
+		GraphPattern pattern = new GraphPattern(
+				new GPGraph(
+						List.of(first, second, third),
+						List.of(
+								new GPEdge(first, second, null, FRIEND_EDGE_TYPE),
+								new GPEdge(second, third, null, FRIEND_EDGE_TYPE)
+						)
+				),
+				List.of(),
+				Map.of(first, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute("a")))),
+				Map.of(),
+				List.of(second, third), Map.of()
+		);
+		Set<List<InMemoryGraphNode>> expected = GPEval.evaluate(graph, pattern);
+		assertEquals(Set.of(List.of(graph.findNodeById("b"), graph.findNodeById("e"))), expected);
+
+		// small enough to evict entries during the evaluation
+		for(int maximumWeight : new int[] { 1, 4, 100 }){
+			CachingAttributedGraph<InMemoryGraphNode, InMemoryGraphEdge> cache = new CachingAttributedGraph<>(graph, maximumWeight, 1);
+			for(int i = 0; i < 2; i++){
+				Set<List<InMemoryGraphNode>> actual = GPEval.evaluate(cache, pattern)
+					.stream()
+					.map(result -> result.stream().map(CachingGraphNode::getInternalNode).toList())
+					.collect(Collectors.toSet());
+				assertEquals(expected, actual);
+			}
+		}
+	}
+
+	private CachingGraphNode<InMemoryGraphNode> getFriend(CachingAttributedGraph<InMemoryGraphNode, InMemoryGraphEdge> cache, CachingGraphNode<InMemoryGraphNode> node, String friendId) {
+		for(CachingGraphEdge<InMemoryGraphNode, InMemoryGraphEdge> edge : cache.findOutgoingEdges(node, FRIEND_EDGE_TYPE)){
+			if(edge.target().id().equals(friendId)){
+				return edge.target();
+			}
+		}
+		throw new AssertionError("no edge from " + node.id() + " to " + friendId);
+	}
+
+	private static InMemoryGraph createGraph(String name) {
+		List<InMemoryGraphNode> nodes = new ArrayList<>();
+		for(String id : List.of("a", "b", "c", "d", "e")){
+			nodes.add(new InMemoryGraphNode(id, USER_NODE_TYPE, Map.of("name", attribute(name))));
+		}
+		List<InMemoryGraphEdge> edges = List.of(
+				new InMemoryGraphEdge(nodes.get(0), nodes.get(1), "a->b", FRIEND_EDGE_TYPE, Map.of()),
+				new InMemoryGraphEdge(nodes.get(0), nodes.get(2), "a->c", FRIEND_EDGE_TYPE, Map.of()),
+				new InMemoryGraphEdge(nodes.get(0), nodes.get(3), "a->d", FRIEND_EDGE_TYPE, Map.of()),
+				new InMemoryGraphEdge(nodes.get(1), nodes.get(4), "b->e", FRIEND_EDGE_TYPE, Map.of())
+		);
+		return new InMemoryGraph(nodes, edges);
+	}
+
+	/**
+	 * Delegates to a replaceable {@link InMemoryGraph} and counts how often nodes and edges are loaded from it.
+	 */
+	private static final class CountingGraph implements AttributedGraph<InMemoryGraphNode, InMemoryGraphEdge> {
+		private InMemoryGraph delegate;
+		private int nodeLookups;
+		private int edgeLookups;
+
+		private CountingGraph(InMemoryGraph delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public InMemoryGraphNode findNodeById(String id) {
+			nodeLookups++;
+			return delegate.findNodeById(id);
+		}
+
+		@Override
+		public Collection<InMemoryGraphEdge> findOutgoingEdges(InMemoryGraphNode node, String edgeType) {
+			edgeLookups++;
+			return delegate.findOutgoingEdges(delegate.findNodeById(node.id()), edgeType);
+		}
+
+		@Override
+		public Collection<InMemoryGraphEdge> findIncomingEdges(InMemoryGraphNode node, String edgeType) {
+			edgeLookups++;
+			return delegate.findIncomingEdges(delegate.findNodeById(node.id()), edgeType);
+		}
+	}
+}
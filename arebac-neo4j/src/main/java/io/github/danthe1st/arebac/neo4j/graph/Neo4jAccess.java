@@ -6,11 +6,15 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph;
+import io.github.danthe1st.arebac.data.commongraph.attributed.GraphStatistics;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
 import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.GraphDatabaseService;
 import org.neo4j.graphdb.Label;
 import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.NotFoundException;
@@ -31,15 +35,42 @@ import org.neo4j.graphdb.schema.ConstraintType;
  * This implementation supports {@link AttributedGraph#isAttributeUniqueForNodeType(String, String) unique attributes}.
  * A node attribute is considered {@link AttributedGraph#isAttributeUniqueForNodeType(String, String) unique} with respect to a given node type if a unique constraint on that attribute exists for that node type.
  * Information on unique attributes is cached. If unique constraints change after creating the {@link Neo4jAccess} instance, these changes may not be observed.
+ *
+ * {@link AttributedGraph#getStatistics() Statistics} are computed using the count store of Neo4J and cached for the lifetime of the {@link Neo4jAccess} instance.
+ * In order to reuse statistics across transactions, these can be created using {@link Neo4jAccess#createStatistics(GraphDatabaseService)} and passed to {@link Neo4jAccess#Neo4jAccess(Transaction, GraphStatistics)}.
  */
 public class Neo4jAccess implements AttributedGraph<Neo4jNode, Neo4jEdge> {
 	private final Transaction tx;
 	private final Map<String, Set<String>> uniqueAttributesPerNodeType = new HashMap<>();
+	private GraphStatistics statistics;
 	
 	public Neo4jAccess(Transaction tx) {
 		this.tx = tx;
 	}
 	
+	/**
+	 * Creates an {@link AttributedGraph} accessing a Neo4J database with existing statistics.
+	 * @param tx the transaction used for all operations
+	 * @param statistics the statistics returned by {@link Neo4jAccess#getStatistics()}
+	 * @see Neo4jAccess#createStatistics(GraphDatabaseService)
+	 */
+	public Neo4jAccess(Transaction tx, GraphStatistics statistics) {
+		this.tx = tx;
+		this.statistics = Objects.requireNonNull(statistics);
+	}
+	
+	/**
+	 * Creates {@link GraphStatistics} of a database that can be used across multiple transactions.
+	 *
+	 * Every statistic is computed in a new transaction when it is requested for the first time and cached afterwards.
+	 * The returned object can be used concurrently.
+	 * @param database the Neo4J database
+	 * @return the statistics of the database
+	 */
+	public static GraphStatistics createStatistics(GraphDatabaseService database) {
+		return new Neo4jStatistics(Objects.requireNonNull(database));
+	}
+	
 	@Override
 	public Neo4jNode findNodeById(String id) {
 		try{
@@ -70,6 +101,39 @@ public class Neo4jAccess implements AttributedGraph<Neo4jNode, Neo4jEdge> {
 		return edges;
 	}
 	
+	@Override
+	public Collection<Neo4jNode> findNeighbors(Neo4jNode node, boolean outgoing, String edgeType, String neighborNodeType, List<AttributeRequirement> edgeRequirements, List<AttributeRequirement> neighborRequirements) {
+		// labels and properties are checked on the relationships and nodes of Neo4J, wrappers are only created for edges with requirements and matching neighbors
+		Label neighborLabel = Label.label(neighborNodeType);
+		List<Neo4jNode> neighbors = new ArrayList<>();
+		try(ResourceIterable<Relationship> relationships = node.getDBNode().getRelationships(outgoing ? Direction.OUTGOING : Direction.INCOMING, RelationshipType.withName(edgeType))){
+			for(Relationship relationship : relationships){
+				Node neighbor = outgoing ? relationship.getEndNode() : relationship.getStartNode();
+				if(!neighbor.hasLabel(neighborLabel)){
+					continue;
+				}
+				if(!edgeRequirements.isEmpty() && !AttributeRequirement.evaluateAll(edgeRequirements, new Neo4jEdge(relationship))){
+					continue;
+				}
+				Neo4jNode neighborNode = new Neo4jNode(neighbor);
+				if(AttributeRequirement.evaluateAll(neighborRequirements, neighborNode)){
+					neighbors.add(neighborNode);
+				}
+			}
+		}
+		return neighbors;
+	}
+	
+	@Override
+	public Map<Neo4jNode, Collection<Neo4jNode>> findNeighbors(Collection<Neo4jNode> nodes, boolean outgoing, String edgeType, String neighborNodeType, List<AttributeRequirement> edgeRequirements, List<AttributeRequirement> neighborRequirements) {
+		// the database is embedded so there is no overhead per request that could be saved by loading the neighbors of all nodes together
+		Map<Neo4jNode, Collection<Neo4jNode>> neighbors = new HashMap<>();
+		for(Neo4jNode node : nodes){
+			neighbors.put(node, findNeighbors(node, outgoing, edgeType, neighborNodeType, edgeRequirements, neighborRequirements));
+		}
+		return neighbors;
+	}
+	
 	@Override
 	public boolean isAttributeUniqueForNodeType(String key, String nodeType) {
 		Set<String> uniqueAttributeNames = uniqueAttributesPerNodeType.get(nodeType);
@@ -113,4 +177,24 @@ public class Neo4jAccess implements AttributedGraph<Neo4jNode, Neo4jEdge> {
 		}
 		return new Neo4jNode(node);
 	}
+
+	@Override
+	public boolean hasNumericNodeIds() {
+		return true;
+	}
+
+	@SuppressWarnings("removal")
+	@Override
+	public long getNumericNodeId(Neo4jNode node) {
+		// internal IDs may be reused after a node is deleted so these are only stable within a single transaction
+		return node.getDBNode().getId();
+	}
+
+	@Override
+	public GraphStatistics getStatistics() {
+		if(statistics == null){
+			statistics = new Neo4jStatistics(tx);
+		}
+		return statistics;
+	}
 }
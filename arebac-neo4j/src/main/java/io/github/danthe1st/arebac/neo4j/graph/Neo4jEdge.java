@@ -4,6 +4,7 @@ import java.util.Objects;
 
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator;
 import org.neo4j.graphdb.Relationship;
 
 public class Neo4jEdge implements AttributedEdge<Neo4jNode> {
@@ -47,6 +48,19 @@ public class Neo4jEdge implements AttributedEdge<Neo4jNode> {
 		};
 	}
 	
+	@Override
+	public boolean matches(String key, AttributeRequirementOperator operator, AttributeValue<?> value) {
+		// compare the property directly instead of creating an AttributeValue
+		Object property = relationship.getProperty(key, null);
+		return switch(property) {
+		case null -> false;
+		case String s -> operator.test(s, value);
+		case Boolean b -> operator.test((boolean) b, value);
+		case Integer i -> operator.test((int) i, value);
+		default -> throw new UnsupportedOperationException("unknown property type");
+		};
+	}
+	
 	public Relationship getDBEdge() {
 		return relationship;
 	}
@@ -4,6 +4,7 @@ import java.util.Objects;
 
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
 import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedNode;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator;
 import org.neo4j.graphdb.Label;
 import org.neo4j.graphdb.Node;
 
@@ -39,6 +40,20 @@ public class Neo4jNode implements AttributedNode {
 		};
 	}
 
+	@Override
+	public boolean matches(String key, AttributeRequirementOperator operator, AttributeValue<?> value) {
+		// compare the property directly instead of creating an AttributeValue
+		Object property = node.getProperty(key, null);
+		return switch(property) {
+		case null -> false;
+		case String s -> operator.test(s, value);
+		case Boolean b -> operator.test((boolean) b, value);
+		case Integer i -> operator.test((int) i, value);
+		case Long l -> operator.test((int) (long) l, value);
+		default -> throw new UnsupportedOperationException("unknown property type");
+		};
+	}
+
 	public Node getDBNode() {
 		return node;
 	}
@@ -0,0 +1,153 @@
+package io.github.danthe1st.arebac.neo4j.graph;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
+import io.github.danthe1st.arebac.data.commongraph.attributed.GraphStatistics;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Label;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.Result;
+import org.neo4j.graphdb.ResourceIterator;
+import org.neo4j.graphdb.Transaction;
+
+/**
+ * {@link GraphStatistics} of a Neo4J database.
+ *
+ * Node and edge counts as well as {@link Degree degrees} are obtained from the count store of Neo4J using Cypher queries that only count nodes/relationships.
+ * Maximum degrees are computed using the degree of every node with the requested label and attribute histograms require reading the attribute of every node with the requested label.
+ * All statistics are cached after being computed for the first time.
+ *
+ * Statistics are either computed in a single transaction or in a new transaction for every statistic that has not been cached yet.
+ * The latter allows using the statistics across multiple transactions and threads.
+ */
+class Neo4jStatistics implements GraphStatistics {
+	private final Transaction tx;
+	private final GraphDatabaseService database;
+
+	private final Map<String, Long> nodeCounts = new ConcurrentHashMap<>();
+	private final Map<String, Long> edgeCounts = new ConcurrentHashMap<>();
+	private final Map<DegreeKey, Degree> degrees = new ConcurrentHashMap<>();
+	private final Map<DegreeKey, Long> maxDegrees = new ConcurrentHashMap<>();
+	private final Map<HistogramKey, AttributeHistogram> histograms = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates statistics computed using a single transaction.
+	 * @param tx the transaction, statistics must not be computed after it has been closed
+	 */
+	Neo4jStatistics(Transaction tx) {
+		this.tx = tx;
+		this.database = null;
+	}
+
+	/**
+	 * Creates statistics computed using a new transaction for every statistic.
+	 * @param database the database
+	 */
+	Neo4jStatistics(GraphDatabaseService database) {
+		this.tx = null;
+		this.database = database;
+	}
+
+	@Override
+	public long getNodeCount(String nodeType) {
+		return nodeCounts.computeIfAbsent(nodeType, type -> count("MATCH (n:" + escape(type) + ") RETURN count(n) AS count"));
+	}
+
+	@Override
+	public long getEdgeCount(String edgeType) {
+		return edgeCounts.computeIfAbsent(edgeType, type -> count("MATCH ()-[r:" + escape(type) + "]->() RETURN count(r) AS count"));
+	}
+
+	@Override
+	public Degree getDegree(String nodeType, String edgeType, boolean outgoing) {
+		return degrees.computeIfAbsent(new DegreeKey(nodeType, edgeType, outgoing), this::computeDegree);
+	}
+
+	private Degree computeDegree(DegreeKey key) {
+		String pattern;
+		if(key.outgoing()){
+			pattern = "(:" + escape(key.nodeType()) + ")-[r:" + escape(key.edgeType()) + "]->()";
+		}else{
+			pattern = "()-[r:" + escape(key.edgeType()) + "]->(:" + escape(key.nodeType()) + ")";
+		}
+		// counting relationships with a label on one side is answered by the count store
+		return new Degree(getNodeCount(key.nodeType()), count("MATCH " + pattern + " RETURN count(r) AS count"));
+	}
+
+	@Override
+	public long getMaxDegree(String nodeType, String edgeType, boolean outgoing) {
+		return maxDegrees.computeIfAbsent(new DegreeKey(nodeType, edgeType, outgoing), this::computeMaxDegree);
+	}
+
+	private long computeMaxDegree(DegreeKey key) {
+		if(getDegree(key.nodeType(), key.edgeType(), key.outgoing()).edgeCount() == 0){
+			return 0;
+		}
+		RelationshipType relationshipType = RelationshipType.withName(key.edgeType());
+		Direction direction = key.outgoing() ? Direction.OUTGOING : Direction.INCOMING;
+		return inTransaction(transaction -> {
+			long maxDegree = 0;
+			try(ResourceIterator<Node> nodes = transaction.findNodes(Label.label(key.nodeType()))){
+				while(nodes.hasNext()){
+					maxDegree = Math.max(maxDegree, nodes.next().getDegree(relationshipType, direction));
+				}
+			}
+			return maxDegree;
+		});
+	}
+
+	@Override
+	public AttributeHistogram getAttributeHistogram(String nodeType, String key) {
+		return histograms.computeIfAbsent(new HistogramKey(nodeType, key), this::computeHistogram);
+	}
+
+	private AttributeHistogram computeHistogram(HistogramKey key) {
+		return inTransaction(transaction -> {
+			long nodeCount = 0;
+			Map<AttributeValue<?>, Long> valueCounts = new HashMap<>();
+			try(ResourceIterator<Node> nodes = transaction.findNodes(Label.label(key.nodeType()))){
+				while(nodes.hasNext()){
+					nodeCount++;
+					AttributeValue<?> value = new Neo4jNode(nodes.next()).getAttribute(key.key());
+					if(value != null){
+						valueCounts.merge(value, 1L, Long::sum);
+					}
+				}
+			}
+			return new AttributeHistogram(nodeCount, valueCounts);
+		});
+	}
+
+	private long count(String query) {
+		return inTransaction(transaction -> {
+			try(Result result = transaction.execute(query)){
+				return ((Number) result.next().get("count")).longValue();
+			}
+		});
+	}
+
+	private <T> T inTransaction(Function<Transaction, T> action) {
+		if(tx != null){
+			return action.apply(tx);
+		}
+		try(Transaction newTx = database.beginTx()){
+			return action.apply(newTx);
+		}
+	}
+
+	private static String escape(String name) {
+		return "`" + name.replace("`", "``") + "`";
+	}
+
+	private record DegreeKey(String nodeType, String edgeType, boolean outgoing) {
+	}
+
+	private record HistogramKey(String nodeType, String key) {
+	}
+}
@@ -1,5 +1,8 @@
 package io.github.danthe1st.arebac.neo4j.tests.airbnb;
 
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.parameter;
+
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -8,8 +11,13 @@ import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedEdge;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedGraph;
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributedNode;
 import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
 import io.github.danthe1st.arebac.gpeval.GPEval;
+import io.github.danthe1st.arebac.gpeval.PreparedGraphPattern;
 import io.github.danthe1st.arebac.neo4j.graph.Neo4jAccess;
 import io.github.danthe1st.arebac.neo4j.graph.Neo4jNode;
 import org.neo4j.dbms.archive.IncorrectFormat;
@@ -40,6 +48,12 @@ public class AirbnbBenchmark {
 		result.forEach(bh::consume);
 	}
 
+	@Benchmark
+	public void scenario1GetReviewsFromHostGPEvalPrepared(AirbnbState state, Blackhole bh) {
+		Set<List<Neo4jNode>> result = state.hostPatternInfo.evaluateNextPrepared(state.neo4jDB);
+		result.forEach(bh::consume);
+	}
+
 	@Benchmark
 	public void scenario1GetReviewsFromHostNeo4J(AirbnbState state, Blackhole bh) {
 		Result result = state.transaction.execute("""
@@ -63,6 +77,12 @@ public class AirbnbBenchmark {
 		result.forEach(bh::consume);
 	}
 
+	@Benchmark
+	public void scenario1GetReviewsFromReviewerGPEvalPrepared(AirbnbState state, Blackhole bh) {
+		Set<List<Neo4jNode>> result = state.reviewerPatternInfo.evaluateNextPrepared(state.neo4jDB);
+		result.forEach(bh::consume);
+	}
+
 	@Benchmark
 	public void scenario1GetReviewsFromReviewerNeo4J(AirbnbState state, Blackhole bh) {
 		Result result = state.transaction.execute("""
@@ -86,6 +106,12 @@ public class AirbnbBenchmark {
 		result.forEach(bh::consume);
 	}
 
+	@Benchmark
+	public void scenario2GPEvalPrepared(AirbnbState state, Blackhole bh) {
+		Set<List<Neo4jNode>> result = state.scenario2PatternInfo.evaluateNextPrepared(state.neo4jDB);
+		result.forEach(bh::consume);
+	}
+
 	@Benchmark
 	public void scenario2Neo4J(AirbnbState state, Blackhole bh) {
 		Scenario2Id id = state.scenario2PatternInfo.nextId();
@@ -112,9 +138,19 @@ public class AirbnbBenchmark {
 				database = AirbnbSetup.getDatabase();
 				transaction = database.beginTx();
 				neo4jDB = new Neo4jAccess(transaction);
-				hostPatternInfo = new PatternInfo<>(List.of("131304391", "155715332", "404944621"), Scenario1Test::createAuthorizedCetAllReviewsFromHostGraphPattern);
-				reviewerPatternInfo = new PatternInfo<>(List.of("272671293", "227163707", "268281268", "31292360"), Scenario1Test::createAuthorizedGetAllReviewsFromReviewerGraphPattern);
-				scenario2PatternInfo = new PatternInfo<>(List.of(new Scenario2Id("278934759", "1310402"), new Scenario2Id("363134483", "1310402")), id -> Scenario2Test.editListingInNeighborhoodPattern(id.subjectId(), id.neighborhoodId()));
+				hostPatternInfo = new PatternInfo<>(
+						List.of("131304391", "155715332", "404944621"), Scenario1Test::createAuthorizedCetAllReviewsFromHostGraphPattern,
+						Scenario1Test.createAuthorizedCetAllReviewsFromHostGraphPattern(parameter("hostId")), id -> Map.of("hostId", attribute(id))
+				);
+				reviewerPatternInfo = new PatternInfo<>(
+						List.of("272671293", "227163707", "268281268", "31292360"), Scenario1Test::createAuthorizedGetAllReviewsFromReviewerGraphPattern,
+						Scenario1Test.createAuthorizedGetAllReviewsFromReviewerGraphPattern(parameter("reviewerId")), id -> Map.of("reviewerId", attribute(id))
+				);
+				scenario2PatternInfo = new PatternInfo<>(
+						List.of(new Scenario2Id("278934759", "1310402"), new Scenario2Id("363134483", "1310402")), id -> Scenario2Test.editListingInNeighborhoodPattern(id.subjectId(), id.neighborhoodId()),
+						Scenario2Test.editListingInNeighborhoodPattern(parameter("subjectId"), parameter("neighborhoodId")),
+						id -> Map.of("subjectId", attribute(id.subjectId()), "neighborhoodId", attribute(id.neighborhoodId()))
+				);
 			}catch(IOException | IncorrectFormat e){
 				throw new RuntimeException("cannot initialize benchmark state", e);
 			}
@@ -139,11 +175,15 @@ public class AirbnbBenchmark {
 		private final List<T> ids;
 		private final Function<T, GraphPattern> patternGenerator;
 		private final List<GraphPattern> patterns;
+		private final PreparedGraphPattern preparedPattern;
+		private final Function<T, Map<String, AttributeValue<?>>> parameterGenerator;
 		private int currentIndex = 0;
 
-		public PatternInfo(List<T> ids, Function<T, GraphPattern> patternGenerator) {
+		public PatternInfo(List<T> ids, Function<T, GraphPattern> patternGenerator, GraphPattern parameterizedPattern, Function<T, Map<String, AttributeValue<?>>> parameterGenerator) {
 			this.ids = ids;
 			this.patternGenerator = patternGenerator;
+			this.preparedPattern = PreparedGraphPattern.prepare(parameterizedPattern);
+			this.parameterGenerator = parameterGenerator;
 			List<GraphPattern> patterns = new ArrayList<>();
 			for(T id : ids){
 				patterns.add(patternGenerator.apply(id));
@@ -159,6 +199,10 @@ public class AirbnbBenchmark {
 			return patternGenerator.apply(nextId());
 		}
 
+		public <N extends AttributedNode, E extends AttributedEdge<N>> Set<List<N>> evaluateNextPrepared(AttributedGraph<N, E> graph) {
+			return preparedPattern.evaluate(graph, parameterGenerator.apply(nextId()));
+		}
+
 		public T nextId() {
 			return ids.get(nextIndex());
 		}
@@ -9,6 +9,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
 import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
 import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
 import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
@@ -73,6 +74,10 @@ class Scenario1Test {
 	}
 
 	static GraphPattern createAuthorizedCetAllReviewsFromHostGraphPattern(String hostId) {
+		return createAuthorizedCetAllReviewsFromHostGraphPattern(attribute(hostId));
+	}
+
+	static GraphPattern createAuthorizedCetAllReviewsFromHostGraphPattern(AttributeValue<?> hostId) {
 		GraphPattern policy = wroteReviewGraphPatternForHostSubject(hostId);
 		GPNode reviewer = new GPNode("reviewer", AirbnbSetup.REVIEWER);
 		GPNode review = new GPNode("review", AirbnbSetup.REVIEW);
@@ -119,6 +124,10 @@ class Scenario1Test {
 	}
 
 	static GraphPattern createAuthorizedGetAllReviewsFromReviewerGraphPattern(String reviewerId) {
+		return createAuthorizedGetAllReviewsFromReviewerGraphPattern(attribute(reviewerId));
+	}
+
+	static GraphPattern createAuthorizedGetAllReviewsFromReviewerGraphPattern(AttributeValue<?> reviewerId) {
 		GraphPattern policy = wroteReviewGraphPatternForReviewerSubject(reviewerId);
 		GPNode review = new GPNode("review", AirbnbSetup.REVIEW);
 		GraphPattern query = new GraphPattern(
@@ -139,7 +148,7 @@ class Scenario1Test {
 		}
 	}
 	
-	private static GraphPattern wroteReviewGraphPatternForReviewerSubject(String subjectId) {
+	private static GraphPattern wroteReviewGraphPatternForReviewerSubject(AttributeValue<?> subjectId) {
         GPNode subject = new GPNode("subject", AirbnbSetup.REVIEWER);
         GPNode review = new GPNode("review", AirbnbSetup.REVIEW);
 		return new GraphPattern(
@@ -148,14 +157,14 @@ class Scenario1Test {
 						List.of(new GPEdge(subject, review, "write_review", "WROTE"))
 				),
 				List.of(),
-				Map.of(subject, List.of(new AttributeRequirement("reviewer_id", EQUAL, attribute(subjectId)))),
+				Map.of(subject, List.of(new AttributeRequirement("reviewer_id", EQUAL, subjectId))),
 				Map.of(),
 				List.of(),
 				Map.of("subject", subject, "reviewer", subject, "review", review)
 		);
     }
 	
-	private static GraphPattern wroteReviewGraphPatternForHostSubject(String subjectId) {
+	private static GraphPattern wroteReviewGraphPatternForHostSubject(AttributeValue<?> subjectId) {
 		GPNode reviewer = new GPNode("reviewer", AirbnbSetup.REVIEWER);
 		GPNode subject = new GPNode("host", AirbnbSetup.HOST);
 		GPNode review = new GPNode("review", AirbnbSetup.REVIEW);
@@ -170,7 +179,7 @@ class Scenario1Test {
 						)
 				),
 				List.of(),
-				Map.of(subject, List.of(new AttributeRequirement("host_id", EQUAL, attribute(subjectId)))),
+				Map.of(subject, List.of(new AttributeRequirement("host_id", EQUAL, subjectId))),
 				Map.of(),
 				List.of(),
 				Map.of("subject", subject, "reviewer", reviewer, "review", review)
@@ -9,6 +9,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue;
 import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
 import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
 import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
@@ -71,6 +72,10 @@ class Scenario2Test {
 	}
 
 	static GraphPattern editListingInNeighborhoodPattern(String subjectId, String neighborhoodId) {
+		return editListingInNeighborhoodPattern(attribute(subjectId), attribute(neighborhoodId));
+	}
+
+	static GraphPattern editListingInNeighborhoodPattern(AttributeValue<?> subjectId, AttributeValue<?> neighborhoodId) {
 		GraphPattern policy = editOwnListingPattern(subjectId);
 
 		GPNode listing = new GPNode("listing", AirbnbSetup.LISTING);
@@ -80,7 +85,7 @@ class Scenario2Test {
 						List.of(listing, neighborhood),
 						List.of(new GPEdge(listing, neighborhood, "inNeighborhood", "IN_NEIGHBORHOOD"))
 				), List.of(),
-				Map.of(neighborhood, List.of(new AttributeRequirement("region_id", EQUAL, attribute(neighborhoodId)))),
+				Map.of(neighborhood, List.of(new AttributeRequirement("region_id", EQUAL, neighborhoodId))),
 				Map.of(),
 				List.of(listing),
 				Map.of("listing", listing)
@@ -88,7 +93,7 @@ class Scenario2Test {
 		return Weaving.combinePatterns(List.of(policy, query));
 	}
 
-	private static GraphPattern editOwnListingPattern(String subjectId) {
+	private static GraphPattern editOwnListingPattern(AttributeValue<?> subjectId) {
 		GPNode subject = new GPNode("host", AirbnbSetup.HOST);
 		GPNode listing = new GPNode("listing", AirbnbSetup.LISTING);
 		return new GraphPattern(
@@ -97,7 +102,7 @@ class Scenario2Test {
 						List.of(new GPEdge(subject, listing, "hosts", "HOSTS"))
 				),
 				List.of(),
-				Map.of(subject, List.of(new AttributeRequirement("host_id", EQUAL, attribute(subjectId)))),
+				Map.of(subject, List.of(new AttributeRequirement("host_id", EQUAL, subjectId))),
 				Map.of(),
 				List.of(),
 				Map.of("subject", subject, "listing", listing)
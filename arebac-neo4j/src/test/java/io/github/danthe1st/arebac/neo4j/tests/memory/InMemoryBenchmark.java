@@ -0,0 +1,132 @@
+package io.github.danthe1st.arebac.neo4j.tests.memory;
+
+import static io.github.danthe1st.arebac.data.commongraph.attributed.AttributeValue.attribute;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement.ID_KEY;
+import static io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirementOperator.EQUAL;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import io.github.danthe1st.arebac.data.graph_pattern.GPEdge;
+import io.github.danthe1st.arebac.data.graph_pattern.GPGraph;
+import io.github.danthe1st.arebac.data.graph_pattern.GPNode;
+import io.github.danthe1st.arebac.data.graph_pattern.GraphPattern;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.AttributeRequirement;
+import io.github.danthe1st.arebac.data.graph_pattern.constraints.MutualExclusionConstraint;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraph;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphEdge;
+import io.github.danthe1st.arebac.data.memory.InMemoryGraphNode;
+import io.github.danthe1st.arebac.gpeval.GPEval;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks evaluating graph patterns on an {@link InMemoryGraph} with random {@code friend} edges.
+ *
+ * Unlike the other benchmarks, this does not require any Neo4J dataset.
+ */
+@Warmup(iterations = 4, time = 3, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 4, time = 3, timeUnit = TimeUnit.SECONDS)
+public class InMemoryBenchmark {
+
+	private static final String USER_NODE_TYPE = "user";
+	private static final String FRIEND_EDGE_TYPE = "friend";
+	private static final int USER_COUNT = 2000;
+	private static final int EDGES_PER_USER = 8;
+
+	@Benchmark
+	public void friendOfFriend(InMemoryState state, Blackhole bh) {
+		Set<List<InMemoryGraphNode>> result = GPEval.evaluate(state.graph, state.friendOfFriendPattern);
+		result.forEach(bh::consume);
+	}
+
+	@Benchmark
+	public void threeHopPathToAdmin(InMemoryState state, Blackhole bh) {
+		Set<List<InMemoryGraphNode>> result = GPEval.evaluate(state.graph, state.threeHopPathToAdminPattern);
+		result.forEach(bh::consume);
+	}
+
+	@State(Scope.Benchmark)
+	public static class InMemoryState {
+		private final InMemoryGraph graph = createGraph();
+		private final GraphPattern friendOfFriendPattern = createFriendOfFriendPattern();
+		private final GraphPattern threeHopPathToAdminPattern = createThreeHopPathToAdminPattern();
+	}
+
+	private static InMemoryGraph createGraph() {
+		Random random = new Random(42);
+		List<InMemoryGraphNode> users = new ArrayList<>();
+		for(int i = 0; i < USER_COUNT; i++){
+			users.add(new InMemoryGraphNode("u" + i, USER_NODE_TYPE, Map.of("role", attribute(i % 10 == 0 ? "admin" : "user"))));
+		}
+		List<InMemoryGraphEdge> edges = new ArrayList<>();
+		Set<String> edgeIds = new HashSet<>();
+		for(int i = 0; i < USER_COUNT * EDGES_PER_USER; i++){
+			int source = random.nextInt(USER_COUNT);
+			int target = random.nextInt(USER_COUNT);
+			String edgeId = source + "->" + target;
+			if(source != target && edgeIds.add(edgeId)){
+				edges.add(new InMemoryGraphEdge(users.get(source), users.get(target), edgeId, FRIEND_EDGE_TYPE, Map.of()));
+			}
+		}
+		return new InMemoryGraph(users, edges);
+	}
+
+	// friends of friends of a fixed user that are not the user itself
+	private static GraphPattern createFriendOfFriendPattern() {
+		GPNode requestor = new GPNode("requestor", USER_NODE_TYPE);
+		GPNode friend = new GPNode("friend", USER_NODE_TYPE);
+		GPNode friendOfFriend = new GPNode("friendOfFriend", USER_NODE_TYPE);
+		return new GraphPattern(
+				new GPGraph(
+						List.of(requestor, friend, friendOfFriend),
+						List.of(
+								new GPEdge(requestor, friend, null, FRIEND_EDGE_TYPE),
+								new GPEdge(friend, friendOfFriend, null, FRIEND_EDGE_TYPE)
+						)
+				),
+				List.of(new MutualExclusionConstraint(requestor, friendOfFriend)),
+				Map.of(requestor, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute("u1")))),
+				Map.of(),
+				List.of(friendOfFriend), Map.of()
+		);
+	}
+
+	// paths of three friend edges from a fixed user to admins where the nodes on the path are mutually exclusive
+	private static GraphPattern createThreeHopPathToAdminPattern() {
+		GPNode requestor = new GPNode("requestor", USER_NODE_TYPE);
+		GPNode first = new GPNode("first", USER_NODE_TYPE);
+		GPNode second = new GPNode("second", USER_NODE_TYPE);
+		GPNode admin = new GPNode("admin", USER_NODE_TYPE);
+		return new GraphPattern(
+				new GPGraph(
+						List.of(requestor, first, second, admin),
+						List.of(
+								new GPEdge(requestor, first, null, FRIEND_EDGE_TYPE),
+								new GPEdge(first, second, null, FRIEND_EDGE_TYPE),
+								new GPEdge(second, admin, null, FRIEND_EDGE_TYPE)
+						)
+				),
+				List.of(
+						new MutualExclusionConstraint(requestor, second),
+						new MutualExclusionConstraint(first, admin),
+						new MutualExclusionConstraint(requestor, admin)
+				),
+				Map.of(
+						requestor, List.of(new AttributeRequirement(ID_KEY, EQUAL, attribute("u7"))),
+						admin, List.of(new AttributeRequirement("role", EQUAL, attribute("admin")))
+				),
+				Map.of(),
+				List.of(first, second, admin), Map.of()
+		);
+	}
+}
@@ -0,0 +1,93 @@
+package io.github.danthe1st.arebac.neo4j.tests.stackoverflow;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+
+import io.github.danthe1st.arebac.data.commongraph.attributed.GraphStatistics;
+import io.github.danthe1st.arebac.data.commongraph.attributed.GraphStatistics.AttributeHistogram;
+import io.github.danthe1st.arebac.data.commongraph.attributed.GraphStatistics.Degree;
+import io.github.danthe1st.arebac.neo4j.graph.Neo4jAccess;
+import io.github.danthe1st.arebac.neo4j.tests.Neo4JSetup;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.dbms.archive.IncorrectFormat;
+import org.neo4j.graphdb.Direction;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.ResourceIterator;
+import org.neo4j.graphdb.Transaction;
+
+class StatisticsTest {
+	private static final RelationshipType TAGGED = RelationshipType.withName("TAGGED");
+
+	private GraphDatabaseService database;
+
+	@BeforeEach
+	void setUp() throws IOException, IncorrectFormat, InterruptedException, URISyntaxException {
+		database = SOSetup.getDatabase();
+	}
+
+	@Test
+	void testNodeAndEdgeCounts() {
+		try(Transaction tx = database.beginTx()){
+			GraphStatistics statistics = new Neo4jAccess(tx).getStatistics();
+			assertNotNull(statistics);
+			assertEquals(tx.findNodes(Neo4JSetup.TAG).stream().count(), statistics.getNodeCount("Tag"));
+			assertEquals(tx.getAllRelationships().stream().filter(r -> r.isType(TAGGED)).count(), statistics.getEdgeCount("TAGGED"));
+		}
+	}
+
+	@Test
+	void testDegree() {
+		try(Transaction tx = database.beginTx()){
+			Neo4jAccess db = new Neo4jAccess(tx);
+			Degree degree = db.getStatistics().getDegree("Tag", "TAGGED", false);
+			long edgeCount = 0;
+			long maxDegree = 0;
+			try(ResourceIterator<Node> tags = tx.findNodes(Neo4JSetup.TAG)){
+				while(tags.hasNext()){
+					int tagDegree = tags.next().getDegree(TAGGED, Direction.INCOMING);
+					edgeCount += tagDegree;
+					maxDegree = Math.max(maxDegree, tagDegree);
+				}
+			}
+			assertEquals(new Degree(db.getStatistics().getNodeCount("Tag"), edgeCount), degree);
+			assertEquals(maxDegree, db.getStatistics().getMaxDegree("Tag", "TAGGED", false));
+			assertTrue(degree.averageDegree() <= maxDegree);
+			assertSame(db.getStatistics(), db.getStatistics());
+		}
+	}
+
+	@Test
+	void testStatisticsAcrossTransactions() {
+		GraphStatistics statistics = Neo4jAccess.createStatistics(database);
+		long tagCount;
+		Degree degree;
+		try(Transaction tx = database.beginTx()){
+			tagCount = tx.findNodes(Neo4JSetup.TAG).stream().count();
+			Neo4jAccess db = new Neo4jAccess(tx, statistics);
+			assertSame(statistics, db.getStatistics());
+			degree = db.getStatistics().getDegree("Tag", "TAGGED", false);
+		}
+		// the transaction used above is closed
+		assertEquals(tagCount, statistics.getNodeCount("Tag"));
+		assertEquals(degree, statistics.getDegree("Tag", "TAGGED", false));
+		assertTrue(statistics.getMaxDegree("Tag", "TAGGED", false) >= degree.averageDegree());
+	}
+
+	@Test
+	void testAttributeHistogram() {
+		try(Transaction tx = database.beginTx()){
+			AttributeHistogram histogram = new Neo4jAccess(tx).getStatistics().getAttributeHistogram("Tag", "name");
+			// tag names are unique
+			assertEquals(histogram.nodeCount(), histogram.valueCounts().size());
+			histogram.valueCounts().values().forEach(count -> assertEquals(1L, count));
+		}
+	}
+}